@@ -0,0 +1,41 @@
+package com.pismo.banking.account.internal.mapper;
+
+import com.pismo.banking.account.api.dto.AccountRequest;
+import com.pismo.banking.account.api.dto.AccountResponse;
+import com.pismo.banking.account.internal.model.Account;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The mapping done when an account is created and read.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AccountMapperBenchmark {
+
+    private AccountRequest accountRequest = new AccountRequest("12345678900");
+    private Account account = new Account(1L, "12345678900");
+
+    @Benchmark
+    public Account toEntity() {
+        return AccountMapper.toEntity(accountRequest);
+    }
+
+    @Benchmark
+    public AccountResponse toDto() {
+        return AccountMapper.toDto(account);
+    }
+}
@@ -0,0 +1,48 @@
+package com.pismo.banking.transaction.api.dto;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading the body of {@code POST /transactions} and writing its response, with the Jackson 3 mapper the web
+ * layer uses. The application does not customize Jackson, so a default {@link JsonMapper} serializes the same way.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransactionJsonBenchmark {
+
+    private JsonMapper jsonMapper = JsonMapper.builder().build();
+    private ObjectReader requestReader = jsonMapper.readerFor(TransactionRequest.class);
+    private ObjectWriter responseWriter = jsonMapper.writerFor(TransactionResponse.class);
+
+    private byte[] requestBody = """
+            {"account_id": 1, "operation_type_id": 1, "amount": 123.45}""".getBytes();
+    private TransactionResponse response = new TransactionResponse(99L, 1L, 1, new BigDecimal("-123.45"));
+
+    @Benchmark
+    public TransactionRequest readRequest() {
+        return requestReader.readValue(requestBody);
+    }
+
+    @Benchmark
+    public byte[] writeResponse() {
+        return responseWriter.writeValueAsBytes(response);
+    }
+}
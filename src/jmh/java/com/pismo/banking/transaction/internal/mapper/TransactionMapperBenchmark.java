@@ -0,0 +1,47 @@
+package com.pismo.banking.transaction.internal.mapper;
+
+import com.pismo.banking.common.money.Money;
+import com.pismo.banking.transaction.api.dto.TransactionResponse;
+import com.pismo.banking.transaction.internal.model.OperationType;
+import com.pismo.banking.transaction.internal.model.Transaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The mapping done for every created transaction: the entity to insert and the response returned.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransactionMapperBenchmark {
+
+    private Long accountId = 1L;
+    private Money amount = new Money(-12_345);
+    private Money balanceAfter = new Money(-50_000);
+    private LocalDateTime eventDate = LocalDateTime.of(2026, 1, 1, 12, 0);
+    private Transaction transaction =
+            new Transaction(99L, accountId, OperationType.PURCHASE, amount, eventDate, balanceAfter);
+
+    @Benchmark
+    public Transaction toEntity() {
+        return TransactionMapper.toEntity(accountId, OperationType.PURCHASE, amount, balanceAfter, eventDate);
+    }
+
+    @Benchmark
+    public TransactionResponse toDto() {
+        return TransactionMapper.toDto(transaction);
+    }
+}
@@ -0,0 +1,57 @@
+package com.pismo.banking.transaction.internal.model;
+
+import com.pismo.banking.transaction.internal.converter.OperationTypeConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolution of operation types, done for every transaction request and, through the
+ * {@link OperationTypeConverter}, for every transaction row loaded.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OperationTypeBenchmark {
+
+    @Param({"1", "4"})
+    int operationTypeId;
+
+    private Integer dbValue;
+    private OperationType operationType;
+    private OperationTypeConverter converter = new OperationTypeConverter();
+
+    @Setup
+    public void setUp() {
+        dbValue = operationTypeId;
+        operationType = OperationType.fromId(operationTypeId);
+    }
+
+    @Benchmark
+    public OperationType fromId() {
+        return OperationType.fromId(operationTypeId);
+    }
+
+    @Benchmark
+    public OperationType convertToEntityAttribute() {
+        return converter.convertToEntityAttribute(dbValue);
+    }
+
+    @Benchmark
+    public Integer convertToDatabaseColumn() {
+        return converter.convertToDatabaseColumn(operationType);
+    }
+}
@@ -0,0 +1,93 @@
+package com.pismo.banking.transaction.internal.service;
+
+import com.pismo.banking.common.money.Money;
+import com.pismo.banking.transaction.internal.model.OperationType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The sign rule and the credit limit rule of {@link TransactionServiceImpl}, applied to a group of requests of one
+ * account as {@link TransactionServiceImpl#createTransactions} does against the running balance.
+ *
+ * <p>{@code limitCheckBigDecimal} runs the same rule on {@link BigDecimal}s, the representation the amounts had
+ * before {@link Money}, as a reference.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LedgerArithmeticBenchmark {
+
+    @Param({"64"})
+    int batchSize;
+
+    private OperationType[] operationTypes;
+    private BigDecimal[] amounts;
+    private Money[] signedAmounts;
+    private BigDecimal[] signedDecimalAmounts;
+    private Money limit;
+    private BigDecimal decimalLimit;
+
+    @Setup
+    public void setUp() {
+        operationTypes = new OperationType[batchSize];
+        amounts = new BigDecimal[batchSize];
+        signedAmounts = new Money[batchSize];
+        signedDecimalAmounts = new BigDecimal[batchSize];
+        for (int i = 0; i < batchSize; i++) {
+            operationTypes[i] = i % 4 == 3 ? OperationType.PAYMENT : OperationType.PURCHASE;
+            amounts[i] = BigDecimal.valueOf(1_000 + i * 37L, 2);
+            signedAmounts[i] = TransactionServiceImpl.signedAmount(operationTypes[i], amounts[i]);
+            signedDecimalAmounts[i] = signedAmounts[i].toBigDecimal();
+        }
+        limit = Money.ofUnits(1000);
+        decimalLimit = limit.toBigDecimal();
+    }
+
+    @Benchmark
+    public Money signedAmount() {
+        Money last = Money.ZERO;
+        for (int i = 0; i < batchSize; i++) {
+            last = TransactionServiceImpl.signedAmount(operationTypes[i], amounts[i]);
+        }
+        return last;
+    }
+
+    @Benchmark
+    public Money limitCheck() {
+        Money balance = Money.ZERO;
+        for (int i = 0; i < batchSize; i++) {
+            final Money newBalance = balance.plus(signedAmounts[i]);
+            if (!newBalance.exceeds(limit)) {
+                balance = newBalance;
+            }
+        }
+        return balance;
+    }
+
+    @Benchmark
+    public BigDecimal limitCheckBigDecimal() {
+        BigDecimal balance = BigDecimal.ZERO;
+        for (int i = 0; i < batchSize; i++) {
+            final BigDecimal newBalance = balance.add(signedDecimalAmounts[i]);
+            if (newBalance.add(decimalLimit).signum() >= 0) {
+                balance = newBalance;
+            }
+        }
+        return balance;
+    }
+}
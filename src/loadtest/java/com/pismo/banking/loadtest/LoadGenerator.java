@@ -0,0 +1,203 @@
+package com.pismo.banking.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends requests at a fixed arrival rate (an open workload) and records their latencies.
+ *
+ * <p>Every request has an intended start time on the schedule, {@code 1 / rate} after the previous one, and is sent
+ * then whether or not earlier requests have been answered. When the schedule falls behind, because the generator
+ * itself stalled or {@code max-in-flight} requests are waiting for the application, the late requests are sent as
+ * soon as possible and their wait counts towards their latency. The <em>response time</em> of a request is measured
+ * from its intended start, so a stall of the application is reflected in the latency of every request that should
+ * have been sent during it, instead of in the single one that was waiting (coordinated omission). The
+ * <em>service time</em>, measured from the actual send, is recorded next to it for comparison.</p>
+ */
+final class LoadGenerator {
+
+    /** Latencies are recorded in microseconds, from 1 µs up to an hour, with 3 significant digits. */
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+    /** The status recorded for a request that received no response. */
+    static final int NO_RESPONSE = -1;
+
+    private static final String DEBIT_AMOUNT = "1.00";
+    /** Above the credit limit of any new account, whatever its balance after the small transactions of the run. */
+    private static final String REJECTED_DEBIT_AMOUNT = "5000.00";
+
+    private final HttpClient httpClient;
+    private final URI baseUri;
+    private final LoadTestSettings settings;
+    private final List<Long> accountIds;
+    private final Operation[] operationsByWeight;
+    private final SplittableRandom random;
+
+    LoadGenerator(final HttpClient httpClient, final URI baseUri, final LoadTestSettings settings,
+                  final List<Long> accountIds, final long seed) {
+        this.httpClient = httpClient;
+        this.baseUri = baseUri;
+        this.settings = settings;
+        this.accountIds = accountIds;
+        this.operationsByWeight = settings.mix().entrySet().stream()
+                .flatMap(weight -> Collections.nCopies(weight.getValue(), weight.getKey()).stream())
+                .toArray(Operation[]::new);
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Runs the schedule for the given duration and waits for the last responses.
+     *
+     * @param duration How long requests are sent for.
+     * @return The latencies and statuses of the requests, by operation.
+     */
+    Map<Operation, OperationResults> run(final Duration duration) throws InterruptedException {
+        final Map<Operation, OperationResults> results = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            results.put(operation, new OperationResults());
+        }
+        final Semaphore inFlight = new Semaphore(settings.maxInFlight());
+        final long intervalNanos = TimeUnit.SECONDS.toNanos(1) / settings.rate();
+        final long durationNanos = duration.toNanos();
+        final long startNanos = System.nanoTime();
+        for (long i = 0; i * intervalNanos < durationNanos; i++) {
+            final long intendedStartNanos = startNanos + i * intervalNanos;
+            waitUntil(intendedStartNanos);
+            final Operation operation = operationsByWeight[random.nextInt(operationsByWeight.length)];
+            final HttpRequest request = request(operation);
+            inFlight.acquire();
+            final long sentNanos = System.nanoTime();
+            final OperationResults operationResults = results.get(operation);
+            httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> {
+                        final long completedNanos = System.nanoTime();
+                        operationResults.record(response == null ? NO_RESPONSE : response.statusCode(),
+                                completedNanos - intendedStartNanos, completedNanos - sentNanos);
+                        inFlight.release();
+                    });
+        }
+        inFlight.acquire(settings.maxInFlight());
+        final long elapsedNanos = System.nanoTime() - startNanos;
+        results.values().forEach(operationResults -> operationResults.elapsedNanos = elapsedNanos);
+        return results;
+    }
+
+    private static void waitUntil(final long deadlineNanos) {
+        long remainingNanos;
+        while ((remainingNanos = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remainingNanos);
+        }
+    }
+
+    private HttpRequest request(final Operation operation) {
+        return switch (operation) {
+            case CREATE_ACCOUNT -> post("/accounts", "{\"document_number\": \"%d\"}".formatted(
+                    random.nextLong(10000000000L, 99999999999L)));
+            case GET_ACCOUNT -> HttpRequest.newBuilder(baseUri.resolve("/accounts/" + randomAccountId()))
+                    .header("Accept", "application/json")
+                    .GET()
+                    .build();
+            case CREATE_TRANSACTION -> transaction();
+        };
+    }
+
+    /**
+     * A transaction of the configured mix. The hot account only receives payments, as a merchant account does,
+     * so that its balance never reaches the limit however long the run. The other accounts receive purchases and
+     * payments in equal shares, which keeps their balances close to zero.
+     */
+    private HttpRequest transaction() {
+        if (random.nextDouble() < settings.rejectionShare()) {
+            return postTransaction(randomAccountId(), 1, REJECTED_DEBIT_AMOUNT);
+        }
+        if (random.nextDouble() < settings.hotAccountShare()) {
+            return postTransaction(accountIds.getFirst(), 4, DEBIT_AMOUNT);
+        }
+        return postTransaction(randomAccountId(), random.nextBoolean() ? 1 : 4, DEBIT_AMOUNT);
+    }
+
+    private long randomAccountId() {
+        return accountIds.get(random.nextInt(accountIds.size()));
+    }
+
+    private HttpRequest postTransaction(final long accountId, final int operationTypeId, final String amount) {
+        return post("/transactions", "{\"account_id\": %d, \"operation_type_id\": %d, \"amount\": %s}"
+                .formatted(accountId, operationTypeId, amount));
+    }
+
+    private HttpRequest post(final String path, final String body) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    /**
+     * The latencies, in microseconds, and the response statuses of the requests of one operation.
+     */
+    static final class OperationResults {
+
+        private final Histogram responseTimes = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        private final Histogram serviceTimes = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        private long elapsedNanos;
+
+        private void record(final int status, final long responseTimeNanos, final long serviceTimeNanos) {
+            responseTimes.recordValue(toMicros(responseTimeNanos));
+            serviceTimes.recordValue(toMicros(serviceTimeNanos));
+            statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+        }
+
+        private static long toMicros(final long nanos) {
+            return Math.min(Math.max(TimeUnit.NANOSECONDS.toMicros(nanos), 1), HIGHEST_TRACKABLE_MICROS);
+        }
+
+        /**
+         * @return The latencies measured from the intended start of each request, corrected for coordinated
+         * omission.
+         */
+        Histogram responseTimes() {
+            return responseTimes;
+        }
+
+        /**
+         * @return The latencies measured from the moment each request was actually sent.
+         */
+        Histogram serviceTimes() {
+            return serviceTimes;
+        }
+
+        /**
+         * @return The number of responses per HTTP status, {@link #NO_RESPONSE} counting the failed requests.
+         */
+        Map<Integer, Long> statuses() {
+            final Map<Integer, Long> counts = new TreeMap<>();
+            statuses.forEach((status, count) -> counts.put(status, count.sum()));
+            return counts;
+        }
+
+        /**
+         * @return The number of requests completed per second over the run.
+         */
+        double throughput() {
+            return elapsedNanos == 0 ? 0 : responseTimes.getTotalCount() / (elapsedNanos / 1e9);
+        }
+    }
+}
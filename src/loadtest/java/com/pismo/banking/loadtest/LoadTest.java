@@ -0,0 +1,171 @@
+package com.pismo.banking.loadtest;
+
+import com.pismo.banking.CustomerBankingApplication;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * End-to-end HTTP load test of the application, run with {@code mvn -Ploadtest -DskipTests verify}; see
+ * {@link LoadTestSettings} for the settings, passed with {@code -Dloadtest.args="rate=1000 duration=60"}.
+ *
+ * <p>Starts the application (unless it is given the URL of a running one), creates the accounts of the run, then
+ * sends the configured mix of requests at a fixed arrival rate, first for the warm-up, whose results are discarded,
+ * then for the measured run. For each operation it prints the throughput, the response statuses and the latency
+ * percentiles, both corrected for coordinated omission (response time) and not (service time), and writes the full
+ * corrected distribution to {@code <report-dir>/<operation>.hgrm}, in the percentile format of HdrHistogram, in
+ * milliseconds.</p>
+ *
+ * <p>Rejected transactions are expected and answered with {@code 400}. The load test exits with status 1 if any
+ * request failed without a response or with a server error, so that it can gate a release.</p>
+ *
+ * <p>When the application is started here it shares the JVM with the load generator; for capacity figures, start
+ * it on its own and pass its {@code base-url}.</p>
+ */
+public final class LoadTest {
+
+    private static final Pattern ACCOUNT_ID = Pattern.compile("\"account_id\"\\s*:\\s*(\\d+)");
+    private static final int ACCOUNT_CREATION_CONCURRENCY = 64;
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private LoadTest() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final LoadTestSettings settings = LoadTestSettings.parse(args);
+        final ConfigurableApplicationContext application = settings.baseUrl().isEmpty() ? start(settings) : null;
+        final boolean failed;
+        try {
+            final URI baseUri = URI.create(application == null ? settings.baseUrl()
+                    : "http://localhost:" + application.getEnvironment().getProperty("local.server.port"));
+            failed = run(settings, baseUri);
+        } finally {
+            if (application != null) {
+                application.close();
+            }
+        }
+        if (failed) {
+            System.exit(1);
+        }
+    }
+
+    private static ConfigurableApplicationContext start(final LoadTestSettings settings) {
+        // Every statement printed to the console would serialize the requests on it.
+        final List<String> applicationArgs = new ArrayList<>(List.of("--spring.jpa.show-sql=false"));
+        applicationArgs.addAll(settings.applicationArgs());
+        applicationArgs.add("--server.port=0");
+        // Devtools is on the classpath and would restart the application, running this class again.
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        return new SpringApplicationBuilder(CustomerBankingApplication.class)
+                .profiles(Stream.of(settings.profiles().split(",")).map(String::trim).filter(p -> !p.isEmpty())
+                        .toArray(String[]::new))
+                .run(applicationArgs.toArray(String[]::new));
+    }
+
+    /**
+     * @return {@code true} if any request of the measured run failed without a response or with a server error.
+     */
+    private static boolean run(final LoadTestSettings settings, final URI baseUri) throws Exception {
+        final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        final List<Long> accountIds = createAccounts(httpClient, baseUri, settings.accounts());
+        System.out.printf("Created %d accounts at %s, hot account %d%n", accountIds.size(), baseUri,
+                accountIds.getFirst());
+
+        new LoadGenerator(httpClient, baseUri, settings, accountIds, 1).run(settings.warmUp());
+        final Map<Operation, LoadGenerator.OperationResults> results =
+                new LoadGenerator(httpClient, baseUri, settings, accountIds, 2).run(settings.duration());
+
+        Files.createDirectories(settings.reportDirectory());
+        boolean failed = false;
+        System.out.printf("rate=%d/s duration=%ds mix=%s hot-account-share=%.2f rejection-share=%.2f%n",
+                settings.rate(), settings.duration().toSeconds(), settings.mix(), settings.hotAccountShare(),
+                settings.rejectionShare());
+        for (Map.Entry<Operation, LoadGenerator.OperationResults> entry : results.entrySet()) {
+            final LoadGenerator.OperationResults operationResults = entry.getValue();
+            if (operationResults.responseTimes().getTotalCount() == 0) {
+                continue;
+            }
+            report(entry.getKey(), operationResults);
+            writeDistribution(settings.reportDirectory().resolve(entry.getKey().key() + ".hgrm"),
+                    operationResults.responseTimes());
+            failed |= operationResults.statuses().entrySet().stream()
+                    .anyMatch(status -> status.getKey() == LoadGenerator.NO_RESPONSE || status.getKey() >= 500);
+        }
+        return failed;
+    }
+
+    private static void report(final Operation operation, final LoadGenerator.OperationResults results) {
+        System.out.printf("operation=%s requests=%d throughput=%.0f req/s statuses=%s%n", operation.key(),
+                results.responseTimes().getTotalCount(), results.throughput(), results.statuses());
+        System.out.println("  response time (corrected)   " + percentiles(results.responseTimes()));
+        System.out.println("  service time (uncorrected)  " + percentiles(results.serviceTimes()));
+    }
+
+    private static String percentiles(final Histogram histogram) {
+        final StringBuilder line = new StringBuilder();
+        for (double percentile : PERCENTILES) {
+            final String label = percentile % 1 == 0 ? Integer.toString((int) percentile) : Double.toString(percentile);
+            line.append("p%s=%.2f ms ".formatted(label, histogram.getValueAtPercentile(percentile) / 1e3));
+        }
+        return line.append("max=%.2f ms".formatted(histogram.getMaxValue() / 1e3)).toString();
+    }
+
+    private static void writeDistribution(final Path file, final Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(out, 1e3);
+        }
+    }
+
+    private static List<Long> createAccounts(final HttpClient httpClient, final URI baseUri, final int count)
+            throws Exception {
+        final Semaphore concurrency = new Semaphore(ACCOUNT_CREATION_CONCURRENCY);
+        // Consecutive document numbers from a random start, so that runs against the same database do not collide.
+        final long firstDocumentNumber = ThreadLocalRandom.current().nextLong(10000000000L, 99999999999L - count);
+        final List<CompletableFuture<Long>> accountIds = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            concurrency.acquire();
+            final HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/accounts"))
+                    .header("Content-Type", "application/json")
+                    .header("Accept", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"document_number\": \"%d\"}"
+                            .formatted(firstDocumentNumber + i)))
+                    .build();
+            accountIds.add(httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                    .thenApply(LoadTest::accountId)
+                    .whenComplete((accountId, failure) -> concurrency.release()));
+        }
+        final List<Long> ids = new ArrayList<>(count);
+        for (CompletableFuture<Long> accountId : accountIds) {
+            ids.add(accountId.get());
+        }
+        return Collections.unmodifiableList(ids);
+    }
+
+    private static long accountId(final HttpResponse<String> response) {
+        final Matcher matcher = ACCOUNT_ID.matcher(response.body());
+        if (response.statusCode() != 201 || !matcher.find()) {
+            throw new IllegalStateException("Could not create an account: " + response.statusCode() + " "
+                    + response.body());
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+}
@@ -0,0 +1,102 @@
+package com.pismo.banking.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The settings of a load test, parsed from {@code key=value} program arguments. Arguments starting with
+ * {@code --} are passed on to the application started for the test, e.g. {@code --spring.datasource.url=...}.
+ *
+ * <ul>
+ *   <li>{@code base-url}: the application to load, e.g. {@code http://localhost:8080}. When empty (the default)
+ *   the application is started in the same JVM, on a random port.</li>
+ *   <li>{@code profiles}: the Spring profiles of the started application, comma separated. Defaults to
+ *   {@code test}, the in-memory H2 database of the integration tests; leave it empty to run against the MySQL
+ *   database of {@code application.yaml}.</li>
+ *   <li>{@code rate}: the arrival rate, in requests per second (default 500). Requests are sent on a fixed
+ *   schedule whatever the response times.</li>
+ *   <li>{@code warm-up} and {@code duration}: the length of the warm-up and of the measured run, in seconds
+ *   (default 10 and 30).</li>
+ *   <li>{@code accounts}: the number of accounts created before the run and targeted by the requests
+ *   (default 1000).</li>
+ *   <li>{@code mix}: the relative weights of the operations (default
+ *   {@code create-account=5,get-account=25,transaction=70}).</li>
+ *   <li>{@code hot-account-share}: the share of transactions sent to a single hot account (default 0.2).</li>
+ *   <li>{@code rejection-share}: the share of transactions that exceed the credit limit and are rejected
+ *   (default 0.1).</li>
+ *   <li>{@code max-in-flight}: the most requests awaiting a response at a time (default 1000). When it is
+ *   reached the schedule falls behind, which the corrected latencies account for.</li>
+ *   <li>{@code report-dir}: where the latency distributions are written (default {@code target/loadtest}).</li>
+ * </ul>
+ */
+record LoadTestSettings(String baseUrl,
+                        String profiles,
+                        List<String> applicationArgs,
+                        int rate,
+                        Duration warmUp,
+                        Duration duration,
+                        int accounts,
+                        Map<Operation, Integer> mix,
+                        double hotAccountShare,
+                        double rejectionShare,
+                        int maxInFlight,
+                        Path reportDirectory) {
+
+    LoadTestSettings {
+        if (rate < 1 || accounts < 1 || maxInFlight < 1) {
+            throw new IllegalArgumentException("rate, accounts and max-in-flight must be positive");
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() < 1) {
+            throw new IllegalArgumentException("The mix must give a positive weight to at least one operation");
+        }
+        if (hotAccountShare < 0 || hotAccountShare > 1 || rejectionShare < 0 || rejectionShare > 1) {
+            throw new IllegalArgumentException("hot-account-share and rejection-share must be between 0 and 1");
+        }
+    }
+
+    static LoadTestSettings parse(final String[] args) {
+        final Map<String, String> values = new HashMap<>();
+        final List<String> applicationArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                applicationArgs.add(arg);
+            } else if (!arg.isBlank()) {
+                final int separator = arg.indexOf('=');
+                if (separator < 0) {
+                    throw new IllegalArgumentException("Expected key=value, was " + arg);
+                }
+                values.put(arg.substring(0, separator), arg.substring(separator + 1));
+            }
+        }
+        return new LoadTestSettings(
+                values.getOrDefault("base-url", ""),
+                values.getOrDefault("profiles", "test"),
+                List.copyOf(applicationArgs),
+                Integer.parseInt(values.getOrDefault("rate", "500")),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("warm-up", "10"))),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration", "30"))),
+                Integer.parseInt(values.getOrDefault("accounts", "1000")),
+                parseMix(values.getOrDefault("mix", "create-account=5,get-account=25,transaction=70")),
+                Double.parseDouble(values.getOrDefault("hot-account-share", "0.2")),
+                Double.parseDouble(values.getOrDefault("rejection-share", "0.1")),
+                Integer.parseInt(values.getOrDefault("max-in-flight", "1000")),
+                Path.of(values.getOrDefault("report-dir", "target/loadtest")));
+    }
+
+    private static Map<Operation, Integer> parseMix(final String mix) {
+        final Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            final String[] weight = entry.trim().split("=");
+            if (weight.length != 2) {
+                throw new IllegalArgumentException("Expected operation=weight in the mix, was " + entry);
+            }
+            weights.put(Operation.fromKey(weight[0].trim()), Integer.parseInt(weight[1].trim()));
+        }
+        return weights;
+    }
+}
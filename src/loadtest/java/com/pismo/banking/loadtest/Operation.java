@@ -0,0 +1,38 @@
+package com.pismo.banking.loadtest;
+
+import java.util.stream.Stream;
+
+/**
+ * The requests a load test sends.
+ */
+enum Operation {
+    /**
+     * {@code POST /accounts} with a new document number.
+     */
+    CREATE_ACCOUNT("create-account"),
+    /**
+     * {@code GET /accounts/{id}} of one of the accounts created before the run.
+     */
+    GET_ACCOUNT("get-account"),
+    /**
+     * {@code POST /transactions}: a purchase or a payment of 1.00, sent to the hot account or to one of the others,
+     * or a purchase over the credit limit, which is rejected.
+     */
+    CREATE_TRANSACTION("transaction");
+
+    private final String key;
+
+    Operation(final String key) {
+        this.key = key;
+    }
+
+    String key() {
+        return key;
+    }
+
+    static Operation fromKey(final String key) {
+        return Stream.of(values()).filter(operation -> operation.key.equals(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown operation " + key));
+    }
+}
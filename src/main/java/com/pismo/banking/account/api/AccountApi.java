@@ -1,7 +1,11 @@
 package com.pismo.banking.account.api;
 
+import com.pismo.banking.account.api.dto.AccountBalanceSlotsRequest;
+import com.pismo.banking.account.api.dto.AccountBatchRequest;
+import com.pismo.banking.account.api.dto.AccountBatchResponse;
 import com.pismo.banking.account.api.dto.AccountRequest;
 import com.pismo.banking.account.api.dto.AccountResponse;
+import com.pismo.banking.account.api.dto.AccountSummaryResponse;
 import com.pismo.banking.common.ApiError;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -56,4 +60,61 @@ public interface AccountApi {
     @ApiResponse(responseCode = "500", description = "Internal server error",
             content = @Content(schema = @Schema(implementation = ApiError.class)))
     ResponseEntity<AccountResponse> getAccount(@PathVariable Long accountId);
+
+    /**
+     * Retrieves the current financial position of an account: balance, credit limit, available limit and the
+     * time of its latest transaction.
+     *
+     * @param accountId The unique identifier for the account.
+     * @return A response entity containing the account summary (HTTP 200 OK).
+     */
+    @GetMapping(value = "/{accountId}/summary", produces = APPLICATION_JSON_VALUE)
+    @Operation(summary = "Retrieve the balance and available limit of an account")
+    @ApiResponse(responseCode = "200", description = "Account summary retrieved",
+            content = @Content(schema = @Schema(implementation = AccountSummaryResponse.class)))
+    @ApiResponse(responseCode = "404", description = "Account not found",
+            content = @Content(schema = @Schema(implementation = ApiError.class)))
+    @ApiResponse(responseCode = "500", description = "Internal server error",
+            content = @Content(schema = @Schema(implementation = ApiError.class)))
+    ResponseEntity<AccountSummaryResponse> getAccountSummary(@PathVariable Long accountId);
+
+    /**
+     * Sets the number of balance slots of a hot account, e.g. a merchant receiving many concurrent payments.
+     * Payments to the account are then spread over that many sub-balances instead of all updating the account
+     * itself; the sub-balances are periodically folded back into it.
+     *
+     * @param accountId The unique identifier for the account.
+     * @param request   The request body containing the number of slots, 0 to disable them.
+     * @return An empty response entity (HTTP 204 No Content).
+     */
+    @PutMapping(value = "/{accountId}/balance-slots", consumes = APPLICATION_JSON_VALUE)
+    @Operation(summary = "Spread the payments to a hot account over several balance slots")
+    @ApiResponse(responseCode = "204", description = "Balance slots set")
+    @ApiResponse(responseCode = "400", description = "Bad Request",
+            content = @Content(schema = @Schema(implementation = ApiError.class)))
+    @ApiResponse(responseCode = "404", description = "Account not found",
+            content = @Content(schema = @Schema(implementation = ApiError.class)))
+    @ApiResponse(responseCode = "500", description = "Internal server error",
+            content = @Content(schema = @Schema(implementation = ApiError.class)))
+    ResponseEntity<Void> setBalanceSlots(@PathVariable Long accountId,
+                                         @Valid @RequestBody AccountBalanceSlotsRequest request);
+
+    /**
+     * Creates a batch of customer bank accounts, e.g. the customers of an onboarded partner portfolio.
+     * Every item is validated up front; the whole batch is refused if any item is malformed. Valid items are
+     * then reported individually as created, rejected (the document number already has an account or is
+     * repeated within the batch) or failed.
+     *
+     * @param batchRequest The request body containing the accounts to create.
+     * @return A response entity containing the outcome of every item, in request order (HTTP 200 OK).
+     */
+    @PostMapping(value = "/batch", produces = APPLICATION_JSON_VALUE, consumes = APPLICATION_JSON_VALUE)
+    @Operation(summary = "Create a batch of customer accounts")
+    @ApiResponse(responseCode = "200", description = "Batch processed, see the status of every item",
+            content = @Content(schema = @Schema(implementation = AccountBatchResponse.class)))
+    @ApiResponse(responseCode = "400", description = "Bad Request",
+            content = @Content(schema = @Schema(implementation = ApiError.class)))
+    @ApiResponse(responseCode = "500", description = "Internal server error",
+            content = @Content(schema = @Schema(implementation = ApiError.class)))
+    ResponseEntity<AccountBatchResponse> createAccounts(@Valid @RequestBody AccountBatchRequest batchRequest);
 }
@@ -0,0 +1,20 @@
+package com.pismo.banking.account.api;
+
+import com.pismo.banking.account.api.dto.AccountBatchRequest;
+import com.pismo.banking.account.api.dto.AccountBatchResponse;
+
+/**
+ * Service interface for creating many accounts in a single call, e.g. when onboarding a partner portfolio.
+ */
+public interface AccountBatchService {
+
+    /**
+     * Creates an account for every document number of the batch, applying the same rules as
+     * {@link AccountService#createAccount}. A document number that already has an account, or that appears
+     * earlier in the same batch, is rejected without preventing the other items from being created.
+     *
+     * @param batchRequest The request object containing the accounts to create.
+     * @return An {@link AccountBatchResponse} with the outcome of every item, in request order.
+     */
+    AccountBatchResponse createAccounts(AccountBatchRequest batchRequest);
+}
@@ -2,9 +2,15 @@ package com.pismo.banking.account.api;
 
 import com.pismo.banking.account.api.dto.AccountResponse;
 import com.pismo.banking.account.api.dto.AccountRequest;
+import com.pismo.banking.account.api.dto.AccountSummaryResponse;
 import com.pismo.banking.account.internal.exception.AccountAlreadyExistsException;
 import com.pismo.banking.account.internal.model.Account;
 import com.pismo.banking.common.exception.AccountNotFoundException;
+import com.pismo.banking.common.exception.InSufficientLimitException;
+import com.pismo.banking.common.money.Money;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
 
 /**
  * Service interface for managing bank accounts.
@@ -30,6 +36,15 @@ public interface AccountService {
      */
     AccountResponse getAccountById(Long accountId);
 
+    /**
+     * Retrieves the current balance, credit limit, available limit and latest transaction time of an account.
+     *
+     * @param accountId The unique ID of the account.
+     * @return An {@link AccountSummaryResponse} with the current figures of the account.
+     * @throws AccountNotFoundException if no account exists with the provided ID.
+     */
+    AccountSummaryResponse getAccountSummary(Long accountId);
+
     /**
      * Validates that an account exists for the given ID.
      * This method is typically used as a prerequisite check before performing
@@ -42,5 +57,67 @@ public interface AccountService {
 
     Account findById(Long accountId);
 
+    /**
+     * Retrieves an existing account and locks it until the end of the current transaction.
+     * Used when several balance changes are validated in memory and written back at once.
+     *
+     * @param accountId The unique ID of the account to retrieve.
+     * @return The locked {@link Account} entity.
+     * @throws AccountNotFoundException if no account exists with the provided ID.
+     */
+    Account findByIdForUpdate(Long accountId);
+
     void updateAccount(Account account);
+
+    /**
+     * Atomically applies a signed amount to the balance of an account, enforcing its credit limit, and records
+     * the event date as the account's latest transaction time.
+     * The limit check and the balance update are performed by a single database statement.
+     *
+     * @param accountId The unique ID of the account to update.
+     * @param amount    The signed amount to apply (negative for debits, positive for credits).
+     * @param eventDate When the transaction behind the change happened.
+     * @return The summary of the account once the amount has been applied. Its latest transaction time is never
+     *         earlier than that of a change applied before, so it is the event date to record the transaction at.
+     * @throws AccountNotFoundException if no account exists with the provided ID.
+     * @throws InSufficientLimitException if the new balance would exceed the account's credit limit.
+     */
+    AccountSummaryResponse applyBalanceChange(Long accountId, Money amount, LocalDateTime eventDate);
+
+    /**
+     * Atomically adds a credit to the balance of an account. A credit can never exceed the credit limit, so for an
+     * account flagged with balance slots it is added to one of its slots instead of the account row, and concurrent
+     * credits to the account do not wait for each other.
+     *
+     * @param accountId The unique ID of the account to credit.
+     * @param amount    The positive amount to add.
+     * @param eventDate When the transaction behind the credit happened.
+     * @return The summary of the account once the amount has been added to its row, whose latest transaction time
+     *         is the event date to record the transaction at, as with {@link #applyBalanceChange}. Empty when the
+     *         amount was added to a balance slot: slot credits are not ordered with the other writers of the
+     *         account, so there is no balance the credit alone left it with, and the transaction is recorded at
+     *         the given event date.
+     * @throws AccountNotFoundException if no account exists with the provided ID.
+     */
+    Optional<AccountSummaryResponse> applyCredit(Long accountId, Money amount, LocalDateTime eventDate);
+
+    /**
+     * Sums the amounts held in the balance slots of an account that have not been folded back into the account
+     * row yet. The balance of the account is the balance of its row plus this amount.
+     *
+     * @param accountId The unique ID of the account.
+     * @return The amount held in the slots of the account, zero if it has none.
+     */
+    Money getSlotBalance(Long accountId);
+
+    /**
+     * Sets the number of balance slots the credits to an account are spread over, creating the missing slots.
+     * Lowering the number, or setting it to 0, stops crediting the dropped slots, whose amounts are folded back
+     * into the account row by the next compaction.
+     *
+     * @param accountId    The unique ID of the account.
+     * @param balanceSlots The number of slots, 0 to keep the whole balance on the account row.
+     * @throws AccountNotFoundException if no account exists with the provided ID.
+     */
+    void setBalanceSlots(Long accountId, int balanceSlots);
 }
@@ -0,0 +1,60 @@
+package com.pismo.banking.account.api;
+
+import com.pismo.banking.account.api.dto.AccountRequest;
+import com.pismo.banking.account.api.dto.AccountResponse;
+import com.pismo.banking.account.api.dto.AccountSummaryResponse;
+import com.pismo.banking.account.internal.exception.AccountAlreadyExistsException;
+import com.pismo.banking.common.exception.AccountNotFoundException;
+import com.pismo.banking.common.exception.InSufficientLimitException;
+import com.pismo.banking.common.money.Money;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Non-blocking counterpart of {@link AccountService} for the reactive stack.
+ * The returned {@link Mono}s fail with the exceptions the matching {@link AccountService} methods throw.
+ */
+public interface ReactiveAccountService {
+
+    /**
+     * Creates a new account based on the provided request details.
+     *
+     * @param accountRequest The request object containing details for the new account (e.g., document number).
+     * @return A {@link Mono} of the newly created account, failing with {@link AccountAlreadyExistsException} if
+     *         an account with the provided document number already exists.
+     */
+    Mono<AccountResponse> createAccount(AccountRequest accountRequest);
+
+    /**
+     * Retrieves an existing account by its unique identifier.
+     *
+     * @param accountId The unique ID of the account to retrieve.
+     * @return A {@link Mono} of the found account, failing with {@link AccountNotFoundException} if no account
+     *         exists with the provided ID.
+     */
+    Mono<AccountResponse> getAccountById(Long accountId);
+
+    /**
+     * Retrieves the current balance, credit limit, available limit and latest transaction time of an account.
+     *
+     * @param accountId The unique ID of the account.
+     * @return A {@link Mono} of the current figures of the account, failing with {@link AccountNotFoundException}
+     *         if no account exists with the provided ID.
+     */
+    Mono<AccountSummaryResponse> getAccountSummary(Long accountId);
+
+    /**
+     * Atomically applies a signed amount to the balance of an account under the same credit limit rule as
+     * {@link AccountService#applyBalanceChange(Long, Money, LocalDateTime)}. Must be subscribed within the
+     * database transaction that records the transaction behind the change.
+     *
+     * @param accountId The unique ID of the account to update.
+     * @param amount    The signed amount to apply (negative for debits, positive for credits).
+     * @param eventDate When the transaction behind the change happened.
+     * @return A {@link Mono} of the summary of the account once the amount has been applied, failing with
+     *         {@link AccountNotFoundException} if no account exists with the provided ID or with
+     *         {@link InSufficientLimitException} if the new balance would exceed the account's credit limit.
+     */
+    Mono<AccountSummaryResponse> applyBalanceChange(Long accountId, Money amount, LocalDateTime eventDate);
+}
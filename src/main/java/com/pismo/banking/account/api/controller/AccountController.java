@@ -1,9 +1,15 @@
 package com.pismo.banking.account.api.controller;
 
 import com.pismo.banking.account.api.AccountApi;
+import com.pismo.banking.account.api.AccountBatchService;
 import com.pismo.banking.account.api.AccountService;
+import com.pismo.banking.account.api.dto.AccountBalanceSlotsRequest;
+import com.pismo.banking.account.api.dto.AccountBatchRequest;
+import com.pismo.banking.account.api.dto.AccountBatchResponse;
 import com.pismo.banking.account.api.dto.AccountRequest;
 import com.pismo.banking.account.api.dto.AccountResponse;
+import com.pismo.banking.account.api.dto.AccountSummaryResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
@@ -12,15 +18,20 @@ import java.net.URI;
 
 /**
  * REST controller implementation for managing bank accounts.
- * Implements the {@link AccountApi} contract and delegates business logic to the {@link AccountService}.
+ * Implements the {@link AccountApi} contract and delegates business logic to the {@link AccountService}
+ * and {@link AccountBatchService}.
  */
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class AccountController implements AccountApi {
 
     private final AccountService accountService;
+    private final AccountBatchService accountBatchService;
 
-    public AccountController(final AccountService accountService) {
+    public AccountController(final AccountService accountService,
+                             final AccountBatchService accountBatchService) {
         this.accountService = accountService;
+        this.accountBatchService = accountBatchService;
     }
 
     @Override
@@ -39,4 +50,20 @@ public class AccountController implements AccountApi {
         final AccountResponse accountById = accountService.getAccountById(accountId);
         return ResponseEntity.ok(accountById);
     }
+
+    @Override
+    public ResponseEntity<AccountSummaryResponse> getAccountSummary(final Long accountId) {
+        return ResponseEntity.ok(accountService.getAccountSummary(accountId));
+    }
+
+    @Override
+    public ResponseEntity<Void> setBalanceSlots(final Long accountId, final AccountBalanceSlotsRequest request) {
+        accountService.setBalanceSlots(accountId, request.balanceSlots());
+        return ResponseEntity.noContent().build();
+    }
+
+    @Override
+    public ResponseEntity<AccountBatchResponse> createAccounts(final AccountBatchRequest batchRequest) {
+        return ResponseEntity.ok(accountBatchService.createAccounts(batchRequest));
+    }
 }
@@ -0,0 +1,50 @@
+package com.pismo.banking.account.api.controller;
+
+import com.pismo.banking.account.api.ReactiveAccountApi;
+import com.pismo.banking.account.api.ReactiveAccountService;
+import com.pismo.banking.account.api.dto.AccountRequest;
+import com.pismo.banking.account.api.dto.AccountResponse;
+import com.pismo.banking.account.api.dto.AccountSummaryResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+/**
+ * REST controller implementation for managing bank accounts on the reactive stack.
+ * Implements the {@link ReactiveAccountApi} contract and delegates business logic to the
+ * {@link ReactiveAccountService}.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveAccountController implements ReactiveAccountApi {
+
+    private final ReactiveAccountService accountService;
+
+    public ReactiveAccountController(final ReactiveAccountService accountService) {
+        this.accountService = accountService;
+    }
+
+    @Override
+    public Mono<ResponseEntity<AccountResponse>> createAccount(final AccountRequest accountRequest,
+                                                               final ServerHttpRequest request) {
+        return accountService.createAccount(accountRequest)
+                .map(createdAccount -> ResponseEntity.created(UriComponentsBuilder.fromUri(request.getURI())
+                                .path("/{accountId}")
+                                .buildAndExpand(createdAccount.accountId())
+                                .toUri())
+                        .body(createdAccount));
+    }
+
+    @Override
+    public Mono<ResponseEntity<AccountResponse>> getAccount(final Long accountId) {
+        return accountService.getAccountById(accountId).map(ResponseEntity::ok);
+    }
+
+    @Override
+    public Mono<ResponseEntity<AccountSummaryResponse>> getAccountSummary(final Long accountId) {
+        return accountService.getAccountSummary(accountId).map(ResponseEntity::ok);
+    }
+}
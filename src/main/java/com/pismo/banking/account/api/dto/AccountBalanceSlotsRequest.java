@@ -0,0 +1,25 @@
+package com.pismo.banking.account.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * A Data Transfer Object (DTO) representing the request body to set the number of balance slots of an account.
+ */
+@Schema(description = "Request body for setting the number of balance slots of an account")
+public record AccountBalanceSlotsRequest(
+        /**
+         * The number of sub-balances the payments to the account are spread over, 0 to keep the whole balance on
+         * the account itself.
+         */
+        @JsonProperty("balance_slots")
+        @NotNull(message = "Balance slots is required")
+        @Min(value = 0, message = "Balance slots must not be negative")
+        @Max(value = 64, message = "Balance slots must not exceed 64")
+        @Schema(description = "Number of sub-balances payments are spread over, 0 to disable", example = "8",
+                requiredMode = Schema.RequiredMode.REQUIRED)
+        Integer balanceSlots) {
+}
@@ -0,0 +1,47 @@
+package com.pismo.banking.account.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * A Data Transfer Object (DTO) representing the outcome of one item of an account batch.
+ */
+@Schema(description = "Outcome of a single batch item")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record AccountBatchItemResponse(
+        /**
+         * The zero-based position of the item in the batch request.
+         */
+        @Schema(description = "Zero-based position of the item in the request", example = "0")
+        int index,
+        /**
+         * Whether the item was created, rejected as a duplicate, or failed unexpectedly.
+         */
+        @Schema(description = "Outcome of the item", example = "CREATED")
+        Status status,
+        /**
+         * The created account, present only when the item was created.
+         */
+        @Schema(description = "The created account, if any")
+        AccountResponse account,
+        /**
+         * The reason the item was not created, present only when it was rejected or failed.
+         */
+        @JsonProperty("error_message")
+        @Schema(description = "Reason the item was not created",
+                example = "Account with document number 12345678900 already exists")
+        String errorMessage) {
+
+    /**
+     * Possible outcomes of a batch item.
+     */
+    public enum Status {
+        /** The account was created. */
+        CREATED,
+        /** The document number already has an account or appears earlier in the same batch. */
+        REJECTED,
+        /** The account could not be created because of an unexpected error. */
+        FAILED
+    }
+}
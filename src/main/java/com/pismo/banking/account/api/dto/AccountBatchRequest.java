@@ -0,0 +1,26 @@
+package com.pismo.banking.account.api.dto;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * A Data Transfer Object (DTO) representing the request body required to create several accounts at once,
+ * e.g. when onboarding a partner portfolio. Every item is validated with the same rules as a single account.
+ */
+@Schema(description = "Request body for creating a batch of accounts")
+public record AccountBatchRequest(
+        /**
+         * The accounts to create.
+         */
+        @NotEmpty(message = "Accounts are required")
+        @Size(max = 1000, message = "A batch can contain at most 1000 accounts")
+        @ArraySchema(schema = @Schema(implementation = AccountRequest.class),
+                arraySchema = @Schema(description = "Accounts to create (1 to 1000)",
+                        requiredMode = Schema.RequiredMode.REQUIRED))
+        List<@Valid AccountRequest> accounts) {
+}
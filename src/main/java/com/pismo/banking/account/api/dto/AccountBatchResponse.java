@@ -0,0 +1,17 @@
+package com.pismo.banking.account.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * A Data Transfer Object (DTO) representing the response body of an account batch, with one result per item.
+ */
+@Schema(description = "Account batch response")
+public record AccountBatchResponse(
+        /**
+         * The outcome of every item, in request order.
+         */
+        @Schema(description = "Outcome of every item, in request order")
+        List<AccountBatchItemResponse> results) {
+}
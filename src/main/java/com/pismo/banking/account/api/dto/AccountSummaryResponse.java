@@ -0,0 +1,57 @@
+package com.pismo.banking.account.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.jspecify.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A Data Transfer Object (DTO) representing the current financial position of an account.
+ */
+@Schema(description = "Account summary")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record AccountSummaryResponse(
+        /**
+         * The unique system-generated identifier for the account.
+         */
+        @JsonProperty("account_id")
+        @Schema(description = "Unique account identifier", example = "1")
+        Long accountId,
+        /**
+         * The current balance, negative when the account is using its credit limit.
+         */
+        @Schema(description = "Current balance", example = "-250.00")
+        BigDecimal balance,
+        /**
+         * The credit limit granted to the account.
+         */
+        @JsonProperty("credit_limit")
+        @Schema(description = "Credit limit", example = "1000.00")
+        BigDecimal creditLimit,
+        /**
+         * The amount that can still be debited: the balance plus the credit limit.
+         */
+        @JsonProperty("available_limit")
+        @Schema(description = "Amount that can still be debited", example = "750.00")
+        BigDecimal availableLimit,
+        /**
+         * When the latest transaction of the account happened, absent if it has none.
+         */
+        @JsonProperty("last_transaction_at")
+        @Schema(description = "When the latest transaction happened, absent if there is none",
+                example = "2026-01-05T09:34:18.5893223")
+        @Nullable LocalDateTime lastTransactionAt) {
+
+    /**
+     * Creates a summary from the stored account fields, deriving the available limit.
+     */
+    public AccountSummaryResponse(final Long accountId,
+                                  final BigDecimal balance,
+                                  final BigDecimal creditLimit,
+                                  final @Nullable LocalDateTime lastTransactionAt) {
+        this(accountId, balance, creditLimit, balance.add(creditLimit), lastTransactionAt);
+    }
+}
@@ -0,0 +1,131 @@
+package com.pismo.banking.account.internal.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pismo.banking.account.internal.model.Account;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Bounded in-process cache of the immutable account fields ({@link CachedAccount}), keyed by account ID, with a
+ * short-lived negative cache of IDs known not to exist.
+ *
+ * <p>Entries are evicted by Caffeine's W-TinyLFU policy once {@code banking.accounts.cache.max-size} is reached, and
+ * expire {@code banking.accounts.cache.expire-after-write} after being written, which bounds how long a change made
+ * by another application instance can go unnoticed. Writes are applied once the surrounding database transaction
+ * has committed, so a rolled back insert or update never becomes visible through the cache.</p>
+ *
+ * <p>IDs that were looked up and not found are remembered for {@code banking.accounts.negative-cache.ttl}, so
+ * that floods of requests for unknown accounts (enumeration, card testing) are rejected without a database query.
+ * Creating an account clears its negative entry on this instance; other instances may keep reporting it as missing
+ * until their entry expires, which is why the TTL is kept short.</p>
+ *
+ * <p>Hit, miss and eviction counts are published under the {@code cache.*} metrics with {@code cache=accounts} and
+ * {@code cache=missing-accounts}; {@code banking.accounts.negative-cache.absorbed} counts the lookups answered by the
+ * negative cache.</p>
+ */
+@Component
+public class AccountCache {
+
+    private final Cache<Long, CachedAccount> cache;
+    private final Cache<Long, Boolean> missing;
+    private final Counter absorbedMisses;
+
+    public AccountCache(@Value("${banking.accounts.cache.max-size:100000}") final long maxSize,
+                        @Value("${banking.accounts.cache.expire-after-write:PT10M}") final Duration expireAfterWrite,
+                        @Value("${banking.accounts.negative-cache.max-size:100000}") final long missingMaxSize,
+                        @Value("${banking.accounts.negative-cache.ttl:PT30S}") final Duration missingTtl,
+                        final MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        this.missing = Caffeine.newBuilder()
+                .maximumSize(missingMaxSize)
+                .expireAfterWrite(missingTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "accounts");
+        CaffeineCacheMetrics.monitor(meterRegistry, missing, "missing-accounts");
+        this.absorbedMisses = Counter.builder("banking.accounts.negative-cache.absorbed")
+                .description("Number of lookups of unknown accounts answered without a database query")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param accountId The unique ID of the account.
+     * @return The cached account, or {@code null} if it is not cached.
+     */
+    public @Nullable CachedAccount get(final long accountId) {
+        return cache.getIfPresent(accountId);
+    }
+
+    /**
+     * Caches the immutable fields of a persisted account, after the current transaction commits
+     * (or immediately when no transaction is active).
+     *
+     * @param account The persisted account.
+     */
+    public void put(final Account account) {
+        final CachedAccount cachedAccount = CachedAccount.of(account);
+        afterCommit(() -> {
+            missing.invalidate(cachedAccount.accountId());
+            cache.put(cachedAccount.accountId(), cachedAccount);
+        });
+    }
+
+    /**
+     * Checks whether an account was recently looked up and found not to exist.
+     * Every positive answer is counted as an absorbed miss.
+     *
+     * @param accountId The unique ID of the account.
+     * @return true if the account is known not to exist.
+     */
+    public boolean isKnownMissing(final long accountId) {
+        if (missing.getIfPresent(accountId) == null) {
+            return false;
+        }
+        absorbedMisses.increment();
+        return true;
+    }
+
+    /**
+     * Remembers that an account does not exist, for the negative cache TTL.
+     *
+     * @param accountId The unique ID of the account that was not found.
+     */
+    public void markMissing(final long accountId) {
+        missing.put(accountId, Boolean.TRUE);
+    }
+
+    /**
+     * Removes an account from the cache.
+     *
+     * @param accountId The unique ID of the account.
+     */
+    public void invalidate(final long accountId) {
+        cache.invalidate(accountId);
+    }
+
+    private static void afterCommit(final Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,36 @@
+package com.pismo.banking.account.internal.cache;
+
+import com.pismo.banking.account.api.dto.AccountResponse;
+import com.pismo.banking.account.internal.model.Account;
+import com.pismo.banking.common.money.Money;
+
+
+/**
+ * The immutable part of an {@link Account}, as kept by the {@link AccountCache}.
+ * The balance is deliberately left out: it changes with every transaction and is always read from the database.
+ *
+ * @param accountId      The unique ID of the account.
+ * @param documentNumber The customer's document number.
+ * @param limit          The credit limit of the account.
+ * @param balanceSlots   The number of balance slots payments to the account are spread over, 0 if none.
+ */
+public record CachedAccount(long accountId, String documentNumber, Money limit, int balanceSlots) {
+
+    /**
+     * Copies the cacheable fields of an account entity.
+     *
+     * @param account The persisted account.
+     * @return The cache entry for the account.
+     */
+    public static CachedAccount of(final Account account) {
+        return new CachedAccount(account.getAccountId(), account.getDocumentNumber(), account.getLimit(),
+                account.getBalanceSlots());
+    }
+
+    /**
+     * @return The API representation of the account.
+     */
+    public AccountResponse toResponse() {
+        return new AccountResponse(accountId, documentNumber);
+    }
+}
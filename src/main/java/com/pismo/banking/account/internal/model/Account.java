@@ -1,12 +1,14 @@
 package com.pismo.banking.account.internal.model;
 
+import com.pismo.banking.common.id.PooledTableId;
+import com.pismo.banking.common.money.Money;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
-import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 /**
  * Represents a customer bank account entity stored in the database.
@@ -19,17 +21,29 @@ import java.math.BigDecimal;
 @AllArgsConstructor
 public class Account {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledTableId(sequence = "accounts")
     private Long accountId;
 
     @Column(unique = true, nullable = false)
     private String documentNumber;
 
     @Column(nullable = false)
-    private BigDecimal balance = BigDecimal.ZERO;
+    private Money balance = Money.ZERO;
 
     @Column(nullable = false, name = "creditLimit")
-    private BigDecimal limit = new BigDecimal("1000");
+    private Money limit = Money.ofUnits(1000);
+
+    /**
+     * When the latest transaction of the account happened, null until it has one.
+     */
+    private LocalDateTime lastTransactionAt;
+
+    /**
+     * Number of {@link AccountBalanceSlot}s payments to the account are spread over, 0 when the whole balance is
+     * kept on the account row.
+     */
+    @Column(nullable = false)
+    private int balanceSlots;
 
     public Account(final Long accountId, final String documentNumber) {
         this.documentNumber= documentNumber;
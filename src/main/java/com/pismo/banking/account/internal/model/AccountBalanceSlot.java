@@ -0,0 +1,45 @@
+package com.pismo.banking.account.internal.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A sub-balance of an {@link Account} flagged with balance slots, holding payments that have not been folded back
+ * into the account row yet.
+ */
+@Entity
+@Table(name = "account_balance_slots")
+@IdClass(AccountBalanceSlot.Key.class)
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountBalanceSlot {
+    @Id
+    private Long accountId;
+
+    @Id
+    private Integer slot;
+
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal balance = BigDecimal.ZERO;
+
+    /**
+     * When the latest payment added to the slot happened, null until it has one.
+     */
+    private LocalDateTime lastTransactionAt;
+
+    /**
+     * The primary key of a slot: the account it belongs to and its number within the account.
+     *
+     * @param accountId The unique ID of the account.
+     * @param slot      The number of the slot, from 0 to the account's slot count (exclusive).
+     */
+    public record Key(Long accountId, Integer slot) implements Serializable {
+    }
+}
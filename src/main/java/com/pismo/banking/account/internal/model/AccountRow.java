@@ -0,0 +1,57 @@
+package com.pismo.banking.account.internal.model;
+
+import com.pismo.banking.common.money.Money;
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.domain.Persistable;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * The {@code accounts} row as read and written by the reactive stack through R2DBC, mirroring {@link Account}.
+ *
+ * <p>Ids are assigned before the insert, so a row reports itself as new: {@code save} inserts it directly. Rows
+ * are never updated through the entity; balance changes are guarded {@code UPDATE} statements.</p>
+ */
+@Table("accounts")
+public record AccountRow(
+        @Id Long accountId,
+        String documentNumber,
+        BigDecimal balance,
+        @Column("credit_limit") BigDecimal limit,
+        @Nullable LocalDateTime lastTransactionAt,
+        int balanceSlots) implements Persistable<Long> {
+
+    /**
+     * Copies an account entity whose id has been assigned.
+     *
+     * @param account The account to insert.
+     * @return The row of the account.
+     */
+    public static AccountRow of(final Account account) {
+        return new AccountRow(account.getAccountId(), account.getDocumentNumber(),
+                account.getBalance().toBigDecimal(), account.getLimit().toBigDecimal(), account.getLastTransactionAt(), account.getBalanceSlots());
+    }
+
+    /**
+     * @return The account entity holding the fields of this row, for the mappers and caches shared with the
+     *         servlet stack.
+     */
+    public Account toAccount() {
+        return new Account(accountId, documentNumber, Money.of(balance), Money.of(limit), lastTransactionAt,
+                balanceSlots);
+    }
+
+    @Override
+    public Long getId() {
+        return accountId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
@@ -0,0 +1,82 @@
+package com.pismo.banking.account.internal.repository;
+
+import com.pismo.banking.account.internal.model.AccountBalanceSlot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Spring Data JPA repository interface for managing {@link AccountBalanceSlot} entities.
+ */
+public interface AccountBalanceSlotRepository extends JpaRepository<AccountBalanceSlot, AccountBalanceSlot.Key> {
+
+    /**
+     * Finds the slots of an account.
+     *
+     * @param accountId The unique ID of the account.
+     * @return The slots of the account, in no particular order.
+     */
+    List<AccountBalanceSlot> findByAccountId(Long accountId);
+
+    /**
+     * Sums the balances of the slots of an account.
+     *
+     * @param accountId The unique ID of the account.
+     * @return The amount held in the slots of the account, zero if it has none.
+     */
+    @Query("SELECT COALESCE(SUM(s.balance), 0) FROM AccountBalanceSlot s WHERE s.accountId = :accountId")
+    BigDecimal sumBalance(@Param("accountId") Long accountId);
+
+    /**
+     * Finds the accounts with a slot holding an amount that has not been folded back into the account row.
+     *
+     * @return The IDs of those accounts, in no particular order.
+     */
+    @Query("SELECT DISTINCT s.accountId FROM AccountBalanceSlot s WHERE s.balance <> 0")
+    List<Long> findAccountIdsWithBalance();
+
+    /**
+     * Atomically adds a credit to one slot of an account and moves the slot's {@code last_transaction_at} forward
+     * to the event date. Only the slot row is locked, never the account row.
+     *
+     * @param accountId The unique ID of the account.
+     * @param slot      The number of the slot to credit.
+     * @param amount    The positive amount to add.
+     * @param eventDate When the transaction behind the credit happened.
+     * @return The number of rows updated: 1 on success, 0 if the slot does not exist.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            UPDATE account_balance_slots SET balance = balance + :amount,
+                last_transaction_at = CASE WHEN last_transaction_at > :eventDate
+                                           THEN last_transaction_at ELSE :eventDate END
+            WHERE account_id = :accountId AND slot = :slot
+            """, nativeQuery = true)
+    int applyCredit(@Param("accountId") Long accountId,
+                    @Param("slot") int slot,
+                    @Param("amount") BigDecimal amount,
+                    @Param("eventDate") LocalDateTime eventDate);
+
+    /**
+     * Subtracts an amount that has been folded into the account row from a slot. Credits added to the slot since
+     * its balance was read are kept.
+     *
+     * @param accountId The unique ID of the account.
+     * @param slot      The number of the slot.
+     * @param amount    The amount moved to the account row.
+     * @return The number of rows updated.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            UPDATE account_balance_slots SET balance = balance - :amount
+            WHERE account_id = :accountId AND slot = :slot
+            """, nativeQuery = true)
+    int subtractBalance(@Param("accountId") Long accountId,
+                        @Param("slot") int slot,
+                        @Param("amount") BigDecimal amount);
+}
@@ -1,8 +1,18 @@
 package com.pismo.banking.account.internal.repository;
 
+import com.pismo.banking.account.api.dto.AccountSummaryResponse;
 import com.pismo.banking.account.internal.model.Account;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -26,4 +36,105 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
      * @return An {@link Optional} containing the found account, or empty if no account exists with that document number.
      */
     Optional<Account> findByDocumentNumber(String documentNumber);
+
+    /**
+     * Returns those of the given document numbers that already belong to an account, with a single
+     * {@code IN} query answered from the unique index on {@code document_number}.
+     *
+     * @param documentNumbers The document numbers to look up.
+     * @return The document numbers among them that already have an account, in no particular order.
+     */
+    @Query("SELECT a.documentNumber FROM Account a WHERE a.documentNumber IN :documentNumbers")
+    List<String> findExistingDocumentNumbers(@Param("documentNumbers") Collection<String> documentNumbers);
+
+    /**
+     * Finds an account by its ID and locks its row ({@code SELECT ... FOR UPDATE}) until the end of the
+     * current transaction, so the loaded balance cannot change underneath the caller.
+     *
+     * @param accountId The unique ID of the account.
+     * @return An {@link Optional} containing the locked account, or empty if no account exists with that ID.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.accountId = :accountId")
+    Optional<Account> findByIdForUpdate(@Param("accountId") Long accountId);
+
+    /**
+     * Atomically adds the signed amount to the balance of the account, but only if the resulting balance
+     * stays within the account's credit limit ({@code balance + amount + credit_limit >= 0}), and moves
+     * {@code last_transaction_at} forward to the event date. It never moves backwards: an event date older than
+     * the stored one, taken by a request that then waited for the row lock, leaves the stored one in place.
+     *
+     * <p>The check and the write happen in a single statement, so concurrent debits on the same account
+     * are serialized by the database row lock and can never overwrite each other's balance.</p>
+     *
+     * <p>For an account flagged with balance slots, the balance checked is the aggregate one: the amounts held in
+     * its {@code account_balance_slots} count towards it. Slots only ever receive credits, so a concurrent credit
+     * the check misses can only make it stricter. The slots of a regular account are not read at all; those left
+     * behind by an account whose flag was cleared hold credits awaiting compaction, so leaving them out is stricter
+     * too.</p>
+     *
+     * @param accountId The unique ID of the account to update.
+     * @param amount    The signed amount to apply (negative for debits, positive for credits).
+     * @param eventDate When the transaction behind the change happened.
+     * @return The number of rows updated: 1 on success, 0 if the account does not exist or the limit would be exceeded.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            UPDATE accounts SET balance = balance + :amount,
+                last_transaction_at = CASE WHEN last_transaction_at > :eventDate
+                                           THEN last_transaction_at ELSE :eventDate END
+            WHERE account_id = :accountId
+              AND balance + :amount + credit_limit
+                  + CASE WHEN balance_slots > 0
+                         THEN COALESCE((SELECT SUM(s.balance) FROM account_balance_slots s
+                                        WHERE s.account_id = :accountId), 0)
+                         ELSE 0 END
+                  >= 0
+            """, nativeQuery = true)
+    int applyBalanceChange(@Param("accountId") Long accountId,
+                           @Param("amount") BigDecimal amount,
+                           @Param("eventDate") LocalDateTime eventDate);
+
+    /**
+     * Adds an amount folded in from the balance slots of the account to its row, without any limit check, and
+     * moves {@code last_transaction_at} forward to the latest transaction time of those slots.
+     *
+     * @param accountId         The unique ID of the account.
+     * @param amount            The amount taken out of the slots.
+     * @param lastTransactionAt The latest transaction time among the folded slots.
+     * @return The number of rows updated.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            UPDATE accounts SET balance = balance + :amount,
+                last_transaction_at = CASE WHEN last_transaction_at > :lastTransactionAt
+                                           THEN last_transaction_at ELSE :lastTransactionAt END
+            WHERE account_id = :accountId
+            """, nativeQuery = true)
+    int foldBalanceSlots(@Param("accountId") Long accountId,
+                         @Param("amount") BigDecimal amount,
+                         @Param("lastTransactionAt") LocalDateTime lastTransactionAt);
+
+    /**
+     * Reads the summary of an account straight from the database as a projection, bypassing the persistence
+     * context: a primary key lookup on {@code accounts}, plus the amounts and latest transaction time of its
+     * balance slots, read from the leading part of their primary key (no rows for a regular account). The
+     * {@link com.pismo.banking.common.money.Money} columns are cast to their decimal values for the response.
+     *
+     * @param accountId The unique ID of the account.
+     * @return An {@link Optional} containing the summary, or empty if no account exists with that ID.
+     */
+    @Query("""
+            SELECT new com.pismo.banking.account.api.dto.AccountSummaryResponse(
+                a.accountId,
+                CAST(a.balance AS BigDecimal) + COALESCE((SELECT SUM(s.balance) FROM AccountBalanceSlot s
+                                                          WHERE s.accountId = a.accountId), 0),
+                CAST(a.limit AS BigDecimal),
+                COALESCE((SELECT MAX(s.lastTransactionAt) FROM AccountBalanceSlot s
+                          WHERE s.accountId = a.accountId
+                            AND (a.lastTransactionAt IS NULL OR s.lastTransactionAt > a.lastTransactionAt)),
+                         a.lastTransactionAt))
+            FROM Account a WHERE a.accountId = :accountId
+            """)
+    Optional<AccountSummaryResponse> findSummary(@Param("accountId") Long accountId);
 }
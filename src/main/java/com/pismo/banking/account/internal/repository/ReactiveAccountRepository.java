@@ -0,0 +1,78 @@
+package com.pismo.banking.account.internal.repository;
+
+import com.pismo.banking.account.api.dto.AccountSummaryResponse;
+import com.pismo.banking.account.internal.model.AccountRow;
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Spring Data R2DBC repository of the reactive stack for {@link AccountRow}s, mirroring the statements of
+ * {@link AccountRepository} the reactive endpoints need.
+ */
+public interface ReactiveAccountRepository extends R2dbcRepository<AccountRow, Long> {
+
+    /**
+     * Atomically adds the signed amount to the balance of the account under the same credit limit rule as
+     * {@link AccountRepository#applyBalanceChange(Long, BigDecimal, LocalDateTime)}, balance slots included, and
+     * moves {@code last_transaction_at} forward to the event date.
+     *
+     * @param accountId The unique ID of the account to update.
+     * @param amount    The signed amount to apply (negative for debits, positive for credits).
+     * @param eventDate When the transaction behind the change happened.
+     * @return The number of rows updated: 1 on success, 0 if the account does not exist or the limit would be exceeded.
+     */
+    @Modifying
+    @Query("""
+            UPDATE accounts SET balance = balance + :amount,
+                last_transaction_at = CASE WHEN last_transaction_at > :eventDate
+                                           THEN last_transaction_at ELSE :eventDate END
+            WHERE account_id = :accountId
+              AND balance + :amount + credit_limit
+                  + CASE WHEN balance_slots > 0
+                         THEN COALESCE((SELECT SUM(s.balance) FROM account_balance_slots s
+                                        WHERE s.account_id = :accountId), 0)
+                         ELSE 0 END
+                  >= 0
+            """)
+    Mono<Integer> applyBalanceChange(@Param("accountId") Long accountId,
+                                     @Param("amount") BigDecimal amount,
+                                     @Param("eventDate") LocalDateTime eventDate);
+
+    /**
+     * Reads the stored fields of the summary of an account, balance slots included, like
+     * {@link AccountRepository#findSummary(Long)}.
+     *
+     * @param accountId The unique ID of the account.
+     * @return A {@link Mono} of the summary fields, empty if no account exists with that ID.
+     */
+    @Query("""
+            SELECT a.account_id,
+                   a.balance + COALESCE((SELECT SUM(s.balance) FROM account_balance_slots s
+                                         WHERE s.account_id = a.account_id), 0) AS balance,
+                   a.credit_limit,
+                   COALESCE((SELECT MAX(s.last_transaction_at) FROM account_balance_slots s
+                             WHERE s.account_id = a.account_id
+                               AND (a.last_transaction_at IS NULL OR s.last_transaction_at > a.last_transaction_at)),
+                            a.last_transaction_at) AS last_transaction_at
+            FROM accounts a WHERE a.account_id = :accountId
+            """)
+    Mono<SummaryRow> findSummary(@Param("accountId") Long accountId);
+
+    /**
+     * The stored fields of an account summary, from which the available limit is derived.
+     */
+    record SummaryRow(Long accountId, BigDecimal balance, BigDecimal creditLimit,
+                      @Nullable LocalDateTime lastTransactionAt) {
+
+        public AccountSummaryResponse toResponse() {
+            return new AccountSummaryResponse(accountId, balance, creditLimit, lastTransactionAt);
+        }
+    }
+}
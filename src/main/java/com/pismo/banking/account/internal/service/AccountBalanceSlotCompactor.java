@@ -0,0 +1,77 @@
+package com.pismo.banking.account.internal.service;
+
+import com.pismo.banking.account.internal.model.AccountBalanceSlot;
+import com.pismo.banking.account.internal.repository.AccountBalanceSlotRepository;
+import com.pismo.banking.account.internal.repository.AccountRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Periodically folds the amounts held in {@link AccountBalanceSlot}s back into their account rows, so the slots of
+ * a hot account never hold more than the credits of one compaction interval.
+ *
+ * <p>Each account is compacted in its own database transaction: its slots are read, their total is added to the
+ * account row and then subtracted from each slot, so the aggregate balance never changes. The account row is
+ * locked first, in the same order as by a debit, which also keeps compactions of the same account by several
+ * instances from folding the same amounts. Only the amount that was read is subtracted from a slot, so a credit
+ * committed to it in the meantime stays there until the next run.</p>
+ */
+@Component
+public class AccountBalanceSlotCompactor {
+
+    private final AccountRepository accountRepository;
+    private final AccountBalanceSlotRepository balanceSlotRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public AccountBalanceSlotCompactor(final AccountRepository accountRepository,
+                                       final AccountBalanceSlotRepository balanceSlotRepository,
+                                       final PlatformTransactionManager transactionManager) {
+        this.accountRepository = accountRepository;
+        this.balanceSlotRepository = balanceSlotRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Folds the slots of every account holding an amount in them back into the account row.
+     *
+     * @return The number of compacted accounts.
+     */
+    @Scheduled(fixedDelayString = "${banking.accounts.balance-slots.compaction-interval:PT10S}")
+    public int compact() {
+        final List<Long> accountIds = balanceSlotRepository.findAccountIdsWithBalance();
+        for (Long accountId : accountIds) {
+            transactionTemplate.executeWithoutResult(status -> compact(accountId));
+        }
+        return accountIds.size();
+    }
+
+    private void compact(final Long accountId) {
+        accountRepository.findByIdForUpdate(accountId);
+        final List<AccountBalanceSlot> foldedSlots = new ArrayList<>();
+        BigDecimal total = BigDecimal.ZERO;
+        LocalDateTime lastTransactionAt = null;
+        for (AccountBalanceSlot balanceSlot : balanceSlotRepository.findByAccountId(accountId)) {
+            if (balanceSlot.getBalance().signum() != 0) {
+                foldedSlots.add(balanceSlot);
+                total = total.add(balanceSlot.getBalance());
+                if (lastTransactionAt == null || balanceSlot.getLastTransactionAt().isAfter(lastTransactionAt)) {
+                    lastTransactionAt = balanceSlot.getLastTransactionAt();
+                }
+            }
+        }
+        if (lastTransactionAt == null) {
+            return;
+        }
+        accountRepository.foldBalanceSlots(accountId, total, lastTransactionAt);
+        for (AccountBalanceSlot balanceSlot : foldedSlots) {
+            balanceSlotRepository.subtractBalance(accountId, balanceSlot.getSlot(), balanceSlot.getBalance());
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.pismo.banking.account.internal.service;
+
+import com.pismo.banking.account.api.AccountBatchService;
+import com.pismo.banking.account.api.AccountService;
+import com.pismo.banking.account.api.dto.AccountBatchItemResponse;
+import com.pismo.banking.account.api.dto.AccountBatchRequest;
+import com.pismo.banking.account.api.dto.AccountBatchResponse;
+import com.pismo.banking.account.api.dto.AccountRequest;
+import com.pismo.banking.account.internal.cache.AccountCache;
+import com.pismo.banking.account.internal.exception.AccountAlreadyExistsException;
+import com.pismo.banking.account.internal.mapper.AccountMapper;
+import com.pismo.banking.account.internal.model.Account;
+import com.pismo.banking.account.internal.repository.AccountRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Concrete implementation of the {@link AccountBatchService} interface.
+ *
+ * <p>Document numbers repeated within the batch are rejected up front, keeping their first occurrence. The
+ * remaining items are processed in chunks of {@code banking.accounts.batch.chunk-size}, each in its own
+ * database transaction: one {@code IN} query finds the document numbers that already have an account, and the
+ * new accounts are inserted together, which Hibernate sends as JDBC batches (multi-row inserts on MySQL with
+ * {@code rewriteBatchedStatements}).</p>
+ *
+ * <p>If a concurrent request creates one of the accounts between the lookup and the insert, the chunk is
+ * rolled back and its items are created one by one through {@link AccountService#createAccount}, so each of
+ * them still gets its own outcome.</p>
+ *
+ * <p>Items that fail for any other reason are reported as {@code FAILED} with a generic message; the cause is
+ * logged, not returned to the client.</p>
+ */
+@Service
+public class AccountBatchServiceImpl implements AccountBatchService {
+
+    /** The message of a batch item that failed unexpectedly. */
+    static final String FAILED_ITEM_MESSAGE = "The account could not be created";
+
+    private static final Logger log = LoggerFactory.getLogger(AccountBatchServiceImpl.class);
+
+    private final AccountRepository accountRepository;
+    private final AccountService accountService;
+    private final AccountCache accountCache;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public AccountBatchServiceImpl(final AccountRepository accountRepository,
+                                   final AccountService accountService,
+                                   final AccountCache accountCache,
+                                   final PlatformTransactionManager transactionManager,
+                                   @Value("${banking.accounts.batch.chunk-size:500}") final int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Account batch chunk size must be positive, was " + chunkSize);
+        }
+        this.accountRepository = accountRepository;
+        this.accountService = accountService;
+        this.accountCache = accountCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * @inheritDoc
+     * <p>Items whose document number already has an account or is repeated within the batch are reported as
+     * {@code REJECTED}; any other failure is logged and reported as {@code FAILED} with the generic
+     * {@link #FAILED_ITEM_MESSAGE}, without affecting the items of the other chunks.</p>
+     */
+    @Override
+    public AccountBatchResponse createAccounts(final AccountBatchRequest batchRequest) {
+        final List<AccountRequest> requests = batchRequest.accounts();
+        final AccountBatchItemResponse[] results = new AccountBatchItemResponse[requests.size()];
+
+        final Map<String, Integer> firstIndexes = new HashMap<>();
+        final List<Integer> uniqueIndexes = new ArrayList<>(requests.size());
+        for (int index = 0; index < requests.size(); index++) {
+            final String documentNumber = requests.get(index).documentNumber();
+            final Integer firstIndex = firstIndexes.putIfAbsent(documentNumber, index);
+            if (firstIndex == null) {
+                uniqueIndexes.add(index);
+            } else {
+                results[index] = rejected(index, String.format(
+                        "Document number %s is repeated in the batch at index %d", documentNumber, firstIndex));
+            }
+        }
+
+        for (int from = 0; from < uniqueIndexes.size(); from += chunkSize) {
+            createChunk(requests, uniqueIndexes.subList(from, Math.min(from + chunkSize, uniqueIndexes.size())),
+                    results);
+        }
+        return new AccountBatchResponse(Arrays.asList(results));
+    }
+
+    private void createChunk(final List<AccountRequest> requests,
+                             final List<Integer> indexes,
+                             final AccountBatchItemResponse[] results) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> insertChunk(requests, indexes, results));
+        } catch (DataIntegrityViolationException concurrentInsert) {
+            // An account of the chunk was created concurrently after the lookup; sort the chunk out item by item.
+            for (Integer index : indexes) {
+                results[index] = createOne(index, requests.get(index));
+            }
+        } catch (RuntimeException failure) {
+            log.error("Account batch chunk of {} items starting at item {} failed", indexes.size(), indexes.getFirst(),
+                    failure);
+            for (Integer index : indexes) {
+                results[index] = failed(index);
+            }
+        }
+    }
+
+    private void insertChunk(final List<AccountRequest> requests,
+                             final List<Integer> indexes,
+                             final AccountBatchItemResponse[] results) {
+        final List<String> documentNumbers = new ArrayList<>(indexes.size());
+        for (Integer index : indexes) {
+            documentNumbers.add(requests.get(index).documentNumber());
+        }
+        final Set<String> existing = new HashSet<>(accountRepository.findExistingDocumentNumbers(documentNumbers));
+
+        final List<Integer> newIndexes = new ArrayList<>(indexes.size());
+        final List<Account> newAccounts = new ArrayList<>(indexes.size());
+        for (Integer index : indexes) {
+            final AccountRequest request = requests.get(index);
+            if (existing.contains(request.documentNumber())) {
+                results[index] = rejected(index,
+                        new AccountAlreadyExistsException(request.documentNumber()).getMessage());
+            } else {
+                newIndexes.add(index);
+                newAccounts.add(AccountMapper.toEntity(request));
+            }
+        }
+        if (newAccounts.isEmpty()) {
+            return;
+        }
+
+        final List<Account> savedAccounts = accountRepository.saveAll(newAccounts);
+        accountRepository.flush();
+        for (int i = 0; i < savedAccounts.size(); i++) {
+            final Account savedAccount = savedAccounts.get(i);
+            accountCache.put(savedAccount);
+            results[newIndexes.get(i)] = new AccountBatchItemResponse(newIndexes.get(i),
+                    AccountBatchItemResponse.Status.CREATED, AccountMapper.toDto(savedAccount), null);
+        }
+    }
+
+    private AccountBatchItemResponse createOne(final int index, final AccountRequest request) {
+        try {
+            return new AccountBatchItemResponse(index, AccountBatchItemResponse.Status.CREATED,
+                    accountService.createAccount(request), null);
+        } catch (AccountAlreadyExistsException alreadyExists) {
+            return rejected(index, alreadyExists.getMessage());
+        } catch (RuntimeException failure) {
+            log.error("Account batch item {} failed", index, failure);
+            return failed(index);
+        }
+    }
+
+    private static AccountBatchItemResponse rejected(final int index, final String reason) {
+        return new AccountBatchItemResponse(index, AccountBatchItemResponse.Status.REJECTED, null, reason);
+    }
+
+    private static AccountBatchItemResponse failed(final int index) {
+        return new AccountBatchItemResponse(index, AccountBatchItemResponse.Status.FAILED, null, FAILED_ITEM_MESSAGE);
+    }
+}
@@ -3,80 +3,262 @@ package com.pismo.banking.account.internal.service;
 import com.pismo.banking.account.api.AccountService;
 import com.pismo.banking.account.api.dto.AccountRequest;
 import com.pismo.banking.account.api.dto.AccountResponse;
+import com.pismo.banking.account.api.dto.AccountSummaryResponse;
+import com.pismo.banking.account.internal.cache.AccountCache;
+import com.pismo.banking.account.internal.cache.CachedAccount;
 import com.pismo.banking.account.internal.exception.AccountAlreadyExistsException;
 import com.pismo.banking.account.internal.mapper.AccountMapper;
 import com.pismo.banking.account.internal.model.Account;
+import com.pismo.banking.account.internal.model.AccountBalanceSlot;
+import com.pismo.banking.account.internal.repository.AccountBalanceSlotRepository;
 import com.pismo.banking.account.internal.repository.AccountRepository;
 import com.pismo.banking.common.exception.AccountNotFoundException;
+import com.pismo.banking.common.exception.InSufficientLimitException;
+import com.pismo.banking.common.money.Money;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
 /**
  * Concrete implementation of the {@link AccountService} interface.
  * Manages the business logic and data access operations for bank accounts.
  *
  * <p>Uses Spring's {@code @Service} stereotype and manages transactions declaratively
  * via {@code @Transactional}.</p>
+ *
+ * <p>Reads that only need the immutable account fields are served from the {@link AccountCache}, which every
+ * account write updates. Anything involving the balance always goes to the database.</p>
+ *
+ * <p>The account row doubles as the read model of the account summary: every balance change also records the
+ * time of the transaction behind it, so the summary is read with one primary key lookup.</p>
+ *
+ * <p>Accounts flagged with balance slots take their credits on {@link AccountBalanceSlot} rows picked at random,
+ * so that concurrent payments to a hot account are not serialized by the lock of its row. Debits still go to the
+ * account row and check the limit against the aggregate balance. The slots are folded back into the account row
+ * by the {@link AccountBalanceSlotCompactor}.</p>
  */
 @Service
 @Transactional
 public class AccountServiceImpl implements AccountService {
 
     private final AccountRepository accountRepository;
+    private final AccountBalanceSlotRepository balanceSlotRepository;
+    private final AccountCache accountCache;
 
-    public AccountServiceImpl(final AccountRepository accountRepository) {
+    public AccountServiceImpl(final AccountRepository accountRepository,
+                              final AccountBalanceSlotRepository balanceSlotRepository,
+                              final AccountCache accountCache) {
         this.accountRepository = accountRepository;
+        this.balanceSlotRepository = balanceSlotRepository;
+        this.accountCache = accountCache;
     }
 
     /**
      * @inheritDoc
-     * <p>This implementation ensures the document number is unique before saving the new account
-     * entity generated by the {@link AccountMapper}.</p>
+     * <p>This implementation inserts the new account entity generated by the {@link AccountMapper} right away and
+     * relies on the unique index on {@code document_number} to detect duplicates, so a creation costs a single
+     * statement and two concurrent creations for the same document cannot both succeed.</p>
      */
     @Override
     public AccountResponse createAccount(final AccountRequest accountRequest) {
         final String documentNumber = accountRequest.documentNumber();
-        if(accountRepository.existsByDocumentNumber(documentNumber)){
-            throw new AccountAlreadyExistsException(documentNumber);
-        }
-
         final Account account = AccountMapper.toEntity(accountRequest);
-        final Account savedAccount = accountRepository.save(account);
+        final Account savedAccount;
+        try {
+            savedAccount = accountRepository.saveAndFlush(account);
+        } catch (DataIntegrityViolationException integrityViolation) {
+            if (isUniqueViolation(integrityViolation)) {
+                throw new AccountAlreadyExistsException(documentNumber);
+            }
+            throw integrityViolation;
+        }
+        accountCache.put(savedAccount);
         return AccountMapper.toDto(savedAccount);
     }
 
     /**
      * @inheritDoc
-     * <p>Retrieves the account entity via the repository and maps it to a DTO.
+     * <p>Served from the {@link AccountCache} when possible; otherwise retrieves the account entity via the
+     * repository, caches it and maps it to a DTO.
      * Throws {@link AccountNotFoundException} if the ID is not found.</p>
      */
     @Override
+    @Transactional(readOnly = true)
     public AccountResponse getAccountById(final Long accountId) {
-        return accountRepository.findById(accountId)
-                .map(AccountMapper::toDto)
-                .orElseThrow(() -> new AccountNotFoundException(accountId));
+        return findCached(accountId).toResponse();
     }
 
     /**
      * @inheritDoc
-     * <p>Performs a quick existence check using a repository count/exists method
-     * and throws {@link AccountNotFoundException} if the ID is missing.</p>
+     * <p>Reads a projection of the account row only; known missing IDs are rejected without a query.</p>
      */
     @Override
-    public void validateAccountExists(final Long accountId) {
-        if(!accountRepository.existsById(accountId)){
+    @Transactional(readOnly = true)
+    public AccountSummaryResponse getAccountSummary(final Long accountId) {
+        if (accountCache.isKnownMissing(accountId)) {
             throw new AccountNotFoundException(accountId);
         }
+        return accountRepository.findSummary(accountId)
+                .orElseThrow(() -> notFound(accountId));
     }
 
+    /**
+     * @inheritDoc
+     * <p>Answers from the {@link AccountCache} when possible; otherwise performs a quick existence check using a
+     * repository count/exists method and throws {@link AccountNotFoundException} if the ID is missing.</p>
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void validateAccountExists(final Long accountId) {
+        if (accountCache.get(accountId) != null) {
+            return;
+        }
+        if (accountCache.isKnownMissing(accountId) || !accountRepository.existsById(accountId)) {
+            throw notFound(accountId);
+        }
+    }
+
+    /**
+     * @inheritDoc
+     * <p>Not cached: the returned entity carries the current balance. Known missing IDs are rejected
+     * without a query.</p>
+     */
     @Override
     public Account findById(final Long accountId) {
+        if (accountCache.isKnownMissing(accountId)) {
+            throw new AccountNotFoundException(accountId);
+        }
         return accountRepository.findById(accountId)
-                .orElseThrow(() -> new AccountNotFoundException(accountId));
+                .orElseThrow(() -> notFound(accountId));
+    }
+
+    @Override
+    public Account findByIdForUpdate(final Long accountId) {
+        if (accountCache.isKnownMissing(accountId)) {
+            throw new AccountNotFoundException(accountId);
+        }
+        return accountRepository.findByIdForUpdate(accountId)
+                .orElseThrow(() -> notFound(accountId));
     }
 
     @Override
     public void updateAccount(final Account account) {
-        accountRepository.save(account);
+        accountCache.put(accountRepository.save(account));
+    }
+
+    /**
+     * @inheritDoc
+     * <p>Issues a single guarded {@code UPDATE}, followed on success by a primary key read of the new summary.
+     * When no row was affected, a second query tells a missing account apart from an exceeded limit, and a
+     * cached account skips even that. Accounts known to be missing are rejected without touching the database.</p>
+     */
+    @Override
+    public AccountSummaryResponse applyBalanceChange(final Long accountId,
+                                                     final Money amount,
+                                                     final LocalDateTime eventDate) {
+        if (accountCache.isKnownMissing(accountId)) {
+            throw new AccountNotFoundException(accountId);
+        }
+        if (accountRepository.applyBalanceChange(accountId, amount.toBigDecimal(), eventDate) == 1) {
+            // The update keeps the row locked until commit, so this read returns exactly what it wrote.
+            return accountRepository.findSummary(accountId).orElseThrow();
+        }
+        if (accountCache.get(accountId) == null && !accountRepository.existsById(accountId)) {
+            throw notFound(accountId);
+        }
+        throw new InSufficientLimitException("The Limit has exceeded");
+    }
+
+    /**
+     * @inheritDoc
+     * <p>The slot count is read from the {@link AccountCache}, so a change made by another instance is picked up
+     * within the cache expiry. Either way the balance stays right: a credit to the account row is always valid,
+     * and slots are only dropped by compaction. If the picked slot does not exist, the credit falls back to
+     * {@link #applyBalanceChange}.</p>
+     *
+     * <p>A slot credit reads nothing back: the aggregate balance it could read is not ordered with the debits and
+     * the other slot credits committing at the same time, so it would not be the balance this credit left.</p>
+     */
+    @Override
+    public Optional<AccountSummaryResponse> applyCredit(final Long accountId,
+                                                       final Money amount,
+                                                       final LocalDateTime eventDate) {
+        final int balanceSlots = findCached(accountId).balanceSlots();
+        if (balanceSlots > 0) {
+            final int slot = ThreadLocalRandom.current().nextInt(balanceSlots);
+            if (balanceSlotRepository.applyCredit(accountId, slot, amount.toBigDecimal(), eventDate) == 1) {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(applyBalanceChange(accountId, amount, eventDate));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Money getSlotBalance(final Long accountId) {
+        return Money.of(balanceSlotRepository.sumBalance(accountId));
+    }
+
+    /**
+     * @inheritDoc
+     * <p>Locks the account row while the slots are created, so concurrent changes of the slot count of the same
+     * account cannot insert the same slot twice.</p>
+     */
+    @Override
+    public void setBalanceSlots(final Long accountId, final int balanceSlots) {
+        final Account account = findByIdForUpdate(accountId);
+        final Set<Integer> existingSlots = new HashSet<>();
+        for (AccountBalanceSlot balanceSlot : balanceSlotRepository.findByAccountId(accountId)) {
+            existingSlots.add(balanceSlot.getSlot());
+        }
+        final List<AccountBalanceSlot> missingSlots = new ArrayList<>();
+        for (int slot = 0; slot < balanceSlots; slot++) {
+            if (!existingSlots.contains(slot)) {
+                missingSlots.add(new AccountBalanceSlot(accountId, slot, BigDecimal.ZERO, null));
+            }
+        }
+        balanceSlotRepository.saveAll(missingSlots);
+        account.setBalanceSlots(balanceSlots);
+        accountCache.put(accountRepository.save(account));
+    }
+
+    private CachedAccount findCached(final Long accountId) {
+        final CachedAccount cachedAccount = accountCache.get(accountId);
+        if (cachedAccount != null) {
+            return cachedAccount;
+        }
+        if (accountCache.isKnownMissing(accountId)) {
+            throw new AccountNotFoundException(accountId);
+        }
+        final Account account = accountRepository.findById(accountId)
+                .orElseThrow(() -> notFound(accountId));
+        accountCache.put(account);
+        return CachedAccount.of(account);
+    }
+
+    /**
+     * The only unique key of an account that is not generated by the application is its document number.
+     */
+    private static boolean isUniqueViolation(final DataIntegrityViolationException integrityViolation) {
+        return integrityViolation.getCause() instanceof ConstraintViolationException constraintViolation
+                && constraintViolation.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE;
+    }
+
+    /**
+     * Records a database miss in the negative cache and creates the exception to throw for it.
+     */
+    private AccountNotFoundException notFound(final Long accountId) {
+        accountCache.markMissing(accountId);
+        return new AccountNotFoundException(accountId);
     }
 }
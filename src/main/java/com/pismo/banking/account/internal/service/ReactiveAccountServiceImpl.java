@@ -0,0 +1,146 @@
+package com.pismo.banking.account.internal.service;
+
+import com.pismo.banking.account.api.ReactiveAccountService;
+import com.pismo.banking.account.api.dto.AccountRequest;
+import com.pismo.banking.account.api.dto.AccountResponse;
+import com.pismo.banking.account.api.dto.AccountSummaryResponse;
+import com.pismo.banking.account.internal.cache.AccountCache;
+import com.pismo.banking.account.internal.cache.CachedAccount;
+import com.pismo.banking.account.internal.exception.AccountAlreadyExistsException;
+import com.pismo.banking.account.internal.mapper.AccountMapper;
+import com.pismo.banking.account.internal.model.Account;
+import com.pismo.banking.account.internal.model.AccountRow;
+import com.pismo.banking.account.internal.repository.ReactiveAccountRepository;
+import com.pismo.banking.account.internal.repository.ReactiveAccountRepository.SummaryRow;
+import com.pismo.banking.common.config.IdAllocationConfig.IdAllocationDataSource;
+import com.pismo.banking.common.exception.AccountNotFoundException;
+import com.pismo.banking.common.exception.InSufficientLimitException;
+import com.pismo.banking.common.id.PooledIdAllocator;
+import com.pismo.banking.common.id.PooledTableIdGenerator;
+import com.pismo.banking.common.id.ReactivePooledIdAllocator;
+import com.pismo.banking.common.money.Money;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Concrete implementation of the {@link ReactiveAccountService} interface, running the statements of
+ * {@link AccountServiceImpl} through R2DBC.
+ *
+ * <p>It shares the {@link AccountCache} and the {@link AccountMapper} with the servlet stack. Account ids come from
+ * the same {@code accounts} sequence, through a {@link ReactivePooledIdAllocator}. Balance slots are not used:
+ * credits go to the account row, which is always valid since slots are only folded into it.</p>
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveAccountServiceImpl implements ReactiveAccountService {
+
+    private final ReactiveAccountRepository accountRepository;
+    private final AccountCache accountCache;
+    private final ReactivePooledIdAllocator accountIds;
+
+    @Autowired
+    public ReactiveAccountServiceImpl(
+            final ReactiveAccountRepository accountRepository,
+            final AccountCache accountCache,
+            final IdAllocationDataSource idAllocationDataSource,
+            @Value("${banking.ids.block-size:" + PooledTableIdGenerator.DEFAULT_BLOCK_SIZE + "}") final int idBlockSize) {
+        this(accountRepository, accountCache, new ReactivePooledIdAllocator(
+                new PooledIdAllocator(idAllocationDataSource.dataSource(), "accounts", idBlockSize)));
+    }
+
+    ReactiveAccountServiceImpl(final ReactiveAccountRepository accountRepository, final AccountCache accountCache,
+                               final ReactivePooledIdAllocator accountIds) {
+        this.accountRepository = accountRepository;
+        this.accountCache = accountCache;
+        this.accountIds = accountIds;
+    }
+
+    /**
+     * @inheritDoc
+     * <p>Like {@link AccountServiceImpl#createAccount(AccountRequest)}, inserts the account right away and relies
+     * on the unique index on {@code document_number} to detect duplicates.</p>
+     */
+    @Override
+    public Mono<AccountResponse> createAccount(final AccountRequest accountRequest) {
+        return accountIds.nextId()
+                .flatMap(accountId -> {
+                    final Account account = AccountMapper.toEntity(accountRequest);
+                    account.setAccountId(accountId);
+                    return accountRepository.save(AccountRow.of(account)).thenReturn(account);
+                })
+                // The account id is fresh, so the only unique key that can clash is the document number.
+                .onErrorMap(DuplicateKeyException.class,
+                        duplicateKey -> new AccountAlreadyExistsException(accountRequest.documentNumber()))
+                .doOnNext(accountCache::put)
+                .map(AccountMapper::toDto);
+    }
+
+    @Override
+    public Mono<AccountResponse> getAccountById(final Long accountId) {
+        final CachedAccount cachedAccount = accountCache.get(accountId);
+        if (cachedAccount != null) {
+            return Mono.just(cachedAccount.toResponse());
+        }
+        if (accountCache.isKnownMissing(accountId)) {
+            return Mono.error(new AccountNotFoundException(accountId));
+        }
+        return accountRepository.findById(accountId)
+                .map(AccountRow::toAccount)
+                .doOnNext(accountCache::put)
+                .map(AccountMapper::toDto)
+                .switchIfEmpty(Mono.error(() -> notFound(accountId)));
+    }
+
+    @Override
+    public Mono<AccountSummaryResponse> getAccountSummary(final Long accountId) {
+        if (accountCache.isKnownMissing(accountId)) {
+            return Mono.error(new AccountNotFoundException(accountId));
+        }
+        return accountRepository.findSummary(accountId)
+                .map(SummaryRow::toResponse)
+                .switchIfEmpty(Mono.error(() -> notFound(accountId)));
+    }
+
+    /**
+     * @inheritDoc
+     * <p>Issues the guarded {@code UPDATE} followed on success by a primary key read of the new summary, and on
+     * failure tells a missing account apart from an exceeded limit, as
+     * {@link AccountServiceImpl#applyBalanceChange(Long, Money, LocalDateTime)} does.</p>
+     */
+    @Override
+    public Mono<AccountSummaryResponse> applyBalanceChange(final Long accountId,
+                                                           final Money amount,
+                                                           final LocalDateTime eventDate) {
+        if (accountCache.isKnownMissing(accountId)) {
+            return Mono.error(new AccountNotFoundException(accountId));
+        }
+        return accountRepository.applyBalanceChange(accountId, amount.toBigDecimal(), eventDate)
+                .flatMap(updated -> {
+                    if (updated == 1) {
+                        return accountRepository.findSummary(accountId).map(SummaryRow::toResponse);
+                    }
+                    if (accountCache.get(accountId) != null) {
+                        return Mono.error(new InSufficientLimitException("The Limit has exceeded"));
+                    }
+                    return accountRepository.existsById(accountId)
+                            .flatMap(exists -> Mono.error(exists
+                                    ? new InSufficientLimitException("The Limit has exceeded")
+                                    : notFound(accountId)));
+                });
+    }
+
+    /**
+     * Records a database miss in the negative cache and creates the exception to fail with.
+     */
+    private AccountNotFoundException notFound(final Long accountId) {
+        accountCache.markMissing(accountId);
+        return new AccountNotFoundException(accountId);
+    }
+}
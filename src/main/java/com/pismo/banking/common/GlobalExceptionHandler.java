@@ -4,9 +4,14 @@ import com.pismo.banking.common.exception.AccountNotFoundException;
 import com.pismo.banking.common.exception.InSufficientLimitException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.server.ServerWebInputException;
 
 import java.util.stream.Collectors;
 
@@ -38,6 +43,76 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(apiError, httpStatus);
     }
 
+    /**
+     * Handles validation failures of controller methods that also constrain non-body parameters, such as request
+     * headers. Body field errors are reported in the same {@code field: message} form as
+     * {@link #handleValidationExceptions(MethodArgumentNotValidException)}.
+     * Translates validation failures into an HTTP 400 Bad Request response.
+     *
+     * @param ex The HandlerMethodValidationException thrown by the Spring framework.
+     * @return A {@link ResponseEntity} containing a detailed {@link ApiError} response and HTTP 400 status.
+     */
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ResponseEntity<ApiError> handleMethodValidationExceptions(final HandlerMethodValidationException ex) {
+        final String errorMessage = ex.getAllErrors().stream()
+                .map(error -> error instanceof FieldError fieldError
+                        ? fieldError.getField() + ": " + fieldError.getDefaultMessage()
+                        : error.getDefaultMessage())
+                .collect(Collectors.joining(", "));
+
+        final HttpStatus httpStatus = HttpStatus.BAD_REQUEST;
+        final ApiError apiError = new ApiError(httpStatus, "Validation failed: " + errorMessage);
+        return new ResponseEntity<>(apiError, httpStatus);
+    }
+
+    /**
+     * Handles request parameters and path variables that cannot be converted to their declared type, such as a
+     * malformed date. Translates the failure into an HTTP 400 Bad Request response.
+     *
+     * @param ex The MethodArgumentTypeMismatchException thrown by the Spring framework.
+     * @return A {@link ResponseEntity} containing a detailed {@link ApiError} response and HTTP 400 status.
+     */
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ApiError> handleTypeMismatchExceptions(final MethodArgumentTypeMismatchException ex) {
+        final HttpStatus httpStatus = HttpStatus.BAD_REQUEST;
+        final ApiError apiError = new ApiError(httpStatus,
+                "Validation failed: " + ex.getName() + ": Invalid value " + ex.getValue());
+        return new ResponseEntity<>(apiError, httpStatus);
+    }
+
+    /**
+     * Handles request bodies of the reactive stack that fail validation, the WebFlux counterpart of
+     * {@link MethodArgumentNotValidException}. Field errors are reported in the same {@code field: message} form.
+     * Translates validation failures into an HTTP 400 Bad Request response.
+     *
+     * @param ex The WebExchangeBindException thrown by the Spring framework.
+     * @return A {@link ResponseEntity} containing a detailed {@link ApiError} response and HTTP 400 status.
+     */
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ApiError> handleExchangeBindExceptions(final WebExchangeBindException ex) {
+        final String errorMessage = ex.getFieldErrors().stream()
+                .map(error -> error.getField() + ": " + error.getDefaultMessage())
+                .collect(Collectors.joining(", "));
+
+        final HttpStatus httpStatus = HttpStatus.BAD_REQUEST;
+        final ApiError apiError = new ApiError(httpStatus, "Validation failed: " + errorMessage);
+        return new ResponseEntity<>(apiError, httpStatus);
+    }
+
+    /**
+     * Handles other malformed input on the reactive stack, such as an unreadable body or a path variable that
+     * cannot be converted to its declared type. Translates the failure into an HTTP 400 Bad Request response.
+     *
+     * @param ex The ServerWebInputException thrown by the Spring framework.
+     * @return A {@link ResponseEntity} containing a detailed {@link ApiError} response and HTTP 400 status.
+     */
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<ApiError> handleServerWebInputExceptions(final ServerWebInputException ex) {
+        final HttpStatus httpStatus = HttpStatus.BAD_REQUEST;
+        final ApiError apiError = new ApiError(httpStatus, "Validation failed: " + ex.getReason());
+        return new ResponseEntity<>(apiError, httpStatus);
+    }
+
     /**
      * A general fallback handler for any {@link RuntimeException} that hasn't been handled by a more specific
      * {@code @ExceptionHandler}.
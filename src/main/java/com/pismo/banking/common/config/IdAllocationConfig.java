@@ -0,0 +1,55 @@
+package com.pismo.banking.common.config;
+
+import com.pismo.banking.common.id.PooledTableIdGenerator;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Passes the id allocation settings of the application to the Hibernate identifier generators.
+ *
+ * <p>Id blocks are reserved through a small connection pool of their own, so a request holding one of the
+ * application's connections never waits for a second one from the same, possibly exhausted, pool.</p>
+ */
+@Configuration
+public class IdAllocationConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer idBlockSizeCustomizer(
+            @Value("${banking.ids.block-size:" + PooledTableIdGenerator.DEFAULT_BLOCK_SIZE + "}") final int blockSize) {
+        return properties -> properties.put(PooledTableIdGenerator.BLOCK_SIZE_SETTING, blockSize);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer idDataSourceCustomizer(final IdAllocationDataSource idAllocationDataSource) {
+        return properties -> properties.put(PooledTableIdGenerator.DATA_SOURCE_SETTING,
+                idAllocationDataSource.dataSource());
+    }
+
+    @Bean(destroyMethod = "close")
+    public IdAllocationDataSource idAllocationDataSource(final DataSourceProperties dataSourceProperties,
+            @Value("${banking.ids.pool-size:2}") final int poolSize) {
+        final HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("id-allocation");
+        dataSource.setMaximumPoolSize(poolSize);
+        dataSource.setMinimumIdle(1);
+        return new IdAllocationDataSource(dataSource);
+    }
+
+    /**
+     * Holds the id allocation pool without exposing it as a {@link javax.sql.DataSource} bean, which would
+     * replace the application's auto-configured one.
+     */
+    public record IdAllocationDataSource(HikariDataSource dataSource) implements AutoCloseable {
+
+        @Override
+        public void close() {
+            dataSource.close();
+        }
+    }
+}
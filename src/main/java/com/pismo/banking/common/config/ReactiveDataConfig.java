@@ -0,0 +1,57 @@
+package com.pismo.banking.common.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
+import org.springframework.data.r2dbc.mapping.R2dbcMappingContext;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+/**
+ * Database access of the reactive stack, active when the application runs as a reactive web application
+ * (the {@code reactive} profile).
+ *
+ * <p>Spring Boot does not auto-configure a JDBC {@link javax.sql.DataSource} next to an R2DBC
+ * {@link ConnectionFactory}, but the migrations, the JPA services and the scheduled jobs still need one, so it is
+ * declared here from the same {@code spring.datasource} settings.</p>
+ *
+ * <p>The R2DBC transaction manager is deliberately not a bean: a second
+ * {@link org.springframework.transaction.TransactionManager} would keep the JPA one from being auto-configured and
+ * make every {@code @Transactional} ambiguous. The reactive services demarcate their transactions with the
+ * {@link TransactionalOperator} instead.</p>
+ *
+ * <p>Spring Data R2DBC quotes every identifier by default, which makes them case-sensitive and no longer match the
+ * unquoted names of the Flyway migrations on every database, so the mapping context leaves them unquoted.</p>
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReactiveDataConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(final DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    @Bean
+    public TransactionalOperator r2dbcTransactionalOperator(final ConnectionFactory connectionFactory) {
+        return TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+    }
+
+    @Bean
+    public R2dbcMappingContext r2dbcMappingContext(final R2dbcCustomConversions r2dbcCustomConversions) {
+        final R2dbcMappingContext mappingContext = new R2dbcMappingContext();
+        mappingContext.setSimpleTypeHolder(r2dbcCustomConversions.getSimpleTypeHolder());
+        mappingContext.setForceQuote(false);
+        return mappingContext;
+    }
+}
@@ -0,0 +1,40 @@
+package com.pismo.banking.common.converter;
+
+import com.pismo.banking.common.money.Money;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+
+/**
+ * JPA Attribute Converter to map {@link Money} to a {@code NUMERIC(12,2)} database column (and vice-versa).
+ *
+ * The autoApply = true setting means this converter is automatically used for all fields
+ * of type Money within the application's entities.
+ */
+@Converter(autoApply = true)
+public class MoneyConverter implements AttributeConverter<Money, BigDecimal> {
+
+    /**
+     * Converts the amount in cents into the decimal column value.
+     *
+     * @param money The amount from the Java entity.
+     * @return The corresponding decimal of scale 2, or null for a null amount.
+     */
+    @Override
+    public BigDecimal convertToDatabaseColumn(final Money money) {
+        return money == null ? null : money.toBigDecimal();
+    }
+
+    /**
+     * Converts the decimal column value back into an amount in cents.
+     *
+     * @param dbData The decimal value loaded from the database column.
+     * @return The corresponding amount, or null for a null column.
+     * @throws ArithmeticException if the value has more than 2 fractional digits.
+     */
+    @Override
+    public Money convertToEntityAttribute(final BigDecimal dbData) {
+        return dbData == null ? null : Money.of(dbData);
+    }
+}
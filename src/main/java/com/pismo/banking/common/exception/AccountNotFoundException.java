@@ -8,10 +8,13 @@ import com.pismo.banking.common.GlobalExceptionHandler;
  *
  * <p>This exception typically results in an HTTP 404 Not Found response being returned to the client,
  * handled by the application's exception handler {@link GlobalExceptionHandler}.</p>
+ *
+ * <p>It is an expected outcome rather than a programming error, and can be raised at a high rate when unknown IDs
+ * are probed, so no stack trace is captured.</p>
  */
 public class AccountNotFoundException extends RuntimeException{
 
     public AccountNotFoundException(Long accountId) {
-        super(String.format("Account with id %s not found", accountId));
+        super("Account with id " + accountId + " not found", null, false, false);
     }
 }
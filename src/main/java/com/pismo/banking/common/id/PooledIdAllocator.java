@@ -0,0 +1,119 @@
+package com.pismo.banking.common.id;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.OptionalLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out the ids of an {@code id_sequences} row, reserving them in blocks. This is the only place blocks are
+ * reserved: {@link PooledTableIdGenerator} uses it for the entities Hibernate inserts, rows written with plain
+ * JDBC or R2DBC take their ids from it directly.
+ *
+ * <p>Each allocator reserves a block of {@code blockSize} ids with a single, separately committed update of its
+ * sequence row and hands them out from memory until the block is used up. The update is guarded by the previous
+ * value, so allocators of the same sequence, in this or any other instance, never receive overlapping blocks.</p>
+ *
+ * <p>The block is reserved outside the caller's transaction, on a connection of its own. Callers that already
+ * hold a connection must therefore pass a {@link DataSource} other than the one they took it from, or a request
+ * holding the last pooled connection would wait forever for a block.</p>
+ */
+public class PooledIdAllocator {
+
+    private static final String SELECT_SQL = "SELECT next_val FROM id_sequences WHERE sequence_name = ?";
+    private static final String UPDATE_SQL =
+            "UPDATE id_sequences SET next_val = ? WHERE sequence_name = ? AND next_val = ?";
+
+    private final DataSource dataSource;
+    private final String sequenceName;
+    private final int blockSize;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long nextId;
+    private long blockEnd;
+
+    /**
+     * @param dataSource   The pool blocks are reserved through.
+     * @param sequenceName The {@code sequence_name} of the {@code id_sequences} row.
+     * @param blockSize    The number of ids reserved per round trip to the sequence table.
+     */
+    public PooledIdAllocator(final DataSource dataSource, final String sequenceName, final int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Id block size must be positive, was " + blockSize);
+        }
+        this.dataSource = dataSource;
+        this.sequenceName = sequenceName;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Returns the next id, reserving a new block first when the current one is used up.
+     *
+     * @return An id no other caller receives.
+     * @throws IllegalStateException if the block cannot be reserved.
+     */
+    public long nextId() {
+        lock.lock();
+        try {
+            if (nextId == blockEnd) {
+                nextId = reserveBlock();
+                blockEnd = nextId + blockSize;
+            }
+            return nextId++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the next id only if it can be handed out from memory, without waiting: when the current block is
+     * used up, or another caller holds the allocator while it reserves a block, nothing is handed out.
+     *
+     * @return The next id, or empty if it would take {@link #nextId()} to get one.
+     */
+    public OptionalLong tryNextId() {
+        if (!lock.tryLock()) {
+            return OptionalLong.empty();
+        }
+        try {
+            return nextId == blockEnd ? OptionalLong.empty() : OptionalLong.of(nextId++);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reserves the next block of the sequence with a separately committed update, retrying when another
+     * allocator reserved a block in between.
+     *
+     * @return The first id of the reserved block.
+     */
+    private long reserveBlock() {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            try (PreparedStatement select = connection.prepareStatement(SELECT_SQL);
+                 PreparedStatement update = connection.prepareStatement(UPDATE_SQL)) {
+                select.setString(1, sequenceName);
+                update.setString(2, sequenceName);
+                while (true) {
+                    final long blockStart;
+                    try (ResultSet resultSet = select.executeQuery()) {
+                        if (!resultSet.next()) {
+                            throw new IllegalStateException("Id sequence " + sequenceName + " does not exist");
+                        }
+                        blockStart = resultSet.getLong(1);
+                    }
+                    update.setLong(1, blockStart + blockSize);
+                    update.setLong(3, blockStart);
+                    if (update.executeUpdate() == 1) {
+                        return blockStart;
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not reserve an id block from sequence " + sequenceName, e);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.pismo.banking.common.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates the annotated identifier from a row of the {@code id_sequences} table, reserving ids in blocks.
+ * See {@link PooledTableIdGenerator}.
+ */
+@IdGeneratorType(PooledTableIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface PooledTableId {
+
+    /**
+     * @return The {@code sequence_name} of the {@code id_sequences} row the ids are allocated from.
+     */
+    String sequence();
+}
@@ -0,0 +1,87 @@
+package com.pismo.banking.common.id;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.GeneratorCreationContext;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.jspecify.annotations.Nullable;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Identifier generator that allocates ids in blocks from the {@code id_sequences} table, through a
+ * {@link PooledIdAllocator}.
+ *
+ * <p>Unlike {@code IDENTITY}, the id is known before the insert, which lets Hibernate group inserts into JDBC
+ * batches ({@code hibernate.jdbc.batch_size}). The id columns have no default of their own, so every row must
+ * take its id from the sequence table.</p>
+ *
+ * <p>The block is reserved outside the caller's transaction, which needs a second connection while the caller
+ * still holds its own. Taking that connection from the application pool deadlocks as soon as every pooled
+ * connection belongs to a transaction waiting for a new block, so the connections are taken from the dedicated
+ * {@link #DATA_SOURCE_SETTING} pool. Without it, as in the JPA test slices, which do not load the application's
+ * configuration, they are taken from the session factory's own pool.</p>
+ */
+public class PooledTableIdGenerator implements IdentifierGenerator {
+
+    /**
+     * Hibernate setting holding the number of ids reserved per round trip to the sequence table.
+     */
+    public static final String BLOCK_SIZE_SETTING = "banking.ids.block-size";
+
+    /**
+     * Hibernate setting holding the {@link DataSource} blocks are reserved through. When absent, the blocks are
+     * reserved through the session factory's own pool.
+     */
+    public static final String DATA_SOURCE_SETTING = "banking.ids.data-source";
+
+    /**
+     * Block size used when {@link #BLOCK_SIZE_SETTING} is not set.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 50;
+
+    private final String sequenceName;
+    private @Nullable PooledIdAllocator allocator;
+
+    public PooledTableIdGenerator(final PooledTableId config) {
+        this.sequenceName = config.sequence();
+    }
+
+    @Override
+    public void configure(final GeneratorCreationContext creationContext, final Properties parameters)
+            throws MappingException {
+        final Map<String, Object> settings =
+                creationContext.getServiceRegistry().requireService(ConfigurationService.class).getSettings();
+        final int blockSize = ConfigurationHelper.getInt(BLOCK_SIZE_SETTING, settings, DEFAULT_BLOCK_SIZE);
+        if (blockSize < 1) {
+            throw new MappingException("Id block size must be positive, was " + blockSize);
+        }
+        final DataSource dataSource = settings.get(DATA_SOURCE_SETTING) instanceof DataSource configured
+                ? configured
+                : sessionFactoryDataSource(creationContext);
+        this.allocator = new PooledIdAllocator(dataSource, sequenceName, blockSize);
+    }
+
+    private static DataSource sessionFactoryDataSource(final GeneratorCreationContext creationContext) {
+        final ConnectionProvider connectionProvider =
+                creationContext.getServiceRegistry().requireService(ConnectionProvider.class);
+        if (!connectionProvider.isUnwrappableAs(DataSource.class)) {
+            throw new MappingException("Set " + DATA_SOURCE_SETTING + ": the connection provider "
+                    + connectionProvider.getClass().getName() + " is not backed by a DataSource");
+        }
+        return connectionProvider.unwrap(DataSource.class);
+    }
+
+    @Override
+    public Object generate(final SharedSessionContractImplementor session, final Object object) {
+        if (allocator == null) {
+            throw new IllegalStateException("Id generator of sequence " + sequenceName + " is not configured");
+        }
+        return allocator.nextId();
+    }
+}
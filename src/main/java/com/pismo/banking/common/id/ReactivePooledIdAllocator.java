@@ -0,0 +1,45 @@
+package com.pismo.banking.common.id;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.OptionalLong;
+
+/**
+ * Hands out the ids of a {@link PooledIdAllocator} to the reactive stack, for rows written through R2DBC.
+ *
+ * <p>Blocks are reserved by the wrapped allocator, so the ids never overlap with the ones the generator or any other
+ * allocator of the same sequence hands out. Ids still in the current block are handed out on the calling thread.
+ * The caller that finds the block used up reserves the next one over JDBC, so only that caller moves to the
+ * bounded elastic scheduler, never blocking an event loop.</p>
+ *
+ * <p>The reservation runs on a connection of the allocator's own pool, so callers must ask for ids before they open
+ * the database transaction that uses them; they then never hold a connection while waiting for another one.</p>
+ */
+public class ReactivePooledIdAllocator {
+
+    private final PooledIdAllocator allocator;
+
+    /**
+     * @param allocator The allocator the ids are taken from.
+     */
+    public ReactivePooledIdAllocator(final PooledIdAllocator allocator) {
+        this.allocator = allocator;
+    }
+
+    /**
+     * Returns the next id, reserving a new block first when the current one is used up.
+     *
+     * @return A {@link Mono} of an id no other caller receives, failing with an {@link IllegalStateException} if
+     *         the block cannot be reserved.
+     */
+    public Mono<Long> nextId() {
+        return Mono.defer(() -> {
+            final OptionalLong id = allocator.tryNextId();
+            if (id.isPresent()) {
+                return Mono.just(id.getAsLong());
+            }
+            return Mono.fromCallable(allocator::nextId).subscribeOn(Schedulers.boundedElastic());
+        });
+    }
+}
@@ -0,0 +1,100 @@
+package com.pismo.banking.common.money;
+
+import java.math.BigDecimal;
+
+/**
+ * An amount of money as a whole number of cents, the fixed-point representation of the {@code NUMERIC(12,2)}
+ * columns of the ledger.
+ *
+ * <p>Balances, limits and transaction amounts are kept as {@code Money} between the API boundary and the
+ * database, so the balance and limit arithmetic of every transaction is done on {@code long}s instead of
+ * allocating a {@link BigDecimal} per operation. Amounts are converted from and to {@link BigDecimal} only where
+ * they enter or leave the application: request and response bodies, JDBC parameters and the
+ * {@link com.pismo.banking.common.converter.MoneyConverter} of the entities.</p>
+ *
+ * <p>An amount never exceeds what the columns hold, {@value #MAX_CENTS} cents in absolute value: creating one
+ * that does, directly or as the result of an operation, throws an {@link ArithmeticException}. Two amounts in
+ * range never overflow a {@code long} when added.</p>
+ *
+ * @param cents The amount in cents, negative for debits.
+ */
+public record Money(long cents) implements Comparable<Money> {
+
+    /** The largest number of cents a {@code NUMERIC(12,2)} column holds, 9,999,999,999.99. */
+    public static final long MAX_CENTS = 999_999_999_999L;
+
+    public static final Money ZERO = new Money(0);
+
+    private static final int SCALE = 2;
+
+    public Money {
+        if (cents > MAX_CENTS || cents < -MAX_CENTS) {
+            throw new ArithmeticException("Amount of " + cents + " cents exceeds NUMERIC(12,2)");
+        }
+    }
+
+    /**
+     * Converts a decimal amount.
+     *
+     * @param amount The amount, with at most 2 fractional digits.
+     * @return The amount in cents.
+     * @throws ArithmeticException if the amount has more than 2 fractional digits or is out of range.
+     */
+    public static Money of(final BigDecimal amount) {
+        return new Money(amount.scaleByPowerOfTen(SCALE).longValueExact());
+    }
+
+    /**
+     * Converts a whole amount, e.g. a credit limit of {@code 1000}.
+     *
+     * @param units The amount in currency units.
+     * @return The amount in cents.
+     * @throws ArithmeticException if the amount is out of range.
+     */
+    public static Money ofUnits(final long units) {
+        return new Money(Math.multiplyExact(units, 100L));
+    }
+
+    /**
+     * @return The amount as a decimal of scale 2.
+     */
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    public Money plus(final Money other) {
+        return new Money(cents + other.cents);
+    }
+
+    public Money minus(final Money other) {
+        return new Money(cents - other.cents);
+    }
+
+    public Money negate() {
+        return cents == 0 ? this : new Money(-cents);
+    }
+
+    public boolean isNegative() {
+        return cents < 0;
+    }
+
+    /**
+     * The credit limit rule: whether a balance is beyond the limit of the account, without allocating.
+     *
+     * @param limit The credit limit of the account.
+     * @return {@code true} if {@code this + limit < 0}.
+     */
+    public boolean exceeds(final Money limit) {
+        return cents + limit.cents < 0;
+    }
+
+    @Override
+    public int compareTo(final Money other) {
+        return Long.compare(cents, other.cents);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
@@ -0,0 +1,98 @@
+package com.pismo.banking.common.thread;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Reports virtual threads that block while pinned to their carrier thread, which with
+ * {@code spring.threads.virtual.enabled} turns a blocking call back into a platform thread held for its duration.
+ *
+ * <p>On Java 21 a virtual thread is pinned while it runs inside a {@code synchronized} block or a native frame,
+ * as in a JDBC driver or pool that still guards its I/O with monitors. The monitor streams the
+ * {@code jdk.VirtualThreadPinned} events of the JVM's flight recorder for blocks longer than
+ * {@code banking.threads.pinning-check.threshold}, counts them in {@code banking.threads.virtual.pinned} and logs
+ * the stack of each place it happens once. It is active with virtual threads unless
+ * {@code banking.threads.pinning-check.enabled} is false.</p>
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(name = "banking.threads.pinning-check.enabled", havingValue = "true", matchIfMissing = true)
+public class VirtualThreadPinningMonitor implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 12;
+
+    private final RecordingStream recordingStream;
+    private final Counter pinned;
+    private final Set<String> pinningSites = ConcurrentHashMap.newKeySet();
+
+    public VirtualThreadPinningMonitor(
+            @Value("${banking.threads.pinning-check.threshold:PT0.02S}") final Duration threshold,
+            final MeterRegistry meterRegistry) {
+        this.pinned = Counter.builder("banking.threads.virtual.pinned")
+                .description("Number of times a virtual thread blocked while pinned to its carrier thread")
+                .register(meterRegistry);
+        this.recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+        recordingStream.startAsync();
+    }
+
+    /**
+     * @return The first application or library frame of every place a virtual thread was found pinned, as
+     *         {@code class.method:line}.
+     */
+    public Set<String> pinningSites() {
+        return Set.copyOf(pinningSites);
+    }
+
+    private void onPinned(final RecordedEvent event) {
+        pinned.increment();
+        final RecordedStackTrace stackTrace = event.getStackTrace();
+        final List<RecordedFrame> frames = stackTrace == null ? List.of() : stackTrace.getFrames();
+        final String site = frames.stream()
+                .filter(frame -> !isPlatformFrame(frame))
+                .findFirst()
+                .map(VirtualThreadPinningMonitor::format)
+                .orElse("unknown");
+        if (pinningSites.add(site)) {
+            log.warn("Virtual thread blocked for {} while pinned at {}:\n\tat {}", event.getDuration(), site,
+                    frames.stream().limit(LOGGED_FRAMES).map(VirtualThreadPinningMonitor::format)
+                            .collect(Collectors.joining("\n\tat ")));
+        }
+    }
+
+    private static boolean isPlatformFrame(final RecordedFrame frame) {
+        final String className = frame.getMethod().getType().getName();
+        return className.startsWith("java.") || className.startsWith("jdk.") || className.startsWith("sun.");
+    }
+
+    private static String format(final RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":"
+                + frame.getLineNumber();
+    }
+
+    @Override
+    public void destroy() {
+        recordingStream.close();
+    }
+}
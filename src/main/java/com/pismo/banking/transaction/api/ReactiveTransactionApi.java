@@ -0,0 +1,54 @@
+package com.pismo.banking.transaction.api;
+
+import com.pismo.banking.common.ApiError;
+import com.pismo.banking.transaction.api.dto.TransactionRequest;
+import com.pismo.banking.transaction.api.dto.TransactionResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import reactor.core.publisher.Mono;
+
+/**
+ * Defines the non-blocking variant of the {@link TransactionApi} contract, served by the reactive stack.
+ * Requests and responses are the same as those of the matching {@link TransactionApi} operations; batches are
+ * only served by the servlet stack.
+ */
+@RequestMapping("/transactions")
+@Tag(name = "Transaction Management", description = "Transaction management APIs")
+public interface ReactiveTransactionApi {
+
+    /**
+     * Creates and processes a new financial transaction against a customer account.
+     *
+     * When an {@code Idempotency-Key} header is sent, retries with the same key return the originally
+     * created transaction instead of creating a new one.
+     *
+     * @param transactionRequest The request body containing the transaction details like account ID, operation type ID, and amount.
+     * @param idempotencyKey     Optional client-generated key identifying the operation across retries.
+     * @return A {@link Mono} of the response entity containing the created transaction details (HTTP 201 CREATED).
+     */
+    @PostMapping
+    @Operation(summary = "Create a new transaction for an account")
+    @ApiResponse(responseCode = "201", description = "Transaction created successfully",
+            content = @Content(schema = @Schema(implementation = TransactionResponse.class)))
+    @ApiResponse(responseCode = "400", description = "Bad Request",
+            content = @Content(schema = @Schema(implementation = ApiError.class)))
+    @ApiResponse(responseCode = "404", description = "Account doesn't exist",
+            content = @Content(schema = @Schema(implementation = ApiError.class)))
+    Mono<ResponseEntity<TransactionResponse>> createTransaction(
+            @Valid @RequestBody TransactionRequest transactionRequest,
+            @Parameter(description = "Client-generated key that makes retries of this request safe")
+            @Size(max = 64, message = "Idempotency-Key must be at most 64 characters")
+            @RequestHeader(name = "Idempotency-Key", required = false) @Nullable String idempotencyKey);
+}
@@ -0,0 +1,30 @@
+package com.pismo.banking.transaction.api;
+
+import com.pismo.banking.common.exception.AccountNotFoundException;
+import com.pismo.banking.common.exception.InSufficientLimitException;
+import com.pismo.banking.transaction.api.dto.TransactionRequest;
+import com.pismo.banking.transaction.api.dto.TransactionResponse;
+import com.pismo.banking.transaction.internal.exception.InvalidOperationTypeException;
+import org.jspecify.annotations.Nullable;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link TransactionService} for the reactive stack.
+ */
+public interface ReactiveTransactionService {
+
+    /**
+     * Creates and processes a new transaction at most once per idempotency key, with the same rules as
+     * {@link TransactionService#createTransaction(TransactionRequest, String)}.
+     *
+     * @param transactionRequest The request object containing details for the transaction,
+     *                           including account ID, operation type ID, and amount.
+     * @param idempotencyKey     The client-supplied key identifying this operation across retries,
+     *                           or {@code null} to always create a new transaction.
+     * @return A {@link Mono} of the created (or previously created) transaction, failing with
+     *         {@link AccountNotFoundException} if the account does not exist, {@link InvalidOperationTypeException}
+     *         if the operation type is not supported or {@link InSufficientLimitException} if the account cannot
+     *         afford it.
+     */
+    Mono<TransactionResponse> createTransaction(TransactionRequest transactionRequest, @Nullable String idempotencyKey);
+}
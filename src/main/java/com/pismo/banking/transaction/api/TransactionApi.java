@@ -1,17 +1,23 @@
 package com.pismo.banking.transaction.api;
 
 import com.pismo.banking.common.ApiError;
+import com.pismo.banking.transaction.api.dto.TransactionBatchRequest;
+import com.pismo.banking.transaction.api.dto.TransactionBatchResponse;
 import com.pismo.banking.transaction.api.dto.TransactionRequest;
 import com.pismo.banking.transaction.api.dto.TransactionResponse;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
+import org.jspecify.annotations.Nullable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 
 /**
@@ -27,7 +33,11 @@ public interface TransactionApi {
      * This operation applies business logic to validate inputs and determine the
      * final positive or negative sign of the transaction amount based on the operation type ID.
      *
+     * When an {@code Idempotency-Key} header is sent, retries with the same key return the originally
+     * created transaction instead of creating a new one.
+     *
      * @param transactionRequest The request body containing the transaction details like account ID, operation type ID, and amount.
+     * @param idempotencyKey     Optional client-generated key identifying the operation across retries.
      * @return A response entity containing the created transaction details (HTTP 201 CREATED).
      */
     @PostMapping
@@ -38,5 +48,25 @@ public interface TransactionApi {
             content = @Content(schema = @Schema(implementation = ApiError.class)))
     @ApiResponse(responseCode = "404", description = "Account doesn't exist",
             content = @Content(schema = @Schema(implementation = ApiError.class)))
-    ResponseEntity<TransactionResponse> createTransaction(@Valid @RequestBody TransactionRequest transactionRequest);
+    ResponseEntity<TransactionResponse> createTransaction(
+            @Valid @RequestBody TransactionRequest transactionRequest,
+            @Parameter(description = "Client-generated key that makes retries of this request safe")
+            @Size(max = 64, message = "Idempotency-Key must be at most 64 characters")
+            @RequestHeader(name = "Idempotency-Key", required = false) @Nullable String idempotencyKey);
+
+    /**
+     * Creates and processes a batch of financial transactions, e.g. the operations of a settlement file.
+     * Every item is validated up front; the whole batch is refused if any item is malformed. Valid items are
+     * then grouped by account and each item is reported individually as created, rejected or failed.
+     *
+     * @param batchRequest The request body containing the transactions to create.
+     * @return A response entity containing the outcome of every item, in request order (HTTP 200 OK).
+     */
+    @PostMapping("/batch")
+    @Operation(summary = "Create a batch of transactions")
+    @ApiResponse(responseCode = "200", description = "Batch processed, see the status of every item",
+            content = @Content(schema = @Schema(implementation = TransactionBatchResponse.class)))
+    @ApiResponse(responseCode = "400", description = "Bad Request",
+            content = @Content(schema = @Schema(implementation = ApiError.class)))
+    ResponseEntity<TransactionBatchResponse> createTransactions(@Valid @RequestBody TransactionBatchRequest batchRequest);
 }
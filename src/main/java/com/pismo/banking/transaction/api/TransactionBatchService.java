@@ -0,0 +1,20 @@
+package com.pismo.banking.transaction.api;
+
+import com.pismo.banking.transaction.api.dto.TransactionBatchRequest;
+import com.pismo.banking.transaction.api.dto.TransactionBatchResponse;
+
+/**
+ * Service interface for creating many transactions in a single call, e.g. when replaying a settlement file.
+ */
+public interface TransactionBatchService {
+
+    /**
+     * Creates every transaction of the batch, applying the same rules as
+     * {@link TransactionService#createTransaction}. Transactions of the same account are processed in request
+     * order and written together; a rejected item does not prevent the other items from being created.
+     *
+     * @param batchRequest The request object containing the transactions to create.
+     * @return A {@link TransactionBatchResponse} with the outcome of every item, in request order.
+     */
+    TransactionBatchResponse createTransactions(TransactionBatchRequest batchRequest);
+}
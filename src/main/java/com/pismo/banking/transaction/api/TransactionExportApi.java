@@ -0,0 +1,71 @@
+package com.pismo.banking.transaction.api;
+
+import com.pismo.banking.common.ApiError;
+import com.pismo.banking.transaction.api.dto.TransactionExportFormat;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.PositiveOrZero;
+import org.jspecify.annotations.Nullable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+
+/**
+ * Defines the contract for exporting transactions in bulk via the REST API.
+ * This interface centralizes API documentation and configuration using OpenAPI annotations.
+ */
+@RequestMapping("/transactions/export")
+@Tag(name = "Transaction Management", description = "Transaction management APIs")
+public interface TransactionExportApi {
+
+    /**
+     * Streams every matching transaction, in ascending ID order, one per line. The export is written while it
+     * is read from the database, so it can be of any size, but one that runs longer than
+     * {@code banking.transactions.export.max-duration} is cut off. An interrupted export is resumed by passing the
+     * last {@code transaction_id} received as {@code after_id}; since IDs are not committed in ascending order,
+     * the resumed export is only complete when {@code to} is in the past. The export is gzip-compressed when the
+     * client accepts it with a non-zero weight.
+     *
+     * @param accountId      Optional account the transactions must belong to.
+     * @param from           Optional inclusive lower bound of the event date.
+     * @param to             Optional exclusive upper bound of the event date.
+     * @param afterId        Optional ID after which the export starts.
+     * @param format         The format of the export.
+     * @param acceptEncoding The encodings accepted by the client.
+     * @return A response entity streaming the export (HTTP 200 OK).
+     */
+    @GetMapping
+    @Operation(summary = "Export transactions as NDJSON or CSV")
+    @ApiResponse(responseCode = "200", description = "Export streamed",
+            content = {@Content(mediaType = "application/x-ndjson"), @Content(mediaType = "text/csv")})
+    @ApiResponse(responseCode = "400", description = "Bad Request",
+            content = @Content(schema = @Schema(implementation = ApiError.class)))
+    @ApiResponse(responseCode = "404", description = "Account not found",
+            content = @Content(schema = @Schema(implementation = ApiError.class)))
+    ResponseEntity<StreamingResponseBody> exportTransactions(
+            @Parameter(description = "Only export the transactions of this account")
+            @RequestParam(name = "account_id", required = false) @Nullable Long accountId,
+            @Parameter(description = "Only export transactions that happened at or after this instant", example = "2026-01-01T00:00:00")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            @RequestParam(required = false) @Nullable LocalDateTime from,
+            @Parameter(description = "Only export transactions that happened before this instant", example = "2026-02-01T00:00:00")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            @RequestParam(required = false) @Nullable LocalDateTime to,
+            @Parameter(description = "Resume an interrupted export after this transaction ID; only complete when to is in the past")
+            @PositiveOrZero(message = "after_id must not be negative")
+            @RequestParam(name = "after_id", required = false) @Nullable Long afterId,
+            @Parameter(description = "Format of the export")
+            @RequestParam(defaultValue = "NDJSON") TransactionExportFormat format,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) @Nullable String acceptEncoding);
+}
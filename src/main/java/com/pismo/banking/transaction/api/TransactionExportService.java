@@ -0,0 +1,39 @@
+package com.pismo.banking.transaction.api;
+
+import com.pismo.banking.common.exception.AccountNotFoundException;
+import com.pismo.banking.transaction.api.dto.TransactionExportQuery;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Service interface for exporting transactions in bulk, e.g. for the extracts of the data team.
+ */
+public interface TransactionExportService {
+
+    /**
+     * Checks the export criteria and prepares the export. Nothing is read until the export is written, so
+     * errors in the criteria are reported before any output is produced.
+     *
+     * @param query The filters, resume position and format of the export.
+     * @return The export, ready to be written.
+     * @throws AccountNotFoundException if an account is given and does not exist.
+     */
+    TransactionExport exportTransactions(TransactionExportQuery query);
+
+    /**
+     * A prepared transaction export.
+     */
+    @FunctionalInterface
+    interface TransactionExport {
+
+        /**
+         * Writes every matching transaction, in ascending ID order, to the given stream as it is read from the
+         * database. The stream is flushed but not closed.
+         *
+         * @param outputStream The stream to write the export to.
+         * @throws IOException if writing to the stream fails, e.g. because the client went away.
+         */
+        void writeTo(OutputStream outputStream) throws IOException;
+    }
+}
@@ -0,0 +1,96 @@
+package com.pismo.banking.transaction.api;
+
+import com.pismo.banking.common.ApiError;
+import com.pismo.banking.transaction.api.dto.AccountBalanceResponse;
+import com.pismo.banking.transaction.api.dto.TransactionHistoryResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.jspecify.annotations.Nullable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.time.LocalDateTime;
+
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+/**
+ * Defines the contract for reading the transaction history of an account, and its balance at any point of that
+ * history, via the REST API.
+ * This interface centralizes API documentation and configuration using OpenAPI annotations.
+ */
+@RequestMapping("/accounts/{accountId}")
+@Tag(name = "Transaction Management", description = "Transaction management APIs")
+public interface TransactionHistoryApi {
+
+    /**
+     * Retrieves one page of the transactions of an account, most recent first.
+     * The first page is requested without a cursor; every following page with the {@code next_cursor} of the
+     * page before it, keeping the same filters. The last page has no {@code next_cursor}.
+     *
+     * @param accountId       The unique identifier for the account.
+     * @param operationTypeId Optional operation type the transactions must have.
+     * @param from            Optional inclusive lower bound of the event date.
+     * @param to              Optional exclusive upper bound of the event date.
+     * @param cursor          The {@code next_cursor} of the previous page, absent for the first page.
+     * @param limit           The maximum number of transactions on the page.
+     * @return A response entity containing the page of transactions (HTTP 200 OK).
+     */
+    @GetMapping(value = "/transactions", produces = APPLICATION_JSON_VALUE)
+    @Operation(summary = "List the transactions of an account, most recent first")
+    @ApiResponse(responseCode = "200", description = "Page of transactions retrieved",
+            content = @Content(schema = @Schema(implementation = TransactionHistoryResponse.class)))
+    @ApiResponse(responseCode = "400", description = "Bad Request",
+            content = @Content(schema = @Schema(implementation = ApiError.class)))
+    @ApiResponse(responseCode = "404", description = "Account not found",
+            content = @Content(schema = @Schema(implementation = ApiError.class)))
+    ResponseEntity<TransactionHistoryResponse> getTransactions(
+            @PathVariable Long accountId,
+            @Parameter(description = "Only list transactions of this operation type")
+            @Min(value = 1, message = "Operation type ID must be at least 1")
+            @Max(value = 4, message = "Operation type ID must be at most 4")
+            @RequestParam(name = "operation_type_id", required = false) @Nullable Integer operationTypeId,
+            @Parameter(description = "Only list transactions that happened at or after this instant", example = "2026-01-01T00:00:00")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            @RequestParam(required = false) @Nullable LocalDateTime from,
+            @Parameter(description = "Only list transactions that happened before this instant", example = "2026-02-01T00:00:00")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            @RequestParam(required = false) @Nullable LocalDateTime to,
+            @Parameter(description = "The next_cursor of the previous page")
+            @RequestParam(required = false) @Nullable String cursor,
+            @Parameter(description = "Maximum number of transactions on the page (1 to 500)")
+            @Min(value = 1, message = "Limit must be at least 1")
+            @Max(value = 500, message = "Limit must be at most 500")
+            @RequestParam(defaultValue = "50") int limit);
+
+    /**
+     * Retrieves the balance of an account at a given instant, that is the balance left by its last transaction
+     * at or before that instant. Accounts open with a zero balance.
+     *
+     * @param accountId The unique identifier for the account.
+     * @param at        The instant to read the balance at, the current time when absent.
+     * @return A response entity containing the balance (HTTP 200 OK).
+     */
+    @GetMapping(value = "/balance", produces = APPLICATION_JSON_VALUE)
+    @Operation(summary = "Retrieve the balance of an account at a point in time")
+    @ApiResponse(responseCode = "200", description = "Balance retrieved",
+            content = @Content(schema = @Schema(implementation = AccountBalanceResponse.class)))
+    @ApiResponse(responseCode = "400", description = "Bad Request",
+            content = @Content(schema = @Schema(implementation = ApiError.class)))
+    @ApiResponse(responseCode = "404", description = "Account not found",
+            content = @Content(schema = @Schema(implementation = ApiError.class)))
+    ResponseEntity<AccountBalanceResponse> getBalance(
+            @PathVariable Long accountId,
+            @Parameter(description = "Instant to read the balance at, now when absent", example = "2026-01-01T00:00:00")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            @RequestParam(required = false) @Nullable LocalDateTime at);
+}
@@ -0,0 +1,37 @@
+package com.pismo.banking.transaction.api;
+
+import com.pismo.banking.common.exception.AccountNotFoundException;
+import com.pismo.banking.transaction.api.dto.AccountBalanceResponse;
+import com.pismo.banking.transaction.api.dto.TransactionHistoryQuery;
+import com.pismo.banking.transaction.api.dto.TransactionHistoryResponse;
+import com.pismo.banking.transaction.internal.exception.InvalidCursorException;
+
+import java.time.LocalDateTime;
+
+/**
+ * Service interface for reading the transaction history of an account and its balance over time.
+ */
+public interface TransactionHistoryService {
+
+    /**
+     * Retrieves one page of the transactions of an account, most recent first. Pages are addressed by the
+     * cursor of the previous page rather than by an offset, so every page costs the same to read.
+     *
+     * @param query The account, filters, cursor and page size.
+     * @return A {@link TransactionHistoryResponse} with the transactions of the page and the cursor of the next one.
+     * @throws AccountNotFoundException if no account exists with the provided ID.
+     * @throws InvalidCursorException   if the cursor was not issued by this service.
+     */
+    TransactionHistoryResponse getTransactions(TransactionHistoryQuery query);
+
+    /**
+     * Retrieves the balance of an account at a given instant, read from the balance recorded on its last
+     * transaction at or before that instant rather than by summing its history.
+     *
+     * @param accountId The unique ID of the account.
+     * @param at        The instant to read the balance at.
+     * @return An {@link AccountBalanceResponse} with the balance, zero if the account had no transaction by then.
+     * @throws AccountNotFoundException if no account exists with the provided ID.
+     */
+    AccountBalanceResponse getBalanceAt(Long accountId, LocalDateTime at);
+}
@@ -4,6 +4,7 @@ import com.pismo.banking.common.exception.AccountNotFoundException;
 import com.pismo.banking.transaction.api.dto.TransactionRequest;
 import com.pismo.banking.transaction.api.dto.TransactionResponse;
 import com.pismo.banking.transaction.internal.exception.InvalidOperationTypeException;
+import org.jspecify.annotations.Nullable;
 
 /**
  * Service interface for managing financial transactions.
@@ -25,5 +26,23 @@ public interface TransactionService {
      * @throws AccountNotFoundException If the account specified in the request does not exist.
      * @throws InvalidOperationTypeException If the operation type ID provided is invalid or not supported.
      */
-    TransactionResponse createTransaction(TransactionRequest transactionRequest);
+    default TransactionResponse createTransaction(TransactionRequest transactionRequest) {
+        return createTransaction(transactionRequest, null);
+    }
+
+    /**
+     * Creates and processes a new transaction at most once per idempotency key.
+     * If a transaction was already created with the same key, its response is returned again
+     * and nothing else is changed.
+     *
+     * @param transactionRequest The request object containing details for the transaction,
+     *                           including account ID, operation type ID, and amount.
+     * @param idempotencyKey     The client-supplied key identifying this operation across retries,
+     *                           or {@code null} to always create a new transaction.
+     * @return A {@link TransactionResponse} object representing the created (or previously created) transaction.
+     *
+     * @throws AccountNotFoundException If the account specified in the request does not exist.
+     * @throws InvalidOperationTypeException If the operation type ID provided is invalid or not supported.
+     */
+    TransactionResponse createTransaction(TransactionRequest transactionRequest, @Nullable String idempotencyKey);
 }
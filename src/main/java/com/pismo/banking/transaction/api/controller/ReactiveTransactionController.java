@@ -0,0 +1,36 @@
+package com.pismo.banking.transaction.api.controller;
+
+import com.pismo.banking.transaction.api.ReactiveTransactionApi;
+import com.pismo.banking.transaction.api.ReactiveTransactionService;
+import com.pismo.banking.transaction.api.dto.TransactionRequest;
+import com.pismo.banking.transaction.api.dto.TransactionResponse;
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/**
+ * REST controller implementation for transaction processing on the reactive stack.
+ * Implements the {@link ReactiveTransactionApi} contract and delegates business logic to the
+ * {@link ReactiveTransactionService}.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveTransactionController implements ReactiveTransactionApi {
+
+    private final ReactiveTransactionService transactionService;
+
+    public ReactiveTransactionController(final ReactiveTransactionService transactionService) {
+        this.transactionService = transactionService;
+    }
+
+    @Override
+    public Mono<ResponseEntity<TransactionResponse>> createTransaction(final TransactionRequest transactionRequest,
+                                                                       final @Nullable String idempotencyKey) {
+        return transactionService.createTransaction(transactionRequest, idempotencyKey)
+                .map(transactionResponse -> ResponseEntity.status(HttpStatus.CREATED)
+                        .body(transactionResponse.withAmountScaleOf(transactionRequest.amount())));
+    }
+}
@@ -1,30 +1,53 @@
 package com.pismo.banking.transaction.api.controller;
 
 import com.pismo.banking.transaction.api.TransactionApi;
+import com.pismo.banking.transaction.api.TransactionBatchService;
 import com.pismo.banking.transaction.api.TransactionService;
+import com.pismo.banking.transaction.api.dto.TransactionBatchItemResponse;
+import com.pismo.banking.transaction.api.dto.TransactionBatchRequest;
+import com.pismo.banking.transaction.api.dto.TransactionBatchResponse;
 import com.pismo.banking.transaction.api.dto.TransactionRequest;
 import com.pismo.banking.transaction.api.dto.TransactionResponse;
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
  * REST controller implementation for managing transaction processing.
- * Implements the {@link TransactionApi} contract and delegates business logic to the {@link TransactionService}.
+ * Implements the {@link TransactionApi} contract and delegates business logic to the {@link TransactionService}
+ * and {@link TransactionBatchService}.
  */
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class TransactionController implements TransactionApi {
 
     private final TransactionService transactionService;
+    private final TransactionBatchService transactionBatchService;
 
-    public TransactionController(final TransactionService transactionService) {
+    public TransactionController(final TransactionService transactionService,
+                                 final TransactionBatchService transactionBatchService) {
         this.transactionService = transactionService;
+        this.transactionBatchService = transactionBatchService;
     }
 
     @Override
-    public ResponseEntity<TransactionResponse> createTransaction(final TransactionRequest transactionRequest){
-        TransactionResponse transactionResponse = transactionService.createTransaction(transactionRequest);
+    public ResponseEntity<TransactionResponse> createTransaction(final TransactionRequest transactionRequest,
+                                                                 final @Nullable String idempotencyKey){
+        TransactionResponse transactionResponse = transactionService.createTransaction(transactionRequest,
+                idempotencyKey);
         return ResponseEntity.status(HttpStatus.CREATED)
-                .body(transactionResponse);
+                .body(transactionResponse.withAmountScaleOf(transactionRequest.amount()));
+    }
+
+    @Override
+    public ResponseEntity<TransactionBatchResponse> createTransactions(final TransactionBatchRequest batchRequest) {
+        final TransactionBatchResponse batchResponse = transactionBatchService.createTransactions(batchRequest);
+        return ResponseEntity.ok(new TransactionBatchResponse(batchResponse.results().stream()
+                .map(item -> item.transaction() == null ? item : new TransactionBatchItemResponse(item.index(),
+                        item.status(), item.transaction().withAmountScaleOf(
+                        batchRequest.transactions().get(item.index()).amount()), item.errorMessage()))
+                .toList()));
     }
 }
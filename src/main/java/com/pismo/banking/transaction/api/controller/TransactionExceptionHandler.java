@@ -0,0 +1,34 @@
+package com.pismo.banking.transaction.api.controller;
+
+import com.pismo.banking.common.ApiError;
+import com.pismo.banking.transaction.internal.exception.InvalidCursorException;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+/**
+ * Exception handler specifically for exceptions originating within the 'com.pismo.banking.transaction' package controllers.
+ * This class uses the @ControllerAdvice annotation to intercept and process exceptions into standardized API error responses ({@link ApiError}).
+ * It takes precedence over the generic {@code RuntimeException} fallback of the global handler.
+ */
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ControllerAdvice("com.pismo.banking.transaction")
+public class TransactionExceptionHandler {
+
+    /**
+     * Exception handler specifically for {@link InvalidCursorException}.
+     * This method translates the exception into an HTTP 400 Bad Request response with a standardized error body.
+     *
+     * @param invalidCursorException The exception that was thrown during request processing.
+     * @return A {@link ResponseEntity} containing the {@link ApiError} object and an HTTP 400 (BAD_REQUEST) status.
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ApiError> handleInvalidCursorException(final InvalidCursorException invalidCursorException) {
+        final HttpStatus httpStatus = HttpStatus.BAD_REQUEST;
+        final ApiError apiError = new ApiError(httpStatus, invalidCursorException.getMessage());
+        return ResponseEntity.status(httpStatus).body(apiError);
+    }
+}
@@ -0,0 +1,99 @@
+package com.pismo.banking.transaction.api.controller;
+
+import com.pismo.banking.transaction.api.TransactionExportApi;
+import com.pismo.banking.transaction.api.TransactionExportService;
+import com.pismo.banking.transaction.api.dto.TransactionExportFormat;
+import com.pismo.banking.transaction.api.dto.TransactionExportQuery;
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * REST controller implementation for exporting transactions.
+ * Implements the {@link TransactionExportApi} contract and delegates business logic to the
+ * {@link TransactionExportService}.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class TransactionExportController implements TransactionExportApi {
+
+    private static final int GZIP_BUFFER_SIZE = 8192;
+
+    private final TransactionExportService transactionExportService;
+
+    public TransactionExportController(final TransactionExportService transactionExportService) {
+        this.transactionExportService = transactionExportService;
+    }
+
+    @Override
+    public ResponseEntity<StreamingResponseBody> exportTransactions(final @Nullable Long accountId,
+                                                                    final @Nullable LocalDateTime from,
+                                                                    final @Nullable LocalDateTime to,
+                                                                    final @Nullable Long afterId,
+                                                                    final TransactionExportFormat format,
+                                                                    final @Nullable String acceptEncoding) {
+        final TransactionExportService.TransactionExport export = transactionExportService.exportTransactions(
+                new TransactionExportQuery(accountId, from, to, afterId, format));
+        final boolean gzip = acceptEncoding != null && acceptsGzip(acceptEncoding);
+
+        final ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("transactions." + format.getFileExtension())
+                        .build()
+                        .toString());
+        if (!gzip) {
+            return response.body(export::writeTo);
+        }
+        return response.header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .body(outputStream -> {
+                    final GZIPOutputStream gzipStream = new GZIPOutputStream(outputStream, GZIP_BUFFER_SIZE);
+                    export.writeTo(gzipStream);
+                    gzipStream.finish();
+                });
+    }
+
+    /**
+     * Whether an {@code Accept-Encoding} header allows a gzip response: {@code gzip} (or {@code x-gzip}) is listed
+     * with a non-zero weight, or it is not listed and {@code *} is. A weight of {@code q=0} means "not
+     * acceptable".
+     */
+    static boolean acceptsGzip(final String acceptEncoding) {
+        Boolean gzip = null;
+        boolean wildcard = false;
+        for (String coding : acceptEncoding.split(",")) {
+            final String[] parameters = coding.split(";");
+            final String name = parameters[0].trim();
+            final boolean acceptable = weight(parameters) > 0;
+            if (name.equalsIgnoreCase("gzip") || name.equalsIgnoreCase("x-gzip")) {
+                gzip = acceptable;
+            } else if (name.equals("*")) {
+                wildcard = acceptable;
+            }
+        }
+        return gzip != null ? gzip : wildcard;
+    }
+
+    private static double weight(final String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            final String parameter = parameters[i].trim();
+            if (parameter.length() > 2 && parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                try {
+                    return Double.parseDouble(parameter.substring(2));
+                } catch (NumberFormatException malformed) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,46 @@
+package com.pismo.banking.transaction.api.controller;
+
+import com.pismo.banking.transaction.api.TransactionHistoryApi;
+import com.pismo.banking.transaction.api.TransactionHistoryService;
+import com.pismo.banking.transaction.api.dto.AccountBalanceResponse;
+import com.pismo.banking.transaction.api.dto.TransactionHistoryQuery;
+import com.pismo.banking.transaction.api.dto.TransactionHistoryResponse;
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+
+/**
+ * REST controller implementation for reading transaction histories.
+ * Implements the {@link TransactionHistoryApi} contract and delegates business logic to the
+ * {@link TransactionHistoryService}.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class TransactionHistoryController implements TransactionHistoryApi {
+
+    private final TransactionHistoryService transactionHistoryService;
+
+    public TransactionHistoryController(final TransactionHistoryService transactionHistoryService) {
+        this.transactionHistoryService = transactionHistoryService;
+    }
+
+    @Override
+    public ResponseEntity<TransactionHistoryResponse> getTransactions(final Long accountId,
+                                                                      final @Nullable Integer operationTypeId,
+                                                                      final @Nullable LocalDateTime from,
+                                                                      final @Nullable LocalDateTime to,
+                                                                      final @Nullable String cursor,
+                                                                      final int limit) {
+        return ResponseEntity.ok(transactionHistoryService.getTransactions(
+                new TransactionHistoryQuery(accountId, operationTypeId, from, to, cursor, limit)));
+    }
+
+    @Override
+    public ResponseEntity<AccountBalanceResponse> getBalance(final Long accountId, final @Nullable LocalDateTime at) {
+        return ResponseEntity.ok(transactionHistoryService.getBalanceAt(accountId,
+                at == null ? LocalDateTime.now() : at));
+    }
+}
@@ -0,0 +1,30 @@
+package com.pismo.banking.transaction.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A Data Transfer Object (DTO) representing the balance of an account at a point in time.
+ */
+@Schema(description = "Balance of an account at a point in time")
+public record AccountBalanceResponse(
+        /**
+         * The unique identifier of the account.
+         */
+        @JsonProperty("account_id")
+        @Schema(description = "Unique account identifier", example = "1")
+        Long accountId,
+        /**
+         * The balance of the account at the requested instant.
+         */
+        @Schema(description = "Balance at the requested instant", example = "123.45")
+        BigDecimal balance,
+        /**
+         * The instant the balance was read at.
+         */
+        @Schema(description = "Instant the balance was read at", example = "2026-01-05T09:34:18.5893223")
+        LocalDateTime at) {
+}
@@ -0,0 +1,46 @@
+package com.pismo.banking.transaction.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * A Data Transfer Object (DTO) representing the outcome of one item of a transaction batch.
+ */
+@Schema(description = "Outcome of a single batch item")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TransactionBatchItemResponse(
+        /**
+         * The zero-based position of the item in the batch request.
+         */
+        @Schema(description = "Zero-based position of the item in the request", example = "0")
+        int index,
+        /**
+         * Whether the item was created, rejected by a business rule, or failed unexpectedly.
+         */
+        @Schema(description = "Outcome of the item", example = "CREATED")
+        Status status,
+        /**
+         * The created transaction, present only when the item was created.
+         */
+        @Schema(description = "The created transaction, if any")
+        TransactionResponse transaction,
+        /**
+         * The reason the item was not created, present only when it was rejected or failed.
+         */
+        @JsonProperty("error_message")
+        @Schema(description = "Reason the item was not created", example = "The Limit has exceeded")
+        String errorMessage) {
+
+    /**
+     * Possible outcomes of a batch item.
+     */
+    public enum Status {
+        /** The transaction was created. */
+        CREATED,
+        /** The transaction was rejected by a business rule (unknown account, exceeded limit, invalid operation). */
+        REJECTED,
+        /** The transaction could not be processed because of an unexpected error. */
+        FAILED
+    }
+}
@@ -0,0 +1,26 @@
+package com.pismo.banking.transaction.api.dto;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * A Data Transfer Object (DTO) representing the request body required to create several transactions at once,
+ * e.g. when replaying a settlement file. Every item is validated with the same rules as a single transaction.
+ */
+@Schema(description = "Request body for creating a batch of transactions")
+public record TransactionBatchRequest(
+        /**
+         * The transactions to create, processed in the given order per account.
+         */
+        @NotEmpty(message = "Transactions are required")
+        @Size(max = 1000, message = "A batch can contain at most 1000 transactions")
+        @ArraySchema(schema = @Schema(implementation = TransactionRequest.class),
+                arraySchema = @Schema(description = "Transactions to create (1 to 1000)",
+                        requiredMode = Schema.RequiredMode.REQUIRED))
+        List<@Valid TransactionRequest> transactions) {
+}
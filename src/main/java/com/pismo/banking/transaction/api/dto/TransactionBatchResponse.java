@@ -0,0 +1,17 @@
+package com.pismo.banking.transaction.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * A Data Transfer Object (DTO) representing the response body of a transaction batch, with one result per item.
+ */
+@Schema(description = "Transaction batch response")
+public record TransactionBatchResponse(
+        /**
+         * The outcome of every item, in request order.
+         */
+        @Schema(description = "Outcome of every item, in request order")
+        List<TransactionBatchItemResponse> results) {
+}
@@ -0,0 +1,33 @@
+package com.pismo.banking.transaction.api.dto;
+
+/**
+ * Formats a transaction export can be written in. Both write one transaction per line.
+ */
+public enum TransactionExportFormat {
+    /** Newline-delimited JSON: one JSON object per transaction. */
+    NDJSON("application/x-ndjson", "ndjson"),
+    /** Comma-separated values, preceded by a header line. */
+    CSV("text/csv", "csv");
+
+    private final String mediaType;
+    private final String fileExtension;
+
+    TransactionExportFormat(final String mediaType, final String fileExtension) {
+        this.mediaType = mediaType;
+        this.fileExtension = fileExtension;
+    }
+
+    /**
+     * @return The media type of an export in this format.
+     */
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * @return The file extension of an export in this format.
+     */
+    public String getFileExtension() {
+        return fileExtension;
+    }
+}
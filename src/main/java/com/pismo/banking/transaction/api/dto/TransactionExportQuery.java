@@ -0,0 +1,22 @@
+package com.pismo.banking.transaction.api.dto;
+
+import org.jspecify.annotations.Nullable;
+
+import java.time.LocalDateTime;
+
+/**
+ * The criteria of a transaction export.
+ *
+ * @param accountId          Only export the transactions of this account, if present.
+ * @param from               Only export transactions that happened at or after this instant, if present.
+ * @param to                 Only export transactions that happened before this instant, if present.
+ * @param afterTransactionId Only export transactions with a greater ID, to resume an interrupted export, if present.
+ * @param format             The format to write the transactions in.
+ */
+public record TransactionExportQuery(
+        @Nullable Long accountId,
+        @Nullable LocalDateTime from,
+        @Nullable LocalDateTime to,
+        @Nullable Long afterTransactionId,
+        TransactionExportFormat format) {
+}
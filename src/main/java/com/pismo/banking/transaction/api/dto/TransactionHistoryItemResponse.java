@@ -0,0 +1,37 @@
+package com.pismo.banking.transaction.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A Data Transfer Object (DTO) representing one transaction of an account's history.
+ */
+@Schema(description = "Transaction of an account's history")
+public record TransactionHistoryItemResponse(
+        /**
+         * The unique system-generated identifier for the transaction.
+         */
+        @JsonProperty("transaction_id")
+        @Schema(description = "Unique transaction identifier", example = "1")
+        Long transactionId,
+        /**
+         * The operationType id for the operation performed by customer.
+         */
+        @JsonProperty("operation_type_id")
+        @Schema(description = "Operation type identifier", example = "4")
+        Integer operationTypeId,
+        /**
+         * The signed transaction amount.
+         */
+        @Schema(description = "Transaction amount", example = "123.45")
+        BigDecimal amount,
+        /**
+         * When the transaction happened.
+         */
+        @JsonProperty("event_date")
+        @Schema(description = "When the transaction happened", example = "2026-01-05T09:34:18.5893223")
+        LocalDateTime eventDate) {
+}
@@ -0,0 +1,24 @@
+package com.pismo.banking.transaction.api.dto;
+
+import org.jspecify.annotations.Nullable;
+
+import java.time.LocalDateTime;
+
+/**
+ * The criteria of one page of an account's transaction history.
+ *
+ * @param accountId       The ID of the account whose transactions are listed.
+ * @param operationTypeId Only list transactions of this operation type, if present.
+ * @param from            Only list transactions that happened at or after this instant, if present.
+ * @param to              Only list transactions that happened before this instant, if present.
+ * @param cursor          The {@code next_cursor} of the previous page, or absent for the first page.
+ * @param limit           The maximum number of transactions on the page.
+ */
+public record TransactionHistoryQuery(
+        Long accountId,
+        @Nullable Integer operationTypeId,
+        @Nullable LocalDateTime from,
+        @Nullable LocalDateTime to,
+        @Nullable String cursor,
+        int limit) {
+}
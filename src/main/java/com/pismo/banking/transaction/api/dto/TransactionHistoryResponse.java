@@ -0,0 +1,26 @@
+package com.pismo.banking.transaction.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * A Data Transfer Object (DTO) representing one page of an account's transaction history.
+ */
+@Schema(description = "Page of an account's transaction history")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TransactionHistoryResponse(
+        /**
+         * The transactions of the page, most recent first.
+         */
+        @Schema(description = "Transactions of the page, most recent first")
+        List<TransactionHistoryItemResponse> transactions,
+        /**
+         * The cursor of the next page, present only when there are more transactions.
+         */
+        @JsonProperty("next_cursor")
+        @Schema(description = "Cursor to pass to fetch the next page, absent on the last page")
+        String nextCursor) {
+}
@@ -33,4 +33,21 @@ public record TransactionResponse(
          */
         @Schema(description = "Transaction amount", example = "123.45")
         BigDecimal amount) {
+
+    /**
+     * Renders the amount at the scale the client sent it with, as responses did before amounts were kept in
+     * cents: a request for {@code 50} is answered with {@code -50}, one for {@code 50.00} with {@code -50.00}. An
+     * amount the scale cannot hold, such as a replayed response whose request had a different amount, is left as
+     * is.
+     *
+     * @param requestedAmount The amount of the request the response answers.
+     * @return The response with its amount at the scale of the requested amount.
+     */
+    public TransactionResponse withAmountScaleOf(final BigDecimal requestedAmount) {
+        final int scale = requestedAmount.scale();
+        if (amount.scale() == scale || amount.stripTrailingZeros().scale() > scale) {
+            return this;
+        }
+        return new TransactionResponse(transactionId, accountId, operationTypeId, amount.setScale(scale));
+    }
 }
@@ -0,0 +1,125 @@
+package com.pismo.banking.transaction.internal.concurrency;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded, lock-free ring buffer for many producer threads and a single consumer thread.
+ *
+ * <p>Every cell carries a sequence number telling whose turn it is: a producer claims the next position with a
+ * single compare-and-set on the tail and publishes its element by advancing the cell's sequence; the consumer
+ * reads the cell once its sequence says it was published and hands it back to the producers one lap later.
+ * Producers therefore never wait for each other beyond a failed compare-and-set, and the consumer never writes a
+ * shared counter other than its own head.</p>
+ *
+ * @param <E> The type of the buffered elements.
+ */
+public class MpscRingBuffer<E> {
+
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final int mask;
+    /** Only written by the consumer thread; volatile so that {@link #size()} can be read from others. */
+    private volatile long head;
+
+    /**
+     * @param capacity The maximum number of buffered elements, rounded up to a power of two.
+     */
+    public MpscRingBuffer(final int capacity) {
+        if (capacity < 1 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException(
+                    String.format("Ring buffer capacity must be between 1 and %d, was %d", MAX_CAPACITY, capacity));
+        }
+        final int size = capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = size - 1;
+        this.elements = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Adds an element at the tail of the buffer, unless it is full. Safe to call from any thread.
+     *
+     * @param element The element to add.
+     * @return true if the element was added, false if the buffer was full.
+     */
+    public boolean offer(final E element) {
+        while (true) {
+            final long position = tail.get();
+            final int index = (int) position & mask;
+            final long sequence = sequences.get(index);
+            if (sequence == position) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.lazySet(index, element);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+            } else if (sequence < position) {
+                // The consumer has not freed this cell yet: the buffer is full.
+                return false;
+            }
+            // Another producer claimed this position first; retry with the new tail.
+        }
+    }
+
+    /**
+     * Removes the element at the head of the buffer. Must only be called from the consumer thread.
+     *
+     * @return The removed element, or {@code null} if the buffer is empty or its head is still being published.
+     */
+    public @Nullable E poll() {
+        final long position = head;
+        final int index = (int) position & mask;
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+        final E element = elements.get(index);
+        elements.lazySet(index, null);
+        sequences.set(index, position + mask + 1);
+        head = position + 1;
+        return element;
+    }
+
+    /**
+     * Moves up to {@code maxElements} elements from the head of the buffer to the given list, in order. Must only
+     * be called from the consumer thread.
+     *
+     * @param target      The list to add the elements to.
+     * @param maxElements The maximum number of elements to move.
+     * @return The number of moved elements.
+     */
+    public int drainTo(final List<? super E> target, final int maxElements) {
+        int drained = 0;
+        E element;
+        while (drained < maxElements && (element = poll()) != null) {
+            target.add(element);
+            drained++;
+        }
+        return drained;
+    }
+
+    /**
+     * Returns an estimate of the number of buffered elements, exact only while no thread is using the buffer.
+     *
+     * @return The number of claimed positions not consumed yet.
+     */
+    public int size() {
+        return (int) Math.max(0, Math.min(tail.get() - head, capacity()));
+    }
+
+    /**
+     * @return The capacity of the buffer (the requested one rounded up to a power of two).
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,101 @@
+package com.pismo.banking.transaction.internal.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A fixed set of locks ("stripes") used to serialize work per account inside the JVM.
+ *
+ * <p>Each account ID is hashed onto one stripe, so at most one thread per account (and per stripe)
+ * works against the database at a time. Different accounts may share a stripe; the stripe count bounds
+ * memory and should be comfortably larger than the number of request threads.</p>
+ *
+ * <p>For every stripe the following metrics are published, tagged with {@code stripe}:</p>
+ * <ul>
+ *   <li>{@code banking.transactions.stripe.acquisitions} - number of times the stripe was acquired.</li>
+ *   <li>{@code banking.transactions.stripe.contended} - attempts that found the stripe already held.</li>
+ * </ul>
+ */
+@Component
+public class StripedAccountLock {
+
+    private static final int MAX_STRIPES = 1 << 16;
+
+    private final ReentrantLock[] locks;
+    private final Counter[] acquisitions;
+    private final Counter[] contended;
+    private final int mask;
+
+    public StripedAccountLock(@Value("${banking.transactions.lock-stripes:64}") final int stripes,
+                              final MeterRegistry meterRegistry) {
+        if (stripes < 1 || stripes > MAX_STRIPES) {
+            throw new IllegalArgumentException(
+                    String.format("Lock stripe count must be between 1 and %d, was %d", MAX_STRIPES, stripes));
+        }
+        final int size = ceilingPowerOfTwo(stripes);
+        this.mask = size - 1;
+        this.locks = new ReentrantLock[size];
+        this.acquisitions = new Counter[size];
+        this.contended = new Counter[size];
+        for (int i = 0; i < size; i++) {
+            final String stripe = Integer.toString(i);
+            locks[i] = new ReentrantLock();
+            acquisitions[i] = Counter.builder("banking.transactions.stripe.acquisitions")
+                    .tag("stripe", stripe).register(meterRegistry);
+            contended[i] = Counter.builder("banking.transactions.stripe.contended")
+                    .tag("stripe", stripe).register(meterRegistry);
+        }
+    }
+
+    /**
+     * Runs the given action while holding the stripe that owns the account, if the stripe is free.
+     * Never blocks: when another thread holds the stripe the action is not run.
+     *
+     * @param accountId The account whose work must be serialized.
+     * @param action    The work to run exclusively.
+     * @return true if the stripe was acquired and the action ran, false if the stripe was held by another thread.
+     */
+    public boolean tryRunWithLock(final long accountId, final Runnable action) {
+        final int stripe = stripeOf(accountId);
+        final ReentrantLock lock = locks[stripe];
+        if (!lock.tryLock()) {
+            contended[stripe].increment();
+            return false;
+        }
+        acquisitions[stripe].increment();
+        try {
+            action.run();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of stripes in use (the configured count rounded up to a power of two).
+     *
+     * @return The stripe count.
+     */
+    public int stripeCount() {
+        return locks.length;
+    }
+
+    /**
+     * Maps an account ID onto its stripe, spreading the bits so sequential IDs land on different stripes.
+     *
+     * @param accountId The account ID.
+     * @return The stripe index.
+     */
+    public int stripeOf(final long accountId) {
+        final long spread = accountId * 0x9E3779B97F4A7C15L;
+        return (int) (spread ^ (spread >>> 32)) & mask;
+    }
+
+    private static int ceilingPowerOfTwo(final int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+}
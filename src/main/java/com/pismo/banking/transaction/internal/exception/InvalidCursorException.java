@@ -0,0 +1,15 @@
+package com.pismo.banking.transaction.internal.exception;
+
+import com.pismo.banking.transaction.api.controller.TransactionExceptionHandler;
+
+/**
+ * Exception thrown when a transaction history cursor cannot be decoded.
+ *
+ * <p>This exception results in an HTTP 400 Bad Request response being returned to the client,
+ * handled by the exception handler {@link TransactionExceptionHandler} .</p>
+ */
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(final String cursor) {
+        super(String.format("Cursor %s is invalid.", cursor));
+    }
+}
@@ -0,0 +1,120 @@
+package com.pismo.banking.transaction.internal.journal;
+
+import com.pismo.banking.common.money.Money;
+import com.pismo.banking.transaction.api.dto.TransactionResponse;
+import com.pismo.banking.transaction.internal.model.OperationType;
+import com.pismo.banking.transaction.internal.model.Transaction;
+import org.jspecify.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * An accepted transaction as recorded in the {@link TransactionJournal}, with everything needed to apply it to the
+ * database later: the transaction row, the balance change of its account and its idempotency key.
+ *
+ * @param transactionId  The ID allocated to the transaction.
+ * @param accountId      The ID of the account of the transaction.
+ * @param operationType  The type of the operation.
+ * @param amount         The signed amount of the transaction.
+ * @param balanceAfter   The balance of the account right after the transaction.
+ * @param eventDate      When the transaction happened.
+ * @param idempotencyKey The idempotency key the transaction was created with, if any.
+ */
+public record JournalEntry(long transactionId,
+                           long accountId,
+                           OperationType operationType,
+                           Money amount,
+                           Money balanceAfter,
+                           LocalDateTime eventDate,
+                           @Nullable String idempotencyKey) {
+
+    /** The scale amounts are written with; entries written before amounts were kept in cents may have another. */
+    private static final int MONEY_SCALE = 2;
+
+    /**
+     * Creates the entry of a transaction built by the caller, under the given ID.
+     *
+     * @param transactionId  The ID allocated to the transaction.
+     * @param transaction    The transaction, without ID.
+     * @param idempotencyKey The idempotency key the transaction was created with, if any.
+     * @return The entry to append to the journal.
+     */
+    public static JournalEntry of(final long transactionId,
+                                  final Transaction transaction,
+                                  final @Nullable String idempotencyKey) {
+        return new JournalEntry(transactionId, transaction.getAccountId(), transaction.getOperationType(),
+                transaction.getAmount(), transaction.getBalanceAfter(), transaction.getEventDate(), idempotencyKey);
+    }
+
+    /**
+     * @return The response of the transaction, as returned by the transaction endpoints.
+     */
+    public TransactionResponse toResponse() {
+        return new TransactionResponse(transactionId, accountId, operationType.getId(), amount.toBigDecimal());
+    }
+
+    /**
+     * @return The number of bytes written by {@link #writeTo(ByteBuffer)}.
+     */
+    int encodedSize() {
+        final int keySize = idempotencyKey == null ? 0 : idempotencyKey.getBytes(StandardCharsets.UTF_8).length;
+        return 8 + 8 + 1 + 9 + 9 + 8 + 4 + 2 + keySize;
+    }
+
+    /**
+     * Writes the entry in its binary form: fixed-size fields, amounts as scale and unscaled value (their cents), the
+     * event date as UTC epoch second and nanosecond, and the idempotency key as UTF-8 bytes prefixed by their length
+     * ({@code -1} without a key).
+     */
+    void writeTo(final ByteBuffer buffer) {
+        buffer.putLong(transactionId)
+                .putLong(accountId)
+                .put((byte) operationType.getId());
+        putMoney(buffer, amount);
+        putMoney(buffer, balanceAfter);
+        buffer.putLong(eventDate.toEpochSecond(ZoneOffset.UTC))
+                .putInt(eventDate.getNano());
+        if (idempotencyKey == null) {
+            buffer.putShort((short) -1);
+        } else {
+            final byte[] key = idempotencyKey.getBytes(StandardCharsets.UTF_8);
+            buffer.putShort((short) key.length).put(key);
+        }
+    }
+
+    /**
+     * Reads an entry written by {@link #writeTo(ByteBuffer)}.
+     */
+    static JournalEntry readFrom(final ByteBuffer buffer) {
+        final long transactionId = buffer.getLong();
+        final long accountId = buffer.getLong();
+        final OperationType operationType = OperationType.fromId(buffer.get());
+        final Money amount = getMoney(buffer);
+        final Money balanceAfter = getMoney(buffer);
+        final LocalDateTime eventDate =
+                LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+        final short keySize = buffer.getShort();
+        String idempotencyKey = null;
+        if (keySize >= 0) {
+            final byte[] key = new byte[keySize];
+            buffer.get(key);
+            idempotencyKey = new String(key, StandardCharsets.UTF_8);
+        }
+        return new JournalEntry(transactionId, accountId, operationType, amount, balanceAfter, eventDate,
+                idempotencyKey);
+    }
+
+    private static void putMoney(final ByteBuffer buffer, final Money value) {
+        buffer.put((byte) MONEY_SCALE).putLong(value.cents());
+    }
+
+    private static Money getMoney(final ByteBuffer buffer) {
+        final int scale = buffer.get();
+        final long unscaled = buffer.getLong();
+        return scale == MONEY_SCALE ? new Money(unscaled) : Money.of(BigDecimal.valueOf(unscaled, scale));
+    }
+}
@@ -0,0 +1,518 @@
+package com.pismo.banking.transaction.internal.journal;
+
+import org.jspecify.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * An append-only log of {@link JournalEntry} records, stored in segment files of a local directory.
+ *
+ * <p>Records are addressed by a logical offset that keeps growing across segments: a segment file is named after
+ * the offset of its first byte, and a new one is started once the current one has reached the segment size.
+ * Each record is its payload length, the CRC32C of its payload and the payload itself, so a record torn by a crash
+ * is recognized and cut off when the journal is reopened.</p>
+ *
+ * <p>{@link #append(List)} only writes to the page cache; {@link #sync(long)} makes the journal durable up to an
+ * offset. Concurrent callers of {@code sync} share the {@code fsync}: the first one forces everything written so
+ * far, and the ones that were waiting behind it return without forcing again if that covered their own
+ * records. Once an {@code fsync} fails the journal refuses any further write, since the kernel may have dropped
+ * the pages it could not write. Creating a segment also forces the directory, so the file itself survives a
+ * crash.</p>
+ *
+ * <p>The callers of the records past the durable offset are told their records failed, yet the pages may still
+ * reach the disk with valid checksums. So that such records are never applied, a failed write or {@code fsync}
+ * records the durable offset in a fence file before reporting the failure, and reopening the journal cuts it back
+ * to the fence before reading anything. Should the fence itself not be written, the active segment is truncated
+ * to the durable offset instead.</p>
+ */
+public class JournalFile implements Closeable {
+
+    /**
+     * The name given to a journal whose directory was written before journals were named, whose checkpoint is the
+     * one seeded by the migrations.
+     */
+    static final String UNNAMED_JOURNAL = "transactions";
+
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final String NAME_FILE = "journal.name";
+    private static final String FENCE_FILE = "journal.fence";
+
+    private final Path directory;
+    private final long segmentSize;
+    private final ConcurrentSkipListMap<Long, FileChannel> segments = new ConcurrentSkipListMap<>();
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private final CRC32C checksum = new CRC32C();
+    private final AtomicLong durableOffset = new AtomicLong();
+    private final AtomicLong syncCount = new AtomicLong();
+    private ByteBuffer writeBuffer = ByteBuffer.allocate(64 * 1024);
+    private FileChannel activeSegment;
+    private long activeBase;
+    private volatile long endOffset;
+    private volatile @Nullable IOException failure;
+
+    /**
+     * Opens the journal stored in a directory, creating it if needed, and cuts off a torn record at its end.
+     *
+     * @param directory     The directory holding the segment files.
+     * @param segmentSize   The size in bytes after which a new segment file is started.
+     * @param initialOffset The offset to start an empty journal at.
+     * @throws IOException if the directory or a segment cannot be read.
+     */
+    public JournalFile(final Path directory, final long segmentSize, final long initialOffset) throws IOException {
+        if (segmentSize < 1) {
+            throw new IllegalArgumentException("Journal segment size must be positive, was " + segmentSize);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX)).toList()) {
+                final String name = file.getFileName().toString();
+                segments.put(Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())),
+                        FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE));
+            }
+        }
+        cutBackToFence();
+        if (segments.isEmpty()) {
+            openSegment(initialOffset);
+        }
+        activeBase = segments.lastKey();
+        activeSegment = segments.lastEntry().getValue();
+        final long validSize = validSize(activeSegment);
+        if (validSize < activeSegment.size()) {
+            activeSegment.truncate(validSize);
+        }
+        activeSegment.force(true);
+        endOffset = activeBase + validSize;
+        durableOffset.set(endOffset);
+    }
+
+    /**
+     * Appends entries after the last record, in order, without waiting for them to reach the disk.
+     *
+     * @param entries The entries to append.
+     * @return The offset right after the last appended record, to pass to {@link #sync(long)}.
+     * @throws UncheckedIOException  if the records cannot be written; none of them is then kept.
+     * @throws IllegalStateException if an earlier {@code fsync} failed.
+     */
+    public long append(final List<JournalEntry> entries) {
+        appendLock.lock();
+        try {
+            checkWritable();
+            final ByteBuffer buffer = encode(entries);
+            long position = endOffset - activeBase;
+            if (position > 0 && position + buffer.remaining() > segmentSize) {
+                roll();
+                position = 0;
+            }
+            final long size = buffer.remaining();
+            try {
+                while (buffer.hasRemaining()) {
+                    position += activeSegment.write(buffer, position);
+                }
+            } catch (IOException e) {
+                discardPartialWrite(e);
+                throw new UncheckedIOException("Could not append to the transaction journal", e);
+            }
+            endOffset += size;
+            return endOffset;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Makes the journal durable up to an offset, forcing it to the disk unless another caller already did.
+     *
+     * @param offset The offset returned by {@link #append(List)}.
+     * @throws UncheckedIOException  if the {@code fsync} fails.
+     * @throws IllegalStateException if an earlier {@code fsync} failed.
+     */
+    public void sync(final long offset) {
+        if (durableOffset.get() >= offset) {
+            return;
+        }
+        syncLock.lock();
+        try {
+            if (durableOffset.get() >= offset) {
+                return;
+            }
+            final long target;
+            final FileChannel segment;
+            appendLock.lock();
+            try {
+                checkWritable();
+                target = endOffset;
+                segment = activeSegment;
+            } finally {
+                appendLock.unlock();
+            }
+            try {
+                force(segment);
+            } catch (IOException e) {
+                fail(e);
+                throw new UncheckedIOException("Could not force the transaction journal to disk", e);
+            }
+            syncCount.incrementAndGet();
+            durableOffset.accumulateAndGet(target, Math::max);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Reads the durable records starting at an offset. Must not be called concurrently with itself or with
+     * {@link #deleteBefore(long)}.
+     *
+     * @param fromOffset The offset of the first record to read, e.g. the end offset of a previous read.
+     * @param maxEntries The maximum number of entries to read.
+     * @return The entries read and the offset right after the last of them.
+     * @throws UncheckedIOException if a segment cannot be read.
+     */
+    public JournalChunk read(final long fromOffset, final int maxEntries) {
+        final long limit = durableOffset.get();
+        final List<JournalEntry> entries = new ArrayList<>();
+        final ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+        final CRC32C readChecksum = new CRC32C();
+        long offset = fromOffset;
+        try {
+            while (offset < limit && entries.size() < maxEntries) {
+                final Map.Entry<Long, FileChannel> segment = segments.floorEntry(offset);
+                if (segment == null) {
+                    throw new IllegalStateException("Journal offset " + offset + " was already deleted");
+                }
+                final long position = offset - segment.getKey();
+                readFully(segment.getValue(), header.clear(), position);
+                final int length = header.getInt(0);
+                final ByteBuffer payload = ByteBuffer.allocate(length);
+                readFully(segment.getValue(), payload, position + RECORD_HEADER_SIZE);
+                readChecksum.reset();
+                readChecksum.update(payload.flip());
+                if ((int) readChecksum.getValue() != header.getInt(4)) {
+                    throw new IllegalStateException("Corrupted journal record at offset " + offset);
+                }
+                entries.add(JournalEntry.readFrom(payload.rewind()));
+                offset += RECORD_HEADER_SIZE + length;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the transaction journal at offset " + offset, e);
+        }
+        return new JournalChunk(entries, offset);
+    }
+
+    /**
+     * Deletes the segment files holding only records before an offset. The segment being appended to is kept.
+     *
+     * @param offset The offset up to which the records are no longer needed.
+     * @throws UncheckedIOException if a segment file cannot be deleted.
+     */
+    public void deleteBefore(final long offset) {
+        final Long keptBase = segments.floorKey(offset);
+        if (keptBase == null) {
+            return;
+        }
+        try {
+            for (Map.Entry<Long, FileChannel> segment : segments.headMap(keptBase).entrySet()) {
+                segments.remove(segment.getKey());
+                segment.getValue().close();
+                Files.deleteIfExists(segmentPath(segment.getKey()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not delete a transaction journal segment", e);
+        }
+    }
+
+    /**
+     * @return The offset of the oldest record still stored.
+     */
+    public long startOffset() {
+        return segments.firstKey();
+    }
+
+    /**
+     * @return The offset up to which the journal has been forced to the disk.
+     */
+    public long durableOffset() {
+        return durableOffset.get();
+    }
+
+    /**
+     * @return The number of {@code fsync}s made by {@link #sync(long)} since the journal was opened.
+     */
+    public long syncCount() {
+        return syncCount.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        appendLock.lock();
+        try {
+            if (failure == null) {
+                activeSegment.force(true);
+            }
+            for (FileChannel segment : segments.values()) {
+                segment.close();
+            }
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private ByteBuffer encode(final List<JournalEntry> entries) {
+        int size = 0;
+        for (JournalEntry entry : entries) {
+            size += RECORD_HEADER_SIZE + entry.encodedSize();
+        }
+        if (writeBuffer.capacity() < size) {
+            writeBuffer = ByteBuffer.allocate(Math.max(size, writeBuffer.capacity() * 2));
+        }
+        final ByteBuffer buffer = writeBuffer.clear();
+        for (JournalEntry entry : entries) {
+            final int start = buffer.position();
+            final int length = entry.encodedSize();
+            buffer.putInt(length).putInt(0);
+            entry.writeTo(buffer);
+            checksum.reset();
+            checksum.update(buffer.slice(start + RECORD_HEADER_SIZE, length));
+            buffer.putInt(start + 4, (int) checksum.getValue());
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * Forces the full active segment to the disk and starts a new one at the end offset, so that every record
+     * before the new segment is durable and {@link #sync(long)} only ever needs to force the active segment.
+     */
+    private void roll() {
+        try {
+            force(activeSegment);
+            durableOffset.accumulateAndGet(endOffset, Math::max);
+            openSegment(endOffset);
+        } catch (IOException e) {
+            fail(e);
+            throw new UncheckedIOException("Could not start a new transaction journal segment", e);
+        }
+        activeBase = endOffset;
+        activeSegment = segments.get(endOffset);
+    }
+
+    /**
+     * Creates the segment file starting at an offset and forces the directory entry of the new file to the disk,
+     * without which a crash could lose the file, and every record later forced into it, altogether.
+     */
+    private void openSegment(final long baseOffset) throws IOException {
+        segments.put(baseOffset, FileChannel.open(segmentPath(baseOffset),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE));
+        syncDirectory(directory);
+    }
+
+    /**
+     * Returns the name of the journal stored in a directory, which identifies its checkpoint, creating the
+     * directory and naming it if needed. The name is kept in a file of the directory, so it follows the segments
+     * it belongs to, and a new directory gets a random one, so instances sharing a database never share a
+     * checkpoint. A directory holding segments but no name, written before journals were named, is given
+     * {@link #UNNAMED_JOURNAL}.
+     *
+     * @param directory The directory holding the segment files.
+     * @return The name of the journal.
+     * @throws IOException if the name cannot be read or written.
+     */
+    public static String nameOf(final Path directory) throws IOException {
+        Files.createDirectories(directory);
+        final Path nameFile = directory.resolve(NAME_FILE);
+        if (Files.exists(nameFile)) {
+            return Files.readString(nameFile).strip();
+        }
+        final boolean hasSegments;
+        try (Stream<Path> files = Files.list(directory)) {
+            hasSegments = files.anyMatch(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX));
+        }
+        final String name = hasSegments ? UNNAMED_JOURNAL : "journal-" + UUID.randomUUID();
+        writeAtomically(directory, NAME_FILE, name);
+        return name;
+    }
+
+    /**
+     * Replaces a small file of a directory with new content, durably: the content is forced to a temporary file
+     * that is then renamed over the file, and the directory is forced.
+     */
+    private static void writeAtomically(final Path directory, final String fileName, final String content)
+            throws IOException {
+        final Path temporaryFile = directory.resolve(fileName + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            final ByteBuffer buffer = ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temporaryFile, directory.resolve(fileName), StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory(directory);
+    }
+
+    /**
+     * Forces the entries of a directory to the disk, which POSIX file systems only do for a directory opened and
+     * forced on its own.
+     *
+     * @param directory The directory to force.
+     * @throws IOException if the directory cannot be opened or forced.
+     */
+    static void syncDirectory(final Path directory) throws IOException {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+
+    private Path segmentPath(final long baseOffset) {
+        return directory.resolve(String.format("%020d%s", baseOffset, SEGMENT_SUFFIX));
+    }
+
+    /**
+     * Cuts the active segment back to the records appended before the failed write.
+     */
+    private void discardPartialWrite(final IOException writeFailure) {
+        try {
+            activeSegment.truncate(endOffset - activeBase);
+        } catch (IOException e) {
+            writeFailure.addSuppressed(e);
+            fail(writeFailure);
+        }
+    }
+
+    /**
+     * Forces the records of a segment to the disk.
+     */
+    void force(final FileChannel segment) throws IOException {
+        segment.force(false);
+    }
+
+    /**
+     * Refuses any further write and fences the journal at its durable offset, so that the records whose callers
+     * are told they failed are cut off when the journal is reopened.
+     */
+    private void fail(final IOException ioFailure) {
+        appendLock.lock();
+        try {
+            if (failure != null) {
+                return;
+            }
+            failure = ioFailure;
+            final long fence = durableOffset.get();
+            try {
+                writeAtomically(directory, FENCE_FILE, Long.toString(fence));
+            } catch (IOException e) {
+                ioFailure.addSuppressed(e);
+                try {
+                    if (fence >= activeBase) {
+                        activeSegment.truncate(fence - activeBase);
+                        activeSegment.force(true);
+                    }
+                } catch (IOException truncateFailure) {
+                    ioFailure.addSuppressed(truncateFailure);
+                }
+            }
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Cuts the journal back to the offset recorded by a failed write or {@code fsync}, then removes the fence.
+     */
+    private void cutBackToFence() throws IOException {
+        final Path fenceFile = directory.resolve(FENCE_FILE);
+        if (!Files.exists(fenceFile)) {
+            return;
+        }
+        final long fence = Long.parseLong(Files.readString(fenceFile).strip());
+        for (Map.Entry<Long, FileChannel> segment : segments.tailMap(fence, false).entrySet()) {
+            segments.remove(segment.getKey());
+            segment.getValue().close();
+            Files.deleteIfExists(segmentPath(segment.getKey()));
+        }
+        final Map.Entry<Long, FileChannel> lastSegment = segments.floorEntry(fence);
+        if (lastSegment != null && lastSegment.getValue().size() > fence - lastSegment.getKey()) {
+            lastSegment.getValue().truncate(fence - lastSegment.getKey());
+            lastSegment.getValue().force(true);
+        }
+        syncDirectory(directory);
+        Files.delete(fenceFile);
+        syncDirectory(directory);
+    }
+
+    private void checkWritable() {
+        if (failure != null) {
+            throw new IllegalStateException("The transaction journal is unavailable after an I/O failure", failure);
+        }
+    }
+
+    /**
+     * Returns the size of the complete records at the start of a segment, which ends at the first torn or
+     * corrupted record.
+     */
+    private static long validSize(final FileChannel segment) throws IOException {
+        final long size = segment.size();
+        final ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+        final CRC32C recordChecksum = new CRC32C();
+        long position = 0;
+        while (position + RECORD_HEADER_SIZE <= size) {
+            readFully(segment, header.clear(), position);
+            final int length = header.getInt(0);
+            if (length <= 0 || position + RECORD_HEADER_SIZE + length > size) {
+                break;
+            }
+            final ByteBuffer payload = ByteBuffer.allocate(length);
+            readFully(segment, payload, position + RECORD_HEADER_SIZE);
+            recordChecksum.reset();
+            recordChecksum.update(payload.flip());
+            if ((int) recordChecksum.getValue() != header.getInt(4)) {
+                break;
+            }
+            position += RECORD_HEADER_SIZE + length;
+        }
+        return position;
+    }
+
+    private static void readFully(final FileChannel channel, final ByteBuffer buffer, final long position)
+            throws IOException {
+        long readPosition = position;
+        while (buffer.hasRemaining()) {
+            final int read = channel.read(buffer, readPosition);
+            if (read < 0) {
+                throw new EOFException("Unexpected end of journal segment at position " + readPosition);
+            }
+            readPosition += read;
+        }
+    }
+
+    /**
+     * Entries read from the journal.
+     *
+     * @param entries   The entries, in journal order.
+     * @param endOffset The offset right after the last entry, where the next read starts.
+     */
+    public record JournalChunk(List<JournalEntry> entries, long endOffset) {
+    }
+}
@@ -0,0 +1,241 @@
+package com.pismo.banking.transaction.internal.journal;
+
+import com.pismo.banking.account.api.AccountService;
+import com.pismo.banking.common.money.Money;
+import com.pismo.banking.transaction.internal.model.IdempotencyKey;
+import com.pismo.banking.transaction.internal.repository.JournalProjectionRepository;
+import com.pismo.banking.transaction.internal.service.IdempotencyKeyStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Applies the entries of the transaction journal to the database, in journal order, on a thread of its own.
+ *
+ * <p>Each batch of up to {@code max-batch-size} entries is applied in one database transaction: the transaction
+ * rows are inserted as one JDBC batch, the net balance change of every account is written with one guarded
+ * update, the idempotency keys are stored and the checkpoint is advanced past the batch. A batch is therefore
+ * applied exactly once, even if the application stops halfway through it.</p>
+ *
+ * <p>A batch that fails is applied again one entry at a time, each entry being tried up to {@code max-attempts}
+ * times, a pause apart. An entry that still fails, e.g. one whose account no longer affords it or whose
+ * idempotency key belongs to another transaction, is parked in the {@code journal_dead_letters} table in the same
+ * database transaction that moves the checkpoint past it, and counted in
+ * {@code banking.transactions.journal.dead-letters}, which must raise an alert: the database misses the
+ * transaction until it is resolved by hand, while the partition that accepted it keeps counting it in the balance
+ * it holds for the account until it reloads it. If the entry cannot even be parked, as when the database is
+ * unreachable, the projector starts over from the checkpoint after a pause, so the database never sees the journal
+ * out of order.</p>
+ */
+class JournalProjector implements Runnable {
+
+    private static final Logger log = LoggerFactory.getLogger(JournalProjector.class);
+    private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long RETRY_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+    private final JournalFile journalFile;
+    private final String journalName;
+    private final JournalProjectionRepository projectionRepository;
+    private final AccountService accountService;
+    private final IdempotencyKeyStore idempotencyKeyStore;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxBatchSize;
+    private final int maxAttempts;
+    private final DistributionSummary batchSizes;
+    private final Counter failures;
+    private final Counter deadLetters;
+    private volatile long appliedOffset;
+    private volatile boolean running = true;
+    private Thread thread;
+
+    JournalProjector(final JournalFile journalFile,
+                     final String journalName,
+                     final JournalProjectionRepository projectionRepository,
+                     final AccountService accountService,
+                     final IdempotencyKeyStore idempotencyKeyStore,
+                     final TransactionTemplate transactionTemplate,
+                     final int maxBatchSize,
+                     final int maxAttempts,
+                     final long appliedOffset,
+                     final MeterRegistry meterRegistry) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Journal projector batch size must be positive, was " + maxBatchSize);
+        }
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Journal projector attempt count must be positive, was " + maxAttempts);
+        }
+        this.journalFile = journalFile;
+        this.journalName = journalName;
+        this.projectionRepository = projectionRepository;
+        this.accountService = accountService;
+        this.idempotencyKeyStore = idempotencyKeyStore;
+        this.transactionTemplate = transactionTemplate;
+        this.maxBatchSize = maxBatchSize;
+        this.maxAttempts = maxAttempts;
+        this.appliedOffset = appliedOffset;
+        this.batchSizes = DistributionSummary.builder("banking.transactions.journal.projected-batch-size")
+                .description("Number of journal entries applied per database transaction")
+                .register(meterRegistry);
+        this.failures = Counter.builder("banking.transactions.journal.projection-failures")
+                .description("Number of journal batches that could not be applied and were retried")
+                .register(meterRegistry);
+        this.deadLetters = Counter.builder("banking.transactions.journal.dead-letters")
+                .description("Number of journal entries that could not be applied and were parked")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Applies every durable entry of the journal, on the calling thread.
+     *
+     * @return The number of applied entries.
+     */
+    int catchUp() {
+        int applied = 0;
+        int projected;
+        while ((projected = projectNext()) > 0) {
+            applied += projected;
+        }
+        return applied;
+    }
+
+    void start() {
+        thread = Thread.ofPlatform().name("journal-projector").daemon(true).start(this);
+    }
+
+    /**
+     * Tells the projector that new entries were made durable.
+     */
+    void wakeUp() {
+        LockSupport.unpark(thread);
+    }
+
+    /**
+     * Stops the projector once it has applied the batch in progress. The remaining entries are applied when the
+     * journal is opened again.
+     */
+    void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(thread);
+        thread.join(SHUTDOWN_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * @return The offset up to which the journal has been applied to the database.
+     */
+    long appliedOffset() {
+        return appliedOffset;
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            try {
+                if (projectNext() == 0) {
+                    LockSupport.parkNanos(this, IDLE_NANOS);
+                }
+            } catch (RuntimeException failure) {
+                failures.increment();
+                log.error("Could not apply the transaction journal from offset {}, retrying", appliedOffset, failure);
+                LockSupport.parkNanos(this, RETRY_NANOS);
+            }
+        }
+    }
+
+    /**
+     * Applies the next batch of durable entries, if any, one entry at a time if the batch fails as a whole.
+     *
+     * @return The number of entries applied or parked.
+     * @throws RuntimeException if an entry could neither be applied nor parked; the checkpoint is then left after
+     *                          the last entry that was.
+     */
+    int projectNext() {
+        final long fromOffset = appliedOffset;
+        final JournalFile.JournalChunk chunk = journalFile.read(fromOffset, maxBatchSize);
+        if (chunk.entries().isEmpty()) {
+            return 0;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> apply(chunk.entries(), fromOffset, chunk.endOffset()));
+        } catch (RuntimeException failure) {
+            failures.increment();
+            log.warn("Could not apply the transaction journal batch at offset {}, applying its entries one by one",
+                    fromOffset, failure);
+            for (int i = 0; i < chunk.entries().size(); i++) {
+                projectSingle();
+            }
+            return chunk.entries().size();
+        }
+        advance(chunk);
+        return chunk.entries().size();
+    }
+
+    /**
+     * Applies the entry at the applied offset on its own, parking it once it has failed {@code maxAttempts} times.
+     */
+    private void projectSingle() {
+        final long fromOffset = appliedOffset;
+        final JournalFile.JournalChunk chunk = journalFile.read(fromOffset, 1);
+        RuntimeException lastFailure = null;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            if (attempt > 1) {
+                LockSupport.parkNanos(this, RETRY_NANOS);
+            }
+            try {
+                transactionTemplate.executeWithoutResult(
+                        status -> apply(chunk.entries(), fromOffset, chunk.endOffset()));
+                advance(chunk);
+                return;
+            } catch (RuntimeException failure) {
+                lastFailure = failure;
+            }
+        }
+        final JournalEntry entry = chunk.entries().getFirst();
+        final RuntimeException cause = lastFailure;
+        transactionTemplate.executeWithoutResult(status -> {
+            projectionRepository.insertDeadLetter(journalName, fromOffset, entry, cause);
+            projectionRepository.advanceAppliedOffset(journalName, fromOffset, chunk.endOffset());
+        });
+        deadLetters.increment();
+        log.error("Parked journal entry at offset {} (transaction {} of account {}) after {} failed attempts",
+                fromOffset, entry.transactionId(), entry.accountId(), maxAttempts, cause);
+        advance(chunk);
+    }
+
+    private void advance(final JournalFile.JournalChunk chunk) {
+        appliedOffset = chunk.endOffset();
+        batchSizes.record(chunk.entries().size());
+        journalFile.deleteBefore(chunk.endOffset());
+    }
+
+    private void apply(final List<JournalEntry> entries, final long fromOffset, final long toOffset) {
+        projectionRepository.insertTransactions(entries);
+        final Map<Long, Money> balanceChanges = new LinkedHashMap<>();
+        final Map<Long, LocalDateTime> eventDates = new LinkedHashMap<>();
+        final List<IdempotencyKey> idempotencyKeys = new ArrayList<>();
+        for (JournalEntry entry : entries) {
+            balanceChanges.merge(entry.accountId(), entry.amount(), Money::plus);
+            eventDates.put(entry.accountId(), entry.eventDate());
+            if (entry.idempotencyKey() != null) {
+                idempotencyKeys.add(idempotencyKeyStore.toEntity(entry.idempotencyKey(), entry.toResponse()));
+            }
+        }
+        balanceChanges.forEach((accountId, balanceChange) ->
+                accountService.applyBalanceChange(accountId, balanceChange, eventDates.get(accountId)));
+        if (!idempotencyKeys.isEmpty()) {
+            idempotencyKeyStore.saveAllAbsent(idempotencyKeys);
+        }
+        projectionRepository.advanceAppliedOffset(journalName, fromOffset, toOffset);
+    }
+}
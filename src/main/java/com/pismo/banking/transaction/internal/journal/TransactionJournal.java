@@ -0,0 +1,135 @@
+package com.pismo.banking.transaction.internal.journal;
+
+import com.pismo.banking.account.api.AccountService;
+import com.pismo.banking.common.config.IdAllocationConfig.IdAllocationDataSource;
+import com.pismo.banking.common.id.PooledIdAllocator;
+import com.pismo.banking.common.id.PooledTableIdGenerator;
+import com.pismo.banking.transaction.internal.repository.JournalProjectionRepository;
+import com.pismo.banking.transaction.internal.service.IdempotencyKeyStore;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Local, append-only journal of accepted transactions, which makes them durable before they reach the database.
+ *
+ * <p>Selected with {@code banking.transactions.sequencer.durability=journal}, it lets the partitions of the
+ * {@link com.pismo.banking.transaction.internal.service.SequencedTransactionService} answer a request as soon as
+ * its transaction is in the {@link JournalFile} in {@code banking.transactions.journal.directory} and the file has
+ * been forced to the disk, with one {@code fsync} shared by every partition appending at the same time. A
+ * {@link JournalProjector} then applies the entries to the database in batches, so the request latency no longer
+ * includes a database commit. Transaction IDs are allocated from the {@code transactions} id sequence, like the
+ * ones of the other engines.</p>
+ *
+ * <p>When the application starts, the journal is reopened at the offset recorded for it in the
+ * {@code journal_checkpoints} table and every entry after it is applied before any request is accepted, so the
+ * balances the partitions load from the database are current. The checkpoint is keyed by the name the journal
+ * directory was given when it was created (see {@link JournalFile#nameOf}), so each instance, with a directory of
+ * its own, has a checkpoint of its own; a new directory starts a new checkpoint at offset 0. The journal is local
+ * to one instance: the accounts it holds entries for must not be written by another one until they have been
+ * applied.</p>
+ *
+ * <p>Published metrics: {@code banking.transactions.journal.syncs} ({@code fsync}s made),
+ * {@code banking.transactions.journal.lag} (bytes made durable but not applied yet),
+ * {@code banking.transactions.journal.projected-batch-size},
+ * {@code banking.transactions.journal.projection-failures} and {@code banking.transactions.journal.dead-letters}
+ * (entries parked because they could not be applied, see {@link JournalProjector}).</p>
+ */
+@Component
+@ConditionalOnProperty(name = "banking.transactions.sequencer.durability", havingValue = "journal")
+public class TransactionJournal implements DisposableBean {
+
+    private final JournalFile journalFile;
+    private final JournalProjector projector;
+    private final PooledIdAllocator transactionIds;
+
+    public TransactionJournal(
+            final JournalProjectionRepository projectionRepository,
+            final AccountService accountService,
+            final IdempotencyKeyStore idempotencyKeyStore,
+            final PlatformTransactionManager transactionManager,
+            final IdAllocationDataSource idAllocationDataSource,
+            @Value("${banking.ids.block-size:" + PooledTableIdGenerator.DEFAULT_BLOCK_SIZE + "}") final int idBlockSize,
+            @Value("${banking.transactions.journal.directory:journal}") final String directory,
+            @Value("${banking.transactions.journal.segment-size:64MB}") final DataSize segmentSize,
+            @Value("${banking.transactions.journal.projector.max-batch-size:1000}") final int projectorBatchSize,
+            @Value("${banking.transactions.journal.projector.max-attempts:3}") final int projectorAttempts,
+            final MeterRegistry meterRegistry) throws IOException {
+        final Path journalDirectory = Path.of(directory);
+        final String journalName = JournalFile.nameOf(journalDirectory);
+        final long appliedOffset = projectionRepository.findOrCreateAppliedOffset(journalName);
+        this.journalFile = new JournalFile(journalDirectory, segmentSize.toBytes(), appliedOffset);
+        if (appliedOffset < journalFile.startOffset() || appliedOffset > journalFile.durableOffset()) {
+            journalFile.close();
+            throw new IllegalStateException(String.format(
+                    "Journal checkpoint %d lies outside of the journal in %s, which holds offsets %d to %d",
+                    appliedOffset, journalDirectory.toAbsolutePath(), journalFile.startOffset(),
+                    journalFile.durableOffset()));
+        }
+        this.transactionIds = new PooledIdAllocator(idAllocationDataSource.dataSource(), "transactions", idBlockSize);
+        this.projector = new JournalProjector(journalFile, journalName, projectionRepository, accountService,
+                idempotencyKeyStore, new TransactionTemplate(transactionManager), projectorBatchSize,
+                projectorAttempts, appliedOffset, meterRegistry);
+        projector.catchUp();
+        projector.start();
+
+        FunctionCounter.builder("banking.transactions.journal.syncs", journalFile, JournalFile::syncCount)
+                .description("Number of fsyncs of the transaction journal")
+                .register(meterRegistry);
+        Gauge.builder("banking.transactions.journal.lag", this,
+                        journal -> journal.journalFile.durableOffset() - journal.projector.appliedOffset())
+                .description("Bytes of the transaction journal made durable but not applied to the database yet")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return An ID for a transaction to append, unique across engines and instances.
+     */
+    public long nextTransactionId() {
+        return transactionIds.nextId();
+    }
+
+    /**
+     * Appends entries to the journal and waits until they are on the disk.
+     *
+     * @param entries The entries to append, in order.
+     * @return The journal offset right after the entries; they are applied to the database once
+     *         {@link #appliedOffset()} has reached it.
+     * @throws java.io.UncheckedIOException if the entries cannot be written or forced to the disk.
+     * @throws IllegalStateException        if the journal no longer accepts writes after an earlier failure.
+     */
+    public long append(final List<JournalEntry> entries) {
+        final long offset = journalFile.append(entries);
+        journalFile.sync(offset);
+        projector.wakeUp();
+        return offset;
+    }
+
+    /**
+     * @return The offset up to which the journal has been applied to the database.
+     */
+    public long appliedOffset() {
+        return projector.appliedOffset();
+    }
+
+    /**
+     * Stops the projector and closes the journal. The entries not applied yet are applied on the next start.
+     */
+    @Override
+    public void destroy() throws InterruptedException, IOException {
+        projector.stop();
+        journalFile.close();
+    }
+}
@@ -1,8 +1,11 @@
 package com.pismo.banking.transaction.internal.mapper;
 
+import com.pismo.banking.common.money.Money;
+import com.pismo.banking.transaction.api.dto.TransactionHistoryItemResponse;
 import com.pismo.banking.transaction.api.dto.TransactionResponse;
 import com.pismo.banking.transaction.internal.model.OperationType;
 import com.pismo.banking.transaction.internal.model.Transaction;
+import org.jspecify.annotations.Nullable;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -29,7 +32,21 @@ public final class TransactionMapper {
         return new TransactionResponse(transaction.getTransactionId(),
                 transaction.getAccountId(),
                 transaction.getOperationType().getId(),
-                transaction.getAmount());
+                transaction.getAmount().toBigDecimal());
+    }
+
+    /**
+     * Converts a {@link Transaction} entity object to a {@link TransactionHistoryItemResponse} DTO,
+     * which also carries the event date but not the account of the transaction.
+     *
+     * @param transaction The source Transaction entity.
+     * @return The corresponding TransactionHistoryItemResponse.
+     */
+    public static TransactionHistoryItemResponse toHistoryItem(final Transaction transaction) {
+        return new TransactionHistoryItemResponse(transaction.getTransactionId(),
+                transaction.getOperationType().getId(),
+                transaction.getAmount().toBigDecimal(),
+                transaction.getEventDate());
     }
 
     /**
@@ -39,15 +56,20 @@ public final class TransactionMapper {
      * @param accountId     The ID of the account involved.
      * @param operationType The resolved {@link OperationType}.
      * @param amount        The final calculated amount (positive for credits, negative for debits).
+     * @param balanceAfter  The balance of the account once the amount has been applied, or {@code null} if the
+     *                      amount was taken on a balance slot.
+     * @param eventDate     When the transaction happened.
      * @return The corresponding Transaction entity.
      */
-    public static Transaction toEntity(final Long accountId, final OperationType operationType, final BigDecimal amount) {
+    public static Transaction toEntity(final Long accountId, final OperationType operationType, final Money amount,
+                                       final @Nullable Money balanceAfter, final LocalDateTime eventDate) {
         return new Transaction(
                 null,
                 accountId,
                 operationType,
                 amount,
-                LocalDateTime.now()
+                eventDate,
+                balanceAfter
         );
     }
 }
@@ -0,0 +1,42 @@
+package com.pismo.banking.transaction.internal.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An inclusive range of account IDs, the unit in which jobs over every account split their work.
+ *
+ * @param firstAccountId The lowest account ID of the range.
+ * @param lastAccountId  The highest account ID of the range.
+ */
+public record AccountIdRange(long firstAccountId, long lastAccountId) {
+
+    public AccountIdRange {
+        if (lastAccountId < firstAccountId) {
+            throw new IllegalArgumentException(String.format(
+                    "Account ID range ends at %d before it starts at %d", lastAccountId, firstAccountId));
+        }
+    }
+
+    /**
+     * Splits the range into consecutive ranges of at most {@code size} account IDs.
+     *
+     * @param size The maximum number of account IDs per range.
+     * @return The ranges, in account ID order.
+     */
+    public List<AccountIdRange> split(final long size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Account ID range size must be positive, was " + size);
+        }
+        final List<AccountIdRange> ranges = new ArrayList<>();
+        long first = firstAccountId;
+        while (true) {
+            final long last = lastAccountId - first < size ? lastAccountId : first + size - 1;
+            ranges.add(new AccountIdRange(first, last));
+            if (last == lastAccountId) {
+                return ranges;
+            }
+            first = last + 1;
+        }
+    }
+}
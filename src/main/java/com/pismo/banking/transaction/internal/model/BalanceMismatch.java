@@ -0,0 +1,13 @@
+package com.pismo.banking.transaction.internal.model;
+
+import java.math.BigDecimal;
+
+/**
+ * An account whose recorded balance differs from the sum of its transactions.
+ *
+ * @param accountId       The ID of the account.
+ * @param recordedBalance The balance of the account row plus the amounts held in its balance slots.
+ * @param ledgerBalance   The sum of the amounts of the transactions of the account.
+ */
+public record BalanceMismatch(long accountId, BigDecimal recordedBalance, BigDecimal ledgerBalance) {
+}
@@ -0,0 +1,68 @@
+package com.pismo.banking.transaction.internal.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Represents an idempotency key stored in the database together with the response of the transaction it created.
+ *
+ * <p>The key is assigned by the client, so the entity reports itself as new until it has been persisted or loaded;
+ * this lets {@code save} insert it directly instead of first looking it up.</p>
+ */
+@Entity
+@Table(name = "idempotency_keys")
+@Getter
+@NoArgsConstructor
+public class IdempotencyKey implements Persistable<String> {
+    @Id
+    private String idempotencyKey;
+
+    @Column(nullable = false)
+    private Long transactionId;
+
+    @Column(nullable = false)
+    private Long accountId;
+
+    @Column(nullable = false)
+    private Integer operationTypeId;
+
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal amount;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Transient
+    private boolean isNew = true;
+
+    public IdempotencyKey(final String idempotencyKey, final Long transactionId, final Long accountId,
+                          final Integer operationTypeId, final BigDecimal amount, final LocalDateTime expiresAt) {
+        this.idempotencyKey = idempotencyKey;
+        this.transactionId = transactionId;
+        this.accountId = accountId;
+        this.operationTypeId = operationTypeId;
+        this.amount = amount;
+        this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public String getId() {
+        return idempotencyKey;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
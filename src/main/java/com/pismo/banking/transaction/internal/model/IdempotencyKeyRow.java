@@ -0,0 +1,53 @@
+package com.pismo.banking.transaction.internal.model;
+
+import com.pismo.banking.transaction.api.dto.TransactionResponse;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.domain.Persistable;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * The {@code idempotency_keys} row as read and written by the reactive stack through R2DBC, mirroring
+ * {@link IdempotencyKey}. Keys are assigned by the client and never updated, so a row always reports itself as
+ * new: {@code save} inserts it directly and fails on a key that is already stored.
+ */
+@Table("idempotency_keys")
+public record IdempotencyKeyRow(
+        @Id String idempotencyKey,
+        Long transactionId,
+        Long accountId,
+        Integer operationTypeId,
+        BigDecimal amount,
+        LocalDateTime expiresAt) implements Persistable<String> {
+
+    /**
+     * Copies an idempotency key entity.
+     *
+     * @param idempotencyKey The key to insert.
+     * @return The row of the key.
+     */
+    public static IdempotencyKeyRow of(final IdempotencyKey idempotencyKey) {
+        return new IdempotencyKeyRow(idempotencyKey.getIdempotencyKey(), idempotencyKey.getTransactionId(),
+                idempotencyKey.getAccountId(), idempotencyKey.getOperationTypeId(), idempotencyKey.getAmount(),
+                idempotencyKey.getExpiresAt());
+    }
+
+    /**
+     * @return The stored response of the transaction created with the key.
+     */
+    public TransactionResponse toResponse() {
+        return new TransactionResponse(transactionId, accountId, operationTypeId, amount);
+    }
+
+    @Override
+    public String getId() {
+        return idempotencyKey;
+    }
+
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
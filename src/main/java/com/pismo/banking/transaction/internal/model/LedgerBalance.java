@@ -0,0 +1,38 @@
+package com.pismo.banking.transaction.internal.model;
+
+import org.jspecify.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * The balance of an account computed from its transactions, up to the last one included.
+ *
+ * <p>Transactions are included in {@code (event_date, transaction_id)} order, the order of the account history
+ * index, so the position of the last included one tells where to resume.</p>
+ *
+ * @param accountId         The ID of the account.
+ * @param balance           The sum of the amounts of the included transactions.
+ * @param lastTransactionId The ID of the last included transaction, null if none is included.
+ * @param lastEventDate     When the last included transaction happened, null if none is included.
+ */
+public record LedgerBalance(long accountId,
+                            BigDecimal balance,
+                            @Nullable Long lastTransactionId,
+                            @Nullable LocalDateTime lastEventDate) {
+
+    /**
+     * @param accountId The ID of the account.
+     * @return The balance of an account before its first transaction.
+     */
+    public static LedgerBalance empty(final long accountId) {
+        return new LedgerBalance(accountId, BigDecimal.ZERO, null, null);
+    }
+
+    /**
+     * @return Whether at least one transaction is included.
+     */
+    public boolean hasTransactions() {
+        return lastTransactionId != null;
+    }
+}
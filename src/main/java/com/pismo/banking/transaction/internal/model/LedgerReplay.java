@@ -0,0 +1,17 @@
+package com.pismo.banking.transaction.internal.model;
+
+/**
+ * The balance of an account replayed from its latest snapshot.
+ *
+ * @param snapshot The latest snapshot of the account, {@link LedgerBalance#empty(long)} if it has none.
+ * @param balance  The snapshot plus the transactions recorded after it; {@code snapshot} itself if there was none.
+ */
+public record LedgerReplay(LedgerBalance snapshot, LedgerBalance balance) {
+
+    /**
+     * @return Whether at least one transaction was replayed on top of the snapshot.
+     */
+    public boolean replayedTransactions() {
+        return balance != snapshot;
+    }
+}
@@ -2,8 +2,6 @@ package com.pismo.banking.transaction.internal.model;
 
 import com.pismo.banking.transaction.internal.exception.InvalidOperationTypeException;
 
-import java.util.stream.Stream;
-
 /**
  * Defines the available types of financial operations (transactions) supported by the system.
  * Each type has an associated unique ID and determines whether the transaction
@@ -31,6 +29,25 @@ public enum OperationType {
      */
     PAYMENT(4);
 
+    /**
+     * The constants indexed by their ID, so that resolving one is an array read. The array is sized by the
+     * highest ID, so the IDs need not be contiguous; the unused indexes, 0 included, are null.
+     */
+    private static final OperationType[] BY_ID;
+
+    static {
+        // Every call to values() returns a new copy of the array.
+        final OperationType[] operationTypes = values();
+        int maxId = 0;
+        for (OperationType operationType : operationTypes) {
+            maxId = Math.max(maxId, operationType.id);
+        }
+        BY_ID = new OperationType[maxId + 1];
+        for (OperationType operationType : operationTypes) {
+            BY_ID[operationType.id] = operationType;
+        }
+    }
+
     public final int id;
 
     /**
@@ -48,6 +65,7 @@ public enum OperationType {
 
     /**
      * Retrieves an {@link OperationType} enum constant corresponding to the given ID.
+     * This runs for every transaction request and every row loaded, so it does not allocate.
      *
      * @param id The integer ID of the operation type.
      * @return The matching OperationType enum constant.
@@ -55,8 +73,10 @@ public enum OperationType {
      * @see #getId()
      */
     public static OperationType fromId(int id) {
-        return Stream.of(OperationType.values()).filter(value -> value.getId() == id)
-                .findFirst()
-                .orElseThrow(() -> new InvalidOperationTypeException(id));
+        final OperationType operationType = id > 0 && id < BY_ID.length ? BY_ID[id] : null;
+        if (operationType == null) {
+            throw new InvalidOperationTypeException(id);
+        }
+        return operationType;
     }
 }
@@ -0,0 +1,11 @@
+package com.pismo.banking.transaction.internal.model;
+
+/**
+ * The outcome of a run of the balance reconciliation job.
+ *
+ * @param runId           The ID of the run in the {@code reconciliation_runs} table.
+ * @param accountsChecked The number of accounts whose balance was checked.
+ * @param mismatches      The number of accounts reported in the {@code balance_mismatches} table.
+ */
+public record ReconciliationRun(long runId, long accountsChecked, int mismatches) {
+}
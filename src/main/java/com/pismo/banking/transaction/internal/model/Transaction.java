@@ -1,12 +1,14 @@
 package com.pismo.banking.transaction.internal.model;
 
+import com.pismo.banking.common.id.PooledTableId;
+import com.pismo.banking.common.money.Money;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.jspecify.annotations.Nullable;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 /**
@@ -20,7 +22,7 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class Transaction {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledTableId(sequence = "transactions")
     private Long transactionId;
 
     @Column(nullable = false)
@@ -30,8 +32,15 @@ public class Transaction {
     private OperationType operationType;
 
     @Column(nullable = false, precision = 12, scale = 2)
-    private BigDecimal amount;
+    private Money amount;
 
     @Column(nullable = false)
     private LocalDateTime eventDate;
+
+    /**
+     * The balance of the account right after this transaction was applied, or {@code null} for a payment taken on
+     * a balance slot, which is not ordered with the other writers of the account.
+     */
+    @Column(precision = 12, scale = 2)
+    private @Nullable Money balanceAfter;
 }
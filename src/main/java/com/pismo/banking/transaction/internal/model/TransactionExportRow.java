@@ -0,0 +1,21 @@
+package com.pismo.banking.transaction.internal.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A row of a transaction export, read straight from the result set without going through a managed
+ * {@link Transaction} entity.
+ *
+ * @param transactionId   The ID of the transaction.
+ * @param accountId       The ID of the account of the transaction.
+ * @param operationTypeId The ID of the {@link OperationType} of the transaction.
+ * @param amount          The signed amount of the transaction.
+ * @param eventDate       When the transaction happened.
+ */
+public record TransactionExportRow(long transactionId,
+                                   long accountId,
+                                   int operationTypeId,
+                                   BigDecimal amount,
+                                   LocalDateTime eventDate) {
+}
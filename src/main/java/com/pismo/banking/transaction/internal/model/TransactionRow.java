@@ -0,0 +1,50 @@
+package com.pismo.banking.transaction.internal.model;
+
+import com.pismo.banking.common.money.Money;
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.domain.Persistable;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * The {@code transactions} row as written by the reactive stack through R2DBC, mirroring {@link Transaction}.
+ * The operation type is stored by its id, as the {@code OperationTypeConverter} does for JPA.
+ *
+ * <p>Ids are assigned before the insert and transactions are never updated, so a row always reports itself as
+ * new: {@code save} inserts it directly.</p>
+ */
+@Table("transactions")
+public record TransactionRow(
+        @Id Long transactionId,
+        Long accountId,
+        Integer operationType,
+        BigDecimal amount,
+        LocalDateTime eventDate,
+        @Nullable BigDecimal balanceAfter) implements Persistable<Long> {
+
+    /**
+     * Copies a transaction entity whose id has been assigned.
+     *
+     * @param transaction The transaction to insert.
+     * @return The row of the transaction.
+     */
+    public static TransactionRow of(final Transaction transaction) {
+        final Money balanceAfter = transaction.getBalanceAfter();
+        return new TransactionRow(transaction.getTransactionId(), transaction.getAccountId(),
+                transaction.getOperationType().getId(), transaction.getAmount().toBigDecimal(),
+                transaction.getEventDate(), balanceAfter == null ? null : balanceAfter.toBigDecimal());
+    }
+
+    @Override
+    public Long getId() {
+        return transactionId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
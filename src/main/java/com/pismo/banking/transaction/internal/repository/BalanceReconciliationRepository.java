@@ -0,0 +1,122 @@
+package com.pismo.banking.transaction.internal.repository;
+
+import com.pismo.banking.transaction.internal.model.AccountIdRange;
+import com.pismo.banking.transaction.internal.model.BalanceMismatch;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares recorded account balances with the sums of their transactions and writes the reconciliation report,
+ * with plain JDBC.
+ *
+ * <p>A range of accounts is checked with one aggregate query, whose per-account sums are index range scans on
+ * {@code idx_transactions_account_history} and the primary key of {@code account_balance_slots}. The balance of an
+ * account is changed in the same database transaction as its transactions are inserted, and a single statement
+ * reads one consistent snapshot, so a transaction committed while a range is being checked is never reported as a
+ * mismatch.</p>
+ */
+@Repository
+public class BalanceReconciliationRepository {
+
+    private static final String SELECT_BALANCES_SQL = "SELECT a.account_id, a.balance + COALESCE("
+            + "(SELECT SUM(s.balance) FROM account_balance_slots s WHERE s.account_id = a.account_id), 0), "
+            + "COALESCE((SELECT SUM(t.amount) FROM transactions t WHERE t.account_id = a.account_id), 0) "
+            + "FROM accounts a WHERE a.account_id BETWEEN ? AND ?";
+    private static final String INSERT_RUN_SQL = "INSERT INTO reconciliation_runs (started_at) VALUES (?)";
+    private static final String INSERT_MISMATCH_SQL = "INSERT INTO balance_mismatches "
+            + "(run_id, account_id, recorded_balance, ledger_balance, detected_at) VALUES (?, ?, ?, ?, ?)";
+    private static final String UPDATE_RUN_SQL = "UPDATE reconciliation_runs "
+            + "SET finished_at = ?, accounts_checked = ?, mismatches = ? WHERE run_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BalanceReconciliationRepository(final JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Compares the recorded balance of every account of a range with the sum of its transactions.
+     *
+     * @param range The account IDs to check.
+     * @return The number of checked accounts and the ones whose balances differ.
+     */
+    public RangeCheck checkBalances(final AccountIdRange range) {
+        final List<BalanceMismatch> mismatches = new ArrayList<>();
+        final int[] accountsChecked = new int[1];
+        jdbcTemplate.query(SELECT_BALANCES_SQL, resultSet -> {
+            accountsChecked[0]++;
+            final BigDecimal recordedBalance = resultSet.getBigDecimal(2);
+            final BigDecimal ledgerBalance = resultSet.getBigDecimal(3);
+            if (recordedBalance.compareTo(ledgerBalance) != 0) {
+                mismatches.add(new BalanceMismatch(resultSet.getLong(1), recordedBalance, ledgerBalance));
+            }
+        }, range.firstAccountId(), range.lastAccountId());
+        return new RangeCheck(accountsChecked[0], mismatches);
+    }
+
+    /**
+     * Records the start of a reconciliation run.
+     *
+     * @param startedAt When the run started.
+     * @return The ID of the run.
+     */
+    public long startRun(final LocalDateTime startedAt) {
+        final KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            final PreparedStatement statement = connection.prepareStatement(INSERT_RUN_SQL, new String[]{"run_id"});
+            statement.setTimestamp(1, Timestamp.valueOf(startedAt));
+            return statement;
+        }, keyHolder);
+        return keyHolder.getKeyAs(Long.class);
+    }
+
+    /**
+     * Reports mismatching accounts of a run, as one JDBC batch.
+     *
+     * @param runId      The ID of the run.
+     * @param mismatches The mismatching accounts.
+     * @param detectedAt When the mismatches were found.
+     */
+    public void insertMismatches(final long runId, final List<BalanceMismatch> mismatches,
+                                 final LocalDateTime detectedAt) {
+        final Timestamp detectedAtTimestamp = Timestamp.valueOf(detectedAt);
+        jdbcTemplate.batchUpdate(INSERT_MISMATCH_SQL, mismatches, mismatches.size(), (statement, mismatch) -> {
+            statement.setLong(1, runId);
+            statement.setLong(2, mismatch.accountId());
+            statement.setBigDecimal(3, mismatch.recordedBalance());
+            statement.setBigDecimal(4, mismatch.ledgerBalance());
+            statement.setTimestamp(5, detectedAtTimestamp);
+        });
+    }
+
+    /**
+     * Records the completion of a reconciliation run.
+     *
+     * @param runId           The ID of the run.
+     * @param finishedAt      When the run finished.
+     * @param accountsChecked The number of checked accounts.
+     * @param mismatches      The number of reported accounts.
+     */
+    public void finishRun(final long runId, final LocalDateTime finishedAt, final long accountsChecked,
+                          final int mismatches) {
+        jdbcTemplate.update(UPDATE_RUN_SQL, Timestamp.valueOf(finishedAt), accountsChecked, mismatches, runId);
+    }
+
+    /**
+     * The outcome of checking a range of accounts.
+     *
+     * @param accountsChecked The number of accounts of the range.
+     * @param mismatches      The accounts whose recorded balance differs from the sum of their transactions.
+     */
+    public record RangeCheck(int accountsChecked, List<BalanceMismatch> mismatches) {
+    }
+}
@@ -0,0 +1,42 @@
+package com.pismo.banking.transaction.internal.repository;
+
+import com.pismo.banking.transaction.internal.model.IdempotencyKey;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Spring Data JPA repository interface for managing {@link IdempotencyKey} entities.
+ */
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+
+    /**
+     * Finds the keys that expired before the given instant, oldest first.
+     *
+     * @param now   The current time.
+     * @param limit The maximum number of keys to return.
+     * @return The expired keys, at most {@code limit} of them.
+     */
+    @Query("SELECT k.idempotencyKey FROM IdempotencyKey k WHERE k.expiresAt < :now ORDER BY k.expiresAt")
+    List<String> findExpiredKeys(@Param("now") LocalDateTime now, Limit limit);
+
+    /**
+     * Deletes the given keys if they have expired, so that they can be stored again before the sweep gets to them.
+     * Keys that have not expired are left in place.
+     *
+     * @param keys The keys about to be stored.
+     * @param now  The current time.
+     * @return The number of deleted keys.
+     */
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.idempotencyKey IN :keys AND k.expiresAt <= :now")
+    int deleteExpired(@Param("keys") Collection<String> keys, @Param("now") LocalDateTime now);
+}
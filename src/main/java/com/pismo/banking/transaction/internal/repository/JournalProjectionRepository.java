@@ -0,0 +1,107 @@
+package com.pismo.banking.transaction.internal.repository;
+
+import com.pismo.banking.transaction.internal.journal.JournalEntry;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Writes the entries of the transaction journal to the database with plain JDBC.
+ *
+ * <p>Journal entries already carry their transaction ID, which the pooled generator of the {@code Transaction}
+ * entity would replace, and are written once and never read back, so they are inserted as one JDBC batch
+ * without going through the persistence context. The offset up to which the journal has been applied is kept in
+ * the {@code journal_checkpoints} table and must be advanced in the same database transaction, and so must the
+ * entries parked in {@code journal_dead_letters}.</p>
+ */
+@Repository
+public class JournalProjectionRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO transactions "
+            + "(transaction_id, account_id, operation_type, amount, event_date, balance_after) "
+            + "VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_DEAD_LETTER_SQL = "INSERT INTO journal_dead_letters "
+            + "(journal_name, journal_offset, transaction_id, account_id, operation_type, amount, balance_after, "
+            + "event_date, idempotency_key, failure, parked_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP)";
+    private static final int MAX_FAILURE_LENGTH = 1000;
+    private static final String SELECT_OFFSET_SQL =
+            "SELECT applied_offset FROM journal_checkpoints WHERE journal_name = ?";
+    private static final String INSERT_OFFSET_SQL =
+            "INSERT INTO journal_checkpoints (journal_name, applied_offset) VALUES (?, 0)";
+    private static final String UPDATE_OFFSET_SQL =
+            "UPDATE journal_checkpoints SET applied_offset = ? WHERE journal_name = ? AND applied_offset = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JournalProjectionRepository(final JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserts the transactions of journal entries as one JDBC batch.
+     *
+     * @param entries The entries to insert.
+     */
+    public void insertTransactions(final List<JournalEntry> entries) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, entries, entries.size(), (statement, entry) -> {
+            statement.setLong(1, entry.transactionId());
+            statement.setLong(2, entry.accountId());
+            statement.setInt(3, entry.operationType().getId());
+            statement.setBigDecimal(4, entry.amount().toBigDecimal());
+            statement.setTimestamp(5, Timestamp.valueOf(entry.eventDate()));
+            statement.setBigDecimal(6, entry.balanceAfter().toBigDecimal());
+        });
+    }
+
+    /**
+     * Parks a journal entry that could not be applied in the {@code journal_dead_letters} table, to be resolved by
+     * hand. Must be called in the database transaction that advances the checkpoint past the entry.
+     *
+     * @param journalName The name of the journal.
+     * @param offset      The offset of the entry.
+     * @param entry       The entry.
+     * @param failure     Why the entry could not be applied.
+     */
+    public void insertDeadLetter(final String journalName, final long offset, final JournalEntry entry,
+                                 final Throwable failure) {
+        final String description = failure.toString();
+        jdbcTemplate.update(INSERT_DEAD_LETTER_SQL, journalName, offset, entry.transactionId(), entry.accountId(),
+                entry.operationType().getId(), entry.amount().toBigDecimal(), entry.balanceAfter().toBigDecimal(),
+                Timestamp.valueOf(entry.eventDate()), entry.idempotencyKey(),
+                description.length() > MAX_FAILURE_LENGTH ? description.substring(0, MAX_FAILURE_LENGTH) : description);
+    }
+
+    /**
+     * Reads the checkpoint of a journal, creating it at offset 0 for a journal seen for the first time.
+     *
+     * @param journalName The name of the journal.
+     * @return The offset up to which the journal has been applied.
+     */
+    public long findOrCreateAppliedOffset(final String journalName) {
+        final List<Long> appliedOffsets = jdbcTemplate.queryForList(SELECT_OFFSET_SQL, Long.class, journalName);
+        if (!appliedOffsets.isEmpty()) {
+            return appliedOffsets.getFirst();
+        }
+        jdbcTemplate.update(INSERT_OFFSET_SQL, journalName);
+        return 0;
+    }
+
+    /**
+     * Advances the applied offset of a journal, guarded by its previous value.
+     *
+     * @param journalName    The name of the journal.
+     * @param expectedOffset The applied offset the entries were read from.
+     * @param appliedOffset  The offset right after the applied entries.
+     * @throws IllegalStateException if the checkpoint was moved by someone else, which makes the caller's
+     *                               database transaction roll back instead of applying the entries twice.
+     */
+    public void advanceAppliedOffset(final String journalName, final long expectedOffset, final long appliedOffset) {
+        if (jdbcTemplate.update(UPDATE_OFFSET_SQL, appliedOffset, journalName, expectedOffset) != 1) {
+            throw new IllegalStateException(String.format(
+                    "Checkpoint of journal %s is no longer at offset %d", journalName, expectedOffset));
+        }
+    }
+}
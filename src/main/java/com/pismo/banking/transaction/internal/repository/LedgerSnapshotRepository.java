@@ -0,0 +1,195 @@
+package com.pismo.banking.transaction.internal.repository;
+
+import com.pismo.banking.transaction.internal.model.AccountIdRange;
+import com.pismo.banking.transaction.internal.model.LedgerBalance;
+import com.pismo.banking.transaction.internal.model.LedgerReplay;
+import org.jspecify.annotations.Nullable;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Reads and writes the {@code account_balance_snapshots} table and replays the transactions recorded after a
+ * snapshot, with plain JDBC.
+ *
+ * <p>A range of accounts is replayed with a single statement joining each account to its snapshot and to the
+ * transactions after it. The join seeks {@code idx_transactions_account_history} right after the
+ * {@code (last_event_date, last_transaction_id)} position of each snapshot, so replaying an account reads only its
+ * tail, however long its history is, and the snapshot and the tail are read consistently with each other.</p>
+ */
+@Repository
+public class LedgerSnapshotRepository {
+
+    private static final String SELECT_BOUNDS_SQL = "SELECT MIN(account_id), MAX(account_id) FROM accounts";
+    private static final String SELECT_TAILS_SQL =
+            "SELECT a.account_id, s.balance, s.last_transaction_id, s.last_event_date, "
+                    + "t.transaction_id, t.amount, t.event_date "
+                    + "FROM accounts a LEFT JOIN account_balance_snapshots s ON s.account_id = a.account_id "
+                    + "LEFT JOIN transactions t ON t.account_id = a.account_id AND (s.account_id IS NULL "
+                    + "OR t.event_date > s.last_event_date "
+                    + "OR (t.event_date = s.last_event_date AND t.transaction_id > s.last_transaction_id))";
+    private static final String BEFORE_SQL = " AND t.event_date < ?";
+    private static final String RANGE_SQL =
+            " WHERE a.account_id BETWEEN ? AND ? ORDER BY a.account_id, t.event_date, t.transaction_id";
+    private static final String INSERT_SNAPSHOT_SQL = "INSERT INTO account_balance_snapshots "
+            + "(account_id, balance, last_transaction_id, last_event_date, taken_at) VALUES (?, ?, ?, ?, ?)";
+    private static final String UPDATE_SNAPSHOT_SQL = "UPDATE account_balance_snapshots "
+            + "SET balance = ?, last_transaction_id = ?, last_event_date = ?, taken_at = ? "
+            + "WHERE account_id = ? AND (last_event_date < ? OR (last_event_date = ? AND last_transaction_id < ?))";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LedgerSnapshotRepository(final JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @return The range from the lowest to the highest account ID, or empty if there is no account.
+     */
+    public Optional<AccountIdRange> findAccountIdBounds() {
+        return jdbcTemplate.query(SELECT_BOUNDS_SQL, resultSet -> {
+            resultSet.next();
+            final long first = resultSet.getLong(1);
+            return resultSet.wasNull()
+                    ? Optional.empty()
+                    : Optional.of(new AccountIdRange(first, resultSet.getLong(2)));
+        });
+    }
+
+    /**
+     * Replays the transactions recorded after the latest snapshot of every account of a range, with one statement.
+     *
+     * @param range  The account IDs to replay.
+     * @param before Only transactions that happened strictly before this instant are included, or all of them
+     *               if null.
+     * @return One replay per existing account, in account ID order.
+     */
+    public List<LedgerReplay> replayTails(final AccountIdRange range, final @Nullable LocalDateTime before) {
+        final StringBuilder sql = new StringBuilder(SELECT_TAILS_SQL);
+        final List<Object> args = new ArrayList<>(3);
+        if (before != null) {
+            sql.append(BEFORE_SQL);
+            args.add(Timestamp.valueOf(before));
+        }
+        sql.append(RANGE_SQL);
+        args.add(range.firstAccountId());
+        args.add(range.lastAccountId());
+
+        final List<LedgerReplay> replays = new ArrayList<>();
+        final TailFold fold = new TailFold();
+        jdbcTemplate.query(sql.toString(), resultSet -> {
+            final long accountId = resultSet.getLong(1);
+            if (fold.snapshot == null || fold.snapshot.accountId() != accountId) {
+                fold.finish(replays);
+                final long lastTransactionId = resultSet.getLong(3);
+                fold.start(resultSet.wasNull()
+                        ? LedgerBalance.empty(accountId)
+                        : new LedgerBalance(accountId, resultSet.getBigDecimal(2), lastTransactionId,
+                        resultSet.getTimestamp(4).toLocalDateTime()));
+            }
+            final long transactionId = resultSet.getLong(5);
+            if (!resultSet.wasNull()) {
+                fold.add(transactionId, resultSet.getBigDecimal(6), resultSet.getTimestamp(7).toLocalDateTime());
+            }
+        }, args.toArray());
+        fold.finish(replays);
+        return replays;
+    }
+
+    /**
+     * Inserts the first snapshot of accounts, as one JDBC batch. When another run inserted some of them first, the
+     * batch is retried one account at a time and the snapshots already present are moved forward instead, as by
+     * {@link #updateSnapshots}.
+     *
+     * @param balances The balances to store, each including at least one transaction.
+     * @param takenAt  When the snapshots were taken.
+     */
+    public void insertSnapshots(final List<LedgerBalance> balances, final LocalDateTime takenAt) {
+        final Timestamp takenAtTimestamp = Timestamp.valueOf(takenAt);
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SNAPSHOT_SQL, balances, balances.size(),
+                    (statement, balance) -> setInsertParameters(statement, balance, takenAtTimestamp));
+        } catch (DuplicateKeyException concurrentRun) {
+            for (LedgerBalance balance : balances) {
+                try {
+                    jdbcTemplate.update(INSERT_SNAPSHOT_SQL,
+                            statement -> setInsertParameters(statement, balance, takenAtTimestamp));
+                } catch (DuplicateKeyException inserted) {
+                    updateSnapshots(List.of(balance), takenAt);
+                }
+            }
+        }
+    }
+
+    private static void setInsertParameters(final PreparedStatement statement, final LedgerBalance balance,
+                                            final Timestamp takenAt) throws SQLException {
+        statement.setLong(1, balance.accountId());
+        statement.setBigDecimal(2, balance.balance());
+        statement.setLong(3, balance.lastTransactionId());
+        statement.setTimestamp(4, Timestamp.valueOf(balance.lastEventDate()));
+        statement.setTimestamp(5, takenAt);
+    }
+
+    /**
+     * Moves snapshots of accounts forward, as one JDBC batch. A snapshot that already includes a later
+     * transaction is left alone, so two concurrent runs never move it back.
+     *
+     * @param balances The balances to store, each including at least one transaction.
+     * @param takenAt  When the snapshots were taken.
+     */
+    public void updateSnapshots(final List<LedgerBalance> balances, final LocalDateTime takenAt) {
+        final Timestamp takenAtTimestamp = Timestamp.valueOf(takenAt);
+        jdbcTemplate.batchUpdate(UPDATE_SNAPSHOT_SQL, balances, balances.size(), (statement, balance) -> {
+            final Timestamp lastEventDate = Timestamp.valueOf(balance.lastEventDate());
+            statement.setBigDecimal(1, balance.balance());
+            statement.setLong(2, balance.lastTransactionId());
+            statement.setTimestamp(3, lastEventDate);
+            statement.setTimestamp(4, takenAtTimestamp);
+            statement.setLong(5, balance.accountId());
+            statement.setTimestamp(6, lastEventDate);
+            statement.setTimestamp(7, lastEventDate);
+            statement.setLong(8, balance.lastTransactionId());
+        });
+    }
+
+    /**
+     * Folds the rows of one account at a time into its replay.
+     */
+    private static final class TailFold {
+
+        private @Nullable LedgerBalance snapshot;
+        private BigDecimal balance = BigDecimal.ZERO;
+        private long lastTransactionId;
+        private @Nullable LocalDateTime lastEventDate;
+
+        private void start(final LedgerBalance snapshot) {
+            this.snapshot = snapshot;
+            this.balance = snapshot.balance();
+            this.lastEventDate = null;
+        }
+
+        private void add(final long transactionId, final BigDecimal amount, final LocalDateTime eventDate) {
+            balance = balance.add(amount);
+            lastTransactionId = transactionId;
+            lastEventDate = eventDate;
+        }
+
+        private void finish(final List<LedgerReplay> replays) {
+            if (snapshot == null) {
+                return;
+            }
+            replays.add(new LedgerReplay(snapshot, lastEventDate == null
+                    ? snapshot
+                    : new LedgerBalance(snapshot.accountId(), balance, lastTransactionId, lastEventDate)));
+        }
+    }
+}
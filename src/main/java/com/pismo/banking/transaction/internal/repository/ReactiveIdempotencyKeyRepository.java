@@ -0,0 +1,28 @@
+package com.pismo.banking.transaction.internal.repository;
+
+import com.pismo.banking.transaction.internal.model.IdempotencyKeyRow;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Spring Data R2DBC repository of the reactive stack for {@link IdempotencyKeyRow}s, the counterpart of
+ * {@link IdempotencyKeyRepository}. Expired keys are swept by the {@code IdempotencyKeyStore} with either stack.
+ */
+public interface ReactiveIdempotencyKeyRepository extends R2dbcRepository<IdempotencyKeyRow, String> {
+
+    /**
+     * Deletes a key if it has expired, so that it can be stored again before the sweep removes it.
+     *
+     * @param key The key to delete.
+     * @param now The current time.
+     * @return The number of deleted keys.
+     */
+    @Modifying
+    @Query("DELETE FROM idempotency_keys WHERE idempotency_key = :key AND expires_at <= :now")
+    Mono<Integer> deleteExpired(@Param("key") String key, @Param("now") LocalDateTime now);
+}
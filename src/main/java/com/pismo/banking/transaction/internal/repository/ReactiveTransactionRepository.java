@@ -0,0 +1,11 @@
+package com.pismo.banking.transaction.internal.repository;
+
+import com.pismo.banking.transaction.internal.model.TransactionRow;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+
+/**
+ * Spring Data R2DBC repository of the reactive stack for {@link TransactionRow}s, the counterpart of
+ * {@link TransactionRepository} for the endpoints that create transactions.
+ */
+public interface ReactiveTransactionRepository extends R2dbcRepository<TransactionRow, Long> {
+}
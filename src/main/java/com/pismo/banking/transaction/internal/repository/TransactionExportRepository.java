@@ -0,0 +1,130 @@
+package com.pismo.banking.transaction.internal.repository;
+
+import com.pismo.banking.transaction.internal.model.TransactionExportRow;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads transactions for exports with plain JDBC, one row at a time.
+ *
+ * <p>Going through JPA would attach every exported transaction to the persistence context. Here the rows are
+ * read with a forward-only, read-only statement and handed to the caller one by one, so an export of any size
+ * runs in constant memory. The driver fetches {@code banking.transactions.export.fetch-size} rows per round
+ * trip; MySQL Connector/J ignores positive fetch sizes unless {@code useCursorFetch} is enabled, so on MySQL
+ * the statement is switched to the driver's row streaming mode instead.</p>
+ *
+ * <p>The connection is held until the last row has been handed over, which for an export includes the time the
+ * client takes to receive it. An export that is still running after {@code banking.transactions.export.max-duration}
+ * is aborted, releasing its connection; the client resumes it after the last ID it received. The deadline is
+ * checked before each row is handed over and is also set as the query timeout of the statement, so the driver
+ * cancels the query when no further row is asked for. A client that stops reading altogether blocks the write
+ * of its response, which the servlet container fails after its own connection timeout.</p>
+ *
+ * <p>IDs are reserved in blocks by each instance, so they are not committed in ascending order: a transaction
+ * with a lower ID than one already exported may still be committed afterwards. Resuming after the last ID
+ * received therefore only misses nothing when every transaction of the window was already committed, that is
+ * when {@code to} is in the past.</p>
+ */
+@Repository
+public class TransactionExportRepository {
+
+    private static final String SELECT_SQL =
+            "SELECT transaction_id, account_id, operation_type, amount, event_date FROM transactions";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int fetchSize;
+    private final Duration maxDuration;
+    private final int queryTimeoutSeconds;
+
+    public TransactionExportRepository(final JdbcTemplate jdbcTemplate,
+                                       @Value("${banking.transactions.export.fetch-size:1000}") final int fetchSize,
+                                       @Value("${banking.transactions.export.max-duration:PT10M}")
+                                       final Duration maxDuration) {
+        if (fetchSize < 1) {
+            throw new IllegalArgumentException("Export fetch size must be positive, was " + fetchSize);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.fetchSize = fetchSize;
+        this.maxDuration = maxDuration;
+        this.queryTimeoutSeconds = Math.clamp((maxDuration.toMillis() + 999) / 1000, 1, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Passes the matching transactions to the consumer in ascending ID order, so that an interrupted export
+     * can be resumed after the last ID it received, which is only complete once every transaction before
+     * {@code to} has been committed. With an account, the rows are read in the order of the
+     * {@code account_id} index, whose entries InnoDB keeps sorted by primary key within each account.
+     *
+     * @param accountId          Only read the transactions of this account, if present.
+     * @param from               Only read transactions that happened at or after this instant, if present.
+     * @param to                 Only read transactions that happened before this instant, if present.
+     * @param afterTransactionId Only read transactions with a greater ID.
+     * @param consumer           Receives every row as soon as it has been read.
+     * @throws QueryTimeoutException if the rows are still being read after {@code max-duration}.
+     */
+    public void streamTransactions(final @Nullable Long accountId,
+                                   final @Nullable LocalDateTime from,
+                                   final @Nullable LocalDateTime to,
+                                   final long afterTransactionId,
+                                   final Consumer<TransactionExportRow> consumer) {
+        final StringBuilder sql = new StringBuilder(SELECT_SQL).append(" WHERE transaction_id > ?");
+        final List<Object> parameters = new ArrayList<>(4);
+        parameters.add(afterTransactionId);
+        if (accountId != null) {
+            sql.append(" AND account_id = ?");
+            parameters.add(accountId);
+        }
+        if (from != null) {
+            sql.append(" AND event_date >= ?");
+            parameters.add(from);
+        }
+        if (to != null) {
+            sql.append(" AND event_date < ?");
+            parameters.add(to);
+        }
+        sql.append(" ORDER BY transaction_id");
+
+        final long deadlineNanos = System.nanoTime() + maxDuration.toNanos();
+        jdbcTemplate.query(connection -> prepareStreaming(connection, sql.toString(), parameters),
+                (ResultSet resultSet) -> {
+                    if (System.nanoTime() - deadlineNanos > 0) {
+                        throw new QueryTimeoutException("Export aborted after " + maxDuration
+                                + "; resume it after the last transaction_id received");
+                    }
+                    consumer.accept(new TransactionExportRow(
+                            resultSet.getLong(1),
+                            resultSet.getLong(2),
+                            resultSet.getInt(3),
+                            resultSet.getBigDecimal(4),
+                            resultSet.getObject(5, LocalDateTime.class)));
+                });
+    }
+
+    private PreparedStatement prepareStreaming(final Connection connection,
+                                               final String sql,
+                                               final List<Object> parameters) throws SQLException {
+        final PreparedStatement statement =
+                connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        statement.setQueryTimeout(queryTimeoutSeconds);
+        statement.setFetchSize("MySQL".equals(connection.getMetaData().getDatabaseProductName())
+                ? Integer.MIN_VALUE
+                : fetchSize);
+        for (int i = 0; i < parameters.size(); i++) {
+            statement.setObject(i + 1, parameters.get(i));
+        }
+        return statement;
+    }
+}
@@ -2,12 +2,99 @@ package com.pismo.banking.transaction.internal.repository;
 
 import com.pismo.banking.transaction.internal.model.Transaction;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.Optional;
+
 /**
  * Spring Data JPA repository interface for managing {@link Transaction} entities.
  * Provides standard CRUD operations and custom query methods for transaction data access.
+ *
+ * <p>Filtered reads are expressed with {@link TransactionSpecifications}, which allows optional filters to be
+ * left out of the generated SQL entirely.</p>
  */
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, JpaSpecificationExecutor<Transaction> {
+
+    /**
+     * Finds the balance an account was left with by its transactions at or before the given instant: the
+     * {@code balance_after} of the latest one that has it, plus the amounts of the later payments taken on balance
+     * slots, which have none. Answered by a descending seek on the {@code (account_id, event_date, transaction_id)}
+     * index, plus a scan of the index from that transaction on when slot payments may follow it.
+     *
+     * <p>A slot payment counts from its own event date. One that was committing while a debit of the account read
+     * the aggregate balance may be counted on both sides of that debit's instant, or on neither, until the next
+     * balance is recorded. For an account that only ever received slot payments, the whole history up to the
+     * instant is summed.</p>
+     *
+     * @param accountId The unique ID of the account.
+     * @param at        The instant to read the balance at.
+     * @return The balance at that instant, or empty if the account had no transaction by then.
+     */
+    default Optional<BigDecimal> findBalanceAt(final Long accountId, final LocalDateTime at) {
+        final Optional<Transaction> latest = findLatestWithBalanceAt(accountId, at);
+        if (latest.isEmpty()) {
+            return sumAmountsWithoutBalance(accountId, at);
+        }
+        final Transaction transaction = latest.get();
+        final BigDecimal balance = Objects.requireNonNull(transaction.getBalanceAfter()).toBigDecimal();
+        return Optional.of(sumAmountsWithoutBalanceAfter(accountId, transaction.getEventDate(),
+                transaction.getTransactionId(), at).map(balance::add).orElse(balance));
+    }
+
+    /**
+     * Finds the latest transaction of an account at or before the given instant that recorded the balance it left.
+     *
+     * @param accountId The unique ID of the account.
+     * @param at        The instant to look back from.
+     * @return That transaction, or empty if there is none.
+     */
+    @Query("""
+            SELECT t FROM Transaction t
+            WHERE t.accountId = :accountId AND t.eventDate <= :at AND t.balanceAfter IS NOT NULL
+            ORDER BY t.eventDate DESC, t.transactionId DESC
+            LIMIT 1
+            """)
+    Optional<Transaction> findLatestWithBalanceAt(@Param("accountId") Long accountId,
+                                                  @Param("at") LocalDateTime at);
+
+    /**
+     * Sums the amounts of the transactions of an account without a recorded balance, up to the given instant.
+     *
+     * @param accountId The unique ID of the account.
+     * @param at        The last instant included.
+     * @return The sum, or empty if there are no such transactions.
+     */
+    @Query("""
+            SELECT SUM(CAST(t.amount AS BigDecimal)) FROM Transaction t
+            WHERE t.accountId = :accountId AND t.eventDate <= :at AND t.balanceAfter IS NULL
+            """)
+    Optional<BigDecimal> sumAmountsWithoutBalance(@Param("accountId") Long accountId,
+                                                  @Param("at") LocalDateTime at);
+
+    /**
+     * Sums the amounts of the transactions of an account without a recorded balance that follow the given
+     * transaction, in {@code (event_date, transaction_id)} order, up to the given instant.
+     *
+     * @param accountId     The unique ID of the account.
+     * @param eventDate     The event date of the transaction to start after.
+     * @param transactionId The ID of the transaction to start after.
+     * @param at            The last instant included.
+     * @return The sum, or empty if there are no such transactions.
+     */
+    @Query("""
+            SELECT SUM(CAST(t.amount AS BigDecimal)) FROM Transaction t
+            WHERE t.accountId = :accountId AND t.eventDate <= :at AND t.balanceAfter IS NULL
+              AND (t.eventDate > :eventDate OR (t.eventDate = :eventDate AND t.transactionId > :transactionId))
+            """)
+    Optional<BigDecimal> sumAmountsWithoutBalanceAfter(@Param("accountId") Long accountId,
+                                                       @Param("eventDate") LocalDateTime eventDate,
+                                                       @Param("transactionId") Long transactionId,
+                                                       @Param("at") LocalDateTime at);
 }
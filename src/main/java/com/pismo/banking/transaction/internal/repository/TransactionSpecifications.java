@@ -0,0 +1,49 @@
+package com.pismo.banking.transaction.internal.repository;
+
+import com.pismo.banking.transaction.internal.model.OperationType;
+import com.pismo.banking.transaction.internal.model.Transaction;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+/**
+ * A utility class providing the {@link Specification}s used to filter {@link Transaction}s.
+ */
+public final class TransactionSpecifications {
+
+    private TransactionSpecifications() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated.");
+    }
+
+    /**
+     * @param accountId The ID of the account.
+     * @return A specification matching the transactions of the given account.
+     */
+    public static Specification<Transaction> ofAccount(final Long accountId) {
+        return (root, query, builder) -> builder.equal(root.get("accountId"), accountId);
+    }
+
+    /**
+     * @param operationType The operation type to match.
+     * @return A specification matching the transactions of the given operation type.
+     */
+    public static Specification<Transaction> ofOperationType(final OperationType operationType) {
+        return (root, query, builder) -> builder.equal(root.get("operationType"), operationType);
+    }
+
+    /**
+     * @param from The inclusive lower bound of the event date.
+     * @return A specification matching the transactions that happened at or after the given instant.
+     */
+    public static Specification<Transaction> eventAtOrAfter(final LocalDateTime from) {
+        return (root, query, builder) -> builder.greaterThanOrEqualTo(root.get("eventDate"), from);
+    }
+
+    /**
+     * @param to The exclusive upper bound of the event date.
+     * @return A specification matching the transactions that happened before the given instant.
+     */
+    public static Specification<Transaction> eventBefore(final LocalDateTime to) {
+        return (root, query, builder) -> builder.lessThan(root.get("eventDate"), to);
+    }
+}
@@ -0,0 +1,374 @@
+package com.pismo.banking.transaction.internal.service;
+
+import com.pismo.banking.common.exception.AccountNotFoundException;
+import com.pismo.banking.common.exception.InSufficientLimitException;
+import com.pismo.banking.transaction.api.TransactionBatchService;
+import com.pismo.banking.transaction.api.TransactionService;
+import com.pismo.banking.transaction.api.dto.TransactionBatchItemResponse;
+import com.pismo.banking.transaction.api.dto.TransactionBatchRequest;
+import com.pismo.banking.transaction.api.dto.TransactionBatchResponse;
+import com.pismo.banking.transaction.api.dto.TransactionRequest;
+import com.pismo.banking.transaction.api.dto.TransactionResponse;
+import com.pismo.banking.transaction.internal.concurrency.StripedAccountLock;
+import com.pismo.banking.transaction.internal.exception.InvalidOperationTypeException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TransactionService} and {@link TransactionBatchService} that serializes transactions per account in memory and group-commits them.
+ *
+ * <p>Every request is first enqueued on the pending queue of its account's {@link StripedAccountLock} stripe.
+ * The request that finds the stripe free becomes the combiner: it drains the queue (up to
+ * {@code banking.transactions.group-commit.max-batch-size} requests per flush) and hands each account's requests
+ * to {@link TransactionServiceImpl} as one database transaction: one locked read, in-order limit checks in memory,
+ * one balance update and the transaction inserts. Requests that find the stripe busy simply wait for their own
+ * result, so everything that arrives while a flush is in progress is coalesced into the next one, without any
+ * added latency when the account is idle. Each caller still receives its own {@link TransactionResponse} or
+ * exception.</p>
+ *
+ * <p>One hold of the stripe flushes at most the requests that were queued when it was acquired. The stripe is then
+ * released, so a request arriving in between takes over as the combiner, and the previous one only carries on if
+ * it wins the stripe again. A steady stream of requests to a hot account therefore never keeps one caller flushing
+ * the work of others indefinitely.</p>
+ *
+ * <p>Only the combiner talks to the database for a stripe, so a hot account never has more than one request
+ * waiting on its row lock or holding a pooled connection. Correctness across application instances is still
+ * guaranteed by the database: single requests use the guarded balance update, batches lock the account row.</p>
+ *
+ * <p>A batch request enqueues all of its items at once, so they go through the same per-account serialization
+ * and are committed in groups of up to {@code max-batch-size} transactions of the same account, with the
+ * inserts written as JDBC batches.</p>
+ *
+ * <p>Requests with an idempotency key are first looked up in the {@link IdempotencyKeyStore}; a known key is
+ * answered with the stored response without being enqueued. The key is stored with the transaction itself, so if
+ * two requests with the same key race, the loser's database transaction fails on the unique key and the caller
+ * receives the winner's response.</p>
+ *
+ * <p>Published metrics: {@code banking.transactions.group-commit.batch-size} (transactions per database
+ * transaction), {@code banking.transactions.stripe.queued} (requests waiting to be flushed) and
+ * {@code banking.transactions.stripe.wait} (time from enqueueing a request to its flush), both tagged with
+ * {@code stripe}, and {@code banking.transactions.idempotent-replays} (requests answered with a stored
+ * response).</p>
+ *
+ * <p>This is the default engine ({@code banking.transactions.engine=jpa}); see {@link SequencedTransactionService}
+ * for the alternative.</p>
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "banking.transactions.engine", havingValue = "jpa", matchIfMissing = true)
+public class AccountSerializedTransactionService implements TransactionService, TransactionBatchService {
+
+    /** The message of a batch item that failed unexpectedly; the cause is logged, not returned to the client. */
+    static final String FAILED_ITEM_MESSAGE = "The transaction could not be processed";
+
+    private static final Logger log = LoggerFactory.getLogger(AccountSerializedTransactionService.class);
+
+    private final TransactionServiceImpl transactionService;
+    private final StripedAccountLock accountLock;
+    private final IdempotencyKeyStore idempotencyKeyStore;
+    private final Queue<PendingTransaction>[] pendingQueues;
+    /** The {@link #drain} of each stripe's queue, created once instead of a capturing lambda per request. */
+    private final Runnable[] drainers;
+    private final int maxBatchSize;
+    private final DistributionSummary batchSizes;
+    private final Counter idempotentReplays;
+
+    @SuppressWarnings("unchecked")
+    public AccountSerializedTransactionService(
+            final TransactionServiceImpl transactionService,
+            final StripedAccountLock accountLock,
+            final IdempotencyKeyStore idempotencyKeyStore,
+            @Value("${banking.transactions.group-commit.max-batch-size:64}") final int maxBatchSize,
+            final MeterRegistry meterRegistry) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Group commit batch size must be positive, was " + maxBatchSize);
+        }
+        this.transactionService = transactionService;
+        this.accountLock = accountLock;
+        this.idempotencyKeyStore = idempotencyKeyStore;
+        this.maxBatchSize = maxBatchSize;
+        this.pendingQueues = new Queue[accountLock.stripeCount()];
+        this.drainers = new Runnable[pendingQueues.length];
+        for (int i = 0; i < pendingQueues.length; i++) {
+            final String stripe = Integer.toString(i);
+            final Queue<PendingTransaction> pendingQueue = new ConcurrentLinkedQueue<>();
+            final Timer wait = Timer.builder("banking.transactions.stripe.wait")
+                    .description("Time requests waited on their stripe before being flushed")
+                    .tag("stripe", stripe)
+                    .register(meterRegistry);
+            pendingQueues[i] = pendingQueue;
+            drainers[i] = () -> drain(pendingQueue, wait);
+            Gauge.builder("banking.transactions.stripe.queued", pendingQueue, Queue::size)
+                    .description("Requests waiting on their stripe to be flushed")
+                    .tag("stripe", stripe)
+                    .register(meterRegistry);
+        }
+        this.batchSizes = DistributionSummary.builder("banking.transactions.group-commit.batch-size")
+                .description("Number of transactions written per database transaction")
+                .register(meterRegistry);
+        this.idempotentReplays = Counter.builder("banking.transactions.idempotent-replays")
+                .description("Number of requests answered with the stored response of their idempotency key")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @inheritDoc
+     * <p>Every thread that releases a stripe re-checks its queue afterwards, so a request enqueued while another
+     * thread held the stripe is always picked up by that thread or a later holder.</p>
+     */
+    @Override
+    public TransactionResponse createTransaction(final TransactionRequest transactionRequest,
+                                                 final @Nullable String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return submit(TransactionCommand.of(transactionRequest));
+        }
+        final Optional<TransactionResponse> storedResponse = idempotencyKeyStore.find(idempotencyKey);
+        if (storedResponse.isPresent()) {
+            idempotentReplays.increment();
+            return storedResponse.get();
+        }
+        final TransactionResponse transactionResponse;
+        try {
+            transactionResponse = submit(new TransactionCommand(transactionRequest, idempotencyKey));
+        } catch (DataIntegrityViolationException duplicateKey) {
+            // Another request with the same key committed first.
+            final TransactionResponse winnerResponse = idempotencyKeyStore.find(idempotencyKey)
+                    .orElseThrow(() -> duplicateKey);
+            idempotentReplays.increment();
+            return winnerResponse;
+        }
+        idempotencyKeyStore.remember(idempotencyKey, transactionResponse);
+        return transactionResponse;
+    }
+
+    private TransactionResponse submit(final TransactionCommand transactionCommand) {
+        final PendingTransaction pending = enqueue(transactionCommand);
+        combine(transactionCommand.request().accountId());
+        return join(pending.result());
+    }
+
+    /**
+     * Waits for the result of a request, rethrowing the exception that rejected it as is.
+     */
+    static TransactionResponse join(final CompletableFuture<TransactionResponse> result) {
+        try {
+            return result.join();
+        } catch (CompletionException completionException) {
+            if (completionException.getCause() instanceof RuntimeException rejection) {
+                throw rejection;
+            }
+            if (completionException.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw completionException;
+        }
+    }
+
+    /**
+     * @inheritDoc
+     * <p>Items rejected by a business rule are reported as {@code REJECTED} with the reason; any other failure is
+     * logged and reported as {@code FAILED} with a generic message, without affecting the other items.</p>
+     */
+    @Override
+    public TransactionBatchResponse createTransactions(final TransactionBatchRequest batchRequest) {
+        final List<TransactionRequest> requests = batchRequest.transactions();
+        final List<PendingTransaction> pendings = new ArrayList<>(requests.size());
+        for (TransactionRequest request : requests) {
+            pendings.add(enqueue(TransactionCommand.of(request)));
+        }
+        final BitSet combinedStripes = new BitSet(pendingQueues.length);
+        for (TransactionRequest request : requests) {
+            final int stripe = accountLock.stripeOf(request.accountId());
+            if (!combinedStripes.get(stripe)) {
+                combinedStripes.set(stripe);
+                combine(request.accountId());
+            }
+        }
+
+        final List<TransactionBatchItemResponse> results = new ArrayList<>(pendings.size());
+        for (int index = 0; index < pendings.size(); index++) {
+            results.add(toBatchItem(index, pendings.get(index).result()));
+        }
+        return new TransactionBatchResponse(results);
+    }
+
+    private PendingTransaction enqueue(final TransactionCommand transactionCommand) {
+        final PendingTransaction pending =
+                new PendingTransaction(transactionCommand, new CompletableFuture<>(), System.nanoTime());
+        pendingQueues[accountLock.stripeOf(transactionCommand.request().accountId())].add(pending);
+        return pending;
+    }
+
+    /**
+     * Flushes the stripe of the given account if no other thread is doing so. Returns once the stripe is
+     * released with an empty queue or is held by another thread, which then owns the remaining work. The stripe
+     * is released after every bounded {@link #drain}, giving requests that arrived meanwhile the chance to take
+     * over.
+     */
+    private void combine(final Long accountId) {
+        final int stripe = accountLock.stripeOf(accountId);
+        final Queue<PendingTransaction> pendingQueue = pendingQueues[stripe];
+        while (!pendingQueue.isEmpty() && accountLock.tryRunWithLock(accountId, drainers[stripe])) {
+            // Work left over from the last hold, or queued while the stripe was being released, is ours to flush
+            // unless another thread took the stripe in between.
+        }
+    }
+
+    /**
+     * Waits for the result of a batch item and reports it as created, rejected by a business rule or failed.
+     */
+    static TransactionBatchItemResponse toBatchItem(final int index,
+                                                            final CompletableFuture<TransactionResponse> result) {
+        try {
+            return new TransactionBatchItemResponse(index, TransactionBatchItemResponse.Status.CREATED,
+                    result.join(), null);
+        } catch (CompletionException completionException) {
+            final Throwable cause = completionException.getCause();
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            if (isRejection(cause)) {
+                return new TransactionBatchItemResponse(index, TransactionBatchItemResponse.Status.REJECTED, null,
+                        cause.getMessage());
+            }
+            log.error("Transaction batch item {} failed", index, cause);
+            return new TransactionBatchItemResponse(index, TransactionBatchItemResponse.Status.FAILED, null,
+                    FAILED_ITEM_MESSAGE);
+        }
+    }
+
+    private static boolean isRejection(final Throwable cause) {
+        return cause instanceof AccountNotFoundException
+                || cause instanceof InSufficientLimitException
+                || cause instanceof InvalidOperationTypeException;
+    }
+
+    /**
+     * Flushes the requests queued when the stripe was acquired, and none that arrive afterwards, so that one hold
+     * of the stripe is bounded. Must be called while holding the stripe.
+     */
+    private void drain(final Queue<PendingTransaction> pendingQueue, final Timer wait) {
+        int remaining = pendingQueue.size();
+        while (remaining > 0) {
+            final int flushed = flush(pendingQueue, Math.min(remaining, maxBatchSize), wait);
+            if (flushed == 0) {
+                return;
+            }
+            remaining -= flushed;
+        }
+    }
+
+    /**
+     * Drains up to {@code limit} pending requests of one stripe and commits them, one database transaction per
+     * account. Every drained request is completed, even if committing fails unexpectedly.
+     *
+     * <p>A request that is alone in its queue, the common case for an idle account, is committed without
+     * grouping.</p>
+     *
+     * @return The number of requests drained.
+     */
+    private int flush(final Queue<PendingTransaction> pendingQueue, final int limit, final Timer wait) {
+        final PendingTransaction first = pendingQueue.poll();
+        if (first == null) {
+            return 0;
+        }
+        final long flushNanos = System.nanoTime();
+        wait.record(flushNanos - first.enqueuedNanos(), TimeUnit.NANOSECONDS);
+        if (limit == 1 || pendingQueue.isEmpty()) {
+            batchSizes.record(1);
+            try {
+                commitSingle(first);
+            } catch (Error failure) {
+                first.result().completeExceptionally(failure);
+            }
+            return 1;
+        }
+        final Map<Long, List<PendingTransaction>> byAccount = new LinkedHashMap<>();
+        byAccount.computeIfAbsent(first.command().request().accountId(), id -> new ArrayList<>()).add(first);
+        int drained = 1;
+        PendingTransaction pending;
+        while (drained < limit && (pending = pendingQueue.poll()) != null) {
+            wait.record(flushNanos - pending.enqueuedNanos(), TimeUnit.NANOSECONDS);
+            byAccount.computeIfAbsent(pending.command().request().accountId(), id -> new ArrayList<>()).add(pending);
+            drained++;
+        }
+        try {
+            byAccount.forEach(this::commit);
+        } catch (RuntimeException | Error failure) {
+            // Hand the failure to every caller of this flush instead of aborting the combiner, which
+            // still has to drain the requests queued behind it.
+            byAccount.values().forEach(group -> group.forEach(p -> p.result().completeExceptionally(failure)));
+        }
+        return drained;
+    }
+
+    private void commit(final Long accountId, final List<PendingTransaction> group) {
+        batchSizes.record(group.size());
+        if (group.size() == 1) {
+            commitSingle(group.getFirst());
+            return;
+        }
+        final List<TransactionOutcome> outcomes;
+        try {
+            outcomes = transactionService.createTransactions(accountId,
+                    group.stream().map(PendingTransaction::command).toList());
+        } catch (AccountNotFoundException accountNotFound) {
+            group.forEach(p -> p.result().completeExceptionally(accountNotFound));
+            return;
+        } catch (RuntimeException batchFailure) {
+            // The whole group was rolled back; retry each request on its own so that every caller
+            // receives the result of its own request.
+            group.forEach(this::commitSingle);
+            return;
+        }
+        for (int i = 0; i < group.size(); i++) {
+            final TransactionOutcome outcome = outcomes.get(i);
+            if (outcome.isAccepted()) {
+                group.get(i).result().complete(outcome.response());
+            } else {
+                group.get(i).result().completeExceptionally(outcome.error());
+            }
+        }
+    }
+
+    private void commitSingle(final PendingTransaction pending) {
+        try {
+            final TransactionCommand command = pending.command();
+            pending.result().complete(
+                    transactionService.createTransaction(command.request(), command.idempotencyKey()));
+        } catch (RuntimeException rejection) {
+            pending.result().completeExceptionally(rejection);
+        }
+    }
+
+    /**
+     * A request waiting to be flushed, together with the future its caller reads the result from and the
+     * {@link System#nanoTime()} it was enqueued at.
+     */
+    private record PendingTransaction(TransactionCommand command, CompletableFuture<TransactionResponse> result,
+                                      long enqueuedNanos) {
+    }
+}
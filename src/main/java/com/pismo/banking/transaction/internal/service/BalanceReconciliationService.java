@@ -0,0 +1,154 @@
+package com.pismo.banking.transaction.internal.service;
+
+import com.pismo.banking.transaction.internal.model.AccountIdRange;
+import com.pismo.banking.transaction.internal.model.ReconciliationRun;
+import com.pismo.banking.transaction.internal.repository.BalanceReconciliationRepository;
+import com.pismo.banking.transaction.internal.repository.LedgerSnapshotRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Checks that the recorded balance of every account, its row plus its balance slots, equals the sum of its
+ * transactions, and reports the accounts where it does not in the {@code balance_mismatches} table.
+ *
+ * <p>The account ID space is split into ranges of {@code banking.reconciliation.range-size} accounts, each checked
+ * with one aggregate query. Ranges are taken in turn by {@code banking.reconciliation.parallelism} workers on
+ * virtual threads, each pausing {@code banking.reconciliation.pause} after every range, so the job never holds
+ * more than that many connections of the pool and leaves it idle between queries: it can run next to the
+ * transaction traffic. Mismatches are written as soon as their range is checked, and the run is recorded in the
+ * {@code reconciliation_runs} table, whose {@code finished_at} stays null if the run did not complete.</p>
+ *
+ * <p>The job runs on the {@code banking.reconciliation.cron} schedule, which is disabled by default since every
+ * instance would run it. Published metrics: {@code banking.reconciliation.accounts-checked} and
+ * {@code banking.reconciliation.mismatches}.</p>
+ */
+@Service
+public class BalanceReconciliationService {
+
+    private final BalanceReconciliationRepository reconciliationRepository;
+    private final LedgerSnapshotRepository snapshotRepository;
+    private final int rangeSize;
+    private final int parallelism;
+    private final Duration pause;
+    private final Clock clock;
+    private final Counter accountsChecked;
+    private final Counter mismatches;
+
+    @Autowired
+    public BalanceReconciliationService(
+            final BalanceReconciliationRepository reconciliationRepository,
+            final LedgerSnapshotRepository snapshotRepository,
+            @Value("${banking.reconciliation.range-size:1000}") final int rangeSize,
+            @Value("${banking.reconciliation.parallelism:2}") final int parallelism,
+            @Value("${banking.reconciliation.pause:PT0.1S}") final Duration pause,
+            final MeterRegistry meterRegistry) {
+        this(reconciliationRepository, snapshotRepository, rangeSize, parallelism, pause, meterRegistry,
+                Clock.systemDefaultZone());
+    }
+
+    BalanceReconciliationService(final BalanceReconciliationRepository reconciliationRepository,
+                                 final LedgerSnapshotRepository snapshotRepository, final int rangeSize,
+                                 final int parallelism, final Duration pause, final MeterRegistry meterRegistry,
+                                 final Clock clock) {
+        if (rangeSize < 1) {
+            throw new IllegalArgumentException("Reconciliation range size must be positive, was " + rangeSize);
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Reconciliation parallelism must be positive, was " + parallelism);
+        }
+        this.reconciliationRepository = reconciliationRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.rangeSize = rangeSize;
+        this.parallelism = parallelism;
+        this.pause = pause;
+        this.clock = clock;
+        this.accountsChecked = Counter.builder("banking.reconciliation.accounts-checked")
+                .description("Number of accounts whose balance was reconciled with their transactions")
+                .register(meterRegistry);
+        this.mismatches = Counter.builder("banking.reconciliation.mismatches")
+                .description("Number of accounts whose balance differed from the sum of their transactions")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reconciles the balance of every account.
+     *
+     * @return The outcome of the run.
+     */
+    @Scheduled(cron = "${banking.reconciliation.cron:-}")
+    public ReconciliationRun reconcile() {
+        return reconcile(snapshotRepository.findAccountIdBounds()
+                .map(bounds -> bounds.split(rangeSize))
+                .orElse(List.of()));
+    }
+
+    /**
+     * Reconciles the balance of the accounts of a range.
+     *
+     * @param range The account IDs to reconcile.
+     * @return The outcome of the run.
+     */
+    public ReconciliationRun reconcile(final AccountIdRange range) {
+        return reconcile(range.split(rangeSize));
+    }
+
+    private ReconciliationRun reconcile(final List<AccountIdRange> ranges) {
+        final long runId = reconciliationRepository.startRun(LocalDateTime.now(clock));
+        final AtomicInteger nextRange = new AtomicInteger();
+        final AtomicLong runAccountsChecked = new AtomicLong();
+        final AtomicInteger runMismatches = new AtomicInteger();
+        try (ExecutorService workers = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("reconciliation-", 0).factory())) {
+            final List<Future<?>> futures = new ArrayList<>(parallelism);
+            for (int i = 0; i < Math.min(parallelism, ranges.size()); i++) {
+                futures.add(workers.submit(() -> {
+                    int index;
+                    while ((index = nextRange.getAndIncrement()) < ranges.size()) {
+                        final BalanceReconciliationRepository.RangeCheck check =
+                                reconciliationRepository.checkBalances(ranges.get(index));
+                        if (!check.mismatches().isEmpty()) {
+                            reconciliationRepository.insertMismatches(runId, check.mismatches(),
+                                    LocalDateTime.now(clock));
+                        }
+                        runAccountsChecked.addAndGet(check.accountsChecked());
+                        runMismatches.addAndGet(check.mismatches().size());
+                        accountsChecked.increment(check.accountsChecked());
+                        mismatches.increment(check.mismatches().size());
+                        Thread.sleep(pause);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during reconciliation run " + runId, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Reconciliation run " + runId + " failed", e.getCause());
+        }
+        reconciliationRepository.finishRun(runId, LocalDateTime.now(clock), runAccountsChecked.get(),
+                runMismatches.get());
+        return new ReconciliationRun(runId, runAccountsChecked.get(), runMismatches.get());
+    }
+}
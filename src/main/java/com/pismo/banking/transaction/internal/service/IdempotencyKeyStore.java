@@ -0,0 +1,211 @@
+package com.pismo.banking.transaction.internal.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.pismo.banking.transaction.api.dto.TransactionResponse;
+import com.pismo.banking.transaction.internal.model.IdempotencyKey;
+import com.pismo.banking.transaction.internal.repository.IdempotencyKeyRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Two-tier store of the responses of transactions created with an {@code Idempotency-Key}.
+ *
+ * <p>Lookups first check a size-bounded in-memory cache whose entries expire with their keys, and only on a miss
+ * read the {@code idempotency_keys} table by primary key. Rows are written in the same database transaction as the
+ * transaction they describe, so a key is durable exactly when its transaction is. Expired rows are swept
+ * periodically in batches of {@code banking.idempotency.sweep.batch-size} keys; a key reused after it expired but
+ * before it was swept has its old row deleted in the transaction that stores it again.</p>
+ *
+ * <p>Cache statistics are published under the {@code cache.*} metrics with {@code cache=idempotency-keys}.</p>
+ */
+@Service
+public class IdempotencyKeyStore {
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final Duration ttl;
+    private final int sweepBatchSize;
+    private final Clock clock;
+    private final Cache<String, TransactionResponse> cache;
+
+    @Autowired
+    public IdempotencyKeyStore(final IdempotencyKeyRepository idempotencyKeyRepository,
+                               @Value("${banking.idempotency.ttl:PT24H}") final Duration ttl,
+                               @Value("${banking.idempotency.cache.max-size:100000}") final long cacheMaxSize,
+                               @Value("${banking.idempotency.sweep.batch-size:500}") final int sweepBatchSize,
+                               final MeterRegistry meterRegistry) {
+        this(idempotencyKeyRepository, ttl, cacheMaxSize, sweepBatchSize, meterRegistry, Clock.systemDefaultZone());
+    }
+
+    IdempotencyKeyStore(final IdempotencyKeyRepository idempotencyKeyRepository, final Duration ttl,
+                        final long cacheMaxSize, final int sweepBatchSize, final MeterRegistry meterRegistry,
+                        final Clock clock) {
+        if (sweepBatchSize < 1) {
+            throw new IllegalArgumentException("Idempotency sweep batch size must be positive, was " + sweepBatchSize);
+        }
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.ttl = ttl;
+        this.sweepBatchSize = sweepBatchSize;
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(Expiry.<String, TransactionResponse>writing((key, response) -> ttl))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "idempotency-keys");
+    }
+
+    /**
+     * Looks up the response stored for a key, first in memory and then in the database.
+     *
+     * @param key The idempotency key sent by the client.
+     * @return The stored response, or empty if the key is unknown or expired.
+     */
+    public Optional<TransactionResponse> find(final String key) {
+        final Optional<TransactionResponse> cached = findCached(key);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        return idempotencyKeyRepository.findById(key)
+                .filter(record -> record.getExpiresAt().isAfter(LocalDateTime.now(clock)))
+                .map(record -> {
+                    final TransactionResponse response = new TransactionResponse(record.getTransactionId(),
+                            record.getAccountId(), record.getOperationTypeId(), record.getAmount());
+                    remember(key, response, record.getExpiresAt());
+                    return response;
+                });
+    }
+
+    /**
+     * Looks up the response stored for a key in memory only, for callers that must not block on the database.
+     *
+     * @param key The idempotency key sent by the client.
+     * @return The cached response, or empty if the key is not cached.
+     */
+    public Optional<TransactionResponse> findCached(final String key) {
+        return Optional.ofNullable(cache.getIfPresent(key));
+    }
+
+    /**
+     * Stores the response of a transaction under its key. Must be called within the database transaction that
+     * creates the transaction; a key that is already stored and has not expired makes that transaction fail on
+     * commit, an expired one is replaced.
+     *
+     * @param key      The idempotency key sent by the client.
+     * @param response The response of the created transaction.
+     */
+    public void save(final String key, final TransactionResponse response) {
+        idempotencyKeyRepository.deleteExpired(List.of(key), LocalDateTime.now(clock));
+        idempotencyKeyRepository.save(toEntity(key, response));
+    }
+
+    /**
+     * Batch variant of {@link #save(String, TransactionResponse)}, for entities created with {@link #toEntity}.
+     *
+     * @param idempotencyKeys The keys to store.
+     */
+    public void saveAll(final List<IdempotencyKey> idempotencyKeys) {
+        idempotencyKeyRepository.deleteExpired(
+                idempotencyKeys.stream().map(IdempotencyKey::getIdempotencyKey).toList(), LocalDateTime.now(clock));
+        idempotencyKeyRepository.saveAll(idempotencyKeys);
+    }
+
+    /**
+     * Variant of {@link #saveAll(List)} for transactions whose keys may already have been stored on their behalf,
+     * such as the journaled transactions whose keys are stored before the client is answered. A key already stored
+     * for the same transaction is left untouched; a key stored for another transaction and not expired is a
+     * conflict.
+     *
+     * @param idempotencyKeys The keys to store.
+     * @throws DuplicateKeyException if a key is stored for another transaction and has not expired.
+     */
+    public void saveAllAbsent(final List<IdempotencyKey> idempotencyKeys) {
+        final LocalDateTime now = LocalDateTime.now(clock);
+        final Map<String, Long> storedTransactionIds = idempotencyKeyRepository.findAllById(
+                        idempotencyKeys.stream().map(IdempotencyKey::getIdempotencyKey).toList())
+                .stream()
+                .filter(stored -> stored.getExpiresAt().isAfter(now))
+                .collect(Collectors.toMap(IdempotencyKey::getIdempotencyKey, IdempotencyKey::getTransactionId));
+        final List<IdempotencyKey> absentKeys = new ArrayList<>(idempotencyKeys.size());
+        for (IdempotencyKey idempotencyKey : idempotencyKeys) {
+            final Long storedTransactionId = storedTransactionIds.get(idempotencyKey.getIdempotencyKey());
+            if (storedTransactionId == null) {
+                absentKeys.add(idempotencyKey);
+            } else if (!storedTransactionId.equals(idempotencyKey.getTransactionId())) {
+                throw new DuplicateKeyException("Idempotency key " + idempotencyKey.getIdempotencyKey()
+                        + " is stored for transaction " + storedTransactionId + ", not "
+                        + idempotencyKey.getTransactionId());
+            }
+        }
+        saveAll(absentKeys);
+    }
+
+    /**
+     * Creates the entity to store for a key, expiring one TTL from now.
+     */
+    public IdempotencyKey toEntity(final String key, final TransactionResponse response) {
+        return new IdempotencyKey(key, response.transactionId(), response.accountId(), response.operationTypeId(),
+                response.amount(), LocalDateTime.now(clock).plus(ttl));
+    }
+
+    /**
+     * Caches the response of a committed transaction so that retries are answered from memory.
+     *
+     * @param key      The idempotency key sent by the client.
+     * @param response The response of the created transaction.
+     */
+    public void remember(final String key, final TransactionResponse response) {
+        cache.put(key, response);
+    }
+
+    /**
+     * Caches the response of a key read from the database until the key expires, so that a key loaded near the
+     * end of its life is not answered from memory after it.
+     *
+     * @param key       The idempotency key sent by the client.
+     * @param response  The stored response of the key.
+     * @param expiresAt When the stored key expires.
+     */
+    public void remember(final String key, final TransactionResponse response, final LocalDateTime expiresAt) {
+        final Duration remaining = Duration.between(LocalDateTime.now(clock), expiresAt);
+        if (remaining.isPositive()) {
+            cache.policy().expireVariably().orElseThrow().put(key, response, remaining);
+        }
+    }
+
+    /**
+     * Deletes the expired keys, one batch (one select and one delete statement) at a time.
+     *
+     * @return The number of deleted keys.
+     */
+    @Scheduled(fixedDelayString = "${banking.idempotency.sweep.interval:PT5M}")
+    public int sweepExpired() {
+        final LocalDateTime now = LocalDateTime.now(clock);
+        int deleted = 0;
+        List<String> expired;
+        do {
+            expired = idempotencyKeyRepository.findExpiredKeys(now, Limit.of(sweepBatchSize));
+            if (!expired.isEmpty()) {
+                idempotencyKeyRepository.deleteAllByIdInBatch(expired);
+                deleted += expired.size();
+            }
+        } while (expired.size() == sweepBatchSize);
+        return deleted;
+    }
+}
@@ -0,0 +1,210 @@
+package com.pismo.banking.transaction.internal.service;
+
+import com.pismo.banking.transaction.internal.model.AccountIdRange;
+import com.pismo.banking.transaction.internal.model.LedgerBalance;
+import com.pismo.banking.transaction.internal.model.LedgerReplay;
+import com.pismo.banking.transaction.internal.repository.LedgerSnapshotRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Rebuilds account balances from the {@code transactions} table, starting from periodic per-account snapshots so
+ * that only the transactions recorded since the last snapshot are read.
+ *
+ * <p>Snapshots are taken every {@code banking.ledger.snapshots.interval} and only include the transactions that
+ * happened more than {@code banking.ledger.snapshots.settle-time} ago: transaction IDs come from pooled blocks and
+ * do not follow commit order, so a snapshot is positioned by the {@code (event_date, transaction_id)} of its last
+ * transaction instead, and the settle time must exceed the longest delay between the event date of a transaction
+ * and its commit, including the lag of a transaction journal. A rebuild reads every snapshot and replays the
+ * transactions after it, with one statement per range, so it takes time in proportion to the number of accounts
+ * and the length of their tails, not to their whole history.</p>
+ *
+ * <p>Both run in parallel over ranges of {@code banking.ledger.rebuild.range-size} account IDs, on
+ * {@code banking.ledger.rebuild.parallelism} threads. Published metrics: {@code banking.ledger.rebuild} (duration
+ * of full rebuilds) and {@code banking.ledger.snapshots.taken}.</p>
+ */
+@Service
+public class LedgerSnapshotService {
+
+    private final LedgerSnapshotRepository snapshotRepository;
+    private final Duration settleTime;
+    private final int rangeSize;
+    private final int parallelism;
+    private final Clock clock;
+    private final Timer rebuildTimer;
+    private final Counter snapshotsTaken;
+
+    @Autowired
+    public LedgerSnapshotService(
+            final LedgerSnapshotRepository snapshotRepository,
+            @Value("${banking.ledger.snapshots.settle-time:PT5M}") final Duration settleTime,
+            @Value("${banking.ledger.rebuild.range-size:10000}") final int rangeSize,
+            @Value("${banking.ledger.rebuild.parallelism:4}") final int parallelism,
+            final MeterRegistry meterRegistry) {
+        this(snapshotRepository, settleTime, rangeSize, parallelism, meterRegistry, Clock.systemDefaultZone());
+    }
+
+    LedgerSnapshotService(final LedgerSnapshotRepository snapshotRepository, final Duration settleTime,
+                          final int rangeSize, final int parallelism, final MeterRegistry meterRegistry,
+                          final Clock clock) {
+        if (rangeSize < 1) {
+            throw new IllegalArgumentException("Ledger rebuild range size must be positive, was " + rangeSize);
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Ledger rebuild parallelism must be positive, was " + parallelism);
+        }
+        this.snapshotRepository = snapshotRepository;
+        this.settleTime = settleTime;
+        this.rangeSize = rangeSize;
+        this.parallelism = parallelism;
+        this.clock = clock;
+        this.rebuildTimer = Timer.builder("banking.ledger.rebuild")
+                .description("Time taken to rebuild the balances of every account from the transactions")
+                .register(meterRegistry);
+        this.snapshotsTaken = Counter.builder("banking.ledger.snapshots.taken")
+                .description("Number of account balance snapshots written")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Rebuilds the balance of every account from its latest snapshot and the transactions recorded since.
+     *
+     * <p>Nothing in the application calls it: it is the entry point for recovery tooling and for comparing the
+     * ledger with the recorded balances, which reconciliation does with its own aggregate queries instead. The
+     * balances of every account are held in memory, so a caller covering many accounts should rebuild them range
+     * by range with {@link #rebuild(AccountIdRange)}.</p>
+     *
+     * @return One balance per account, in account ID order.
+     */
+    public List<LedgerBalance> rebuild() {
+        return rebuildTimer.record(() -> snapshotRepository.findAccountIdBounds()
+                .map(this::rebuild)
+                .orElse(List.of()));
+    }
+
+    /**
+     * Rebuilds the balance of the accounts of a range from their latest snapshot and the transactions recorded
+     * since.
+     *
+     * @param range The account IDs to rebuild.
+     * @return One balance per existing account of the range, in account ID order.
+     */
+    public List<LedgerBalance> rebuild(final AccountIdRange range) {
+        final List<LedgerBalance> balances = new ArrayList<>();
+        for (List<LedgerBalance> rangeBalances : inParallel(range, this::replay)) {
+            balances.addAll(rangeBalances);
+        }
+        return balances;
+    }
+
+    /**
+     * Moves the snapshot of every account past its settled transactions.
+     *
+     * @return The number of written snapshots.
+     */
+    @Scheduled(fixedDelayString = "${banking.ledger.snapshots.interval:PT1H}",
+            initialDelayString = "${banking.ledger.snapshots.interval:PT1H}")
+    public int takeSnapshots() {
+        final LocalDateTime before = LocalDateTime.now(clock).minus(settleTime);
+        return snapshotRepository.findAccountIdBounds()
+                .map(range -> takeSnapshots(range, before))
+                .orElse(0);
+    }
+
+    /**
+     * Moves the snapshot of the accounts of a range past their transactions that happened before an instant.
+     *
+     * @param range  The account IDs to snapshot.
+     * @param before Only transactions that happened strictly before this instant are included.
+     * @return The number of written snapshots.
+     */
+    int takeSnapshots(final AccountIdRange range, final LocalDateTime before) {
+        final LocalDateTime takenAt = LocalDateTime.now(clock);
+        int taken = 0;
+        for (int rangeTaken : inParallel(range, subRange -> snapshot(subRange, before, takenAt))) {
+            taken += rangeTaken;
+        }
+        snapshotsTaken.increment(taken);
+        return taken;
+    }
+
+    private List<LedgerBalance> replay(final AccountIdRange range) {
+        final List<LedgerBalance> balances = new ArrayList<>();
+        for (LedgerReplay replay : snapshotRepository.replayTails(range, null)) {
+            balances.add(replay.balance());
+        }
+        return balances;
+    }
+
+    private int snapshot(final AccountIdRange range, final LocalDateTime before, final LocalDateTime takenAt) {
+        final List<LedgerBalance> firstSnapshots = new ArrayList<>();
+        final List<LedgerBalance> nextSnapshots = new ArrayList<>();
+        for (LedgerReplay replay : snapshotRepository.replayTails(range, before)) {
+            if (!replay.replayedTransactions()) {
+                continue;
+            }
+            if (replay.snapshot().hasTransactions()) {
+                nextSnapshots.add(replay.balance());
+            } else {
+                firstSnapshots.add(replay.balance());
+            }
+        }
+        if (!firstSnapshots.isEmpty()) {
+            snapshotRepository.insertSnapshots(firstSnapshots, takenAt);
+        }
+        if (!nextSnapshots.isEmpty()) {
+            snapshotRepository.updateSnapshots(nextSnapshots, takenAt);
+        }
+        return firstSnapshots.size() + nextSnapshots.size();
+    }
+
+    /**
+     * Applies a task to every sub-range of {@code banking.ledger.rebuild.range-size} account IDs of a range, on
+     * up to {@code banking.ledger.rebuild.parallelism} threads.
+     *
+     * @return The results of the task, in account ID order.
+     */
+    private <T> List<T> inParallel(final AccountIdRange range, final Function<AccountIdRange, T> task) {
+        final List<AccountIdRange> subRanges = range.split(rangeSize);
+        if (subRanges.size() == 1) {
+            return List.of(task.apply(range));
+        }
+        final List<Callable<T>> tasks = new ArrayList<>(subRanges.size());
+        for (AccountIdRange subRange : subRanges) {
+            tasks.add(() -> task.apply(subRange));
+        }
+        try (ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, subRanges.size()),
+                Thread.ofPlatform().name("ledger-rebuild-", 0).factory())) {
+            final List<T> results = new ArrayList<>(subRanges.size());
+            for (Future<T> future : executor.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while rebuilding the ledger of accounts " + range, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Could not rebuild the ledger of accounts " + range, e.getCause());
+        }
+    }
+}
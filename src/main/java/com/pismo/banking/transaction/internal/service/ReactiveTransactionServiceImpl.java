@@ -0,0 +1,162 @@
+package com.pismo.banking.transaction.internal.service;
+
+import com.pismo.banking.account.api.ReactiveAccountService;
+import com.pismo.banking.common.config.IdAllocationConfig.IdAllocationDataSource;
+import com.pismo.banking.common.id.PooledIdAllocator;
+import com.pismo.banking.common.id.PooledTableIdGenerator;
+import com.pismo.banking.common.id.ReactivePooledIdAllocator;
+import com.pismo.banking.common.money.Money;
+import com.pismo.banking.transaction.api.ReactiveTransactionService;
+import com.pismo.banking.transaction.api.dto.TransactionRequest;
+import com.pismo.banking.transaction.api.dto.TransactionResponse;
+import com.pismo.banking.transaction.internal.mapper.TransactionMapper;
+import com.pismo.banking.transaction.internal.model.IdempotencyKeyRow;
+import com.pismo.banking.transaction.internal.model.OperationType;
+import com.pismo.banking.transaction.internal.model.Transaction;
+import com.pismo.banking.transaction.internal.model.TransactionRow;
+import com.pismo.banking.transaction.internal.repository.ReactiveIdempotencyKeyRepository;
+import com.pismo.banking.transaction.internal.repository.ReactiveTransactionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Concrete implementation of the {@link ReactiveTransactionService} interface, creating transactions through
+ * R2DBC without blocking the event loop thread a request is served on.
+ *
+ * <p>A transaction is created with the steps of {@link TransactionServiceImpl#createTransaction}: the operation
+ * type and the sign rule are shared with it, the guarded balance update of {@link ReactiveAccountService} enforces
+ * the same credit limit rule, and the transaction, mapped by the {@link TransactionMapper}, is inserted with the
+ * balance it left and its idempotency key in the same database transaction. Payments are credited to the account
+ * row: balance slots are left to the servlet stack.</p>
+ *
+ * <p>An idempotency key is looked up first in the memory of the {@link IdempotencyKeyStore}, then in the
+ * {@code idempotency_keys} table. When two requests with the same key race, the insert of the key fails for the
+ * second one, whose database transaction is rolled back and which answers with the response of the first.
+ * Replays are counted in {@code banking.transactions.idempotent-replays}, as with the servlet stack.</p>
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveTransactionServiceImpl implements ReactiveTransactionService {
+
+    private final ReactiveTransactionRepository transactionRepository;
+    private final ReactiveIdempotencyKeyRepository idempotencyKeyRepository;
+    private final ReactiveAccountService accountService;
+    private final IdempotencyKeyStore idempotencyKeyStore;
+    private final TransactionalOperator transactionalOperator;
+    private final ReactivePooledIdAllocator transactionIds;
+    private final Clock clock;
+    private final Counter idempotentReplays;
+
+    @Autowired
+    public ReactiveTransactionServiceImpl(
+            final ReactiveTransactionRepository transactionRepository,
+            final ReactiveIdempotencyKeyRepository idempotencyKeyRepository,
+            final ReactiveAccountService accountService,
+            final IdempotencyKeyStore idempotencyKeyStore,
+            final TransactionalOperator transactionalOperator,
+            final IdAllocationDataSource idAllocationDataSource,
+            @Value("${banking.ids.block-size:" + PooledTableIdGenerator.DEFAULT_BLOCK_SIZE + "}") final int idBlockSize,
+            final MeterRegistry meterRegistry) {
+        this(transactionRepository, idempotencyKeyRepository, accountService, idempotencyKeyStore,
+                transactionalOperator, new ReactivePooledIdAllocator(
+                        new PooledIdAllocator(idAllocationDataSource.dataSource(), "transactions", idBlockSize)),
+                meterRegistry, Clock.systemDefaultZone());
+    }
+
+    ReactiveTransactionServiceImpl(final ReactiveTransactionRepository transactionRepository,
+                                   final ReactiveIdempotencyKeyRepository idempotencyKeyRepository,
+                                   final ReactiveAccountService accountService,
+                                   final IdempotencyKeyStore idempotencyKeyStore,
+                                   final TransactionalOperator transactionalOperator,
+                                   final ReactivePooledIdAllocator transactionIds,
+                                   final MeterRegistry meterRegistry,
+                                   final Clock clock) {
+        this.transactionRepository = transactionRepository;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.accountService = accountService;
+        this.idempotencyKeyStore = idempotencyKeyStore;
+        this.transactionalOperator = transactionalOperator;
+        this.transactionIds = transactionIds;
+        this.clock = clock;
+        this.idempotentReplays = Counter.builder("banking.transactions.idempotent-replays")
+                .description("Number of requests answered with the stored response of their idempotency key")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<TransactionResponse> createTransaction(final TransactionRequest transactionRequest,
+                                                       final @Nullable String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return create(transactionRequest, null);
+        }
+        final Optional<TransactionResponse> cachedResponse = idempotencyKeyStore.findCached(idempotencyKey);
+        if (cachedResponse.isPresent()) {
+            idempotentReplays.increment();
+            return Mono.just(cachedResponse.get());
+        }
+        return findStored(idempotencyKey)
+                .doOnNext(storedResponse -> idempotentReplays.increment())
+                .switchIfEmpty(Mono.defer(() -> create(transactionRequest, idempotencyKey)
+                        .doOnNext(response -> idempotencyKeyStore.remember(idempotencyKey, response))
+                        // Another request with the same key committed first.
+                        .onErrorResume(DuplicateKeyException.class, duplicateKey -> findStored(idempotencyKey)
+                                .doOnNext(winnerResponse -> idempotentReplays.increment())
+                                .switchIfEmpty(Mono.error(duplicateKey)))));
+    }
+
+    /**
+     * Creates the transaction in its own database transaction. The id is taken beforehand, so that reserving a
+     * new block of ids never happens while the transaction holds a connection and the lock of the account row.
+     */
+    private Mono<TransactionResponse> create(final TransactionRequest transactionRequest,
+                                             final @Nullable String idempotencyKey) {
+        return Mono.defer(() -> {
+            final OperationType operationType = OperationType.fromId(transactionRequest.operationTypeId());
+            final Money finalTransactionAmount =
+                    TransactionServiceImpl.signedAmount(operationType, transactionRequest.amount());
+            final Long accountId = transactionRequest.accountId();
+            return transactionIds.nextId().flatMap(transactionId -> transactionalOperator.transactional(
+                    accountService.applyBalanceChange(accountId, finalTransactionAmount, LocalDateTime.now(clock))
+                            .flatMap(accountSummary -> {
+                                final Transaction transaction = TransactionMapper.toEntity(accountId, operationType,
+                                        finalTransactionAmount, Money.of(accountSummary.balance()),
+                                        accountSummary.lastTransactionAt());
+                                transaction.setTransactionId(transactionId);
+                                final TransactionResponse transactionResponse = TransactionMapper.toDto(transaction);
+                                final Mono<TransactionRow> insert =
+                                        transactionRepository.save(TransactionRow.of(transaction));
+                                if (idempotencyKey == null) {
+                                    return insert.thenReturn(transactionResponse);
+                                }
+                                // A key reused after it expired but before it was swept replaces the old row.
+                                return insert.then(idempotencyKeyRepository.deleteExpired(idempotencyKey,
+                                                LocalDateTime.now(clock)))
+                                        .then(idempotencyKeyRepository.save(IdempotencyKeyRow.of(
+                                                idempotencyKeyStore.toEntity(idempotencyKey, transactionResponse))))
+                                        .thenReturn(transactionResponse);
+                            })));
+        });
+    }
+
+    private Mono<TransactionResponse> findStored(final String idempotencyKey) {
+        return idempotencyKeyRepository.findById(idempotencyKey)
+                .filter(row -> row.expiresAt().isAfter(LocalDateTime.now(clock)))
+                .map(row -> {
+                    final TransactionResponse response = row.toResponse();
+                    idempotencyKeyStore.remember(idempotencyKey, response, row.expiresAt());
+                    return response;
+                });
+    }
+}
@@ -0,0 +1,605 @@
+package com.pismo.banking.transaction.internal.service;
+
+import com.pismo.banking.account.api.AccountService;
+import com.pismo.banking.account.api.dto.AccountSummaryResponse;
+import com.pismo.banking.common.exception.InSufficientLimitException;
+import com.pismo.banking.common.money.Money;
+import com.pismo.banking.transaction.api.TransactionBatchService;
+import com.pismo.banking.transaction.api.TransactionService;
+import com.pismo.banking.transaction.api.dto.TransactionBatchItemResponse;
+import com.pismo.banking.transaction.api.dto.TransactionBatchRequest;
+import com.pismo.banking.transaction.api.dto.TransactionBatchResponse;
+import com.pismo.banking.transaction.api.dto.TransactionRequest;
+import com.pismo.banking.transaction.api.dto.TransactionResponse;
+import com.pismo.banking.transaction.internal.concurrency.MpscRingBuffer;
+import com.pismo.banking.transaction.internal.journal.JournalEntry;
+import com.pismo.banking.transaction.internal.journal.TransactionJournal;
+import com.pismo.banking.transaction.internal.mapper.TransactionMapper;
+import com.pismo.banking.transaction.internal.model.OperationType;
+import com.pismo.banking.transaction.internal.model.Transaction;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * {@link TransactionService} and {@link TransactionBatchService} that sequences transactions on single-threaded
+ * partitions which own the balances of their accounts, selected with {@code banking.transactions.engine=sequencer}.
+ *
+ * <p>Every account ID is hashed onto one of {@code banking.transactions.sequencer.partitions} partitions (one per
+ * available processor by default). Request threads publish their requests on the partition's lock-free
+ * {@link MpscRingBuffer} and wait for their own result; the partition thread is the only one touching its
+ * accounts, so it applies the limit rule against balances it keeps in memory, without any lock, and then persists
+ * everything it drained (up to {@code max-batch-size} requests) in one database transaction: per account, one
+ * guarded balance update and the transaction inserts, written as JDBC batches. No request ever waits for the row
+ * lock of its account in the database.</p>
+ *
+ * <p>A partition loads the balance of an account from its summary the first time it sees it and keeps up to
+ * {@code max-accounts} of them, evicting the least recently used. The in-memory balances assume the partition is
+ * the only writer of its accounts, so the engine must run on a single application instance. Other writers of the
+ * same accounts, such as another instance or the reactive stack sharing the database, are only tolerated, not
+ * ordered with it:</p>
+ * <ul>
+ *   <li>A change written behind its back that lowers the balance makes the guarded update refuse a batch the
+ *   account can no longer afford. The partition then forgets the balances of the accounts of the failed batch and
+ *   creates its requests one by one through {@link TransactionServiceImpl}, like it does after any other
+ *   persistence failure. A batch the account can still afford is written, but the {@code balance_after} of its
+ *   transactions is computed from the stale balance.</li>
+ *   <li>A change that raises the balance would otherwise lead to wrong rejections: before rejecting a request, the
+ *   partition reloads the balance of the account once per batch and checks the request again, as long as the
+ *   database reflects every transaction of the account.</li>
+ * </ul>
+ *
+ * <p>With {@code banking.transactions.sequencer.durability=journal}, a partition makes a drained batch durable by
+ * appending it to the local {@link TransactionJournal} instead, and the journal applies it to the database
+ * afterwards. The balance of an account is then kept in memory until the journal has applied all of its
+ * transactions, since the database does not reflect them before, and a failed append is not retried through
+ * {@link TransactionServiceImpl}, which would write the account behind the back of its pending entries.</p>
+ *
+ * <p>Idempotency keys are handled as by {@link AccountSerializedTransactionService}: a known key is answered with
+ * the stored response, and the loser of a race on the same key receives the winner's response. A request arriving
+ * while another one with the same key is in flight waits for that one and receives its response. With the journal,
+ * the key of a transaction is stored in a database transaction of its own before the client is answered.</p>
+ *
+ * <p>Published metrics: {@code banking.transactions.sequencer.batch-size} (requests per database transaction),
+ * {@code banking.transactions.sequencer.pending} (buffered requests, tagged with {@code partition}) and
+ * {@code banking.transactions.idempotent-replays}.</p>
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "banking.transactions.engine", havingValue = "sequencer")
+public class SequencedTransactionService implements TransactionService, TransactionBatchService, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(SequencedTransactionService.class);
+    private static final long BACKOFF_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+    private final TransactionServiceImpl transactionService;
+    private final AccountService accountService;
+    private final IdempotencyKeyStore idempotencyKeyStore;
+    private final TransactionTemplate transactionTemplate;
+    private final @Nullable TransactionJournal journal;
+    private final Map<String, CompletableFuture<TransactionResponse>> inFlightKeys = new ConcurrentHashMap<>();
+    private final Partition[] partitions;
+    private final int maxBatchSize;
+    private final int maxAccounts;
+    private final DistributionSummary batchSizes;
+    private final Counter idempotentReplays;
+    /**
+     * Read for the event date of every batch, like the {@link TransactionServiceImpl} clock.
+     */
+    private final Clock clock;
+    private volatile boolean running = true;
+
+    @Autowired
+    public SequencedTransactionService(
+            final TransactionServiceImpl transactionService,
+            final AccountService accountService,
+            final IdempotencyKeyStore idempotencyKeyStore,
+            final PlatformTransactionManager transactionManager,
+            final @Nullable TransactionJournal journal,
+            @Value("${banking.transactions.sequencer.partitions:0}") final int partitions,
+            @Value("${banking.transactions.sequencer.ring-buffer-size:1024}") final int ringBufferSize,
+            @Value("${banking.transactions.sequencer.max-batch-size:256}") final int maxBatchSize,
+            @Value("${banking.transactions.sequencer.max-accounts:100000}") final int maxAccounts,
+            final MeterRegistry meterRegistry) {
+        this(transactionService, accountService, idempotencyKeyStore, transactionManager, journal, partitions,
+                ringBufferSize, maxBatchSize, maxAccounts, meterRegistry, Clock.systemDefaultZone());
+    }
+
+    SequencedTransactionService(final TransactionServiceImpl transactionService,
+                                final AccountService accountService,
+                                final IdempotencyKeyStore idempotencyKeyStore,
+                                final PlatformTransactionManager transactionManager,
+                                final @Nullable TransactionJournal journal,
+                                final int partitions,
+                                final int ringBufferSize,
+                                final int maxBatchSize,
+                                final int maxAccounts,
+                                final MeterRegistry meterRegistry,
+                                final Clock clock) {
+        if (partitions < 0) {
+            throw new IllegalArgumentException("Sequencer partition count must not be negative, was " + partitions);
+        }
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Sequencer batch size must be positive, was " + maxBatchSize);
+        }
+        if (maxAccounts < 1) {
+            throw new IllegalArgumentException("Sequencer account count must be positive, was " + maxAccounts);
+        }
+        this.transactionService = transactionService;
+        this.accountService = accountService;
+        this.idempotencyKeyStore = idempotencyKeyStore;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.journal = journal;
+        this.maxBatchSize = maxBatchSize;
+        this.maxAccounts = maxAccounts;
+        this.clock = clock;
+        this.batchSizes = DistributionSummary.builder("banking.transactions.sequencer.batch-size")
+                .description("Number of requests applied and persisted per database transaction")
+                .register(meterRegistry);
+        this.idempotentReplays = Counter.builder("banking.transactions.idempotent-replays")
+                .description("Number of requests answered with the stored response of their idempotency key")
+                .register(meterRegistry);
+        this.partitions = new Partition[partitions == 0 ? Runtime.getRuntime().availableProcessors() : partitions];
+        for (int i = 0; i < this.partitions.length; i++) {
+            final Partition partition = new Partition(new MpscRingBuffer<>(ringBufferSize));
+            Gauge.builder("banking.transactions.sequencer.pending", partition.ringBuffer, MpscRingBuffer::size)
+                    .tag("partition", Integer.toString(i))
+                    .register(meterRegistry);
+            partition.thread = Thread.ofPlatform().name("ledger-partition-" + i).daemon(true).start(partition);
+            this.partitions[i] = partition;
+        }
+    }
+
+    /**
+     * @inheritDoc
+     * <p>Blocks until the partition of the account has persisted the transaction.</p>
+     */
+    @Override
+    public TransactionResponse createTransaction(final TransactionRequest transactionRequest,
+                                                 final @Nullable String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return AccountSerializedTransactionService.join(enqueue(TransactionCommand.of(transactionRequest)));
+        }
+        final CompletableFuture<TransactionResponse> claim = new CompletableFuture<>();
+        final CompletableFuture<TransactionResponse> inFlight = inFlightKeys.putIfAbsent(idempotencyKey, claim);
+        if (inFlight != null) {
+            final TransactionResponse winnerResponse = AccountSerializedTransactionService.join(inFlight);
+            idempotentReplays.increment();
+            return winnerResponse;
+        }
+        try {
+            final TransactionResponse transactionResponse = createKeyedTransaction(transactionRequest, idempotencyKey);
+            claim.complete(transactionResponse);
+            return transactionResponse;
+        } catch (RuntimeException | Error failure) {
+            claim.completeExceptionally(failure);
+            throw failure;
+        } finally {
+            inFlightKeys.remove(idempotencyKey, claim);
+        }
+    }
+
+    private TransactionResponse createKeyedTransaction(final TransactionRequest transactionRequest,
+                                                       final String idempotencyKey) {
+        final Optional<TransactionResponse> storedResponse = idempotencyKeyStore.find(idempotencyKey);
+        if (storedResponse.isPresent()) {
+            idempotentReplays.increment();
+            return storedResponse.get();
+        }
+        final TransactionResponse transactionResponse;
+        try {
+            transactionResponse = AccountSerializedTransactionService.join(
+                    enqueue(new TransactionCommand(transactionRequest, idempotencyKey)));
+        } catch (DataIntegrityViolationException duplicateKey) {
+            // Another request with the same key committed first.
+            final TransactionResponse winnerResponse = idempotencyKeyStore.find(idempotencyKey)
+                    .orElseThrow(() -> duplicateKey);
+            idempotentReplays.increment();
+            return winnerResponse;
+        }
+        if (journal != null) {
+            return storeJournaledKey(idempotencyKey, transactionResponse);
+        }
+        idempotencyKeyStore.remember(idempotencyKey, transactionResponse);
+        return transactionResponse;
+    }
+
+    /**
+     * Stores the key of a journaled transaction before its client is answered. The journal only applies the
+     * transaction later, and a retry arriving after the cache entry of the key was evicted, or after a restart,
+     * must still find the key. The journal stores the key again when it applies the transaction, which leaves a
+     * key stored for the same transaction untouched.
+     *
+     * @return The response of the transaction, or the response stored for the key by another one.
+     */
+    private TransactionResponse storeJournaledKey(final String idempotencyKey,
+                                                  final TransactionResponse transactionResponse) {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    idempotencyKeyStore.save(idempotencyKey, transactionResponse));
+        } catch (DataIntegrityViolationException duplicateKey) {
+            final TransactionResponse storedResponse = idempotencyKeyStore.find(idempotencyKey)
+                    .orElseThrow(() -> duplicateKey);
+            if (!storedResponse.transactionId().equals(transactionResponse.transactionId())) {
+                // Only possible when the key of an earlier journaled transaction was lost before the journal
+                // applied it: the journal refuses the key of this transaction and parks it as a dead letter.
+                log.warn("Idempotency key {} of journaled transaction {} is stored for transaction {}",
+                        idempotencyKey, transactionResponse.transactionId(), storedResponse.transactionId());
+                idempotentReplays.increment();
+            }
+            return storedResponse;
+        } catch (RuntimeException failure) {
+            // The transaction is durable in the journal, which stores the key once it applies it.
+            log.warn("Could not store idempotency key {} of journaled transaction {}, keeping it in memory",
+                    idempotencyKey, transactionResponse.transactionId(), failure);
+        }
+        idempotencyKeyStore.remember(idempotencyKey, transactionResponse);
+        return transactionResponse;
+    }
+
+    /**
+     * @inheritDoc
+     * <p>All items are published before waiting for any of them, so the items of an account are applied in
+     * order and persisted in as few database transactions as the partition batches allow.</p>
+     */
+    @Override
+    public TransactionBatchResponse createTransactions(final TransactionBatchRequest batchRequest) {
+        final List<CompletableFuture<TransactionResponse>> results = new ArrayList<>();
+        for (TransactionRequest request : batchRequest.transactions()) {
+            results.add(enqueue(TransactionCommand.of(request)));
+        }
+        final List<TransactionBatchItemResponse> items = new ArrayList<>(results.size());
+        for (int index = 0; index < results.size(); index++) {
+            items.add(AccountSerializedTransactionService.toBatchItem(index, results.get(index)));
+        }
+        return new TransactionBatchResponse(items);
+    }
+
+    /**
+     * Stops accepting requests and waits for every partition to process the requests it already buffered.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        for (Partition partition : partitions) {
+            LockSupport.unpark(partition.thread);
+        }
+        for (Partition partition : partitions) {
+            partition.thread.join(SHUTDOWN_TIMEOUT_MILLIS);
+        }
+    }
+
+    /**
+     * Maps an account ID onto its partition, spreading the bits so sequential IDs land on different partitions.
+     */
+    int partitionOf(final long accountId) {
+        final long spread = accountId * 0x9E3779B97F4A7C15L;
+        return Math.floorMod(spread ^ (spread >>> 32), partitions.length);
+    }
+
+    /**
+     * Tells whether the database reflects every transaction of an account, i.e. whether its balance can be
+     * reloaded from there.
+     */
+    private boolean isApplied(final LedgerAccount ledgerAccount) {
+        return journal == null || ledgerAccount.journalOffset <= journal.appliedOffset();
+    }
+
+    /**
+     * Publishes a request on the partition of its account. A request published while the engine shuts down may
+     * land after the last drain of the partition: the caller then waits for the partition thread to end and fails
+     * the request if the partition left it behind.
+     */
+    private CompletableFuture<TransactionResponse> enqueue(final TransactionCommand transactionCommand) {
+        if (!running) {
+            throw shuttingDown();
+        }
+        final PendingTransaction pending = new PendingTransaction(transactionCommand, new CompletableFuture<>());
+        final Partition partition = partitions[partitionOf(transactionCommand.request().accountId())];
+        partition.publish(pending);
+        if (!running) {
+            try {
+                partition.thread.join();
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            pending.result().completeExceptionally(shuttingDown());
+        }
+        return pending.result();
+    }
+
+    private static IllegalStateException shuttingDown() {
+        return new IllegalStateException("The transaction engine is shutting down");
+    }
+
+    /**
+     * A single-threaded owner of the balances of the accounts hashed onto it.
+     */
+    private final class Partition implements Runnable {
+
+        private final MpscRingBuffer<PendingTransaction> ringBuffer;
+        private final Map<Long, LedgerAccount> accounts = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Long, LedgerAccount> eldest) {
+                return size() > maxAccounts && isApplied(eldest.getValue());
+            }
+        };
+        private Thread thread;
+
+        private Partition(final MpscRingBuffer<PendingTransaction> ringBuffer) {
+            this.ringBuffer = ringBuffer;
+        }
+
+        /**
+         * Publishes a request on the ring buffer and wakes the partition thread up. When the buffer is full the
+         * caller backs off until the partition has made room.
+         */
+        private void publish(final PendingTransaction pending) {
+            while (!ringBuffer.offer(pending)) {
+                if (!thread.isAlive()) {
+                    // Shut down with a full buffer: nothing will make room any more.
+                    throw shuttingDown();
+                }
+                LockSupport.unpark(thread);
+                LockSupport.parkNanos(BACKOFF_NANOS);
+            }
+            LockSupport.unpark(thread);
+        }
+
+        @Override
+        public void run() {
+            final List<PendingTransaction> batch = new ArrayList<>(maxBatchSize);
+            while (running || ringBuffer.size() > 0) {
+                if (ringBuffer.drainTo(batch, maxBatchSize) == 0) {
+                    // A publisher unparks the thread after every offer, so no request is left behind.
+                    LockSupport.park(this);
+                    continue;
+                }
+                try {
+                    process(batch);
+                } catch (RuntimeException | Error failure) {
+                    // Hand the failure to the callers instead of stopping the partition.
+                    batch.forEach(pending -> pending.result().completeExceptionally(failure));
+                    accounts.values().removeIf(SequencedTransactionService.this::isApplied);
+                }
+                batch.clear();
+            }
+            // Requests published while shutting down, after the last drain.
+            PendingTransaction leftover;
+            while ((leftover = ringBuffer.poll()) != null) {
+                leftover.result().completeExceptionally(shuttingDown());
+            }
+        }
+
+        /**
+         * Applies the limit rule to every drained request in order, then persists the accepted ones of all
+         * accounts in one database transaction and completes their callers.
+         */
+        private void process(final List<PendingTransaction> batch) {
+            batchSizes.record(batch.size());
+            final Map<Long, AccountBatch> byAccount = new LinkedHashMap<>();
+            final LocalDateTime now = LocalDateTime.now(clock);
+            for (PendingTransaction pending : batch) {
+                final Long accountId = pending.command().request().accountId();
+                try {
+                    byAccount.computeIfAbsent(accountId, id -> new AccountBatch(id, ledgerAccount(id), now))
+                            .apply(pending);
+                } catch (RuntimeException rejection) {
+                    pending.result().completeExceptionally(rejection);
+                }
+            }
+            byAccount.values().removeIf(accountBatch -> accountBatch.pendings.isEmpty());
+            if (byAccount.isEmpty()) {
+                return;
+            }
+            if (journal != null) {
+                appendToJournal(journal, byAccount.values());
+                return;
+            }
+
+            final Map<Long, List<TransactionResponse>> responses;
+            try {
+                responses = transactionTemplate.execute(status -> {
+                    final Map<Long, List<TransactionResponse>> saved = new LinkedHashMap<>();
+                    byAccount.forEach((accountId, accountBatch) -> saved.put(accountId, accountBatch.save()));
+                    return saved;
+                });
+            } catch (RuntimeException failure) {
+                // Nothing was written: the balances kept for these accounts are no longer to be trusted.
+                accounts.keySet().removeAll(byAccount.keySet());
+                byAccount.values().forEach(accountBatch -> accountBatch.pendings.forEach(this::commitSingle));
+                return;
+            }
+            byAccount.forEach((accountId, accountBatch) -> {
+                accountBatch.commit(0);
+                final List<TransactionResponse> saved = responses.get(accountId);
+                for (int i = 0; i < saved.size(); i++) {
+                    accountBatch.pendings.get(i).result().complete(saved.get(i));
+                }
+            });
+        }
+
+        /**
+         * Makes the accepted requests of all accounts durable with one append to the journal. If the append
+         * fails, the callers receive the failure and the in-memory balances are left as they were.
+         */
+        private void appendToJournal(final TransactionJournal transactionJournal,
+                                     final Collection<AccountBatch> accountBatches) {
+            final List<JournalEntry> entries = new ArrayList<>();
+            final long offset;
+            try {
+                for (AccountBatch accountBatch : accountBatches) {
+                    for (int i = 0; i < accountBatch.transactions.size(); i++) {
+                        entries.add(JournalEntry.of(transactionJournal.nextTransactionId(),
+                                accountBatch.transactions.get(i), accountBatch.commands.get(i).idempotencyKey()));
+                    }
+                }
+                offset = transactionJournal.append(entries);
+            } catch (RuntimeException failure) {
+                accountBatches.forEach(accountBatch ->
+                        accountBatch.pendings.forEach(pending -> pending.result().completeExceptionally(failure)));
+                return;
+            }
+            int index = 0;
+            for (AccountBatch accountBatch : accountBatches) {
+                accountBatch.commit(offset);
+                for (PendingTransaction pending : accountBatch.pendings) {
+                    pending.result().complete(entries.get(index++).toResponse());
+                }
+            }
+        }
+
+        private LedgerAccount ledgerAccount(final Long accountId) {
+            LedgerAccount ledgerAccount = accounts.get(accountId);
+            if (ledgerAccount == null) {
+                ledgerAccount = LedgerAccount.of(accountService.getAccountSummary(accountId));
+                accounts.put(accountId, ledgerAccount);
+            }
+            return ledgerAccount;
+        }
+
+        private void commitSingle(final PendingTransaction pending) {
+            try {
+                final TransactionCommand command = pending.command();
+                pending.result().complete(
+                        transactionService.createTransaction(command.request(), command.idempotencyKey()));
+            } catch (RuntimeException rejection) {
+                pending.result().completeExceptionally(rejection);
+            }
+        }
+    }
+
+    /**
+     * The accepted requests of one account within a partition batch, and the transactions to insert for them.
+     */
+    private final class AccountBatch {
+
+        private final Long accountId;
+        private final LedgerAccount ledgerAccount;
+        private final LocalDateTime eventDate;
+        private final List<PendingTransaction> pendings = new ArrayList<>();
+        private final List<TransactionCommand> commands = new ArrayList<>();
+        private final List<Transaction> transactions = new ArrayList<>();
+        private Money balanceChange = Money.ZERO;
+        private Money balance;
+        private boolean reloaded;
+
+        private AccountBatch(final Long accountId, final LedgerAccount ledgerAccount, final LocalDateTime now) {
+            this.accountId = accountId;
+            this.ledgerAccount = ledgerAccount;
+            this.eventDate = TransactionServiceImpl.latest(ledgerAccount.lastTransactionAt, now);
+            this.balance = ledgerAccount.balance;
+        }
+
+        /**
+         * Applies the limit rule to the request against the in-memory balance and, if it passes, accepts it. The
+         * balance kept for the account only changes once the batch has been persisted, see {@link #commit}.
+         *
+         * <p>A request the in-memory balance cannot afford is checked again against the balance reloaded from the
+         * database, in case another writer credited the account, at most once per batch and only while the
+         * database reflects every transaction of the account.</p>
+         */
+        private void apply(final PendingTransaction pending) {
+            final TransactionRequest request = pending.command().request();
+            final OperationType operationType = OperationType.fromId(request.operationTypeId());
+            final Money amount = TransactionServiceImpl.signedAmount(operationType, request.amount());
+            Money newBalance = balance.plus(amount);
+            if (newBalance.exceeds(ledgerAccount.limit) && !reloaded && isApplied(ledgerAccount)) {
+                reloaded = true;
+                ledgerAccount.reload(accountService.getAccountSummary(accountId));
+                balance = ledgerAccount.balance.plus(balanceChange);
+                newBalance = balance.plus(amount);
+            }
+            if (newBalance.exceeds(ledgerAccount.limit)) {
+                throw new InSufficientLimitException("The Limit has exceeded");
+            }
+            balance = newBalance;
+            balanceChange = balanceChange.plus(amount);
+            pendings.add(pending);
+            commands.add(pending.command());
+            transactions.add(TransactionMapper.toEntity(accountId, operationType, amount, newBalance, eventDate));
+        }
+
+        private List<TransactionResponse> save() {
+            return transactionService.saveTransactions(accountId, balanceChange, eventDate, commands, transactions);
+        }
+
+        /**
+         * Moves the balance of the account past the persisted batch.
+         *
+         * @param journalOffset The journal offset the batch was appended up to, 0 without a journal.
+         */
+        private void commit(final long journalOffset) {
+            ledgerAccount.balance = balance;
+            ledgerAccount.lastTransactionAt = eventDate;
+            ledgerAccount.journalOffset = journalOffset;
+        }
+    }
+
+    /**
+     * The balance of an account as kept in memory by the partition that owns it.
+     */
+    private static final class LedgerAccount {
+
+        private Money limit;
+        private Money balance;
+        private @Nullable LocalDateTime lastTransactionAt;
+        /** The journal offset up to which the transactions of the account were appended. */
+        private long journalOffset;
+
+        private LedgerAccount(final Money balance,
+                              final Money limit,
+                              final @Nullable LocalDateTime lastTransactionAt) {
+            this.balance = balance;
+            this.limit = limit;
+            this.lastTransactionAt = lastTransactionAt;
+        }
+
+        private static LedgerAccount of(final AccountSummaryResponse summary) {
+            return new LedgerAccount(Money.of(summary.balance()), Money.of(summary.creditLimit()),
+                    summary.lastTransactionAt());
+        }
+
+        /**
+         * Replaces the balance and limit with those read from the database. The latest transaction time is kept,
+         * since the event dates of the partition must not go backwards.
+         */
+        private void reload(final AccountSummaryResponse summary) {
+            this.balance = Money.of(summary.balance());
+            this.limit = Money.of(summary.creditLimit());
+        }
+    }
+
+    /**
+     * A request waiting to be processed, together with the future its caller reads the result from.
+     */
+    private record PendingTransaction(TransactionCommand command, CompletableFuture<TransactionResponse> result) {
+    }
+}
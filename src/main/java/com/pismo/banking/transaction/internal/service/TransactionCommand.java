@@ -0,0 +1,23 @@
+package com.pismo.banking.transaction.internal.service;
+
+import com.pismo.banking.transaction.api.dto.TransactionRequest;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A transaction request together with the idempotency key it was sent with, if any.
+ *
+ * @param request        The transaction to create.
+ * @param idempotencyKey The client-supplied idempotency key, or {@code null} if none was sent.
+ */
+public record TransactionCommand(TransactionRequest request, @Nullable String idempotencyKey) {
+
+    /**
+     * Creates a command without an idempotency key.
+     *
+     * @param request The transaction to create.
+     * @return A command for the request.
+     */
+    public static TransactionCommand of(final TransactionRequest request) {
+        return new TransactionCommand(request, null);
+    }
+}
@@ -0,0 +1,46 @@
+package com.pismo.banking.transaction.internal.service;
+
+import com.pismo.banking.transaction.internal.exception.InvalidCursorException;
+import com.pismo.banking.transaction.internal.model.Transaction;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * Position of a page boundary in an account's transaction history: the sort key of the last transaction of the
+ * previous page. Handed to clients as an opaque, URL-safe token.
+ */
+record TransactionCursor(LocalDateTime eventDate, long transactionId) {
+
+    private static final char SEPARATOR = ',';
+
+    static TransactionCursor of(final Transaction transaction) {
+        return new TransactionCursor(transaction.getEventDate(), transaction.getTransactionId());
+    }
+
+    static TransactionCursor decode(final String cursor) {
+        try {
+            final String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            final int separator = decoded.indexOf(SEPARATOR);
+            return new TransactionCursor(LocalDateTime.parse(decoded.substring(0, separator)),
+                    Long.parseLong(decoded.substring(separator + 1)));
+        } catch (RuntimeException malformed) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+
+    String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((eventDate.toString() + SEPARATOR + transactionId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return The keyset position continuing right after this cursor, in the history's sort order.
+     */
+    ScrollPosition toScrollPosition() {
+        return ScrollPosition.forward(Map.of("eventDate", eventDate, "transactionId", transactionId));
+    }
+}
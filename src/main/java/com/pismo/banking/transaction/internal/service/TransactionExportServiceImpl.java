@@ -0,0 +1,80 @@
+package com.pismo.banking.transaction.internal.service;
+
+import com.pismo.banking.account.api.AccountService;
+import com.pismo.banking.transaction.api.TransactionExportService;
+import com.pismo.banking.transaction.api.dto.TransactionExportFormat;
+import com.pismo.banking.transaction.api.dto.TransactionExportQuery;
+import com.pismo.banking.transaction.internal.model.TransactionExportRow;
+import com.pismo.banking.transaction.internal.repository.TransactionExportRepository;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Concrete implementation of the {@link TransactionExportService} interface.
+ *
+ * <p>Rows are formatted as they arrive from the {@link TransactionExportRepository} and written through a
+ * fixed-size buffer, so neither the result set nor the output is ever held in memory as a whole. Every field is
+ * a number or an ISO date-time, so lines are assembled directly, without escaping.</p>
+ */
+@Service
+public class TransactionExportServiceImpl implements TransactionExportService {
+
+    private static final String CSV_HEADER = "transaction_id,account_id,operation_type_id,amount,event_date\n";
+
+    private final TransactionExportRepository transactionExportRepository;
+    private final AccountService accountService;
+
+    public TransactionExportServiceImpl(final TransactionExportRepository transactionExportRepository,
+                                        final AccountService accountService) {
+        this.transactionExportRepository = transactionExportRepository;
+        this.accountService = accountService;
+    }
+
+    @Override
+    public TransactionExport exportTransactions(final TransactionExportQuery query) {
+        if (query.accountId() != null) {
+            accountService.validateAccountExists(query.accountId());
+        }
+        return outputStream -> write(query, outputStream);
+    }
+
+    private void write(final TransactionExportQuery query, final OutputStream outputStream) throws IOException {
+        final Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (query.format() == TransactionExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+        }
+        try {
+            transactionExportRepository.streamTransactions(query.accountId(), query.from(), query.to(),
+                    query.afterTransactionId() == null ? 0L : query.afterTransactionId(),
+                    row -> writeRow(writer, query.format(), row));
+        } catch (UncheckedIOException writeFailure) {
+            throw writeFailure.getCause();
+        }
+        writer.flush();
+    }
+
+    private static void writeRow(final Writer writer, final TransactionExportFormat format,
+                                 final TransactionExportRow row) {
+        try {
+            if (format == TransactionExportFormat.CSV) {
+                writer.write(row.transactionId() + "," + row.accountId() + "," + row.operationTypeId() + ","
+                        + row.amount().toPlainString() + "," + row.eventDate() + "\n");
+            } else {
+                writer.write("{\"transaction_id\":" + row.transactionId()
+                        + ",\"account_id\":" + row.accountId()
+                        + ",\"operation_type_id\":" + row.operationTypeId()
+                        + ",\"amount\":" + row.amount().toPlainString()
+                        + ",\"event_date\":\"" + row.eventDate() + "\"}\n");
+            }
+        } catch (IOException writeFailure) {
+            throw new UncheckedIOException(writeFailure);
+        }
+    }
+}
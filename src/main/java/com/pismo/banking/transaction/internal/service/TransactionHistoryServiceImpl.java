@@ -0,0 +1,88 @@
+package com.pismo.banking.transaction.internal.service;
+
+import com.pismo.banking.account.api.AccountService;
+import com.pismo.banking.transaction.api.TransactionHistoryService;
+import com.pismo.banking.transaction.api.dto.AccountBalanceResponse;
+import com.pismo.banking.transaction.api.dto.TransactionHistoryItemResponse;
+import com.pismo.banking.transaction.api.dto.TransactionHistoryQuery;
+import com.pismo.banking.transaction.api.dto.TransactionHistoryResponse;
+import com.pismo.banking.transaction.internal.mapper.TransactionMapper;
+import com.pismo.banking.transaction.internal.model.OperationType;
+import com.pismo.banking.transaction.internal.model.Transaction;
+import com.pismo.banking.transaction.internal.repository.TransactionRepository;
+import com.pismo.banking.transaction.internal.repository.TransactionSpecifications;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Concrete implementation of the {@link TransactionHistoryService} interface.
+ *
+ * <p>Pages are read with keyset pagination on {@code (event_date, transaction_id)}: the cursor carries the sort
+ * key of the last transaction returned, and the next page starts right after it. Together with the
+ * {@code (account_id, event_date, transaction_id)} index, every page is a range scan of {@code limit + 1}
+ * index entries, whereas an offset would make the database skip over every row of the previous pages.</p>
+ *
+ * <p>Point-in-time balances use the same index: every transaction records the balance it left the account with,
+ * so the balance at an instant is read from the last transaction at or before it.</p>
+ */
+@Service
+@Transactional(readOnly = true)
+public class TransactionHistoryServiceImpl implements TransactionHistoryService {
+
+    private static final Sort HISTORY_ORDER = Sort.by(Sort.Order.desc("eventDate"), Sort.Order.desc("transactionId"));
+
+    private final TransactionRepository transactionRepository;
+    private final AccountService accountService;
+
+    public TransactionHistoryServiceImpl(final TransactionRepository transactionRepository,
+                                         final AccountService accountService) {
+        this.transactionRepository = transactionRepository;
+        this.accountService = accountService;
+    }
+
+    @Override
+    public TransactionHistoryResponse getTransactions(final TransactionHistoryQuery query) {
+        accountService.validateAccountExists(query.accountId());
+
+        Specification<Transaction> specification = TransactionSpecifications.ofAccount(query.accountId());
+        if (query.operationTypeId() != null) {
+            specification = specification.and(
+                    TransactionSpecifications.ofOperationType(OperationType.fromId(query.operationTypeId())));
+        }
+        if (query.from() != null) {
+            specification = specification.and(TransactionSpecifications.eventAtOrAfter(query.from()));
+        }
+        if (query.to() != null) {
+            specification = specification.and(TransactionSpecifications.eventBefore(query.to()));
+        }
+        final ScrollPosition position = query.cursor() == null
+                ? ScrollPosition.keyset()
+                : TransactionCursor.decode(query.cursor()).toScrollPosition();
+
+        final Window<Transaction> window = transactionRepository.findBy(specification,
+                fluentQuery -> fluentQuery.sortBy(HISTORY_ORDER).limit(query.limit()).scroll(position));
+
+        final List<TransactionHistoryItemResponse> transactions = window.getContent().stream()
+                .map(TransactionMapper::toHistoryItem)
+                .toList();
+        final String nextCursor = window.hasNext() && !window.isEmpty()
+                ? TransactionCursor.of(window.getContent().getLast()).encode()
+                : null;
+        return new TransactionHistoryResponse(transactions, nextCursor);
+    }
+
+    @Override
+    public AccountBalanceResponse getBalanceAt(final Long accountId, final LocalDateTime at) {
+        accountService.validateAccountExists(accountId);
+        final BigDecimal balance = transactionRepository.findBalanceAt(accountId, at).orElse(BigDecimal.ZERO);
+        return new AccountBalanceResponse(accountId, balance, at);
+    }
+}
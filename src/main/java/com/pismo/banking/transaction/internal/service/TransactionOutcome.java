@@ -0,0 +1,41 @@
+package com.pismo.banking.transaction.internal.service;
+
+import com.pismo.banking.transaction.api.dto.TransactionResponse;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * The result of processing a single transaction request as part of a batch:
+ * either the created transaction or the business exception that rejected it.
+ *
+ * @param response The created transaction, or {@code null} if the request was rejected.
+ * @param error    The exception that rejected the request, or {@code null} if it was accepted.
+ */
+public record TransactionOutcome(@Nullable TransactionResponse response, @Nullable RuntimeException error) {
+
+    /**
+     * Creates the outcome of an accepted request.
+     *
+     * @param response The created transaction.
+     * @return An accepted outcome.
+     */
+    public static TransactionOutcome accepted(final TransactionResponse response) {
+        return new TransactionOutcome(response, null);
+    }
+
+    /**
+     * Creates the outcome of a rejected request.
+     *
+     * @param error The exception describing why the request was rejected.
+     * @return A rejected outcome.
+     */
+    public static TransactionOutcome rejected(final RuntimeException error) {
+        return new TransactionOutcome(null, error);
+    }
+
+    /**
+     * @return true if the request was accepted and persisted.
+     */
+    public boolean isAccepted() {
+        return error == null;
+    }
+}
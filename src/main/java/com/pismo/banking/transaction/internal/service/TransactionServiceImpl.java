@@ -1,19 +1,30 @@
 package com.pismo.banking.transaction.internal.service;
 
 import com.pismo.banking.account.api.AccountService;
+import com.pismo.banking.account.api.dto.AccountSummaryResponse;
 import com.pismo.banking.account.internal.model.Account;
+import com.pismo.banking.common.exception.AccountNotFoundException;
 import com.pismo.banking.common.exception.InSufficientLimitException;
+import com.pismo.banking.common.money.Money;
 import com.pismo.banking.transaction.api.TransactionService;
 import com.pismo.banking.transaction.api.dto.TransactionRequest;
 import com.pismo.banking.transaction.api.dto.TransactionResponse;
 import com.pismo.banking.transaction.internal.mapper.TransactionMapper;
+import com.pismo.banking.transaction.internal.model.IdempotencyKey;
 import com.pismo.banking.transaction.internal.model.OperationType;
 import com.pismo.banking.transaction.internal.model.Transaction;
 import com.pismo.banking.transaction.internal.repository.TransactionRepository;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * Concrete implementation of the {@link TransactionService} interface.
@@ -28,11 +39,28 @@ public class TransactionServiceImpl implements TransactionService {
 
     private final TransactionRepository transactionRepository;
     private final AccountService accountService;
+    private final IdempotencyKeyStore idempotencyKeyStore;
+    /**
+     * Read for the time of every transaction. Unlike {@link LocalDateTime#now()}, which resolves the default
+     * time zone and creates a clock on each call, a clock held here costs only the {@link LocalDateTime} itself.
+     */
+    private final Clock clock;
 
+    @Autowired
     public TransactionServiceImpl(final TransactionRepository transactionRepository,
-                                  final AccountService accountService) {
+                                  final AccountService accountService,
+                                  final IdempotencyKeyStore idempotencyKeyStore) {
+        this(transactionRepository, accountService, idempotencyKeyStore, Clock.systemDefaultZone());
+    }
+
+    TransactionServiceImpl(final TransactionRepository transactionRepository,
+                           final AccountService accountService,
+                           final IdempotencyKeyStore idempotencyKeyStore,
+                           final Clock clock) {
         this.transactionRepository = transactionRepository;
         this.accountService = accountService;
+        this.idempotencyKeyStore = idempotencyKeyStore;
+        this.clock = clock;
     }
 
     /**
@@ -40,43 +68,176 @@ public class TransactionServiceImpl implements TransactionService {
      * <p>This implementation performs the following steps:</p>
      * <ol>
      *   <li>Resolves the {@link OperationType} from the request ID.</li>
-     *   <li>Validates the target account exists using {@link AccountService#validateAccountExists(Long)}.</li>
      *   <li>Applies the business rule to correctly sign the transaction amount (positive for credits, negative for debits).</li>
-     *   <li>Persists the validated {@link Transaction} entity using the repository.</li>
+     *   <li>Atomically applies the signed amount to the account balance, routed by operation type: debits use
+     *   {@link AccountService#applyBalanceChange(Long, Money, LocalDateTime)}, which also enforces the credit
+     *   limit and records the transaction time on the account, and payments use
+     *   {@link AccountService#applyCredit(Long, Money, LocalDateTime)}, which spreads them over the balance
+     *   slots of the accounts flagged with some.</li>
+     *   <li>Persists the validated {@link Transaction} entity using the repository, together with the balance
+     *   the account was left with, so point-in-time balances never need to sum the history. The event date is
+     *   the one the account recorded, which never goes backwards for an account even when requests race for
+     *   its row lock. Payments to an account with balance slots are not serialized by its row lock, so they keep
+     *   their own clock reading and store no balance: point-in-time reads add their amounts to the balance of
+     *   the latest transaction that has one.</li>
+     *   <li>Stores the idempotency key, if any, in the same database transaction. This implementation does not
+     *   look the key up first: a key that was already used makes the commit fail with a
+     *   {@link org.springframework.dao.DataIntegrityViolationException}, rolling the transaction back.</li>
      * </ol>
      */
     @Override
-    public TransactionResponse createTransaction(final TransactionRequest transactionRequest) {
+    public TransactionResponse createTransaction(final TransactionRequest transactionRequest,
+                                                 final @Nullable String idempotencyKey) {
         final OperationType operationType = OperationType.fromId(transactionRequest.operationTypeId());
 
-        final Account account = accountService.findById(transactionRequest.accountId());
-        final BigDecimal balance = account.getBalance();
-        final BigDecimal limit = account.getLimit();
-        final BigDecimal transactionAmount = transactionRequest.amount();
-        final boolean isDebit = operationType != OperationType.PAYMENT;
-
-        final BigDecimal finalTransactionAmount = isDebit ? transactionAmount.negate() : transactionAmount;
-        final BigDecimal newBalance = finalTransactionAmount.add(balance);
-
-        final BigDecimal availableLimit = newBalance.add(limit);
-
-        if(availableLimit.compareTo(BigDecimal.ZERO)< 0){
-          throw new InSufficientLimitException("The Limit has exceeded");
-        }
+        final Money finalTransactionAmount = signedAmount(operationType, transactionRequest.amount());
 
-        updateAccountWithNewBalance(account, newBalance);
+        final Long accountId = transactionRequest.accountId();
+        final LocalDateTime now = LocalDateTime.now(clock);
+        final @Nullable AccountSummaryResponse accountSummary = operationType == OperationType.PAYMENT
+                ? accountService.applyCredit(accountId, finalTransactionAmount, now).orElse(null)
+                : accountService.applyBalanceChange(accountId, finalTransactionAmount, now);
 
         final Transaction transaction = TransactionMapper.toEntity(
-                transactionRequest.accountId(),
+                accountId,
                 operationType,
-                finalTransactionAmount
+                finalTransactionAmount,
+                accountSummary == null ? null : Money.of(accountSummary.balance()),
+                accountSummary == null ? now : accountSummary.lastTransactionAt()
         );
         final Transaction savedTransaction = transactionRepository.save(transaction);
-        return TransactionMapper.toDto(savedTransaction);
+        final TransactionResponse transactionResponse = TransactionMapper.toDto(savedTransaction);
+        if (idempotencyKey != null) {
+            idempotencyKeyStore.save(idempotencyKey, transactionResponse);
+        }
+        return transactionResponse;
+    }
+
+    /**
+     * Creates several transactions for the same account within a single database transaction.
+     *
+     * <p>The account row is locked once, the credit limit rule is applied to every request in order
+     * against the running balance, and then a single balance update and one insert per accepted
+     * transaction, each carrying the running balance it left, are flushed together. The accepted transactions
+     * share one event date, which also becomes the latest transaction time of the account. Requests that would
+     * exceed the limit (or carry an unknown operation type) are rejected individually without affecting the
+     * others. The idempotency keys of the accepted requests are stored in the same database transaction.</p>
+     *
+     * <p>The running balance starts from the aggregate balance of the account, including its balance slots, but
+     * the whole group is applied to the account row: it takes a single row update however many payments it
+     * holds.</p>
+     *
+     * @param accountId           The ID of the account all requests belong to.
+     * @param transactionCommands The requests to apply, in arrival order.
+     * @return One {@link TransactionOutcome} per request, in the same order.
+     * @throws AccountNotFoundException if the account does not exist.
+     */
+    public List<TransactionOutcome> createTransactions(final Long accountId,
+                                                       final List<TransactionCommand> transactionCommands) {
+        final Account account = accountService.findByIdForUpdate(accountId);
+        final Money limit = account.getLimit();
+        final Money slotBalance = accountService.getSlotBalance(accountId);
+        Money balance = account.getBalance().plus(slotBalance);
+        final LocalDateTime eventDate = latest(account.getLastTransactionAt(), LocalDateTime.now(clock));
+
+        final TransactionOutcome[] outcomes = new TransactionOutcome[transactionCommands.size()];
+        final List<Transaction> transactions = new ArrayList<>(transactionCommands.size());
+        final int[] acceptedPositions = new int[transactionCommands.size()];
+
+        for (int i = 0; i < transactionCommands.size(); i++) {
+            final TransactionRequest transactionRequest = transactionCommands.get(i).request();
+            try {
+                final OperationType operationType = OperationType.fromId(transactionRequest.operationTypeId());
+                final Money finalTransactionAmount = signedAmount(operationType, transactionRequest.amount());
+                final Money newBalance = balance.plus(finalTransactionAmount);
+                if (newBalance.exceeds(limit)) {
+                    throw new InSufficientLimitException("The Limit has exceeded");
+                }
+                balance = newBalance;
+                acceptedPositions[transactions.size()] = i;
+                transactions.add(TransactionMapper.toEntity(
+                        accountId, operationType, finalTransactionAmount, newBalance, eventDate));
+            } catch (RuntimeException rejection) {
+                outcomes[i] = TransactionOutcome.rejected(rejection);
+            }
+        }
+
+        if (!transactions.isEmpty()) {
+            account.setBalance(balance.minus(slotBalance));
+            account.setLastTransactionAt(eventDate);
+            accountService.updateAccount(account);
+            final List<Transaction> savedTransactions = transactionRepository.saveAll(transactions);
+            final List<IdempotencyKey> idempotencyKeys = new ArrayList<>();
+            for (int i = 0; i < savedTransactions.size(); i++) {
+                final TransactionResponse transactionResponse = TransactionMapper.toDto(savedTransactions.get(i));
+                outcomes[acceptedPositions[i]] = TransactionOutcome.accepted(transactionResponse);
+                final String idempotencyKey = transactionCommands.get(acceptedPositions[i]).idempotencyKey();
+                if (idempotencyKey != null) {
+                    idempotencyKeys.add(idempotencyKeyStore.toEntity(idempotencyKey, transactionResponse));
+                }
+            }
+            if (!idempotencyKeys.isEmpty()) {
+                idempotencyKeyStore.saveAll(idempotencyKeys);
+            }
+        }
+        return Arrays.asList(outcomes);
+    }
+
+    /**
+     * Persists transactions of one account whose limit rule was already applied in memory by the caller, which
+     * owns the balance of the account, e.g. a {@link SequencedTransactionService} partition.
+     *
+     * <p>The net balance change is written with the guarded
+     * {@link AccountService#applyBalanceChange(Long, Money, LocalDateTime)}, so the database still refuses it
+     * if the in-memory balance was stale and the account cannot afford it; the transactions are then inserted
+     * together, with the idempotency keys of their commands.</p>
+     *
+     * @param accountId     The ID of the account all transactions belong to.
+     * @param balanceChange The sum of the amounts of the transactions.
+     * @param eventDate     The event date shared by the transactions.
+     * @param commands      The commands the transactions were created for, in the same order.
+     * @param transactions  The transactions to insert, carrying the balance each of them left.
+     * @return The created transactions, in order.
+     * @throws InSufficientLimitException if the database balance cannot afford the change.
+     */
+    public List<TransactionResponse> saveTransactions(final Long accountId,
+                                                      final Money balanceChange,
+                                                      final LocalDateTime eventDate,
+                                                      final List<TransactionCommand> commands,
+                                                      final List<Transaction> transactions) {
+        accountService.applyBalanceChange(accountId, balanceChange, eventDate);
+        final List<Transaction> savedTransactions = transactionRepository.saveAll(transactions);
+        final List<TransactionResponse> transactionResponses = new ArrayList<>(savedTransactions.size());
+        final List<IdempotencyKey> idempotencyKeys = new ArrayList<>();
+        for (int i = 0; i < savedTransactions.size(); i++) {
+            final TransactionResponse transactionResponse = TransactionMapper.toDto(savedTransactions.get(i));
+            transactionResponses.add(transactionResponse);
+            final String idempotencyKey = commands.get(i).idempotencyKey();
+            if (idempotencyKey != null) {
+                idempotencyKeys.add(idempotencyKeyStore.toEntity(idempotencyKey, transactionResponse));
+            }
+        }
+        if (!idempotencyKeys.isEmpty()) {
+            idempotencyKeyStore.saveAll(idempotencyKeys);
+        }
+        return transactionResponses;
+    }
+
+    /**
+     * Keeps the event dates of an account from going backwards when the clock reading is older than the
+     * account's latest transaction, e.g. after a request waited for the row lock behind a later one.
+     */
+    static LocalDateTime latest(final @Nullable LocalDateTime lastTransactionAt, final LocalDateTime now) {
+        return lastTransactionAt != null && lastTransactionAt.isAfter(now) ? lastTransactionAt : now;
     }
 
-    private void updateAccountWithNewBalance(final Account account, final BigDecimal newBalance) {
-        account.setBalance(newBalance);
-        accountService.updateAccount(account);
+    /**
+     * Applies the sign rule: payments are credits (positive), every other operation is a debit (negative). The
+     * requested amount is converted to {@link Money} here, once, and every later balance operation is done in cents.
+     */
+    static Money signedAmount(final OperationType operationType, final BigDecimal amount) {
+        final boolean isDebit = operationType != OperationType.PAYMENT;
+        final Money money = Money.of(amount);
+        return isDebit ? money.negate() : money;
     }
 }
@@ -0,0 +1,13 @@
+-- Account Balance Snapshots Table
+-- Balance of an account as of the last transaction included in it, identified by its (event_date, transaction_id)
+-- position in idx_transactions_account_history. Rebuilding the balance only replays the transactions after that
+-- position instead of the whole history of the account.
+CREATE TABLE account_balance_snapshots (
+    account_id BIGINT PRIMARY KEY,
+    balance NUMERIC(12, 2) NOT NULL,
+    last_transaction_id BIGINT NOT NULL,
+    last_event_date TIMESTAMP NOT NULL,
+    taken_at TIMESTAMP NOT NULL,
+    FOREIGN KEY (account_id) REFERENCES accounts(account_id)
+        ON DELETE RESTRICT ON UPDATE RESTRICT
+);
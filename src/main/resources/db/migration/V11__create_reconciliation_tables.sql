@@ -0,0 +1,23 @@
+-- Reconciliation Runs Table
+-- One row per run of the balance reconciliation job; finished_at stays null if the run did not complete.
+CREATE TABLE reconciliation_runs (
+    run_id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    started_at TIMESTAMP NOT NULL,
+    finished_at TIMESTAMP NULL,
+    accounts_checked BIGINT NOT NULL DEFAULT 0,
+    mismatches INTEGER NOT NULL DEFAULT 0
+);
+
+-- Balance Mismatches Table
+-- Accounts whose recorded balance (account row plus balance slots) differed from the sum of their transactions
+-- when a reconciliation run checked them.
+CREATE TABLE balance_mismatches (
+    run_id BIGINT NOT NULL,
+    account_id BIGINT NOT NULL,
+    recorded_balance NUMERIC(15, 2) NOT NULL,
+    ledger_balance NUMERIC(15, 2) NOT NULL,
+    detected_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (run_id, account_id),
+    FOREIGN KEY (run_id) REFERENCES reconciliation_runs(run_id)
+        ON DELETE RESTRICT ON UPDATE RESTRICT
+);
@@ -0,0 +1,18 @@
+-- Journal Dead Letters Table
+-- Journal entries the projector could not apply even on their own, parked so that the entries after them are not
+-- held up. The checkpoint moves past a parked entry in the same database transaction that parks it, so the
+-- database misses its transaction and balance change until the entry is resolved by hand.
+CREATE TABLE journal_dead_letters (
+    journal_name VARCHAR(64) NOT NULL,
+    journal_offset BIGINT NOT NULL,
+    transaction_id BIGINT NOT NULL,
+    account_id BIGINT NOT NULL,
+    operation_type INTEGER NOT NULL,
+    amount NUMERIC(12, 2) NOT NULL,
+    balance_after NUMERIC(12, 2),
+    event_date TIMESTAMP NOT NULL,
+    idempotency_key VARCHAR(64),
+    failure VARCHAR(1000) NOT NULL,
+    parked_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (journal_name, journal_offset)
+);
@@ -0,0 +1,12 @@
+-- Id allocation table used by the pooled identifier generator; one row per entity.
+-- next_val holds the first id of the next block to hand out.
+CREATE TABLE id_sequences (
+    sequence_name VARCHAR(64) PRIMARY KEY,
+    next_val BIGINT NOT NULL
+);
+
+INSERT INTO id_sequences (sequence_name, next_val)
+SELECT 'accounts', COALESCE(MAX(account_id), 0) + 1 FROM accounts;
+
+INSERT INTO id_sequences (sequence_name, next_val)
+SELECT 'transactions', COALESCE(MAX(transaction_id), 0) + 1 FROM transactions;
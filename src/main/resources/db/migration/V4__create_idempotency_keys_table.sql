@@ -0,0 +1,13 @@
+-- Idempotency Keys Table
+-- Stores the response of every transaction created with an Idempotency-Key header so that retries can be replayed
+-- with a single primary key lookup. Expired rows are removed in batches by the application.
+CREATE TABLE idempotency_keys (
+    idempotency_key VARCHAR(64) PRIMARY KEY,
+    transaction_id BIGINT NOT NULL,
+    account_id BIGINT NOT NULL,
+    operation_type_id INTEGER NOT NULL,
+    amount NUMERIC(12, 2) NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys (expires_at);
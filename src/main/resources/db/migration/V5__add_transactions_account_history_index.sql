@@ -0,0 +1,3 @@
+-- Serves the keyset-paginated history of an account: rows of one account in (event_date, transaction_id)
+-- order, so any page is a short index range scan no matter how deep the client has paged.
+CREATE INDEX idx_transactions_account_history ON transactions (account_id, event_date, transaction_id);
@@ -0,0 +1,29 @@
+-- Balance of the account right after each transaction, so the balance at any instant is the balance_after of
+-- the last transaction at or before it: one seek on idx_transactions_account_history instead of a SUM.
+ALTER TABLE transactions ADD COLUMN balance_after NUMERIC(12, 2) NOT NULL DEFAULT 0;
+
+-- Backfill existing rows, anchored on the current account balance so that they chain into the balances written
+-- from now on: balance_after = balance - (all amounts) + (amounts up to and including this transaction).
+-- The running sums are staged in a scratch table because MySQL cannot update a table from a subquery on itself.
+CREATE TABLE transactions_balance_backfill (
+    transaction_id BIGINT PRIMARY KEY,
+    balance_after NUMERIC(12, 2) NOT NULL
+);
+
+INSERT INTO transactions_balance_backfill (transaction_id, balance_after)
+SELECT t.transaction_id,
+       a.balance
+           - SUM(t.amount) OVER (PARTITION BY t.account_id)
+           + SUM(t.amount) OVER (PARTITION BY t.account_id ORDER BY t.event_date, t.transaction_id
+                                 ROWS BETWEEN UNBOUNDED PRECEDING AND CURRENT ROW) AS balance_after
+FROM transactions t
+JOIN accounts a ON a.account_id = t.account_id;
+
+UPDATE transactions
+SET balance_after = (SELECT b.balance_after
+                     FROM transactions_balance_backfill b
+                     WHERE b.transaction_id = transactions.transaction_id);
+
+DROP TABLE transactions_balance_backfill;
+
+ALTER TABLE transactions ALTER COLUMN balance_after DROP DEFAULT;
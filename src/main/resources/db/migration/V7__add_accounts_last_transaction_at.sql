@@ -0,0 +1,8 @@
+-- Time of the latest transaction of the account, kept by the balance update itself so that the account summary
+-- is a single primary key read that never touches the transactions table.
+ALTER TABLE accounts ADD COLUMN last_transaction_at TIMESTAMP NULL;
+
+UPDATE accounts
+SET last_transaction_at = (SELECT MAX(t.event_date)
+                           FROM transactions t
+                           WHERE t.account_id = accounts.account_id);
@@ -0,0 +1,17 @@
+-- Number of balance slots payments to the account are spread over, 0 for a regular account whose whole balance
+-- lives on its own row.
+ALTER TABLE accounts ADD COLUMN balance_slots INTEGER NOT NULL DEFAULT 0;
+
+-- Account Balance Slots Table
+-- Sub-balances of accounts flagged with balance slots. Each payment is added to one slot picked at random, so
+-- concurrent payments to a hot account do not all wait for the lock of its row. The balance of the account is the
+-- balance of its row plus the balances of its slots, which the application periodically folds back into the row.
+CREATE TABLE account_balance_slots (
+    account_id BIGINT NOT NULL,
+    slot INTEGER NOT NULL,
+    balance NUMERIC(12, 2) NOT NULL DEFAULT 0,
+    last_transaction_at TIMESTAMP NULL,
+    PRIMARY KEY (account_id, slot),
+    FOREIGN KEY (account_id) REFERENCES accounts(account_id)
+        ON DELETE RESTRICT ON UPDATE RESTRICT
+);
@@ -0,0 +1,9 @@
+-- Journal Checkpoints Table
+-- Offset up to which the entries of a local transaction journal have been applied to the database. It is advanced
+-- in the same database transaction as the entries it covers, so a restart replays the journal from exactly there.
+CREATE TABLE journal_checkpoints (
+    journal_name VARCHAR(64) PRIMARY KEY,
+    applied_offset BIGINT NOT NULL
+);
+
+INSERT INTO journal_checkpoints (journal_name, applied_offset) VALUES ('transactions', 0);
@@ -0,0 +1,85 @@
+package com.pismo.banking.account.api;
+
+import com.pismo.banking.IntegrationTestBase;
+import com.pismo.banking.account.api.dto.AccountBatchItemResponse;
+import com.pismo.banking.account.api.dto.AccountBatchRequest;
+import com.pismo.banking.account.api.dto.AccountBatchResponse;
+import com.pismo.banking.account.api.dto.AccountRequest;
+import com.pismo.banking.account.api.dto.AccountResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.resttestclient.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark comparing the account batch endpoint with creating the same accounts one call at a time.
+ *
+ * <p>The batch also repeats a document number and contains one that already exists, to check that both are
+ * rejected while every other account is created. Both throughputs are printed.</p>
+ */
+@DisplayName("Account Batch Throughput Benchmark")
+class AccountBatchThroughputIT extends IntegrationTestBase {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountBatchThroughputIT.class);
+
+    /** Together with the two rejected items, fills a batch up to its 1000 item limit. */
+    private static final int ACCOUNTS = 998;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void shouldOutperformSingleItemEndpoint() {
+        final long singleStart = System.nanoTime();
+        for (AccountRequest request : workload()) {
+            final ResponseEntity<AccountResponse> response =
+                    restTemplate.postForEntity("/accounts", request, AccountResponse.class);
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        }
+        final long singleNanos = System.nanoTime() - singleStart;
+
+        final String existing = generateUniqueDocNumber();
+        createTestAccount(existing);
+        final List<AccountRequest> batchWorkload = workload();
+        batchWorkload.add(new AccountRequest(existing));
+        batchWorkload.add(batchWorkload.getFirst());
+
+        final long batchStart = System.nanoTime();
+        final ResponseEntity<AccountBatchResponse> response = restTemplate.postForEntity(
+                "/accounts/batch", new AccountBatchRequest(batchWorkload), AccountBatchResponse.class);
+        final long batchNanos = System.nanoTime() - batchStart;
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isNotNull();
+        final List<AccountBatchItemResponse> results = response.getBody().results();
+        assertThat(results).hasSize(ACCOUNTS + 2);
+        assertThat(results.subList(0, ACCOUNTS))
+                .allMatch(item -> item.status() == AccountBatchItemResponse.Status.CREATED);
+        assertThat(results.subList(ACCOUNTS, ACCOUNTS + 2))
+                .allMatch(item -> item.status() == AccountBatchItemResponse.Status.REJECTED);
+
+        log.info(String.format("accounts=%d single=%.0f accounts/s batch=%.0f accounts/s speedup=%.1fx",
+                ACCOUNTS, ACCOUNTS / (singleNanos / 1e9), ACCOUNTS / (batchNanos / 1e9),
+                (double) singleNanos / batchNanos));
+    }
+
+    private List<AccountRequest> workload() {
+        final List<AccountRequest> requests = new ArrayList<>(ACCOUNTS + 2);
+        while (requests.size() < ACCOUNTS) {
+            final AccountRequest request = new AccountRequest(generateUniqueDocNumber());
+            if (!requests.contains(request)) {
+                requests.add(request);
+            }
+        }
+        return requests;
+    }
+}
@@ -2,8 +2,13 @@ package com.pismo.banking.account.api;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.pismo.banking.account.api.controller.AccountController;
+import com.pismo.banking.account.api.dto.AccountBalanceSlotsRequest;
+import com.pismo.banking.account.api.dto.AccountBatchItemResponse;
+import com.pismo.banking.account.api.dto.AccountBatchRequest;
+import com.pismo.banking.account.api.dto.AccountBatchResponse;
 import com.pismo.banking.account.api.dto.AccountRequest;
 import com.pismo.banking.account.api.dto.AccountResponse;
+import com.pismo.banking.account.api.dto.AccountSummaryResponse;
 import com.pismo.banking.account.internal.exception.AccountAlreadyExistsException;
 import com.pismo.banking.common.exception.AccountNotFoundException;
 import org.junit.jupiter.api.Test;
@@ -14,10 +19,20 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.HttpHeaders.LOCATION;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 
@@ -32,6 +47,9 @@ public class AccountControllerTest {
     @MockitoBean
     private AccountService accountService;
 
+    @MockitoBean
+    private AccountBatchService accountBatchService;
+
     @Test
     void whenPostAccount_thenReturnsCreatedAccount() throws Exception {
         final String documentNumber = "12345678900";
@@ -143,4 +161,99 @@ public class AccountControllerTest {
                 .andExpect(jsonPath("$.message").value(String.format("Account with id %s not found", nonExistentId)))
                 .andExpect(jsonPath("$.timestamp").exists());
     }
+
+    @Test
+    void whenPostAccountBatchValid_thenReturnsOutcomePerItem() throws Exception {
+        final AccountBatchRequest request = new AccountBatchRequest(List.of(
+                new AccountRequest("12345678900"), new AccountRequest("12345678901")));
+
+        when(accountBatchService.createAccounts(request)).thenReturn(new AccountBatchResponse(List.of(
+                new AccountBatchItemResponse(0, AccountBatchItemResponse.Status.CREATED,
+                        new AccountResponse(1L, "12345678900"), null),
+                new AccountBatchItemResponse(1, AccountBatchItemResponse.Status.REJECTED,
+                        null, "Account with document number 12345678901 already exists"))));
+
+        mockMvc.perform(post("/accounts/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].index").value(0))
+                .andExpect(jsonPath("$.results[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.results[0].account.account_id").value(1L))
+                .andExpect(jsonPath("$.results[0].error_message").doesNotExist())
+                .andExpect(jsonPath("$.results[1].status").value("REJECTED"))
+                .andExpect(jsonPath("$.results[1].error_message")
+                        .value("Account with document number 12345678901 already exists"))
+                .andExpect(jsonPath("$.results[1].account").doesNotExist());
+    }
+
+    @Test
+    void whenPostAccountBatchWithInvalidItem_thenRejectsWholeBatch() throws Exception {
+        final AccountBatchRequest request = new AccountBatchRequest(List.of(
+                new AccountRequest("12345678900"), new AccountRequest("123")));
+
+        mockMvc.perform(post("/accounts/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.message").value(
+                        "Validation failed: accounts[1].documentNumber: Document number must be 11 digits"));
+
+        verify(accountBatchService, never()).createAccounts(any());
+    }
+
+    @Test
+    void whenGetAccountSummary_thenReturnsBalanceAndAvailableLimit() throws Exception {
+        when(accountService.getAccountSummary(1L)).thenReturn(new AccountSummaryResponse(1L,
+                new BigDecimal("-250.00"), new BigDecimal("1000.00"), LocalDateTime.of(2026, 1, 5, 9, 30)));
+
+        mockMvc.perform(get("/accounts/{accountId}/summary", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.account_id").value(1L))
+                .andExpect(jsonPath("$.balance").value(-250.00))
+                .andExpect(jsonPath("$.credit_limit").value(1000.00))
+                .andExpect(jsonPath("$.available_limit").value(750.00))
+                .andExpect(jsonPath("$.last_transaction_at").value("2026-01-05T09:30:00"));
+    }
+
+    @Test
+    void whenGetSummaryOfAccountWithoutTransactions_thenOmitsLastTransactionTime() throws Exception {
+        when(accountService.getAccountSummary(2L)).thenReturn(
+                new AccountSummaryResponse(2L, BigDecimal.ZERO, new BigDecimal("1000"), null));
+
+        mockMvc.perform(get("/accounts/{accountId}/summary", 2L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.available_limit").value(1000))
+                .andExpect(jsonPath("$.last_transaction_at").doesNotExist());
+    }
+
+    @Test
+    void whenGetSummaryOfUnknownAccount_thenReturnsNotFound() throws Exception {
+        when(accountService.getAccountSummary(99L)).thenThrow(new AccountNotFoundException(99L));
+
+        mockMvc.perform(get("/accounts/{accountId}/summary", 99L))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Account with id 99 not found"));
+    }
+
+    @Test
+    void whenSetBalanceSlots_thenReturnsNoContent() throws Exception {
+        mockMvc.perform(put("/accounts/{accountId}/balance-slots", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AccountBalanceSlotsRequest(8))))
+                .andExpect(status().isNoContent());
+
+        verify(accountService).setBalanceSlots(1L, 8);
+    }
+
+    @Test
+    void whenSetTooManyBalanceSlots_thenReturnsBadRequest() throws Exception {
+        mockMvc.perform(put("/accounts/{accountId}/balance-slots", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AccountBalanceSlotsRequest(65))))
+                .andExpect(status().isBadRequest());
+
+        verify(accountService, never()).setBalanceSlots(anyLong(), anyInt());
+    }
 }
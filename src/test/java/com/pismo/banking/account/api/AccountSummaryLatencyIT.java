@@ -0,0 +1,125 @@
+package com.pismo.banking.account.api;
+
+import com.pismo.banking.IntegrationTestBase;
+import com.pismo.banking.account.api.dto.AccountSummaryResponse;
+import com.pismo.banking.transaction.api.dto.TransactionRequest;
+import com.pismo.banking.transaction.api.dto.TransactionResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.resttestclient.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark for the account summary read path while the same accounts take payments.
+ *
+ * <p>Summaries are first read without any other load, as a baseline. Then writer threads post payments to a few
+ * accounts while reader threads poll their summaries. Once the writers are done, every summary must reflect all
+ * payments. Prints the summary latency percentiles of both phases.</p>
+ */
+@DisplayName("Account Summary Latency Benchmark")
+class AccountSummaryLatencyIT extends IntegrationTestBase {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountSummaryLatencyIT.class);
+    private static final int ACCOUNTS = 4;
+    private static final int WRITERS = 4;
+    private static final int READERS = 4;
+    private static final int PAYMENTS_PER_WRITER = 250;
+    private static final int BASELINE_READS = 1000;
+    private static final BigDecimal PAYMENT = new BigDecimal("10.00");
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void shouldServeSummariesWhileAccountsAreWritten() throws Exception {
+        final List<Long> accountIds = new ArrayList<>(ACCOUNTS);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accountIds.add(createTestAccount(generateUniqueDocNumber()));
+        }
+
+        final List<Long> baseline = new ArrayList<>(BASELINE_READS);
+        for (int i = 0; i < BASELINE_READS; i++) {
+            final long start = System.nanoTime();
+            restTemplate.getForEntity("/accounts/{accountId}/summary", AccountSummaryResponse.class,
+                    accountIds.get(i % ACCOUNTS));
+            baseline.add(System.nanoTime() - start);
+        }
+        baseline.sort(null);
+
+        final AtomicBoolean writing = new AtomicBoolean(true);
+        final List<Future<?>> writers = new ArrayList<>(WRITERS);
+        final List<Future<List<Long>>> readers = new ArrayList<>(READERS);
+        try (ExecutorService executor = Executors.newFixedThreadPool(WRITERS + READERS)) {
+            for (int w = 0; w < WRITERS; w++) {
+                final int writer = w;
+                writers.add(executor.submit(() -> {
+                    for (int i = 0; i < PAYMENTS_PER_WRITER; i++) {
+                        final ResponseEntity<TransactionResponse> response = restTemplate.postForEntity("/transactions",
+                                new TransactionRequest(accountIds.get((writer + i) % ACCOUNTS), 4, PAYMENT),
+                                TransactionResponse.class);
+                        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+                    }
+                    return null;
+                }));
+            }
+            for (int r = 0; r < READERS; r++) {
+                final int reader = r;
+                readers.add(executor.submit(() -> {
+                    final List<Long> latencies = new ArrayList<>();
+                    for (int i = 0; writing.get(); i++) {
+                        final long start = System.nanoTime();
+                        final ResponseEntity<AccountSummaryResponse> response = restTemplate.getForEntity(
+                                "/accounts/{accountId}/summary", AccountSummaryResponse.class,
+                                accountIds.get((reader + i) % ACCOUNTS));
+                        latencies.add(System.nanoTime() - start);
+                        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+                    }
+                    return latencies;
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+            writing.set(false);
+        }
+
+        final List<Long> latencies = new ArrayList<>();
+        for (Future<List<Long>> reader : readers) {
+            latencies.addAll(reader.get());
+        }
+        latencies.sort(null);
+
+        final BigDecimal expectedBalance =
+                PAYMENT.multiply(BigDecimal.valueOf((long) WRITERS * PAYMENTS_PER_WRITER / ACCOUNTS));
+        for (Long accountId : accountIds) {
+            final AccountSummaryResponse summary = restTemplate.getForObject(
+                    "/accounts/{accountId}/summary", AccountSummaryResponse.class, accountId);
+            assertThat(summary.balance()).isEqualByComparingTo(expectedBalance);
+            assertThat(summary.availableLimit()).isEqualByComparingTo(expectedBalance.add(summary.creditLimit()));
+            assertThat(summary.lastTransactionAt()).isNotNull();
+        }
+
+        log.info(String.format("summary reads idle: p50=%.2f ms p99=%.2f ms | reads=%d under %d writers: "
+                        + "p50=%.2f ms p99=%.2f ms max=%.2f ms",
+                percentile(baseline, 0.50), percentile(baseline, 0.99), latencies.size(), WRITERS,
+                percentile(latencies, 0.50), percentile(latencies, 0.99), latencies.getLast() / 1e6));
+    }
+
+    private static double percentile(final List<Long> sortedNanos, final double percentile) {
+        return sortedNanos.get((int) Math.ceil(percentile * sortedNanos.size()) - 1) / 1e6;
+    }
+}
@@ -0,0 +1,83 @@
+package com.pismo.banking.account.internal.cache;
+
+import com.pismo.banking.account.internal.model.Account;
+import com.pismo.banking.common.money.Money;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Account Cache Unit Tests")
+class AccountCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AccountCache accountCache = new AccountCache(100, Duration.ofMinutes(10), 100, Duration.ofSeconds(30), meterRegistry);
+
+    @Test
+    @DisplayName("Should cache only the immutable fields of an account")
+    void testCachesImmutableFields() {
+        accountCache.put(new Account(1L, "12345678900", Money.of(new BigDecimal("250.00")), Money.ofUnits(1000), null, 0));
+
+        assertThat(accountCache.get(1L)).isEqualTo(new CachedAccount(1L, "12345678900", Money.ofUnits(1000), 0));
+        assertThat(accountCache.get(2L)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should apply a write made inside a transaction only once it commits")
+    void testWriteAppliedAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            accountCache.put(new Account(1L, "12345678900"));
+            assertThat(accountCache.get(1L)).isNull();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertThat(accountCache.get(1L)).isNotNull();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should publish hit and miss counts")
+    void testPublishesStatistics() {
+        accountCache.put(new Account(1L, "12345678900"));
+        accountCache.get(1L);
+        accountCache.get(2L);
+
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "accounts").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "accounts").tag("result", "miss")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.evictions").tag("cache", "accounts").functionCounter().count())
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("Should remember missing accounts and count the misses it absorbs")
+    void testRemembersMissingAccounts() {
+        assertThat(accountCache.isKnownMissing(9L)).isFalse();
+
+        accountCache.markMissing(9L);
+
+        assertThat(accountCache.isKnownMissing(9L)).isTrue();
+        assertThat(accountCache.isKnownMissing(9L)).isTrue();
+        assertThat(meterRegistry.get("banking.accounts.negative-cache.absorbed").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should forget a missing account once it is created")
+    void testCreationClearsMissingEntry() {
+        accountCache.markMissing(9L);
+
+        accountCache.put(new Account(9L, "12345678900"));
+
+        assertThat(accountCache.isKnownMissing(9L)).isFalse();
+        assertThat(accountCache.get(9L)).isNotNull();
+    }
+}
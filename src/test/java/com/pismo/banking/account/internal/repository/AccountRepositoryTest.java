@@ -1,12 +1,18 @@
 package com.pismo.banking.account.internal.repository;
 
+import com.pismo.banking.account.api.dto.AccountSummaryResponse;
 import com.pismo.banking.account.internal.model.Account;
+import com.pismo.banking.account.internal.model.AccountBalanceSlot;
+import com.pismo.banking.common.money.Money;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
 import org.springframework.dao.DataIntegrityViolationException;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -15,9 +21,14 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 @DataJpaTest
 class AccountRepositoryTest {
 
+    private static final LocalDateTime EVENT_DATE = LocalDateTime.of(2026, 1, 1, 12, 0);
+
     @Autowired
     private AccountRepository accountRepository;
 
+    @Autowired
+    private AccountBalanceSlotRepository balanceSlotRepository;
+
     @Test
     @DisplayName("Should save an account successfully and retrieve it by document number")
     void whenSaveAccount_thenFindsByDocumentNumber() {
@@ -39,12 +50,112 @@ class AccountRepositoryTest {
     void whenSaveDuplicateDocumentNumber_thenThrowsException() {
         String docNumber = "55555555555";
 
-        accountRepository.save(new Account(null,docNumber));
+        accountRepository.saveAndFlush(new Account(null,docNumber));
 
         Account duplicateAccount = new Account(null,docNumber);
 
         assertThrows(DataIntegrityViolationException.class, () -> {
-            accountRepository.save(duplicateAccount);
+            accountRepository.saveAndFlush(duplicateAccount);
+        });
+    }
+
+    @Test
+    @DisplayName("Should apply a balance change only while the credit limit is respected")
+    void whenApplyBalanceChange_thenLimitIsEnforced() {
+        final Long accountId = accountRepository.saveAndFlush(new Account(null, "12312312312")).getAccountId();
+
+        assertThat(accountRepository.applyBalanceChange(accountId, new BigDecimal("-600.00"), EVENT_DATE)).isEqualTo(1);
+        assertThat(accountRepository.applyBalanceChange(accountId, new BigDecimal("-400.00"), EVENT_DATE)).isEqualTo(1);
+        assertThat(accountRepository.applyBalanceChange(accountId, new BigDecimal("-0.01"), EVENT_DATE)).isZero();
+        assertThat(accountRepository.applyBalanceChange(accountId, new BigDecimal("25.00"), EVENT_DATE)).isEqualTo(1);
+
+        assertThat(accountRepository.findById(accountId))
+                .get()
+                .extracting(Account::getBalance)
+                .isEqualTo(Money.of(new BigDecimal("-975.00")));
+    }
+
+    @Test
+    @DisplayName("Should update no rows when applying a balance change to a non-existent account")
+    void whenApplyBalanceChangeForUnknownAccount_thenNoRowsUpdated() {
+        assertThat(accountRepository.applyBalanceChange(9999L, BigDecimal.TEN, EVENT_DATE)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should return only the document numbers that already belong to an account")
+    void whenFindExistingDocumentNumbers_thenReturnsOnlyKnownOnes() {
+        accountRepository.saveAndFlush(new Account(null, "11111111111"));
+        accountRepository.saveAndFlush(new Account(null, "33333333333"));
+
+        assertThat(accountRepository.findExistingDocumentNumbers(List.of("11111111111", "22222222222", "33333333333")))
+                .containsExactlyInAnyOrder("11111111111", "33333333333");
+    }
+
+    @Test
+    @DisplayName("Should keep the latest transaction time of the summary from going backwards")
+    void whenApplyBalanceChanges_thenSummaryTracksLatestTransactionTime() {
+        final Long accountId = accountRepository.saveAndFlush(new Account(null, "45645645645")).getAccountId();
+        assertThat(accountRepository.findSummary(accountId)).get()
+                .extracting(AccountSummaryResponse::lastTransactionAt).isNull();
+
+        accountRepository.applyBalanceChange(accountId, new BigDecimal("-250.00"), EVENT_DATE);
+        accountRepository.applyBalanceChange(accountId, new BigDecimal("50.00"), EVENT_DATE.minusSeconds(1));
+
+        assertThat(accountRepository.findSummary(accountId)).get().satisfies(summary -> {
+            assertThat(summary.balance()).isEqualByComparingTo("-200.00");
+            assertThat(summary.creditLimit()).isEqualByComparingTo("1000");
+            assertThat(summary.availableLimit()).isEqualByComparingTo("800.00");
+            assertThat(summary.lastTransactionAt()).isEqualTo(EVENT_DATE);
         });
+        assertThat(accountRepository.findSummary(9999L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should count the balance slots of an account in its summary and its limit check until folded")
+    void whenCreditingBalanceSlots_thenAggregateBalanceIsUsed() {
+        final Account account = new Account(null, "78978978978");
+        account.setBalanceSlots(2);
+        final Long accountId = accountRepository.saveAndFlush(account).getAccountId();
+        balanceSlotRepository.saveAllAndFlush(List.of(
+                new AccountBalanceSlot(accountId, 0, BigDecimal.ZERO, null),
+                new AccountBalanceSlot(accountId, 1, BigDecimal.ZERO, null)));
+        accountRepository.applyBalanceChange(accountId, new BigDecimal("-100.00"), EVENT_DATE);
+
+        assertThat(balanceSlotRepository.applyCredit(accountId, 0, new BigDecimal("30.00"), EVENT_DATE.plusSeconds(1)))
+                .isEqualTo(1);
+        assertThat(balanceSlotRepository.applyCredit(accountId, 1, new BigDecimal("20.00"), EVENT_DATE.plusSeconds(2)))
+                .isEqualTo(1);
+        assertThat(balanceSlotRepository.applyCredit(accountId, 2, BigDecimal.TEN, EVENT_DATE)).isZero();
+
+        assertThat(balanceSlotRepository.sumBalance(accountId)).isEqualByComparingTo("50.00");
+        assertThat(balanceSlotRepository.findAccountIdsWithBalance()).contains(accountId);
+        assertThat(accountRepository.findSummary(accountId)).get().satisfies(summary -> {
+            assertThat(summary.balance()).isEqualByComparingTo("-50.00");
+            assertThat(summary.lastTransactionAt()).isEqualTo(EVENT_DATE.plusSeconds(2));
+        });
+        assertThat(accountRepository.applyBalanceChange(accountId, new BigDecimal("-950.01"), EVENT_DATE)).isZero();
+        assertThat(accountRepository.applyBalanceChange(accountId, new BigDecimal("-950.00"), EVENT_DATE))
+                .isEqualTo(1);
+
+        accountRepository.foldBalanceSlots(accountId, new BigDecimal("30.00"), EVENT_DATE.plusSeconds(1));
+        balanceSlotRepository.subtractBalance(accountId, 0, new BigDecimal("30.00"));
+
+        assertThat(balanceSlotRepository.sumBalance(accountId)).isEqualByComparingTo("20.00");
+        assertThat(accountRepository.findSummary(accountId)).get().satisfies(summary -> {
+            assertThat(summary.balance()).isEqualByComparingTo("-1000.00");
+            assertThat(summary.availableLimit()).isEqualByComparingTo("0.00");
+            assertThat(summary.lastTransactionAt()).isEqualTo(EVENT_DATE.plusSeconds(2));
+        });
+    }
+
+    @Test
+    @DisplayName("Should leave the balance slots out of the limit check of an account that is not flagged")
+    void whenAccountIsNotFlagged_thenLimitCheckIgnoresBalanceSlots() {
+        final Long accountId = accountRepository.saveAndFlush(new Account(null, "78978978979")).getAccountId();
+        balanceSlotRepository.saveAndFlush(new AccountBalanceSlot(accountId, 0, new BigDecimal("50.00"), EVENT_DATE));
+
+        assertThat(accountRepository.applyBalanceChange(accountId, new BigDecimal("-1000.01"), EVENT_DATE)).isZero();
+        assertThat(accountRepository.applyBalanceChange(accountId, new BigDecimal("-1000.00"), EVENT_DATE))
+                .isEqualTo(1);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,97 @@
+package com.pismo.banking.account.internal.service;
+
+import com.pismo.banking.account.api.AccountService;
+import com.pismo.banking.account.internal.model.Account;
+import com.pismo.banking.account.internal.repository.AccountRepository;
+import com.pismo.banking.common.exception.InSufficientLimitException;
+import com.pismo.banking.common.money.Money;
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Concurrency benchmark for the guarded balance update on a single hot account.
+ *
+ * <p>Every thread hammers the same account with small debits whose total exceeds the credit limit.
+ * The test asserts that exactly as many debits succeed as the limit allows (no lost updates and no overdraft)
+ * and logs the achieved throughput for each thread count.</p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+@DisplayName("Account Balance Concurrency Benchmark")
+class AccountBalanceConcurrencyIT {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountBalanceConcurrencyIT.class);
+    private static final int DEBITS_PER_THREAD = 250;
+    private static final Money DEBIT = Money.of(new BigDecimal("-1.00"));
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @ParameterizedTest(name = "{0} threads on one account")
+    @ValueSource(ints = {1, 2, 4, 8, 16})
+    void shouldNeverOverdrawHotAccount(final int threads) throws Exception {
+        final Account account = accountRepository.saveAndFlush(
+                new Account(null, String.valueOf(RandomUtils.nextLong(10000000000L, 99999999999L))));
+        final int allowedDebits = Math.toIntExact(account.getLimit().cents() / -DEBIT.cents());
+
+        final AtomicInteger accepted = new AtomicInteger();
+        final AtomicInteger rejected = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+
+        final long elapsedNanos;
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < DEBITS_PER_THREAD; j++) {
+                        try {
+                            accountService.applyBalanceChange(account.getAccountId(), DEBIT, LocalDateTime.now());
+                            accepted.incrementAndGet();
+                        } catch (InSufficientLimitException e) {
+                            rejected.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            final long startNanos = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            elapsedNanos = System.nanoTime() - startNanos;
+        }
+
+        final int attempts = threads * DEBITS_PER_THREAD;
+        assertThat(accepted.get() + rejected.get()).isEqualTo(attempts);
+        assertThat(accepted.get()).isEqualTo(Math.min(attempts, allowedDebits));
+        assertThat(accountService.findById(account.getAccountId()).getBalance())
+                .isEqualTo(new Money(DEBIT.cents() * accepted.get()));
+
+        log.info(String.format("threads=%d attempts=%d accepted=%d rejected=%d throughput=%.0f ops/s",
+                threads, attempts, accepted.get(), rejected.get(), attempts / (elapsedNanos / 1e9)));
+    }
+}
@@ -0,0 +1,58 @@
+package com.pismo.banking.account.internal.service;
+
+import com.pismo.banking.account.internal.model.AccountBalanceSlot;
+import com.pismo.banking.account.internal.repository.AccountBalanceSlotRepository;
+import com.pismo.banking.account.internal.repository.AccountRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Account Balance Slot Compactor Unit Tests")
+class AccountBalanceSlotCompactorTest {
+
+    private static final LocalDateTime EVENT_DATE = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    private final AccountRepository accountRepository = mock(AccountRepository.class);
+    private final AccountBalanceSlotRepository balanceSlotRepository = mock(AccountBalanceSlotRepository.class);
+    private final AccountBalanceSlotCompactor compactor = new AccountBalanceSlotCompactor(accountRepository,
+            balanceSlotRepository, mock(PlatformTransactionManager.class));
+
+    @Test
+    @DisplayName("Should move the amounts read from the slots to the account row with their latest time")
+    void testCompactFoldsSlotsIntoAccountRow() {
+        when(balanceSlotRepository.findAccountIdsWithBalance()).thenReturn(List.of(1L));
+        when(balanceSlotRepository.findByAccountId(1L)).thenReturn(List.of(
+                new AccountBalanceSlot(1L, 0, new BigDecimal("10.00"), EVENT_DATE.minusSeconds(5)),
+                new AccountBalanceSlot(1L, 1, BigDecimal.ZERO, EVENT_DATE.plusSeconds(5)),
+                new AccountBalanceSlot(1L, 2, new BigDecimal("2.50"), EVENT_DATE)));
+
+        assertThat(compactor.compact()).isEqualTo(1);
+
+        verify(accountRepository).foldBalanceSlots(1L, new BigDecimal("12.50"), EVENT_DATE);
+        verify(balanceSlotRepository).subtractBalance(1L, 0, new BigDecimal("10.00"));
+        verify(balanceSlotRepository).subtractBalance(1L, 2, new BigDecimal("2.50"));
+        verify(balanceSlotRepository, never()).subtractBalance(1L, 1, BigDecimal.ZERO);
+    }
+
+    @Test
+    @DisplayName("Should leave an account alone when its slots were emptied in the meantime")
+    void testCompactSkipsEmptySlots() {
+        when(balanceSlotRepository.findAccountIdsWithBalance()).thenReturn(List.of(1L));
+        when(balanceSlotRepository.findByAccountId(1L)).thenReturn(List.of(
+                new AccountBalanceSlot(1L, 0, BigDecimal.ZERO, EVENT_DATE)));
+
+        compactor.compact();
+
+        verify(accountRepository, never()).foldBalanceSlots(any(), any(), any());
+        verify(balanceSlotRepository, never()).subtractBalance(any(), anyInt(), any());
+    }
+}
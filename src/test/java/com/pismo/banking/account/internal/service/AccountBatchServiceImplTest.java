@@ -0,0 +1,108 @@
+package com.pismo.banking.account.internal.service;
+
+import com.pismo.banking.account.api.AccountService;
+import com.pismo.banking.account.api.dto.AccountBatchItemResponse;
+import com.pismo.banking.account.api.dto.AccountBatchRequest;
+import com.pismo.banking.account.api.dto.AccountBatchResponse;
+import com.pismo.banking.account.api.dto.AccountRequest;
+import com.pismo.banking.account.api.dto.AccountResponse;
+import com.pismo.banking.account.internal.cache.AccountCache;
+import com.pismo.banking.account.internal.exception.AccountAlreadyExistsException;
+import com.pismo.banking.account.internal.model.Account;
+import com.pismo.banking.account.internal.repository.AccountRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Account Batch Service Unit Tests")
+class AccountBatchServiceImplTest {
+
+    private final AccountRepository accountRepository = mock(AccountRepository.class);
+    private final AccountService accountService = mock(AccountService.class);
+    private final AccountCache accountCache =
+            new AccountCache(100, Duration.ofMinutes(10), 100, Duration.ofSeconds(30), new SimpleMeterRegistry());
+    private final AccountBatchServiceImpl accountBatchService = new AccountBatchServiceImpl(accountRepository,
+            accountService, accountCache, mock(PlatformTransactionManager.class), 2);
+
+    @Test
+    @DisplayName("Should reject repeated and existing document numbers and insert the rest once per chunk")
+    void testCreateAccountsDeduplicatesAndChunks() {
+        when(accountRepository.findExistingDocumentNumbers(List.of("11111111111", "22222222222")))
+                .thenReturn(List.of("22222222222"));
+        when(accountRepository.findExistingDocumentNumbers(List.of("33333333333")))
+                .thenReturn(List.of());
+        when(accountRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            final List<Account> accounts = invocation.getArgument(0);
+            for (Account account : accounts) {
+                account.setAccountId(Long.valueOf(account.getDocumentNumber().substring(0, 1)));
+            }
+            return accounts;
+        });
+
+        final AccountBatchResponse response = accountBatchService.createAccounts(new AccountBatchRequest(List.of(
+                new AccountRequest("11111111111"),
+                new AccountRequest("22222222222"),
+                new AccountRequest("11111111111"),
+                new AccountRequest("33333333333"))));
+
+        assertThat(response.results()).extracting(AccountBatchItemResponse::index).containsExactly(0, 1, 2, 3);
+        assertThat(response.results()).extracting(AccountBatchItemResponse::status).containsExactly(
+                AccountBatchItemResponse.Status.CREATED,
+                AccountBatchItemResponse.Status.REJECTED,
+                AccountBatchItemResponse.Status.REJECTED,
+                AccountBatchItemResponse.Status.CREATED);
+        assertThat(response.results().getFirst().account()).isEqualTo(new AccountResponse(1L, "11111111111"));
+        assertThat(response.results().get(1).errorMessage())
+                .isEqualTo("Account with document number 22222222222 already exists");
+        assertThat(response.results().get(2).errorMessage())
+                .isEqualTo("Document number 11111111111 is repeated in the batch at index 0");
+        assertThat(response.results().get(3).account()).isEqualTo(new AccountResponse(3L, "33333333333"));
+        verify(accountRepository, times(2)).findExistingDocumentNumbers(anyList());
+        verify(accountRepository, times(2)).saveAll(anyList());
+        verifyNoInteractions(accountService);
+    }
+
+    @Test
+    @DisplayName("Should create the items of a chunk one by one when a concurrent insert breaks the chunk")
+    void testCreateAccountsFallsBackOnConcurrentInsert() {
+        final AccountRequest first = new AccountRequest("11111111111");
+        final AccountRequest second = new AccountRequest("22222222222");
+        when(accountRepository.findExistingDocumentNumbers(anyList())).thenReturn(List.of());
+        when(accountRepository.saveAll(anyList())).thenReturn(List.of());
+        doThrow(new DataIntegrityViolationException("Duplicate entry '22222222222'")).when(accountRepository).flush();
+        when(accountService.createAccount(first)).thenReturn(new AccountResponse(1L, "11111111111"));
+        when(accountService.createAccount(second)).thenThrow(new AccountAlreadyExistsException("22222222222"));
+
+        final AccountBatchResponse response =
+                accountBatchService.createAccounts(new AccountBatchRequest(List.of(first, second)));
+
+        assertThat(response.results()).extracting(AccountBatchItemResponse::status).containsExactly(
+                AccountBatchItemResponse.Status.CREATED,
+                AccountBatchItemResponse.Status.REJECTED);
+        assertThat(response.results().getFirst().account().accountId()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Should report every item of a chunk as failed on an unexpected error")
+    void testCreateAccountsReportsFailedChunk() {
+        when(accountRepository.findExistingDocumentNumbers(anyList()))
+                .thenThrow(new IllegalStateException("Connection reset"));
+
+        final AccountBatchResponse response = accountBatchService.createAccounts(new AccountBatchRequest(List.of(
+                new AccountRequest("11111111111"), new AccountRequest("22222222222"))));
+
+        assertThat(response.results()).extracting(AccountBatchItemResponse::status)
+                .containsOnly(AccountBatchItemResponse.Status.FAILED);
+        assertThat(response.results()).extracting(AccountBatchItemResponse::errorMessage)
+                .containsOnly(AccountBatchServiceImpl.FAILED_ITEM_MESSAGE);
+    }
+}
@@ -0,0 +1,143 @@
+package com.pismo.banking.account.internal.service;
+
+import com.pismo.banking.account.api.AccountService;
+import com.pismo.banking.account.api.dto.AccountRequest;
+import com.pismo.banking.account.internal.exception.AccountAlreadyExistsException;
+import com.pismo.banking.account.internal.model.Account;
+import com.pismo.banking.account.internal.repository.AccountRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load test for account creation.
+ *
+ * <p>First, many threads race to create the same document number: exactly one must succeed and every other
+ * attempt must be reported as {@link AccountAlreadyExistsException}. Then distinct accounts are created concurrently,
+ * once with the former check-then-insert approach ({@code existsByDocumentNumber} followed by {@code save}) and once
+ * through {@link AccountService#createAccount}; the throughput and statements per account of both are printed.</p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@DisplayName("Account Creation Concurrency Benchmark")
+class AccountCreationConcurrencyIT {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountCreationConcurrencyIT.class);
+    private static final int THREADS = 16;
+    private static final int ACCOUNTS_PER_THREAD = 200;
+    private static final AtomicLong DOCUMENT_NUMBERS = new AtomicLong(30000000000L);
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void shouldCreateExactlyOneAccountPerDocumentNumber() throws Exception {
+        final String documentNumber = nextDocumentNumber();
+        final AtomicInteger created = new AtomicInteger();
+        final AtomicInteger conflicts = new AtomicInteger();
+
+        run(threadIndex -> {
+            try {
+                accountService.createAccount(new AccountRequest(documentNumber));
+                created.incrementAndGet();
+            } catch (AccountAlreadyExistsException e) {
+                conflicts.incrementAndGet();
+            }
+        });
+
+        assertThat(created.get()).isEqualTo(1);
+        assertThat(conflicts.get()).isEqualTo(THREADS - 1);
+        assertThat(accountRepository.existsByDocumentNumber(documentNumber)).isTrue();
+    }
+
+    @Test
+    void shouldCreateAccountsWithOneStatementEach() throws Exception {
+        final Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        final int accounts = THREADS * ACCOUNTS_PER_THREAD;
+
+        statistics.clear();
+        final long checkThenInsertNanos = run(threadIndex -> {
+            for (int i = 0; i < ACCOUNTS_PER_THREAD; i++) {
+                final String documentNumber = nextDocumentNumber();
+                transactionTemplate.executeWithoutResult(status -> {
+                    if (!accountRepository.existsByDocumentNumber(documentNumber)) {
+                        accountRepository.save(new Account(null, documentNumber));
+                    }
+                });
+            }
+        });
+        final long checkThenInsertStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        final long insertOnlyNanos = run(threadIndex -> {
+            for (int i = 0; i < ACCOUNTS_PER_THREAD; i++) {
+                accountService.createAccount(new AccountRequest(nextDocumentNumber()));
+            }
+        });
+        final long insertOnlyStatements = statistics.getPrepareStatementCount();
+
+        assertThat(insertOnlyStatements).isLessThan(checkThenInsertStatements);
+        log.info(String.format("accounts=%d checkThenInsert=%.0f/s (%.2f statements each) "
+                        + "insertOnly=%.0f/s (%.2f statements each)",
+                accounts, accounts / (checkThenInsertNanos / 1e9), (double) checkThenInsertStatements / accounts,
+                accounts / (insertOnlyNanos / 1e9), (double) insertOnlyStatements / accounts));
+    }
+
+    /**
+     * Runs the task on {@link #THREADS} threads started together and returns the elapsed time in nanoseconds.
+     */
+    private long run(final Consumer<Integer> task) throws Exception {
+        final CountDownLatch start = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                final int threadIndex = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.accept(threadIndex);
+                    return null;
+                }));
+            }
+            final long startNanos = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return System.nanoTime() - startNanos;
+        }
+    }
+
+    private static String nextDocumentNumber() {
+        return Long.toString(DOCUMENT_NUMBERS.incrementAndGet());
+    }
+}
@@ -2,23 +2,40 @@ package com.pismo.banking.account.internal.service;
 
 import com.pismo.banking.account.api.dto.AccountRequest;
 import com.pismo.banking.account.api.dto.AccountResponse;
+import com.pismo.banking.account.api.dto.AccountSummaryResponse;
+import com.pismo.banking.account.internal.cache.AccountCache;
 import com.pismo.banking.account.internal.exception.AccountAlreadyExistsException;
 import com.pismo.banking.account.internal.model.Account;
+import com.pismo.banking.account.internal.model.AccountBalanceSlot;
+import com.pismo.banking.account.internal.repository.AccountBalanceSlotRepository;
 import com.pismo.banking.account.internal.repository.AccountRepository;
 import com.pismo.banking.common.exception.AccountNotFoundException;
+import com.pismo.banking.common.exception.InSufficientLimitException;
+import com.pismo.banking.common.money.Money;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,20 +45,26 @@ class AccountServiceImplTest {
     @Mock
     private AccountRepository accountRepository;
 
+    @Mock
+    private AccountBalanceSlotRepository balanceSlotRepository;
+
+    @Spy
+    private AccountCache accountCache = new AccountCache(100, Duration.ofMinutes(10), 100, Duration.ofSeconds(30), new SimpleMeterRegistry());
+
     @InjectMocks
     private AccountServiceImpl accountService;
 
     private static final String VALID_DOC_NUMBER = "12345678900";
     private static final Long VALID_ACCOUNT_ID = 1L;
+    private static final LocalDateTime EVENT_DATE = LocalDateTime.of(2026, 1, 1, 12, 0);
     private static final Long NON_EXISTENT_ACCOUNT_ID = 99L;
 
 
     @Test
     @DisplayName("Should successfully create a new account when document number is unique")
     void testCreateAccountSuccess() {
-        when(accountRepository.existsByDocumentNumber(VALID_DOC_NUMBER)).thenReturn(false);
         Account savedEntity = new Account(VALID_ACCOUNT_ID, VALID_DOC_NUMBER);
-        when(accountRepository.save(any(Account.class))).thenReturn(savedEntity);
+        when(accountRepository.saveAndFlush(any(Account.class))).thenReturn(savedEntity);
 
         final AccountRequest accountRequest = new AccountRequest(VALID_DOC_NUMBER);
 
@@ -49,14 +72,17 @@ class AccountServiceImplTest {
 
         assertThat(result.accountId()).isEqualTo(VALID_ACCOUNT_ID);
         assertThat(result.documentNumber()).isEqualTo(VALID_DOC_NUMBER);
-        verify(accountRepository, times(1)).save(any(Account.class));
+        verify(accountRepository, times(1)).saveAndFlush(any(Account.class));
+        verify(accountRepository, never()).existsByDocumentNumber(any());
     }
 
     @Test
     @DisplayName("Should throw AccountAlreadyExistsException if document number is not unique")
     void testCreateAccountThrowsForDuplicate() {
 
-        when(accountRepository.existsByDocumentNumber(VALID_DOC_NUMBER)).thenReturn(true);
+        when(accountRepository.saveAndFlush(any(Account.class))).thenThrow(new DataIntegrityViolationException(
+                "Duplicate entry", new ConstraintViolationException("Duplicate entry", null,
+                        ConstraintViolationException.ConstraintKind.UNIQUE, "document_number")));
 
         final AccountRequest accountRequest = new AccountRequest(VALID_DOC_NUMBER);
 
@@ -108,4 +134,186 @@ class AccountServiceImplTest {
                 .isInstanceOf(AccountNotFoundException.class)
                 .hasMessageContaining("Account with id " + NON_EXISTENT_ACCOUNT_ID + " not found");
     }
+
+    @Test
+    @DisplayName("Should apply the balance change with a single guarded update and return the new summary")
+    void testApplyBalanceChangeSuccess() {
+        final Money amount = Money.of(new BigDecimal("-50.00"));
+        when(accountRepository.applyBalanceChange(VALID_ACCOUNT_ID, amount.toBigDecimal(), EVENT_DATE)).thenReturn(1);
+        final AccountSummaryResponse summary =
+                new AccountSummaryResponse(VALID_ACCOUNT_ID, new BigDecimal("150.00"), new BigDecimal("1000"), EVENT_DATE);
+        when(accountRepository.findSummary(VALID_ACCOUNT_ID)).thenReturn(Optional.of(summary));
+
+        assertThat(accountService.applyBalanceChange(VALID_ACCOUNT_ID, amount, EVENT_DATE)).isEqualTo(summary);
+
+        verify(accountRepository, times(1)).applyBalanceChange(VALID_ACCOUNT_ID, amount.toBigDecimal(), EVENT_DATE);
+        verify(accountRepository, times(1)).findSummary(VALID_ACCOUNT_ID);
+        verifyNoMoreInteractions(accountRepository);
+    }
+
+    @Test
+    @DisplayName("Should throw AccountNotFoundException if no row was updated and the account does not exist")
+    void testApplyBalanceChangeThrowsForNonExistentId() {
+        final Money amount = Money.of(new BigDecimal("-50.00"));
+        when(accountRepository.applyBalanceChange(NON_EXISTENT_ACCOUNT_ID, amount.toBigDecimal(), EVENT_DATE))
+                .thenReturn(0);
+        when(accountRepository.existsById(NON_EXISTENT_ACCOUNT_ID)).thenReturn(false);
+
+        assertThatThrownBy(() -> accountService.applyBalanceChange(NON_EXISTENT_ACCOUNT_ID, amount, EVENT_DATE))
+                .isInstanceOf(AccountNotFoundException.class)
+                .hasMessageContaining("Account with id " + NON_EXISTENT_ACCOUNT_ID + " not found");
+    }
+
+    @Test
+    @DisplayName("Should throw InSufficientLimitException if no row was updated and the account exists")
+    void testApplyBalanceChangeThrowsForExceededLimit() {
+        final Money amount = Money.of(new BigDecimal("-5000.00"));
+        when(accountRepository.applyBalanceChange(VALID_ACCOUNT_ID, amount.toBigDecimal(), EVENT_DATE)).thenReturn(0);
+        when(accountRepository.existsById(VALID_ACCOUNT_ID)).thenReturn(true);
+
+        assertThatThrownBy(() -> accountService.applyBalanceChange(VALID_ACCOUNT_ID, amount, EVENT_DATE))
+                .isInstanceOf(InSufficientLimitException.class)
+                .hasMessageContaining("The Limit has exceeded");
+    }
+
+    @Test
+    @DisplayName("Should throw AccountNotFoundException when locking a non-existent account")
+    void testFindByIdForUpdateThrowsForNonExistentId() {
+        when(accountRepository.findByIdForUpdate(NON_EXISTENT_ACCOUNT_ID)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> accountService.findByIdForUpdate(NON_EXISTENT_ACCOUNT_ID))
+                .isInstanceOf(AccountNotFoundException.class)
+                .hasMessageContaining("Account with id " + NON_EXISTENT_ACCOUNT_ID + " not found");
+    }
+
+    @Test
+    @DisplayName("Should serve a created account from the cache without reading the repository")
+    void testCreatedAccountServedFromCache() {
+        when(accountRepository.saveAndFlush(any(Account.class))).thenReturn(new Account(VALID_ACCOUNT_ID, VALID_DOC_NUMBER));
+        accountService.createAccount(new AccountRequest(VALID_DOC_NUMBER));
+
+        final AccountResponse result = accountService.getAccountById(VALID_ACCOUNT_ID);
+        accountService.validateAccountExists(VALID_ACCOUNT_ID);
+
+        assertThat(result.documentNumber()).isEqualTo(VALID_DOC_NUMBER);
+        verify(accountRepository, never()).findById(anyLong());
+        verify(accountRepository, never()).existsById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should read an uncached account from the repository once")
+    void testGetAccountByIdCachesRepositoryResult() {
+        when(accountRepository.findById(VALID_ACCOUNT_ID))
+                .thenReturn(Optional.of(new Account(VALID_ACCOUNT_ID, VALID_DOC_NUMBER)));
+
+        accountService.getAccountById(VALID_ACCOUNT_ID);
+        accountService.getAccountById(VALID_ACCOUNT_ID);
+
+        verify(accountRepository, times(1)).findById(VALID_ACCOUNT_ID);
+    }
+
+    @Test
+    @DisplayName("Should report an exceeded limit for a cached account without an existence query")
+    void testApplyBalanceChangeUsesCacheToDisambiguate() {
+        final Money amount = Money.of(new BigDecimal("-5000.00"));
+        accountCache.put(new Account(VALID_ACCOUNT_ID, VALID_DOC_NUMBER));
+        when(accountRepository.applyBalanceChange(VALID_ACCOUNT_ID, amount.toBigDecimal(), EVENT_DATE)).thenReturn(0);
+
+        assertThatThrownBy(() -> accountService.applyBalanceChange(VALID_ACCOUNT_ID, amount, EVENT_DATE))
+                .isInstanceOf(InSufficientLimitException.class);
+
+        verify(accountRepository, never()).existsById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should write updated accounts through to the cache")
+    void testUpdateAccountWritesThrough() {
+        final Account account = new Account(VALID_ACCOUNT_ID, VALID_DOC_NUMBER, Money.ZERO,
+                Money.ofUnits(500), null, 0);
+        when(accountRepository.save(account)).thenReturn(account);
+
+        accountService.updateAccount(account);
+
+        assertThat(accountCache.get(VALID_ACCOUNT_ID).limit()).isEqualTo(Money.ofUnits(500));
+    }
+
+    @Test
+    @DisplayName("Should reject repeated lookups of an unknown account without querying the repository again")
+    void testUnknownAccountAbsorbedByNegativeCache() {
+        when(accountRepository.findById(NON_EXISTENT_ACCOUNT_ID)).thenReturn(Optional.empty());
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> accountService.getAccountById(NON_EXISTENT_ACCOUNT_ID))
+                    .isInstanceOf(AccountNotFoundException.class);
+        }
+        assertThatThrownBy(() -> accountService.applyBalanceChange(NON_EXISTENT_ACCOUNT_ID, Money.ofUnits(10), EVENT_DATE))
+                .isInstanceOf(AccountNotFoundException.class);
+
+        verify(accountRepository, times(1)).findById(NON_EXISTENT_ACCOUNT_ID);
+        verify(accountRepository, never()).applyBalanceChange(anyLong(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should return the summary of an account and reject unknown accounts")
+    void testGetAccountSummary() {
+        final AccountSummaryResponse summary =
+                new AccountSummaryResponse(VALID_ACCOUNT_ID, new BigDecimal("-250.00"), new BigDecimal("1000"), EVENT_DATE);
+        when(accountRepository.findSummary(VALID_ACCOUNT_ID)).thenReturn(Optional.of(summary));
+        when(accountRepository.findSummary(NON_EXISTENT_ACCOUNT_ID)).thenReturn(Optional.empty());
+
+        assertThat(accountService.getAccountSummary(VALID_ACCOUNT_ID).availableLimit()).isEqualByComparingTo("750.00");
+        assertThatThrownBy(() -> accountService.getAccountSummary(NON_EXISTENT_ACCOUNT_ID))
+                .isInstanceOf(AccountNotFoundException.class);
+        assertThatThrownBy(() -> accountService.getAccountSummary(NON_EXISTENT_ACCOUNT_ID))
+                .isInstanceOf(AccountNotFoundException.class);
+
+        verify(accountRepository, times(1)).findSummary(NON_EXISTENT_ACCOUNT_ID);
+    }
+
+    @Test
+    @DisplayName("Should add a credit to one of the balance slots of a flagged account, not to its row")
+    void testApplyCreditToBalanceSlot() {
+        final Money amount = Money.of(new BigDecimal("25.00"));
+        accountCache.put(new Account(VALID_ACCOUNT_ID, VALID_DOC_NUMBER, Money.ZERO, Money.ofUnits(1000),
+                null, 4));
+        when(balanceSlotRepository.applyCredit(eq(VALID_ACCOUNT_ID), anyInt(), eq(amount.toBigDecimal()), eq(EVENT_DATE)))
+                .thenReturn(1);
+
+        assertThat(accountService.applyCredit(VALID_ACCOUNT_ID, amount, EVENT_DATE)).isEmpty();
+        verify(accountRepository, never()).applyBalanceChange(anyLong(), any(), any());
+        verify(accountRepository, never()).findSummary(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should add a credit to the row of an account without balance slots")
+    void testApplyCreditToAccountRow() {
+        final Money amount = Money.of(new BigDecimal("25.00"));
+        final AccountSummaryResponse summary =
+                new AccountSummaryResponse(VALID_ACCOUNT_ID, amount.toBigDecimal(), new BigDecimal("1000"), EVENT_DATE);
+        accountCache.put(new Account(VALID_ACCOUNT_ID, VALID_DOC_NUMBER));
+        when(accountRepository.applyBalanceChange(VALID_ACCOUNT_ID, amount.toBigDecimal(), EVENT_DATE)).thenReturn(1);
+        when(accountRepository.findSummary(VALID_ACCOUNT_ID)).thenReturn(Optional.of(summary));
+
+        assertThat(accountService.applyCredit(VALID_ACCOUNT_ID, amount, EVENT_DATE)).contains(summary);
+        verifyNoInteractions(balanceSlotRepository);
+    }
+
+    @Test
+    @DisplayName("Should create only the missing balance slots and cache the new slot count")
+    void testSetBalanceSlots() {
+        final Account account = new Account(VALID_ACCOUNT_ID, VALID_DOC_NUMBER);
+        when(accountRepository.findByIdForUpdate(VALID_ACCOUNT_ID)).thenReturn(Optional.of(account));
+        when(accountRepository.save(account)).thenReturn(account);
+        when(balanceSlotRepository.findByAccountId(VALID_ACCOUNT_ID)).thenReturn(List.of(
+                new AccountBalanceSlot(VALID_ACCOUNT_ID, 0, BigDecimal.ZERO, null),
+                new AccountBalanceSlot(VALID_ACCOUNT_ID, 1, BigDecimal.TEN, EVENT_DATE)));
+
+        accountService.setBalanceSlots(VALID_ACCOUNT_ID, 3);
+
+        final ArgumentCaptor<List<AccountBalanceSlot>> created = ArgumentCaptor.captor();
+        verify(balanceSlotRepository).saveAll(created.capture());
+        assertThat(created.getValue()).extracting(AccountBalanceSlot::getSlot).containsExactly(2);
+        assertThat(account.getBalanceSlots()).isEqualTo(3);
+        assertThat(accountCache.get(VALID_ACCOUNT_ID).balanceSlots()).isEqualTo(3);
+    }
 }
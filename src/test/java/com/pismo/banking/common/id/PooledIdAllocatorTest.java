@@ -0,0 +1,89 @@
+package com.pismo.banking.common.id;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Pooled Id Allocator Unit Tests")
+class PooledIdAllocatorTest {
+
+    private final JdbcDataSource dataSource = new JdbcDataSource();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE id_sequences (sequence_name VARCHAR(64) PRIMARY KEY, next_val BIGINT)");
+            statement.execute("INSERT INTO id_sequences VALUES ('accounts', 1)");
+        }
+    }
+
+    @Test
+    @DisplayName("Should hand out consecutive ids and reserve one block per block size")
+    void testHandsOutBlocks() throws Exception {
+        final PooledIdAllocator allocator = new PooledIdAllocator(dataSource, "accounts", 3);
+
+        assertThat(allocator.nextId()).isEqualTo(1);
+        assertThat(allocator.nextId()).isEqualTo(2);
+        assertThat(allocator.nextId()).isEqualTo(3);
+        assertThat(nextVal()).isEqualTo(4);
+        assertThat(allocator.nextId()).isEqualTo(4);
+        assertThat(nextVal()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("Should never hand out the same id from two allocators of the same sequence")
+    void testAllocatorsDoNotOverlap() {
+        final PooledIdAllocator first = new PooledIdAllocator(dataSource, "accounts", 5);
+        final PooledIdAllocator second = new PooledIdAllocator(dataSource, "accounts", 5);
+        final Set<Long> ids = new HashSet<>();
+
+        for (int i = 0; i < 23; i++) {
+            assertThat(ids.add(first.nextId())).isTrue();
+            assertThat(ids.add(second.nextId())).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Should hand out ids from memory without reserving a block")
+    void testTryNextId() throws Exception {
+        final PooledIdAllocator allocator = new PooledIdAllocator(dataSource, "accounts", 2);
+
+        assertThat(allocator.tryNextId()).isEmpty();
+        assertThat(nextVal()).isEqualTo(1);
+        assertThat(allocator.nextId()).isEqualTo(1);
+        assertThat(allocator.tryNextId()).hasValue(2);
+        assertThat(allocator.tryNextId()).isEmpty();
+        assertThat(nextVal()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should fail when the sequence does not exist")
+    void testUnknownSequence() {
+        final PooledIdAllocator allocator = new PooledIdAllocator(dataSource, "unknown", 5);
+
+        assertThatThrownBy(allocator::nextId)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Id sequence unknown does not exist");
+    }
+
+    private long nextVal() throws Exception {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(
+                     "SELECT next_val FROM id_sequences WHERE sequence_name = 'accounts'")) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.pismo.banking.common.money;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Money Unit Tests")
+class MoneyTest {
+
+    @Test
+    @DisplayName("Should convert a decimal amount to cents and back at scale 2")
+    void testDecimalRoundTrip() {
+        assertThat(Money.of(new BigDecimal("42.5")).cents()).isEqualTo(4250);
+        assertThat(Money.of(new BigDecimal("-0.01")).cents()).isEqualTo(-1);
+        assertThat(new Money(4250).toBigDecimal()).isEqualTo(new BigDecimal("42.50"));
+        assertThat(Money.ofUnits(1000).toString()).isEqualTo("1000.00");
+    }
+
+    @Test
+    @DisplayName("Should reject an amount with more than 2 fractional digits")
+    void testRejectsSubCentAmount() {
+        assertThatThrownBy(() -> Money.of(new BigDecimal("0.001"))).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject amounts and results beyond NUMERIC(12,2)")
+    void testRejectsOutOfRange() {
+        assertThat(Money.of(new BigDecimal("9999999999.99")).cents()).isEqualTo(Money.MAX_CENTS);
+        assertThatThrownBy(() -> Money.of(new BigDecimal("10000000000.00"))).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> new Money(Money.MAX_CENTS).plus(new Money(1)))
+                .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> new Money(-Money.MAX_CENTS).minus(new Money(1)))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    @DisplayName("Should apply the credit limit rule to the balance and the limit")
+    void testExceeds() {
+        final Money limit = Money.ofUnits(1000);
+
+        assertThat(Money.ofUnits(-1000).exceeds(limit)).isFalse();
+        assertThat(new Money(-100_001).exceeds(limit)).isTrue();
+        assertThat(Money.ofUnits(5).exceeds(Money.ZERO)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should negate, add and compare amounts")
+    void testArithmetic() {
+        assertThat(Money.ZERO.negate()).isSameAs(Money.ZERO);
+        assertThat(new Money(150).negate()).isEqualTo(new Money(-150));
+        assertThat(new Money(150).plus(new Money(-200))).isEqualTo(new Money(-50));
+        assertThat(new Money(-50).isNegative()).isTrue();
+        assertThat(new Money(1)).isGreaterThan(Money.ZERO);
+    }
+}
@@ -0,0 +1,48 @@
+package com.pismo.banking.common.thread;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Virtual Thread Pinning Monitor Unit Tests")
+class VirtualThreadPinningMonitorTest {
+
+    private final Object monitor = new Object();
+
+    @Test
+    @DisplayName("Should count and locate a virtual thread that blocks inside a synchronized block")
+    void testReportsPinnedVirtualThread() throws Exception {
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        final VirtualThreadPinningMonitor pinningMonitor = new VirtualThreadPinningMonitor(Duration.ZERO, meterRegistry);
+        try {
+            Thread.ofVirtual().start(this::sleepWhileHoldingMonitor).join();
+
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (pinningMonitor.pinningSites().isEmpty() && System.nanoTime() < deadline) {
+                Thread.sleep(50);
+            }
+
+            assertThat(pinningMonitor.pinningSites())
+                    .anyMatch(site -> site.startsWith(VirtualThreadPinningMonitorTest.class.getName()
+                            + ".sleepWhileHoldingMonitor:"));
+            assertThat(meterRegistry.get("banking.threads.virtual.pinned").counter().count()).isPositive();
+        } finally {
+            pinningMonitor.destroy();
+        }
+    }
+
+    private void sleepWhileHoldingMonitor() {
+        synchronized (monitor) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
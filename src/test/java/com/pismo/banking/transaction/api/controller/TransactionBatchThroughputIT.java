@@ -0,0 +1,80 @@
+package com.pismo.banking.transaction.api.controller;
+
+import com.pismo.banking.IntegrationTestBase;
+import com.pismo.banking.transaction.api.dto.TransactionBatchItemResponse;
+import com.pismo.banking.transaction.api.dto.TransactionBatchRequest;
+import com.pismo.banking.transaction.api.dto.TransactionBatchResponse;
+import com.pismo.banking.transaction.api.dto.TransactionRequest;
+import com.pismo.banking.transaction.api.dto.TransactionResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.resttestclient.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark comparing the batch endpoint with replaying the same operations one call at a time.
+ *
+ * <p>The same settlement-like workload (payments spread over a few accounts) is sent once through
+ * {@code POST /transactions} and once through {@code POST /transactions/batch}; both throughputs are printed.</p>
+ */
+@DisplayName("Transaction Batch Throughput Benchmark")
+class TransactionBatchThroughputIT extends IntegrationTestBase {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionBatchThroughputIT.class);
+    private static final int ACCOUNTS = 10;
+    private static final int OPERATIONS = 1000;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void shouldOutperformSingleItemEndpoint() {
+        final List<TransactionRequest> singleItemWorkload = workload();
+        final List<TransactionRequest> batchWorkload = workload();
+
+        final long singleStart = System.nanoTime();
+        for (TransactionRequest request : singleItemWorkload) {
+            final ResponseEntity<TransactionResponse> response =
+                    restTemplate.postForEntity("/transactions", request, TransactionResponse.class);
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        }
+        final long singleNanos = System.nanoTime() - singleStart;
+
+        final long batchStart = System.nanoTime();
+        final ResponseEntity<TransactionBatchResponse> response = restTemplate.postForEntity(
+                "/transactions/batch", new TransactionBatchRequest(batchWorkload), TransactionBatchResponse.class);
+        final long batchNanos = System.nanoTime() - batchStart;
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().results())
+                .hasSize(OPERATIONS)
+                .allMatch(item -> item.status() == TransactionBatchItemResponse.Status.CREATED);
+
+        log.info(String.format("operations=%d single=%.0f tx/s batch=%.0f tx/s speedup=%.1fx",
+                OPERATIONS, OPERATIONS / (singleNanos / 1e9), OPERATIONS / (batchNanos / 1e9),
+                (double) singleNanos / batchNanos));
+    }
+
+    private List<TransactionRequest> workload() {
+        final List<Long> accountIds = new ArrayList<>(ACCOUNTS);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accountIds.add(createTestAccount(generateUniqueDocNumber()));
+        }
+        final List<TransactionRequest> requests = new ArrayList<>(OPERATIONS);
+        for (int i = 0; i < OPERATIONS; i++) {
+            requests.add(new TransactionRequest(accountIds.get(i % ACCOUNTS), 4, new BigDecimal("12.34")));
+        }
+        return requests;
+    }
+}
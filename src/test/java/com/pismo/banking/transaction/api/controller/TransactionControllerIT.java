@@ -2,17 +2,33 @@ package com.pismo.banking.transaction.api.controller;
 
 import com.pismo.banking.IntegrationTestBase;
 import com.pismo.banking.common.ApiError;
+import com.pismo.banking.transaction.api.dto.AccountBalanceResponse;
+import com.pismo.banking.transaction.api.dto.TransactionBatchItemResponse;
+import com.pismo.banking.transaction.api.dto.TransactionBatchRequest;
+import com.pismo.banking.transaction.api.dto.TransactionBatchResponse;
 import com.pismo.banking.transaction.api.dto.TransactionRequest;
 import com.pismo.banking.transaction.api.dto.TransactionResponse;
+import com.pismo.banking.transaction.internal.model.IdempotencyKey;
+import com.pismo.banking.transaction.internal.repository.IdempotencyKeyRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.resttestclient.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -22,6 +38,12 @@ public class TransactionControllerIT extends IntegrationTestBase {
     @Autowired
     private TestRestTemplate restTemplate;
 
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     private Long existingAccountId;
 
     @BeforeEach
@@ -114,4 +136,125 @@ public class TransactionControllerIT extends IntegrationTestBase {
         assertThat(response.getBody().message())
                 .contains("Account with id 9999 not found");
     }
+
+    @Test
+    @DisplayName("Should return 200 OK with the outcome of every item of a transaction batch")
+    void shouldCreateTransactionBatch() {
+        final TransactionBatchRequest requestPayload = new TransactionBatchRequest(List.of(
+                new TransactionRequest(existingAccountId, 4, new BigDecimal("50.00")),
+                new TransactionRequest(existingAccountId, 1, new BigDecimal("5000.00")),
+                new TransactionRequest(9999L, 4, new BigDecimal("10.00")),
+                new TransactionRequest(existingAccountId, 3, new BigDecimal("20.00"))));
+
+        final ResponseEntity<TransactionBatchResponse> response = restTemplate.postForEntity(
+                "/transactions/batch",
+                requestPayload,
+                TransactionBatchResponse.class
+        );
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().results()).extracting(TransactionBatchItemResponse::status).containsExactly(
+                TransactionBatchItemResponse.Status.CREATED,
+                TransactionBatchItemResponse.Status.REJECTED,
+                TransactionBatchItemResponse.Status.REJECTED,
+                TransactionBatchItemResponse.Status.CREATED);
+        assertThat(response.getBody().results().get(1).errorMessage()).isEqualTo("The Limit has exceeded");
+        assertThat(response.getBody().results().get(2).errorMessage()).contains("Account with id 9999 not found");
+        assertThat(response.getBody().results().get(3).transaction().amount())
+                .isEqualByComparingTo(new BigDecimal("-20.00"));
+    }
+
+    @Test
+    @DisplayName("Should render created amounts at the scale of the requested amount")
+    void shouldKeepTheWireFormatOfAmounts() {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        final ResponseEntity<String> single = restTemplate.postForEntity("/transactions", new HttpEntity<>(
+                "{\"account_id\": %d, \"operation_type_id\": 1, \"amount\": 50}".formatted(existingAccountId),
+                headers), String.class);
+        final ResponseEntity<String> batch = restTemplate.postForEntity("/transactions/batch", new HttpEntity<>(
+                "{\"transactions\": [{\"account_id\": %d, \"operation_type_id\": 4, \"amount\": 12.5}]}"
+                        .formatted(existingAccountId), headers), String.class);
+
+        assertThat(single.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(single.getBody()).matches("\\{\"transaction_id\":\\d+,\"account_id\":" + existingAccountId
+                + ",\"operation_type_id\":1,\"amount\":-50}");
+        assertThat(batch.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(batch.getBody()).matches("\\{\"results\":\\[\\{\"index\":0,\"status\":\"CREATED\","
+                + "\"transaction\":\\{\"transaction_id\":\\d+,\"account_id\":" + existingAccountId
+                + ",\"operation_type_id\":4,\"amount\":12.5}}]}");
+    }
+
+    @Test
+    @DisplayName("Should replay the original transaction when a request is retried with the same Idempotency-Key")
+    void shouldReplayTransactionForRepeatedIdempotencyKey() {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.set("Idempotency-Key", UUID.randomUUID().toString());
+        final HttpEntity<TransactionRequest> request = new HttpEntity<>(
+                new TransactionRequest(existingAccountId, 1, new BigDecimal("600.00")), headers);
+
+        final ResponseEntity<TransactionResponse> first =
+                restTemplate.postForEntity("/transactions", request, TransactionResponse.class);
+        final ResponseEntity<TransactionResponse> retry =
+                restTemplate.postForEntity("/transactions", request, TransactionResponse.class);
+
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(retry.getBody()).isEqualTo(first.getBody());
+
+        // Applying the purchase twice would exceed the 1000 limit.
+        final ResponseEntity<TransactionResponse> secondPurchase = restTemplate.postForEntity("/transactions",
+                new TransactionRequest(existingAccountId, 1, new BigDecimal("300.00")), TransactionResponse.class);
+        assertThat(secondPurchase.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+    }
+
+    @Test
+    @DisplayName("Should create a new transaction for an Idempotency-Key that expired but was not swept yet")
+    void shouldReuseExpiredIdempotencyKey() {
+        final String key = UUID.randomUUID().toString();
+        // Committed on its own, outside the transaction of the test, so that the request sees it.
+        final TransactionTemplate ownTransaction = new TransactionTemplate(transactionManager);
+        ownTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        ownTransaction.executeWithoutResult(status -> idempotencyKeyRepository.save(new IdempotencyKey(key, -1L,
+                existingAccountId, 4, new BigDecimal("1.00"), LocalDateTime.now().minusMinutes(1))));
+        final HttpHeaders headers = new HttpHeaders();
+        headers.set("Idempotency-Key", key);
+
+        final ResponseEntity<TransactionResponse> response = restTemplate.postForEntity("/transactions",
+                new HttpEntity<>(new TransactionRequest(existingAccountId, 4, new BigDecimal("2.00")), headers),
+                TransactionResponse.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(response.getBody().transactionId()).isPositive();
+        assertThat(response.getBody().amount()).isEqualByComparingTo(new BigDecimal("2.00"));
+        final Optional<IdempotencyKey> storedKey =
+                ownTransaction.execute(status -> idempotencyKeyRepository.findById(key));
+        assertThat(storedKey).get()
+                .extracting(IdempotencyKey::getTransactionId).isEqualTo(response.getBody().transactionId());
+    }
+
+    @Test
+    @DisplayName("Should return the balance of an account before and after its transactions")
+    void shouldReturnBalanceAtPointInTime() {
+        final Long accountId = createTestAccount(generateUniqueDocNumber());
+        final LocalDateTime beforeTransactions = LocalDateTime.now().minusSeconds(1);
+        restTemplate.postForEntity("/transactions",
+                new TransactionRequest(accountId, 4, new BigDecimal("100.00")), TransactionResponse.class);
+        restTemplate.postForEntity("/transactions",
+                new TransactionRequest(accountId, 1, new BigDecimal("30.00")), TransactionResponse.class);
+
+        final ResponseEntity<AccountBalanceResponse> current =
+                restTemplate.getForEntity("/accounts/{accountId}/balance", AccountBalanceResponse.class, accountId);
+        final ResponseEntity<AccountBalanceResponse> past = restTemplate.getForEntity(
+                "/accounts/{accountId}/balance?at={at}", AccountBalanceResponse.class, accountId, beforeTransactions);
+
+        assertThat(current.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(current.getBody()).isNotNull();
+        assertThat(current.getBody().balance()).isEqualByComparingTo("70.00");
+        assertThat(past.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(past.getBody()).isNotNull();
+        assertThat(past.getBody().balance()).isEqualByComparingTo("0");
+    }
 }
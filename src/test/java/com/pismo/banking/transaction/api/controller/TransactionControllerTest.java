@@ -2,7 +2,11 @@ package com.pismo.banking.transaction.api.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.pismo.banking.common.exception.AccountNotFoundException;
+import com.pismo.banking.transaction.api.TransactionBatchService;
 import com.pismo.banking.transaction.api.TransactionService;
+import com.pismo.banking.transaction.api.dto.TransactionBatchItemResponse;
+import com.pismo.banking.transaction.api.dto.TransactionBatchRequest;
+import com.pismo.banking.transaction.api.dto.TransactionBatchResponse;
 import com.pismo.banking.transaction.api.dto.TransactionRequest;
 import com.pismo.banking.transaction.api.dto.TransactionResponse;
 import com.pismo.banking.transaction.internal.exception.InvalidOperationTypeException;
@@ -14,7 +18,11 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
+import java.util.List;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -31,6 +39,9 @@ class TransactionControllerTest {
     @MockitoBean
     private TransactionService transactionService;
 
+    @MockitoBean
+    private TransactionBatchService transactionBatchService;
+
     @Test
     void whenPostTransactionValid_thenReturnsCreatedTransaction() throws Exception {
         final Long account_id = 1L;
@@ -40,7 +51,7 @@ class TransactionControllerTest {
 
         final TransactionResponse mockResponse = new TransactionResponse(1L, account_id, operation_type_id, amount);
 
-        when(transactionService.createTransaction(request)).thenReturn(mockResponse);
+        when(transactionService.createTransaction(request, null)).thenReturn(mockResponse);
 
         mockMvc.perform(post("/transactions")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -58,7 +69,7 @@ class TransactionControllerTest {
         final BigDecimal amount = new BigDecimal(50.0);
         final TransactionRequest request = new TransactionRequest(nonExistentId, operation_type_id, amount);
 
-        when(transactionService.createTransaction(request))
+        when(transactionService.createTransaction(request, null))
                 .thenThrow(new AccountNotFoundException(nonExistentId));
 
         mockMvc.perform(post("/transactions")
@@ -76,7 +87,7 @@ class TransactionControllerTest {
         final BigDecimal amount = new BigDecimal(50.0);
         final TransactionRequest request = new TransactionRequest(nonExistentId, invalidOperationType, amount);
 
-        when(transactionService.createTransaction(request))
+        when(transactionService.createTransaction(request, null))
                 .thenThrow(new InvalidOperationTypeException(99));
 
         mockMvc.perform(post("/transactions")
@@ -96,7 +107,7 @@ class TransactionControllerTest {
         final BigDecimal amount = new BigDecimal("123.45");
         final TransactionRequest request = new TransactionRequest(account_id, operation_type_id, amount);
 
-        when(transactionService.createTransaction(request))
+        when(transactionService.createTransaction(request, null))
                 .thenThrow(new RuntimeException("Database error."));
 
         mockMvc.perform(post("/transactions")
@@ -108,4 +119,84 @@ class TransactionControllerTest {
                 .andExpect(jsonPath("$.timestamp").exists());
     }
 
-}
\ No newline at end of file
+    @Test
+    void whenPostTransactionWithIdempotencyKey_thenPassesKeyToService() throws Exception {
+        final TransactionRequest request = new TransactionRequest(1L, 4, new BigDecimal("123.45"));
+        final TransactionResponse mockResponse = new TransactionResponse(7L, 1L, 4, new BigDecimal("123.45"));
+
+        when(transactionService.createTransaction(request, "retry-key-1")).thenReturn(mockResponse);
+
+        mockMvc.perform(post("/transactions")
+                        .header("Idempotency-Key", "retry-key-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.transaction_id").value(7L));
+    }
+
+    @Test
+    void whenPostTransactionWithTooLongIdempotencyKey_thenReturnsBadRequest() throws Exception {
+        final TransactionRequest request = new TransactionRequest(1L, 4, new BigDecimal("123.45"));
+
+        mockMvc.perform(post("/transactions")
+                        .header("Idempotency-Key", "k".repeat(65))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message")
+                        .value("Validation failed: Idempotency-Key must be at most 64 characters"));
+
+        verify(transactionService, never()).createTransaction(any(), any());
+    }
+
+    @Test
+    void whenPostTransactionBatchValid_thenReturnsOutcomePerItem() throws Exception {
+        final TransactionRequest payment = new TransactionRequest(1L, 4, new BigDecimal("100.00"));
+        final TransactionRequest purchase = new TransactionRequest(1L, 1, new BigDecimal("5000.00"));
+        final TransactionBatchRequest request = new TransactionBatchRequest(List.of(payment, purchase));
+
+        when(transactionBatchService.createTransactions(request)).thenReturn(new TransactionBatchResponse(List.of(
+                new TransactionBatchItemResponse(0, TransactionBatchItemResponse.Status.CREATED,
+                        new TransactionResponse(1L, 1L, 4, new BigDecimal("100.00")), null),
+                new TransactionBatchItemResponse(1, TransactionBatchItemResponse.Status.REJECTED,
+                        null, "The Limit has exceeded"))));
+
+        mockMvc.perform(post("/transactions/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].index").value(0))
+                .andExpect(jsonPath("$.results[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.results[0].transaction.transaction_id").value(1L))
+                .andExpect(jsonPath("$.results[0].error_message").doesNotExist())
+                .andExpect(jsonPath("$.results[1].status").value("REJECTED"))
+                .andExpect(jsonPath("$.results[1].error_message").value("The Limit has exceeded"))
+                .andExpect(jsonPath("$.results[1].transaction").doesNotExist());
+    }
+
+    @Test
+    void whenPostTransactionBatchWithInvalidItem_thenRejectsWholeBatch() throws Exception {
+        final TransactionBatchRequest request = new TransactionBatchRequest(List.of(
+                new TransactionRequest(1L, 4, new BigDecimal("100.00")),
+                new TransactionRequest(1L, 99, new BigDecimal("100.00"))));
+
+        mockMvc.perform(post("/transactions/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.message").value(
+                        "Validation failed: transactions[1].operationTypeId: Operation type ID must be at most 4"));
+
+        verify(transactionBatchService, never()).createTransactions(any());
+    }
+
+    @Test
+    void whenPostEmptyTransactionBatch_thenReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/transactions/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TransactionBatchRequest(List.of()))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Validation failed: transactions: Transactions are required"));
+    }
+}
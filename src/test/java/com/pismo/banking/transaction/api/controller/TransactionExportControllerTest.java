@@ -0,0 +1,133 @@
+package com.pismo.banking.transaction.api.controller;
+
+import com.pismo.banking.common.exception.AccountNotFoundException;
+import com.pismo.banking.transaction.api.TransactionExportService;
+import com.pismo.banking.transaction.api.dto.TransactionExportFormat;
+import com.pismo.banking.transaction.api.dto.TransactionExportQuery;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(TransactionExportController.class)
+class TransactionExportControllerTest {
+
+    private static final String LINE = "{\"transaction_id\":8}\n";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private TransactionExportService transactionExportService;
+
+    @Test
+    void whenExportWithFilters_thenStreamsNdjson() throws Exception {
+        when(transactionExportService.exportTransactions(new TransactionExportQuery(1L,
+                LocalDateTime.of(2026, 1, 1, 0, 0), null, 7L, TransactionExportFormat.NDJSON)))
+                .thenReturn(outputStream -> outputStream.write(LINE.getBytes(StandardCharsets.UTF_8)));
+
+        final MvcResult result = mockMvc.perform(get("/transactions/export")
+                        .param("account_id", "1")
+                        .param("from", "2026-01-01T00:00:00")
+                        .param("after_id", "7"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/x-ndjson"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"transactions.ndjson\""))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().string(LINE));
+    }
+
+    @Test
+    void whenExportAcceptsGzip_thenStreamsCompressedCsv() throws Exception {
+        when(transactionExportService.exportTransactions(new TransactionExportQuery(null, null, null, null,
+                TransactionExportFormat.CSV)))
+                .thenReturn(outputStream -> outputStream.write(LINE.getBytes(StandardCharsets.UTF_8)));
+
+        final MvcResult result = mockMvc.perform(get("/transactions/export")
+                        .param("format", "CSV")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        final byte[] body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "text/csv"))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+        try (GZIPInputStream inflated = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertThat(new String(inflated.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(LINE);
+        }
+    }
+
+    @Test
+    void whenExportRefusesGzip_thenStreamsUncompressed() throws Exception {
+        when(transactionExportService.exportTransactions(any()))
+                .thenReturn(outputStream -> outputStream.write(LINE.getBytes(StandardCharsets.UTF_8)));
+
+        final MvcResult result = mockMvc.perform(get("/transactions/export")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, identity"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().string(LINE));
+    }
+
+    @Test
+    void whenAcceptEncodingHasWeights_thenGzipFollowsThem() {
+        assertThat(TransactionExportController.acceptsGzip("gzip")).isTrue();
+        assertThat(TransactionExportController.acceptsGzip("deflate, GZIP;q=0.5")).isTrue();
+        assertThat(TransactionExportController.acceptsGzip("*")).isTrue();
+        assertThat(TransactionExportController.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(TransactionExportController.acceptsGzip("gzip; q=0.000, *")).isFalse();
+        assertThat(TransactionExportController.acceptsGzip("*;q=0")).isFalse();
+        assertThat(TransactionExportController.acceptsGzip("identity, deflate")).isFalse();
+        assertThat(TransactionExportController.acceptsGzip("gzipped")).isFalse();
+    }
+
+    @Test
+    void whenExportUnknownAccount_thenReturnsNotFound() throws Exception {
+        when(transactionExportService.exportTransactions(any())).thenThrow(new AccountNotFoundException(99L));
+
+        mockMvc.perform(get("/transactions/export").param("account_id", "99"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Account with id 99 not found"));
+    }
+
+    @Test
+    void whenExportUnknownFormat_thenReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/transactions/export").param("format", "XML"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Validation failed: format: Invalid value XML"));
+
+        verify(transactionExportService, never()).exportTransactions(any());
+    }
+}
@@ -0,0 +1,139 @@
+package com.pismo.banking.transaction.api.controller;
+
+import com.pismo.banking.account.internal.model.Account;
+import com.pismo.banking.account.internal.repository.AccountRepository;
+import com.pismo.banking.common.money.Money;
+import com.pismo.banking.transaction.internal.model.OperationType;
+import com.pismo.banking.transaction.internal.model.Transaction;
+import com.pismo.banking.transaction.internal.repository.TransactionRepository;
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark for the streamed transaction export of a large account.
+ *
+ * <p>Downloads the gzip-compressed NDJSON export of the account over HTTP, checks that every transaction
+ * arrives once and in ID order, then resumes the export halfway through and checks that exactly the remaining
+ * transactions follow. Prints the export throughput and the compression ratio.</p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@DisplayName("Transaction Export Benchmark")
+class TransactionExportIT {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionExportIT.class);
+    private static final int TRANSACTIONS = 50_000;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @Test
+    void shouldStreamAndResumeLargeExport() throws Exception {
+        final Long accountId = accountRepository.saveAndFlush(
+                new Account(null, String.valueOf(RandomUtils.nextLong(10000000000L, 99999999999L)))).getAccountId();
+        final LocalDateTime start = LocalDateTime.of(2026, 1, 1, 0, 0);
+        final List<Transaction> transactions = new ArrayList<>(TRANSACTIONS);
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            transactions.add(new Transaction(null, accountId, OperationType.PAYMENT, new Money(1234),
+                    start.plusSeconds(i), new Money(1234L * (i + 1))));
+        }
+        transactionRepository.saveAll(transactions);
+
+        final long exportStart = System.nanoTime();
+        final HttpResponse<InputStream> response = httpClient.send(HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + "/transactions/export?account_id=" + accountId))
+                        .header("Accept-Encoding", "gzip")
+                        .build(),
+                HttpResponse.BodyHandlers.ofInputStream());
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        final CountingInputStream compressed = new CountingInputStream(response.body());
+        final List<Long> exportedIds = readIds(new GZIPInputStream(compressed));
+        final long exportNanos = System.nanoTime() - exportStart;
+
+        assertThat(exportedIds).hasSize(TRANSACTIONS).isSorted().doesNotHaveDuplicates();
+
+        final Long resumeAfter = exportedIds.get(TRANSACTIONS / 2 - 1);
+        final HttpResponse<InputStream> resumed = httpClient.send(HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + "/transactions/export?account_id=" + accountId
+                                + "&after_id=" + resumeAfter))
+                        .build(),
+                HttpResponse.BodyHandlers.ofInputStream());
+        assertThat(readIds(resumed.body())).isEqualTo(exportedIds.subList(TRANSACTIONS / 2, TRANSACTIONS));
+
+        log.info(String.format("transactions=%d throughput=%.0f rows/s compressed=%d bytes (%.1f bytes/row)",
+                TRANSACTIONS, TRANSACTIONS / (exportNanos / 1e9), compressed.count,
+                (double) compressed.count / TRANSACTIONS));
+    }
+
+    private static List<Long> readIds(final InputStream body) throws IOException {
+        final List<Long> ids = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                assertThat(line).startsWith("{\"transaction_id\":").endsWith("}");
+                ids.add(Long.valueOf(line.substring("{\"transaction_id\":".length(), line.indexOf(','))));
+            }
+        }
+        return ids;
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        private CountingInputStream(final InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int read = super.read();
+            if (read >= 0) {
+                count++;
+            }
+            return read;
+        }
+
+        @Override
+        public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+            final int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+    }
+}
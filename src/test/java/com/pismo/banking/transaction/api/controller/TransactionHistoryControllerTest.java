@@ -0,0 +1,136 @@
+package com.pismo.banking.transaction.api.controller;
+
+import com.pismo.banking.common.exception.AccountNotFoundException;
+import com.pismo.banking.transaction.api.TransactionHistoryService;
+import com.pismo.banking.transaction.api.dto.AccountBalanceResponse;
+import com.pismo.banking.transaction.api.dto.TransactionHistoryItemResponse;
+import com.pismo.banking.transaction.api.dto.TransactionHistoryQuery;
+import com.pismo.banking.transaction.api.dto.TransactionHistoryResponse;
+import com.pismo.banking.transaction.internal.exception.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(TransactionHistoryController.class)
+class TransactionHistoryControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private TransactionHistoryService transactionHistoryService;
+
+    @Test
+    void whenGetTransactionsWithFilters_thenReturnsPageWithNextCursor() throws Exception {
+        final LocalDateTime from = LocalDateTime.of(2026, 1, 1, 0, 0);
+        final LocalDateTime to = LocalDateTime.of(2026, 2, 1, 0, 0);
+        when(transactionHistoryService.getTransactions(new TransactionHistoryQuery(1L, 4, from, to, "abc", 2)))
+                .thenReturn(new TransactionHistoryResponse(List.of(
+                        new TransactionHistoryItemResponse(9L, 4, new BigDecimal("10.00"),
+                                LocalDateTime.of(2026, 1, 20, 10, 30)),
+                        new TransactionHistoryItemResponse(7L, 4, new BigDecimal("25.00"),
+                                LocalDateTime.of(2026, 1, 18, 8, 0))), "def"));
+
+        mockMvc.perform(get("/accounts/{accountId}/transactions", 1L)
+                        .param("operation_type_id", "4")
+                        .param("from", "2026-01-01T00:00:00")
+                        .param("to", "2026-02-01T00:00:00")
+                        .param("cursor", "abc")
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transactions[0].transaction_id").value(9L))
+                .andExpect(jsonPath("$.transactions[0].operation_type_id").value(4))
+                .andExpect(jsonPath("$.transactions[0].event_date").value("2026-01-20T10:30:00"))
+                .andExpect(jsonPath("$.transactions[1].transaction_id").value(7L))
+                .andExpect(jsonPath("$.next_cursor").value("def"));
+    }
+
+    @Test
+    void whenGetLastPage_thenOmitsNextCursor() throws Exception {
+        when(transactionHistoryService.getTransactions(new TransactionHistoryQuery(1L, null, null, null, null, 50)))
+                .thenReturn(new TransactionHistoryResponse(List.of(), null));
+
+        mockMvc.perform(get("/accounts/{accountId}/transactions", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transactions").isEmpty())
+                .andExpect(jsonPath("$.next_cursor").doesNotExist());
+    }
+
+    @Test
+    void whenGetTransactionsWithLimitTooLarge_thenReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/accounts/{accountId}/transactions", 1L).param("limit", "501"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Validation failed: Limit must be at most 500"));
+
+        verify(transactionHistoryService, never()).getTransactions(any());
+    }
+
+    @Test
+    void whenGetTransactionsWithMalformedDate_thenReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/accounts/{accountId}/transactions", 1L).param("from", "yesterday"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Validation failed: from: Invalid value yesterday"));
+
+        verify(transactionHistoryService, never()).getTransactions(any());
+    }
+
+    @Test
+    void whenGetTransactionsWithInvalidCursor_thenReturnsBadRequest() throws Exception {
+        when(transactionHistoryService.getTransactions(any())).thenThrow(new InvalidCursorException("abc"));
+
+        mockMvc.perform(get("/accounts/{accountId}/transactions", 1L).param("cursor", "abc"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Cursor abc is invalid."));
+    }
+
+    @Test
+    void whenGetTransactionsOfUnknownAccount_thenReturnsNotFound() throws Exception {
+        when(transactionHistoryService.getTransactions(any())).thenThrow(new AccountNotFoundException(99L));
+
+        mockMvc.perform(get("/accounts/{accountId}/transactions", 99L))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Account with id 99 not found"));
+    }
+
+    @Test
+    void whenGetBalanceAtInstant_thenReturnsBalance() throws Exception {
+        final LocalDateTime at = LocalDateTime.of(2026, 1, 15, 12, 0);
+        when(transactionHistoryService.getBalanceAt(1L, at))
+                .thenReturn(new AccountBalanceResponse(1L, new BigDecimal("42.50"), at));
+
+        mockMvc.perform(get("/accounts/{accountId}/balance", 1L).param("at", "2026-01-15T12:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.account_id").value(1L))
+                .andExpect(jsonPath("$.balance").value(42.50))
+                .andExpect(jsonPath("$.at").value("2026-01-15T12:00:00"));
+    }
+
+    @Test
+    void whenGetBalanceWithoutInstant_thenReadsCurrentBalance() throws Exception {
+        final LocalDateTime before = LocalDateTime.now();
+        when(transactionHistoryService.getBalanceAt(eq(1L), any()))
+                .thenAnswer(invocation -> new AccountBalanceResponse(1L, BigDecimal.TEN, invocation.getArgument(1)));
+
+        mockMvc.perform(get("/accounts/{accountId}/balance", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(10));
+
+        verify(transactionHistoryService).getBalanceAt(eq(1L), argThat(at -> !at.isBefore(before)));
+    }
+}
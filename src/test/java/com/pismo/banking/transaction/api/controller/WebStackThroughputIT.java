@@ -0,0 +1,208 @@
+package com.pismo.banking.transaction.api.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pismo.banking.CustomerBankingApplication;
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark of the servlet stack (Spring MVC on Tomcat with JPA) against the reactive stack (WebFlux on Netty with
+ * R2DBC, the {@code reactive} profile).
+ *
+ * <p>Starts the application twice on random ports, once per stack, on the same in-memory database, and checks that
+ * the reactive endpoints follow the rules of the servlet ones. Then posts the same transactions to each stack over
+ * many more connections than Tomcat has threads and measures each request from its submission. Prints the
+ * throughput, the p50 and p99 latencies and the number of server threads that served the requests. Note that the
+ * H2 R2DBC driver runs its statements on the calling thread, so unlike a networked database the reactive numbers
+ * include the database work done on the event loops.</p>
+ */
+@DisplayName("Web Stack Throughput Benchmark")
+class WebStackThroughputIT {
+
+    private static final Logger log = LoggerFactory.getLogger(WebStackThroughputIT.class);
+    private static final int CONNECTIONS = 1000;
+    private static final int REQUESTS = 5000;
+    private static final int ACCOUNTS = 500;
+
+    private static ConfigurableApplicationContext servletApplication;
+    private static ConfigurableApplicationContext reactiveApplication;
+
+    private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeAll
+    static void startApplications() {
+        servletApplication = new SpringApplicationBuilder(CustomerBankingApplication.class)
+                .profiles("test")
+                .run("--server.port=0");
+        // The test profile comes last so that its in-memory database wins over the one of the reactive profile.
+        reactiveApplication = new SpringApplicationBuilder(CustomerBankingApplication.class)
+                .profiles("reactive", "test")
+                .run("--server.port=0");
+    }
+
+    @AfterAll
+    static void stopApplications() {
+        reactiveApplication.close();
+        servletApplication.close();
+    }
+
+    @Test
+    void shouldServeTheSameRulesOnTheReactiveStack() throws Exception {
+        final URI reactive = baseUri(reactiveApplication);
+        final long accountId = createAccount(reactive);
+
+        assertThat(send(get(reactive.resolve("/accounts/" + accountId))).statusCode()).isEqualTo(200);
+        assertThat(send(post(reactive.resolve("/accounts"), "{\"document_number\": \"12\"}")).statusCode())
+                .isEqualTo(400);
+        assertThat(send(postTransaction(reactive, accountId, 1, "1000.01", null)).statusCode()).isEqualTo(400);
+        assertThat(send(postTransaction(reactive, Long.MAX_VALUE, 4, "1.00", null)).statusCode()).isEqualTo(404);
+
+        final String idempotencyKey = UUID.randomUUID().toString();
+        final HttpResponse<String> created = send(postTransaction(reactive, accountId, 1, "250.00", idempotencyKey));
+        final HttpResponse<String> replayed = send(postTransaction(reactive, accountId, 1, "250.00", idempotencyKey));
+        assertThat(created.statusCode()).isEqualTo(201);
+        assertThat(json(replayed).get("transaction_id")).isEqualTo(json(created).get("transaction_id"));
+        assertThat(json(created).get("amount").decimalValue()).isEqualByComparingTo("-250.00");
+
+        // The servlet stack reads what the reactive one wrote.
+        final JsonNode summary = json(send(get(baseUri(servletApplication).resolve(
+                "/accounts/" + accountId + "/summary"))));
+        assertThat(summary.get("balance").decimalValue()).isEqualByComparingTo("-250.00");
+        assertThat(summary.get("available_limit").decimalValue()).isEqualByComparingTo("750.00");
+    }
+
+    @Test
+    void shouldCompareThroughputAndTailLatency() throws Exception {
+        final URI servlet = baseUri(servletApplication);
+        final URI reactive = baseUri(reactiveApplication);
+        final List<Long> accountIds = new ArrayList<>(ACCOUNTS);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accountIds.add(createAccount(i % 2 == 0 ? servlet : reactive));
+        }
+        run(servlet, accountIds, ACCOUNTS);
+        run(reactive, accountIds, ACCOUNTS);
+
+        final Result servletResult = run(servlet, accountIds, REQUESTS);
+        final Result reactiveResult = run(reactive, accountIds, REQUESTS);
+        final long tomcatThreads = countThreads("http-nio-");
+        final long nettyThreads = countThreads("reactor-http-");
+
+        log.info(String.format("stack=servlet connections=%d requests=%d throughput=%.0f tx/s p50=%.1f ms p99=%.1f ms "
+                        + "server-threads=%d", CONNECTIONS, REQUESTS, servletResult.throughput(),
+                servletResult.p50Millis(), servletResult.p99Millis(), tomcatThreads));
+        log.info(String.format("stack=reactive connections=%d requests=%d throughput=%.0f tx/s p50=%.1f ms p99=%.1f ms "
+                        + "server-threads=%d", CONNECTIONS, REQUESTS, reactiveResult.throughput(),
+                reactiveResult.p50Millis(), reactiveResult.p99Millis(), nettyThreads));
+
+        // Every account received one payment of 1.00 per account and run, from the warm-ups and the measured runs.
+        final BigDecimal expectedBalance = BigDecimal.valueOf(2 + 2L * REQUESTS / ACCOUNTS);
+        assertThat(json(send(get(reactive.resolve("/accounts/" + accountIds.getFirst() + "/summary"))))
+                .get("balance").decimalValue()).isEqualByComparingTo(expectedBalance);
+    }
+
+    private Result run(final URI baseUri, final List<Long> accountIds, final int requests) throws Exception {
+        final long[] latencies = new long[requests];
+        final Semaphore connections = new Semaphore(CONNECTIONS);
+        final List<CompletableFuture<Integer>> statuses = new ArrayList<>(requests);
+        final long startNanos = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            final int request = i;
+            connections.acquire();
+            final long submittedNanos = System.nanoTime();
+            statuses.add(httpClient.sendAsync(
+                            postTransaction(baseUri, accountIds.get(request % accountIds.size()), 4, "1.00", null),
+                            HttpResponse.BodyHandlers.discarding())
+                    .thenApply(response -> {
+                        latencies[request] = System.nanoTime() - submittedNanos;
+                        return response.statusCode();
+                    })
+                    .whenComplete((status, failure) -> connections.release()));
+        }
+        for (CompletableFuture<Integer> status : statuses) {
+            assertThat(status.get()).isEqualTo(201);
+        }
+        final long elapsedNanos = System.nanoTime() - startNanos;
+        Arrays.sort(latencies);
+        return new Result(requests / (elapsedNanos / 1e9), latencies[requests / 2] / 1e6,
+                latencies[(int) Math.ceil(requests * 0.99) - 1] / 1e6);
+    }
+
+    private long createAccount(final URI baseUri) throws Exception {
+        final HttpResponse<String> response = send(post(baseUri.resolve("/accounts"),
+                "{\"document_number\": \"%d\"}".formatted(RandomUtils.nextLong(10000000000L, 99999999999L))));
+        assertThat(response.statusCode()).as(response::body).isEqualTo(201);
+        final long accountId = json(response).get("account_id").asLong();
+        assertThat(response.headers().firstValue("Location")).hasValueSatisfying(
+                location -> assertThat(location).endsWith("/accounts/" + accountId));
+        return accountId;
+    }
+
+    private static HttpRequest postTransaction(final URI baseUri, final long accountId, final int operationTypeId,
+                                               final String amount, final String idempotencyKey) {
+        final HttpRequest.Builder request = HttpRequest.newBuilder(baseUri.resolve("/transactions"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"account_id\": %d, \"operation_type_id\": %d, \"amount\": %s}"
+                                .formatted(accountId, operationTypeId, amount)));
+        if (idempotencyKey != null) {
+            request.header("Idempotency-Key", idempotencyKey);
+        }
+        return request.build();
+    }
+
+    private static HttpRequest post(final URI uri, final String body) {
+        return HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static HttpRequest get(final URI uri) {
+        return HttpRequest.newBuilder(uri).header("Accept", "application/json").GET().build();
+    }
+
+    private HttpResponse<String> send(final HttpRequest request) throws Exception {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private JsonNode json(final HttpResponse<String> response) throws Exception {
+        return objectMapper.readTree(response.body());
+    }
+
+    private static URI baseUri(final ConfigurableApplicationContext application) {
+        return URI.create("http://localhost:" + application.getEnvironment().getProperty("local.server.port"));
+    }
+
+    private static long countThreads(final String namePrefix) {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().startsWith(namePrefix))
+                .count();
+    }
+
+    private record Result(double throughput, double p50Millis, double p99Millis) {
+    }
+}
@@ -0,0 +1,96 @@
+package com.pismo.banking.transaction.internal.concurrency;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("MPSC Ring Buffer Unit Tests")
+class MpscRingBufferTest {
+
+    @Test
+    @DisplayName("Should round the capacity up to a power of two and reject a non-positive one")
+    void testCapacityRoundedToPowerOfTwo() {
+        assertThat(new MpscRingBuffer<>(1).capacity()).isEqualTo(1);
+        assertThat(new MpscRingBuffer<>(1000).capacity()).isEqualTo(1024);
+        assertThatThrownBy(() -> new MpscRingBuffer<>(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Ring buffer capacity must be between 1 and");
+    }
+
+    @Test
+    @DisplayName("Should hand out elements in order and refuse new ones while full")
+    void testFifoAndFull() {
+        final MpscRingBuffer<Integer> ringBuffer = new MpscRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(ringBuffer.offer(i)).isTrue();
+        }
+        assertThat(ringBuffer.offer(4)).isFalse();
+        assertThat(ringBuffer.size()).isEqualTo(4);
+
+        assertThat(ringBuffer.poll()).isEqualTo(0);
+        assertThat(ringBuffer.offer(4)).isTrue();
+        final List<Integer> drained = new ArrayList<>();
+        assertThat(ringBuffer.drainTo(drained, 3)).isEqualTo(3);
+        assertThat(drained).containsExactly(1, 2, 3);
+        assertThat(ringBuffer.poll()).isEqualTo(4);
+        assertThat(ringBuffer.poll()).isNull();
+        assertThat(ringBuffer.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should deliver every element of concurrent producers once, in each producer's order")
+    void testConcurrentProducers() throws Exception {
+        final int producers = 4;
+        final int perProducer = 50_000;
+        final MpscRingBuffer<long[]> ringBuffer = new MpscRingBuffer<>(64);
+        final CountDownLatch start = new CountDownLatch(1);
+
+        final int[] lastSeen = new int[producers];
+        Arrays.fill(lastSeen, -1);
+        try (ExecutorService executor = Executors.newFixedThreadPool(producers)) {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                final int producer = p;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perProducer; i++) {
+                        final long[] element = {producer, i};
+                        while (!ringBuffer.offer(element)) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            int received = 0;
+            while (received < producers * perProducer) {
+                final long[] element = ringBuffer.poll();
+                if (element == null) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+                final int producer = (int) element[0];
+                assertThat(element[1]).isEqualTo(lastSeen[producer] + 1);
+                lastSeen[producer] = (int) element[1];
+                received++;
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        assertThat(lastSeen).containsOnly(perProducer - 1);
+        assertThat(ringBuffer.poll()).isNull();
+    }
+}
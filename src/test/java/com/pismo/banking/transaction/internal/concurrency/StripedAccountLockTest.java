@@ -0,0 +1,96 @@
+package com.pismo.banking.transaction.internal.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Striped Account Lock Unit Tests")
+class StripedAccountLockTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Should round the configured stripe count up to a power of two")
+    void testStripeCountRoundedToPowerOfTwo() {
+        assertThat(new StripedAccountLock(1, meterRegistry).stripeCount()).isEqualTo(1);
+        assertThat(new StripedAccountLock(48, new SimpleMeterRegistry()).stripeCount()).isEqualTo(64);
+        assertThat(new StripedAccountLock(64, new SimpleMeterRegistry()).stripeCount()).isEqualTo(64);
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive stripe count")
+    void testInvalidStripeCount() {
+        assertThatThrownBy(() -> new StripedAccountLock(0, meterRegistry))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Lock stripe count must be between 1 and");
+    }
+
+    @Test
+    @DisplayName("Should spread sequential account IDs over different stripes")
+    void testSequentialIdsSpreadOverStripes() {
+        final StripedAccountLock lock = new StripedAccountLock(16, meterRegistry);
+
+        final long distinctStripes = LongStream.rangeClosed(1, 16)
+                .map(lock::stripeOf)
+                .distinct()
+                .count();
+
+        assertThat(distinctStripes).isGreaterThan(8);
+    }
+
+    @Test
+    @DisplayName("Should not run the action while another thread holds the stripe and record the contention")
+    void testHeldStripeIsNotEntered() throws Exception {
+        final StripedAccountLock lock = new StripedAccountLock(1, meterRegistry);
+        final CountDownLatch holding = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final CompletableFuture<Boolean> holder = CompletableFuture.supplyAsync(() -> lock.tryRunWithLock(1L, () -> {
+            holding.countDown();
+            awaitQuietly(release);
+        }));
+        assertThat(holding.await(5, TimeUnit.SECONDS)).isTrue();
+
+        final boolean[] ran = {false};
+        assertThat(lock.tryRunWithLock(2L, () -> ran[0] = true)).isFalse();
+        assertThat(ran[0]).isFalse();
+
+        release.countDown();
+        assertThat(holder.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(lock.tryRunWithLock(2L, () -> ran[0] = true)).isTrue();
+        assertThat(ran[0]).isTrue();
+
+        assertThat(meterRegistry.get("banking.transactions.stripe.acquisitions").tag("stripe", "0")
+                .counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("banking.transactions.stripe.contended").tag("stripe", "0")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should release the stripe when the action throws")
+    void testLockReleasedOnException() {
+        final StripedAccountLock lock = new StripedAccountLock(4, meterRegistry);
+
+        assertThatThrownBy(() -> lock.tryRunWithLock(7L, () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(lock.tryRunWithLock(7L, () -> { })).isTrue();
+    }
+
+    private static void awaitQuietly(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.pismo.banking.transaction.internal.journal;
+
+import com.pismo.banking.common.money.Money;
+import com.pismo.banking.transaction.internal.model.OperationType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Journal File Unit Tests")
+class JournalFileTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("Should read back the appended entries once they are durable")
+    void testAppendSyncRead() throws IOException {
+        try (JournalFile journalFile = new JournalFile(directory, 1024 * 1024, 0)) {
+            final long offset = journalFile.append(List.of(entry(1, "-7.50", "key-1"), entry(2, "10.00", null)));
+
+            assertThat(journalFile.read(0, 10).entries()).isEmpty();
+            journalFile.sync(offset);
+
+            final JournalFile.JournalChunk chunk = journalFile.read(0, 10);
+            assertThat(chunk.entries()).containsExactly(entry(1, "-7.50", "key-1"), entry(2, "10.00", null));
+            assertThat(chunk.endOffset()).isEqualTo(offset);
+            assertThat(journalFile.read(0, 1).entries()).containsExactly(entry(1, "-7.50", "key-1"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should cover every record written so far with one fsync")
+    void testSharedSync() throws IOException {
+        try (JournalFile journalFile = new JournalFile(directory, 1024 * 1024, 0)) {
+            final long first = journalFile.append(List.of(entry(1, "1.00", null)));
+            final long second = journalFile.append(List.of(entry(2, "2.00", null)));
+
+            journalFile.sync(first);
+            journalFile.sync(second);
+
+            assertThat(journalFile.syncCount()).isEqualTo(1);
+            assertThat(journalFile.durableOffset()).isEqualTo(second);
+        }
+    }
+
+    @Test
+    @DisplayName("Should cut off a torn record and keep the offsets when reopened")
+    void testRecoversFromTornRecord() throws IOException {
+        final long offset;
+        try (JournalFile journalFile = new JournalFile(directory, 1024 * 1024, 500)) {
+            offset = journalFile.append(List.of(entry(1, "1.00", null)));
+            journalFile.sync(offset);
+        }
+        final Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0, 0, 0, 42, 1, 2, 3}));
+        }
+
+        try (JournalFile journalFile = new JournalFile(directory, 1024 * 1024, 0)) {
+            assertThat(journalFile.startOffset()).isEqualTo(500);
+            assertThat(journalFile.durableOffset()).isEqualTo(offset);
+            final long next = journalFile.append(List.of(entry(2, "2.00", null)));
+            journalFile.sync(next);
+            assertThat(journalFile.read(500, 10).entries())
+                    .containsExactly(entry(1, "1.00", null), entry(2, "2.00", null));
+        }
+    }
+
+    @Test
+    @DisplayName("Should not replay the records of a failed sync once reopened")
+    void testDropsRecordsOfFailedSync() throws IOException {
+        final AtomicBoolean failForce = new AtomicBoolean();
+        final long durable;
+        try (JournalFile journalFile = new JournalFile(directory, 1024 * 1024, 0) {
+            @Override
+            void force(final FileChannel segment) throws IOException {
+                if (failForce.get()) {
+                    throw new IOException("Input/output error");
+                }
+                super.force(segment);
+            }
+        }) {
+            durable = journalFile.append(List.of(entry(1, "1.00", null)));
+            journalFile.sync(durable);
+            failForce.set(true);
+            final long failed = journalFile.append(List.of(entry(2, "2.00", "key-2")));
+
+            assertThatThrownBy(() -> journalFile.sync(failed)).isInstanceOf(UncheckedIOException.class);
+            assertThatThrownBy(() -> journalFile.append(List.of(entry(3, "3.00", null))))
+                    .isInstanceOf(IllegalStateException.class);
+        }
+
+        try (JournalFile journalFile = new JournalFile(directory, 1024 * 1024, 0)) {
+            assertThat(journalFile.durableOffset()).isEqualTo(durable);
+            assertThat(journalFile.read(0, 10).entries()).containsExactly(entry(1, "1.00", null));
+            final long next = journalFile.append(List.of(entry(4, "4.00", null)));
+            journalFile.sync(next);
+            assertThat(journalFile.read(0, 10).entries())
+                    .containsExactly(entry(1, "1.00", null), entry(4, "4.00", null));
+        }
+        assertThat(directory.resolve("journal.fence")).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Should start new segments and delete the ones that were fully read")
+    void testRollsAndDeletesSegments() throws IOException {
+        try (JournalFile journalFile = new JournalFile(directory, 100, 0)) {
+            long offset = 0;
+            for (int i = 1; i <= 5; i++) {
+                offset = journalFile.append(List.of(entry(i, "1.00", null)));
+            }
+            journalFile.sync(offset);
+            assertThat(segmentCount()).isEqualTo(5);
+
+            final JournalFile.JournalChunk firstThree = journalFile.read(0, 3);
+            assertThat(firstThree.entries()).extracting(JournalEntry::transactionId).containsExactly(1L, 2L, 3L);
+            journalFile.deleteBefore(firstThree.endOffset());
+
+            assertThat(segmentCount()).isEqualTo(2);
+            assertThat(journalFile.startOffset()).isEqualTo(firstThree.endOffset());
+            assertThat(journalFile.read(firstThree.endOffset(), 10).entries())
+                    .extracting(JournalEntry::transactionId).containsExactly(4L, 5L);
+        }
+    }
+
+    @Test
+    @DisplayName("Should give a new journal directory a name of its own and keep it")
+    void testNameOfNewDirectory() throws IOException {
+        final Path first = directory.resolve("first");
+        final String name = JournalFile.nameOf(first);
+
+        assertThat(name).startsWith("journal-").isNotEqualTo(JournalFile.nameOf(directory.resolve("second")));
+        assertThat(JournalFile.nameOf(first)).isEqualTo(name);
+    }
+
+    @Test
+    @DisplayName("Should keep the original checkpoint name for a directory written before journals were named")
+    void testNameOfUnnamedDirectory() throws IOException {
+        try (JournalFile journalFile = new JournalFile(directory, 1024 * 1024, 0)) {
+            journalFile.sync(journalFile.append(List.of(entry(1, "1.00", null))));
+        }
+
+        assertThat(JournalFile.nameOf(directory)).isEqualTo(JournalFile.UNNAMED_JOURNAL);
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private static JournalEntry entry(final long transactionId, final String amount, final String idempotencyKey) {
+        final Money signedAmount = Money.of(new BigDecimal(amount));
+        return new JournalEntry(transactionId, 1L,
+                signedAmount.isNegative() ? OperationType.PURCHASE : OperationType.PAYMENT,
+                signedAmount, signedAmount, LocalDateTime.of(2026, 1, 2, 3, 4, 5, 600_000_000), idempotencyKey);
+    }
+}
@@ -0,0 +1,142 @@
+package com.pismo.banking.transaction.internal.journal;
+
+import com.pismo.banking.account.api.AccountService;
+import com.pismo.banking.common.exception.AccountNotFoundException;
+import com.pismo.banking.common.money.Money;
+import com.pismo.banking.transaction.api.dto.TransactionResponse;
+import com.pismo.banking.transaction.internal.model.IdempotencyKey;
+import com.pismo.banking.transaction.internal.model.OperationType;
+import com.pismo.banking.transaction.internal.repository.JournalProjectionRepository;
+import com.pismo.banking.transaction.internal.service.IdempotencyKeyStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Journal Projector Unit Tests")
+class JournalProjectorTest {
+
+    private static final String JOURNAL_NAME = "journal-test";
+    private static final LocalDateTime EVENT_DATE = LocalDateTime.of(2026, 1, 2, 3, 4, 5);
+
+    @TempDir
+    private Path directory;
+
+    private final JournalProjectionRepository projectionRepository = mock(JournalProjectionRepository.class);
+    private final AccountService accountService = mock(AccountService.class);
+    private final IdempotencyKeyStore idempotencyKeyStore = mock(IdempotencyKeyStore.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    @Test
+    @DisplayName("Should replay only the entries after the applied offset of a reopened journal")
+    void testReplaysFromAppliedOffset() throws IOException {
+        final long appliedOffset;
+        final long endOffset;
+        try (JournalFile journalFile = new JournalFile(directory, 1024 * 1024, 0)) {
+            appliedOffset = journalFile.append(List.of(entry(1, 1L, "-5.00", null)));
+            endOffset = journalFile.append(List.of(entry(2, 1L, "-2.50", "key-2"), entry(3, 2L, "4.00", null),
+                    entry(4, 1L, "1.00", null)));
+            journalFile.sync(endOffset);
+        }
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        final IdempotencyKey storedKey = mock(IdempotencyKey.class);
+        when(idempotencyKeyStore.toEntity(eq("key-2"), any(TransactionResponse.class))).thenReturn(storedKey);
+
+        try (JournalFile journalFile = new JournalFile(directory, 1024 * 1024, 0)) {
+            final JournalProjector projector = projector(journalFile, appliedOffset);
+
+            assertThat(projector.catchUp()).isEqualTo(3);
+
+            assertThat(projector.appliedOffset()).isEqualTo(endOffset);
+            verify(projectionRepository, times(1)).insertTransactions(List.of(entry(2, 1L, "-2.50", "key-2"),
+                    entry(3, 2L, "4.00", null), entry(4, 1L, "1.00", null)));
+            verify(accountService, times(1)).applyBalanceChange(1L, new Money(-150), EVENT_DATE);
+            verify(accountService, times(1)).applyBalanceChange(2L, new Money(400), EVENT_DATE);
+            verify(idempotencyKeyStore, times(1)).saveAllAbsent(List.of(storedKey));
+            verify(projectionRepository, times(1))
+                    .advanceAppliedOffset(JOURNAL_NAME, appliedOffset, endOffset);
+            verify(transactionManager, times(1)).commit(any());
+        }
+    }
+
+    @Test
+    @DisplayName("Should park an entry that fails on its own and apply the entries around it")
+    void testParksPoisonEntry() throws IOException {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        final AccountNotFoundException poison = new AccountNotFoundException(2L);
+        when(accountService.applyBalanceChange(eq(2L), any(), any())).thenThrow(poison);
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        try (JournalFile journalFile = new JournalFile(directory, 1024 * 1024, 0)) {
+            final long first = journalFile.append(List.of(entry(1, 1L, "-5.00", null)));
+            final long second = journalFile.append(List.of(entry(2, 2L, "-1.00", null)));
+            final long third = journalFile.append(List.of(entry(3, 1L, "2.00", null)));
+            journalFile.sync(third);
+            final JournalProjector projector = new JournalProjector(journalFile, JOURNAL_NAME, projectionRepository,
+                    accountService, idempotencyKeyStore, new TransactionTemplate(transactionManager), 10, 2, 0,
+                    meterRegistry);
+
+            assertThat(projector.projectNext()).isEqualTo(3);
+
+            assertThat(projector.appliedOffset()).isEqualTo(third);
+            verify(accountService, times(3)).applyBalanceChange(eq(2L), any(), any());
+            verify(projectionRepository, times(1)).insertDeadLetter(JOURNAL_NAME, first, entry(2, 2L, "-1.00", null),
+                    poison);
+            verify(projectionRepository, times(1)).advanceAppliedOffset(JOURNAL_NAME, 0, first);
+            verify(projectionRepository, times(1)).advanceAppliedOffset(JOURNAL_NAME, first, second);
+            verify(projectionRepository, times(1)).advanceAppliedOffset(JOURNAL_NAME, second, third);
+            assertThat(meterRegistry.get("banking.transactions.journal.dead-letters").counter().count())
+                    .isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep the applied offset of an entry that could neither be applied nor parked")
+    void testKeepsOffsetOfFailedBatch() throws IOException {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        doThrow(new IllegalStateException("Connection reset")).when(projectionRepository).insertTransactions(any());
+        doThrow(new IllegalStateException("Connection reset")).when(projectionRepository)
+                .insertDeadLetter(any(), anyLong(), any(), any());
+
+        try (JournalFile journalFile = new JournalFile(directory, 1024 * 1024, 0)) {
+            journalFile.sync(journalFile.append(List.of(entry(1, 1L, "-5.00", null))));
+            final JournalProjector projector = projector(journalFile, 0);
+
+            assertThatThrownBy(projector::projectNext).hasMessage("Connection reset");
+
+            assertThat(projector.appliedOffset()).isZero();
+            verify(projectionRepository, never()).advanceAppliedOffset(any(), anyLong(), anyLong());
+            verify(transactionManager, times(3)).rollback(any());
+        }
+    }
+
+    private JournalProjector projector(final JournalFile journalFile, final long appliedOffset) {
+        return new JournalProjector(journalFile, JOURNAL_NAME, projectionRepository, accountService,
+                idempotencyKeyStore, new TransactionTemplate(transactionManager), 10, 1, appliedOffset,
+                new SimpleMeterRegistry());
+    }
+
+    private static JournalEntry entry(final long transactionId, final long accountId, final String amount,
+                                      final String idempotencyKey) {
+        final Money signedAmount = Money.of(new BigDecimal(amount));
+        return new JournalEntry(transactionId, accountId,
+                signedAmount.isNegative() ? OperationType.PURCHASE : OperationType.PAYMENT,
+                signedAmount, signedAmount, EVENT_DATE, idempotencyKey);
+    }
+}
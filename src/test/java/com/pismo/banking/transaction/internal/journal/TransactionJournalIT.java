@@ -0,0 +1,149 @@
+package com.pismo.banking.transaction.internal.journal;
+
+import com.pismo.banking.account.api.AccountService;
+import com.pismo.banking.account.internal.model.Account;
+import com.pismo.banking.account.internal.repository.AccountRepository;
+import com.pismo.banking.common.exception.InSufficientLimitException;
+import com.pismo.banking.transaction.api.TransactionService;
+import com.pismo.banking.transaction.api.dto.TransactionRequest;
+import com.pismo.banking.transaction.api.dto.TransactionResponse;
+import com.pismo.banking.transaction.internal.repository.TransactionRepository;
+import com.pismo.banking.transaction.internal.service.IdempotencyKeyStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark for the sequencer engine acknowledging transactions once they are in the local journal.
+ *
+ * <p>Many threads post a mix of payments and purchases to one hot account, plus one request with an
+ * idempotency key that is sent twice. Once the projector has caught up, the database must hold every accepted
+ * transaction, chained through their balances, the balance of the account must equal their sum and the key must
+ * be stored. Logs the throughput and the number of journal entries covered by each {@code fsync}.</p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "banking.transactions.engine=sequencer",
+        "banking.transactions.sequencer.durability=journal",
+        "banking.transactions.journal.directory=${java.io.tmpdir}/banking-journal-it-${random.uuid}"})
+@ActiveProfiles("test")
+@DisplayName("Transaction Journal Benchmark")
+class TransactionJournalIT {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionJournalIT.class);
+    private static final int THREADS = 32;
+    private static final int REQUESTS_PER_THREAD = 50;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionJournal journal;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private IdempotencyKeyStore idempotencyKeyStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldAcknowledgeFromJournalAndApplyToDatabase() throws Exception {
+        final Long accountId = accountRepository.saveAndFlush(
+                new Account(null, String.valueOf(RandomUtils.nextLong(10000000000L, 99999999999L)))).getAccountId();
+        final double syncsBefore = meterRegistry.get("banking.transactions.journal.syncs").functionCounter().count();
+
+        final String idempotencyKey = "journal-it-" + accountId;
+        final TransactionRequest keyedRequest = new TransactionRequest(accountId, 4, new BigDecimal("1.00"));
+        final TransactionResponse keyedResponse = transactionService.createTransaction(keyedRequest, idempotencyKey);
+        assertThat(transactionService.createTransaction(keyedRequest, idempotencyKey)).isEqualTo(keyedResponse);
+
+        final AtomicInteger accepted = new AtomicInteger(1);
+        final AtomicInteger rejected = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        final long elapsedNanos;
+        BigDecimal expectedBalance = keyedResponse.amount();
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            final List<Future<BigDecimal>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                final int operationTypeId = i % 2 == 0 ? 4 : 1;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    BigDecimal applied = BigDecimal.ZERO;
+                    for (int j = 0; j < REQUESTS_PER_THREAD; j++) {
+                        try {
+                            applied = applied.add(transactionService.createTransaction(
+                                    new TransactionRequest(accountId, operationTypeId, new BigDecimal("7.50")))
+                                    .amount());
+                            accepted.incrementAndGet();
+                        } catch (InSufficientLimitException e) {
+                            rejected.incrementAndGet();
+                        }
+                    }
+                    return applied;
+                }));
+            }
+            final long startNanos = System.nanoTime();
+            start.countDown();
+            for (Future<BigDecimal> future : futures) {
+                expectedBalance = expectedBalance.add(future.get());
+            }
+            elapsedNanos = System.nanoTime() - startNanos;
+        }
+        final double syncs = meterRegistry.get("banking.transactions.journal.syncs").functionCounter().count()
+                - syncsBefore;
+
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (meterRegistry.get("banking.transactions.journal.lag").gauge().value() > 0
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertThat(meterRegistry.get("banking.transactions.journal.lag").gauge().value()).isZero();
+        assertThat(accountService.getAccountSummary(accountId).balance()).isEqualByComparingTo(expectedBalance);
+        assertThat(transactionRepository.findBalanceAt(accountId, LocalDateTime.now().plusDays(1)).orElseThrow())
+                .isEqualByComparingTo(expectedBalance);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM transactions WHERE account_id = ?", Integer.class, accountId))
+                .isEqualTo(accepted.get());
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT transaction_id FROM idempotency_keys WHERE idempotency_key = ?", Long.class, idempotencyKey))
+                .isEqualTo(keyedResponse.transactionId());
+        assertThat(idempotencyKeyStore.find(idempotencyKey)).contains(keyedResponse);
+        assertThat(journal.appliedOffset()).isPositive();
+
+        final int requests = THREADS * REQUESTS_PER_THREAD;
+        log.info(String.format("requests=%d rejected=%d fsyncs=%.0f entriesPerFsync=%.1f throughput=%.0f tx/s",
+                requests, rejected.get(), syncs, requests / syncs, requests / (elapsedNanos / 1e9)));
+    }
+}
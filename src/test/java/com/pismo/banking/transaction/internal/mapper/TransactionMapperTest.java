@@ -1,5 +1,6 @@
 package com.pismo.banking.transaction.internal.mapper;
 
+import com.pismo.banking.common.money.Money;
 import com.pismo.banking.transaction.api.dto.TransactionResponse;
 import com.pismo.banking.transaction.internal.model.OperationType;
 import com.pismo.banking.transaction.internal.model.Transaction;
@@ -21,8 +22,9 @@ class TransactionMapperTest {
                 1L,
                 101L,
                 OperationType.PAYMENT,
-                new BigDecimal("50.00"),
-                LocalDateTime.now()
+                Money.of(new BigDecimal("50.00")),
+                LocalDateTime.now(),
+                Money.of(new BigDecimal("50.00"))
         );
 
         TransactionResponse dto = TransactionMapper.toDto(entity);
@@ -41,8 +43,9 @@ class TransactionMapperTest {
                 2L,
                 101L,
                 OperationType.PURCHASE,
-                new BigDecimal("-25.50"),
-                LocalDateTime.now()
+                Money.of(new BigDecimal("-25.50")),
+                LocalDateTime.now(),
+                Money.of(new BigDecimal("-25.50"))
         );
 
         TransactionResponse dto = TransactionMapper.toDto(entity);
@@ -65,15 +68,19 @@ class TransactionMapperTest {
     void testToEntity() {
         final Long accountId = 202L;
         final OperationType type = OperationType.WITHDRAWAL;
-        final BigDecimal finalSignedAmount = new BigDecimal("-10.00");
+        final Money finalSignedAmount = Money.of(new BigDecimal("-10.00"));
 
-        final Transaction entity = TransactionMapper.toEntity(accountId, type, finalSignedAmount);
+        final LocalDateTime eventDate = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+        final Transaction entity = TransactionMapper.toEntity(accountId, type, finalSignedAmount,
+                Money.of(new BigDecimal("990.00")), eventDate);
 
         assertThat(entity).isNotNull();
         assertThat(entity.getAccountId()).isEqualTo(accountId);
         assertThat(entity.getOperationType()).isEqualTo(type);
         assertThat(entity.getAmount()).isEqualByComparingTo(finalSignedAmount);
-        assertThat(entity.getEventDate()).isNotNull();
+        assertThat(entity.getEventDate()).isEqualTo(eventDate);
+        assertThat(entity.getBalanceAfter()).isEqualTo(Money.of(new BigDecimal("990.00")));
         assertThat(entity.getTransactionId()).isNull();
     }
 }
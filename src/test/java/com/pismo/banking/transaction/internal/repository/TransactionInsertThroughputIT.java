@@ -0,0 +1,107 @@
+package com.pismo.banking.transaction.internal.repository;
+
+import com.pismo.banking.account.internal.model.Account;
+import com.pismo.banking.account.internal.repository.AccountRepository;
+import com.pismo.banking.common.money.Money;
+import com.pismo.banking.transaction.internal.model.OperationType;
+import com.pismo.banking.transaction.internal.model.Transaction;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.apache.commons.lang3.RandomUtils;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark of transaction insert throughput with and without JDBC batching.
+ *
+ * <p>The same number of transactions is inserted twice in chunks: once with the session's JDBC batch size forced
+ * to 1, which reproduces the row-by-row inserts of {@code IDENTITY} ids, and once with the configured
+ * {@code hibernate.jdbc.batch_size}, which the pooled id generator makes possible. Both throughputs and the number
+ * of prepared statements are printed.</p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@DisplayName("Transaction Insert Throughput Benchmark")
+class TransactionInsertThroughputIT {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionInsertThroughputIT.class);
+    private static final int TRANSACTIONS = 5000;
+    private static final int CHUNK_SIZE = 500;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void shouldBatchInserts() {
+        final Long accountId = accountRepository.saveAndFlush(
+                new Account(null, String.valueOf(RandomUtils.nextLong(10000000000L, 99999999999L)))).getAccountId();
+        final Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        insert(accountId, 1); // warm-up
+        statistics.clear();
+        final long rowByRowNanos = insert(accountId, 1);
+        final long rowByRowStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        final long batchedNanos = insert(accountId, null);
+        final long batchedStatements = statistics.getPrepareStatementCount();
+
+        assertThat(batchedStatements).isLessThan(rowByRowStatements / 10);
+        log.info(String.format("transactions=%d rowByRow=%.0f rows/s (%d statements) "
+                        + "batched=%.0f rows/s (%d statements)",
+                TRANSACTIONS, TRANSACTIONS / (rowByRowNanos / 1e9), rowByRowStatements,
+                TRANSACTIONS / (batchedNanos / 1e9), batchedStatements));
+    }
+
+    /**
+     * Inserts {@link #TRANSACTIONS} transactions, one database transaction per chunk.
+     *
+     * @param jdbcBatchSize The session JDBC batch size, or {@code null} to use the configured one.
+     * @return The elapsed time in nanoseconds.
+     */
+    private long insert(final Long accountId, final @Nullable Integer jdbcBatchSize) {
+        final long start = System.nanoTime();
+        for (int chunk = 0; chunk < TRANSACTIONS / CHUNK_SIZE; chunk++) {
+            transactionTemplate.executeWithoutResult(status -> {
+                entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+                final List<Transaction> transactions = IntStream.range(0, CHUNK_SIZE)
+                        .mapToObj(i -> new Transaction(null, accountId, OperationType.PAYMENT, Money.ofUnits(1),
+                                LocalDateTime.now(), Money.ofUnits(1)))
+                        .toList();
+                transactionRepository.saveAll(transactions);
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+        return System.nanoTime() - start;
+    }
+}
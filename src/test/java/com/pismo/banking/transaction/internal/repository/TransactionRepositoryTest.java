@@ -2,16 +2,24 @@ package com.pismo.banking.transaction.internal.repository;
 
 import com.pismo.banking.account.internal.model.Account;
 import com.pismo.banking.account.internal.repository.AccountRepository;
+import com.pismo.banking.common.money.Money;
 import com.pismo.banking.transaction.internal.model.OperationType;
 import com.pismo.banking.transaction.internal.model.Transaction;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -24,6 +32,9 @@ class TransactionRepositoryTest {
     @Autowired
     private AccountRepository accountRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     @Test
     @DisplayName("Should save a transaction and map the enum and account ID correctly")
     void whenSaveTransaction_thenPersistenceWorks() {
@@ -35,11 +46,12 @@ class TransactionRepositoryTest {
 
         // Given a transaction entity
         Transaction transaction = new Transaction(
-                null, // ID generated by DB
+                null, // ID allocated by the pooled id generator
                 accountId,
                 OperationType.PAYMENT,
-                new BigDecimal("50.00"),
-                LocalDateTime.now()
+                Money.ofUnits(50),
+                LocalDateTime.now(),
+                Money.ofUnits(50)
         );
 
         // When saving the transaction
@@ -55,4 +67,107 @@ class TransactionRepositoryTest {
         List<Transaction> foundTransactions = transactionRepository.findAll();
         assertThat(foundTransactions).hasSize(1);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should allocate transaction IDs from a reserved block of the id_sequences table")
+    void whenSaveTransactions_thenIdsComeFromReservedBlock() {
+        final Long accountId = accountRepository.save(new Account(null, "22233344455")).getAccountId();
+
+        final List<Transaction> saved = transactionRepository.saveAllAndFlush(IntStream.range(0, 3)
+                .mapToObj(i -> new Transaction(null, accountId, OperationType.PAYMENT, Money.ofUnits(10),
+                        LocalDateTime.now(), Money.ofUnits(10L * (i + 1))))
+                .toList());
+
+        final List<Long> ids = saved.stream().map(Transaction::getTransactionId).toList();
+        assertThat(ids).doesNotHaveDuplicates().isSorted();
+        final Number nextBlockStart = (Number) entityManager.getEntityManager()
+                .createNativeQuery("SELECT next_val FROM id_sequences WHERE sequence_name = 'transactions'")
+                .getSingleResult();
+        assertThat(nextBlockStart.longValue()).isGreaterThan(ids.getLast());
+    }
+
+    @Test
+    @DisplayName("Should walk the filtered history of an account page by page in keyset order")
+    void whenScrollHistory_thenPagesFollowKeysetOrder() {
+        final Long accountId = accountRepository.save(new Account(null, "33344455566")).getAccountId();
+        final Long otherAccountId = accountRepository.save(new Account(null, "44455566677")).getAccountId();
+        final LocalDateTime start = LocalDateTime.of(2026, 1, 1, 0, 0);
+        // Two transactions per instant, so the transaction ID has to break ties between pages.
+        transactionRepository.saveAllAndFlush(IntStream.range(0, 10)
+                .mapToObj(i -> new Transaction(null, accountId, i % 3 == 0 ? OperationType.PURCHASE : OperationType.PAYMENT,
+                        Money.ofUnits(10), start.plusHours(i / 2), Money.ZERO))
+                .toList());
+        transactionRepository.saveAndFlush(new Transaction(null, otherAccountId, OperationType.PAYMENT, Money.ofUnits(10),
+                start, Money.ofUnits(10)));
+        final Sort order = Sort.by(Sort.Order.desc("eventDate"), Sort.Order.desc("transactionId"));
+
+        final List<Transaction> walked = new ArrayList<>();
+        ScrollPosition position = ScrollPosition.keyset();
+        Window<Transaction> page;
+        do {
+            final ScrollPosition current = position;
+            page = transactionRepository.findBy(TransactionSpecifications.ofAccount(accountId)
+                            .and(TransactionSpecifications.ofOperationType(OperationType.PAYMENT))
+                            .and(TransactionSpecifications.eventAtOrAfter(start.plusHours(1))),
+                    query -> query.sortBy(order).limit(2).scroll(current));
+            walked.addAll(page.getContent());
+            final Transaction last = page.getContent().getLast();
+            position = ScrollPosition.forward(Map.of("eventDate", last.getEventDate(),
+                    "transactionId", last.getTransactionId()));
+        } while (page.hasNext());
+
+        assertThat(walked).hasSize(5)
+                .allMatch(transaction -> transaction.getAccountId().equals(accountId))
+                .allMatch(transaction -> transaction.getOperationType() == OperationType.PAYMENT)
+                .allMatch(transaction -> !transaction.getEventDate().isBefore(start.plusHours(1)));
+        assertThat(walked).isSortedAccordingTo((a, b) -> a.getEventDate().equals(b.getEventDate())
+                ? b.getTransactionId().compareTo(a.getTransactionId())
+                : b.getEventDate().compareTo(a.getEventDate()));
+    }
+
+    @Test
+    @DisplayName("Should read the balance at an instant from the last transaction at or before it")
+    void whenFindBalanceAt_thenReturnsBalanceAfterLastTransactionBeforeInstant() {
+        final Long accountId = accountRepository.save(new Account(null, "55566677788")).getAccountId();
+        final LocalDateTime start = LocalDateTime.of(2026, 1, 1, 0, 0);
+        transactionRepository.saveAllAndFlush(List.of(
+                new Transaction(null, accountId, OperationType.PAYMENT, Money.ofUnits(100), start,
+                        Money.ofUnits(100)),
+                new Transaction(null, accountId, OperationType.PURCHASE, Money.ofUnits(-30), start.plusHours(1),
+                        Money.ofUnits(70)),
+                new Transaction(null, accountId, OperationType.PURCHASE, Money.ofUnits(-20), start.plusHours(1),
+                        Money.ofUnits(50))));
+
+        assertThat(transactionRepository.findBalanceAt(accountId, start.minusSeconds(1))).isEmpty();
+        assertThat(transactionRepository.findBalanceAt(accountId, start)).hasValueSatisfying(
+                balance -> assertThat(balance).isEqualByComparingTo("100.00"));
+        assertThat(transactionRepository.findBalanceAt(accountId, start.plusMinutes(59))).hasValueSatisfying(
+                balance -> assertThat(balance).isEqualByComparingTo("100.00"));
+        // Both transactions of the same instant have happened by then; the higher ID was applied last.
+        assertThat(transactionRepository.findBalanceAt(accountId, start.plusHours(1))).hasValueSatisfying(
+                balance -> assertThat(balance).isEqualByComparingTo("50.00"));
+    }
+
+    @Test
+    @DisplayName("Should add the payments taken on balance slots to the last recorded balance")
+    void whenFindBalanceAt_thenAddsSlotPaymentsToLastRecordedBalance() {
+        final Long accountId = accountRepository.save(new Account(null, "55566677799")).getAccountId();
+        final LocalDateTime start = LocalDateTime.of(2026, 1, 1, 0, 0);
+        transactionRepository.saveAllAndFlush(List.of(
+                new Transaction(null, accountId, OperationType.PAYMENT, Money.ofUnits(40), start, null),
+                new Transaction(null, accountId, OperationType.PURCHASE, Money.ofUnits(-30), start.plusHours(1),
+                        Money.ofUnits(10)),
+                new Transaction(null, accountId, OperationType.PAYMENT, Money.ofUnits(5), start.plusHours(2), null),
+                new Transaction(null, accountId, OperationType.PAYMENT, Money.ofUnits(7), start.plusHours(3), null)));
+
+        assertThat(transactionRepository.findBalanceAt(accountId, start.minusSeconds(1))).isEmpty();
+        assertThat(transactionRepository.findBalanceAt(accountId, start)).hasValueSatisfying(
+                balance -> assertThat(balance).isEqualByComparingTo("40.00"));
+        assertThat(transactionRepository.findBalanceAt(accountId, start.plusHours(1))).hasValueSatisfying(
+                balance -> assertThat(balance).isEqualByComparingTo("10.00"));
+        assertThat(transactionRepository.findBalanceAt(accountId, start.plusHours(2))).hasValueSatisfying(
+                balance -> assertThat(balance).isEqualByComparingTo("15.00"));
+        assertThat(transactionRepository.findBalanceAt(accountId, start.plusHours(3))).hasValueSatisfying(
+                balance -> assertThat(balance).isEqualByComparingTo("22.00"));
+    }
+}
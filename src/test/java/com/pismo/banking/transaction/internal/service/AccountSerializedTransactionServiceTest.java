@@ -0,0 +1,266 @@
+package com.pismo.banking.transaction.internal.service;
+
+import com.pismo.banking.common.exception.AccountNotFoundException;
+import com.pismo.banking.common.exception.InSufficientLimitException;
+import com.pismo.banking.transaction.api.dto.TransactionBatchItemResponse;
+import com.pismo.banking.transaction.api.dto.TransactionBatchRequest;
+import com.pismo.banking.transaction.api.dto.TransactionBatchResponse;
+import com.pismo.banking.transaction.api.dto.TransactionRequest;
+import com.pismo.banking.transaction.api.dto.TransactionResponse;
+import com.pismo.banking.transaction.internal.concurrency.StripedAccountLock;
+import org.springframework.dao.DataIntegrityViolationException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Account Serialized Transaction Service Unit Tests")
+class AccountSerializedTransactionServiceTest {
+
+    private static final Long ACCOUNT_ID = 1L;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TransactionServiceImpl delegate = mock(TransactionServiceImpl.class);
+    private final StripedAccountLock accountLock = new StripedAccountLock(1, meterRegistry);
+    private final IdempotencyKeyStore idempotencyKeyStore = mock(IdempotencyKeyStore.class);
+    private final AccountSerializedTransactionService transactionService =
+            new AccountSerializedTransactionService(delegate, accountLock, idempotencyKeyStore, 64, meterRegistry);
+
+    @Test
+    @DisplayName("Should delegate a lone request to the single transaction path while holding the account stripe")
+    void testDelegatesUnderAccountLock() {
+        final TransactionRequest request = request("10.00");
+        final TransactionResponse response = new TransactionResponse(5L, ACCOUNT_ID, 4, new BigDecimal("10.00"));
+        when(delegate.createTransaction(request, null)).thenReturn(response);
+
+        assertThat(transactionService.createTransaction(request)).isEqualTo(response);
+
+        verify(delegate, times(1)).createTransaction(request, null);
+        verify(delegate, never()).createTransactions(anyLong(), anyList());
+        assertThat(meterRegistry.get("banking.transactions.stripe.acquisitions").tag("stripe", "0")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should rethrow the rejection of a lone request to its caller")
+    void testRethrowsRejection() {
+        final TransactionRequest request = request("10.00");
+        when(delegate.createTransaction(request, null)).thenThrow(new InSufficientLimitException("The Limit has exceeded"));
+
+        assertThatThrownBy(() -> transactionService.createTransaction(request))
+                .isInstanceOf(InSufficientLimitException.class)
+                .hasMessageContaining("The Limit has exceeded");
+    }
+
+    @Test
+    @DisplayName("Should coalesce requests queued behind an in-flight flush into one batch")
+    void testCoalescesQueuedRequests() throws Exception {
+        final TransactionRequest first = request("1.00");
+        final TransactionRequest second = request("2.00");
+        final TransactionRequest third = request("3.00");
+        final CountDownLatch firstInFlight = new CountDownLatch(1);
+        final CountDownLatch releaseFirst = new CountDownLatch(1);
+        when(delegate.createTransaction(first, null)).thenAnswer(invocation -> {
+            firstInFlight.countDown();
+            releaseFirst.await();
+            return new TransactionResponse(1L, ACCOUNT_ID, 4, new BigDecimal("1.00"));
+        });
+        when(delegate.createTransactions(eq(ACCOUNT_ID), anyList())).thenAnswer(invocation -> {
+            final List<TransactionCommand> commands = invocation.getArgument(1);
+            return commands.stream()
+                    .map(c -> c.request() == second
+                            ? TransactionOutcome.accepted(new TransactionResponse(2L, ACCOUNT_ID, 4, c.request().amount()))
+                            : TransactionOutcome.rejected(new InSufficientLimitException("The Limit has exceeded")))
+                    .toList();
+        });
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(3)) {
+            final CompletableFuture<TransactionResponse> firstResult =
+                    CompletableFuture.supplyAsync(() -> transactionService.createTransaction(first), executor);
+            assertThat(firstInFlight.await(5, TimeUnit.SECONDS)).isTrue();
+
+            final CompletableFuture<TransactionResponse> secondResult =
+                    CompletableFuture.supplyAsync(() -> transactionService.createTransaction(second), executor);
+            final CompletableFuture<TransactionResponse> thirdResult =
+                    CompletableFuture.supplyAsync(() -> transactionService.createTransaction(third), executor);
+            while (meterRegistry.get("banking.transactions.stripe.queued").gauge().value() < 2) {
+                Thread.onSpinWait();
+            }
+            releaseFirst.countDown();
+
+            assertThat(firstResult.get(5, TimeUnit.SECONDS).transactionId()).isEqualTo(1L);
+            assertThat(secondResult.get(5, TimeUnit.SECONDS).transactionId()).isEqualTo(2L);
+            assertThatThrownBy(() -> thirdResult.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(InSufficientLimitException.class);
+        }
+
+        verify(delegate, times(1)).createTransactions(eq(ACCOUNT_ID), anyList());
+        assertThat(meterRegistry.get("banking.transactions.group-commit.batch-size").summary().count())
+                .isEqualTo(2);
+        assertThat(meterRegistry.get("banking.transactions.group-commit.batch-size").summary().totalAmount())
+                .isEqualTo(3);
+        assertThat(meterRegistry.get("banking.transactions.stripe.wait").tag("stripe", "0").timer().count())
+                .isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should release the stripe after flushing the requests queued when it was acquired")
+    void testBoundsWorkPerStripeHold() throws Exception {
+        final TransactionRequest first = request("1.00");
+        final TransactionRequest second = request("2.00");
+        final CountDownLatch firstInFlight = new CountDownLatch(1);
+        final CountDownLatch releaseFirst = new CountDownLatch(1);
+        when(delegate.createTransaction(first, null)).thenAnswer(invocation -> {
+            firstInFlight.countDown();
+            releaseFirst.await();
+            return new TransactionResponse(1L, ACCOUNT_ID, 4, new BigDecimal("1.00"));
+        });
+        when(delegate.createTransaction(second, null))
+                .thenReturn(new TransactionResponse(2L, ACCOUNT_ID, 4, new BigDecimal("2.00")));
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            final CompletableFuture<TransactionResponse> firstResult =
+                    CompletableFuture.supplyAsync(() -> transactionService.createTransaction(first), executor);
+            assertThat(firstInFlight.await(5, TimeUnit.SECONDS)).isTrue();
+            final CompletableFuture<TransactionResponse> secondResult =
+                    CompletableFuture.supplyAsync(() -> transactionService.createTransaction(second), executor);
+            while (meterRegistry.get("banking.transactions.stripe.queued").gauge().value() < 1) {
+                Thread.onSpinWait();
+            }
+            releaseFirst.countDown();
+
+            assertThat(firstResult.get(5, TimeUnit.SECONDS).transactionId()).isEqualTo(1L);
+            assertThat(secondResult.get(5, TimeUnit.SECONDS).transactionId()).isEqualTo(2L);
+        }
+
+        // The request queued during the first hold was flushed in a hold of its own.
+        assertThat(meterRegistry.get("banking.transactions.stripe.acquisitions").tag("stripe", "0")
+                .counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should reject every request of a batch for an unknown account")
+    void testBatchForUnknownAccount() throws Exception {
+        final TransactionRequest first = request("1.00");
+        final TransactionRequest second = request("2.00");
+        final TransactionRequest third = request("3.00");
+        final CountDownLatch firstInFlight = new CountDownLatch(1);
+        final CountDownLatch releaseFirst = new CountDownLatch(1);
+        when(delegate.createTransaction(first, null)).thenAnswer(invocation -> {
+            firstInFlight.countDown();
+            releaseFirst.await();
+            throw new AccountNotFoundException(ACCOUNT_ID);
+        });
+        when(delegate.createTransactions(eq(ACCOUNT_ID), anyList())).thenThrow(new AccountNotFoundException(ACCOUNT_ID));
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(3)) {
+            final CompletableFuture<TransactionResponse> firstResult =
+                    CompletableFuture.supplyAsync(() -> transactionService.createTransaction(first), executor);
+            assertThat(firstInFlight.await(5, TimeUnit.SECONDS)).isTrue();
+            final CompletableFuture<TransactionResponse> secondResult =
+                    CompletableFuture.supplyAsync(() -> transactionService.createTransaction(second), executor);
+            final CompletableFuture<TransactionResponse> thirdResult =
+                    CompletableFuture.supplyAsync(() -> transactionService.createTransaction(third), executor);
+            while (meterRegistry.get("banking.transactions.stripe.queued").gauge().value() < 2) {
+                Thread.onSpinWait();
+            }
+            releaseFirst.countDown();
+
+            for (CompletableFuture<TransactionResponse> result : List.of(firstResult, secondResult, thirdResult)) {
+                assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                        .hasCauseInstanceOf(AccountNotFoundException.class);
+            }
+        }
+        verify(delegate, times(1)).createTransaction(any(TransactionRequest.class), isNull());
+    }
+
+    @Test
+    @DisplayName("Should group a batch by account and report the outcome of every item in request order")
+    void testBatchGroupedByAccount() {
+        final TransactionRequest first = request("1.00");
+        final TransactionRequest other = new TransactionRequest(2L, 4, new BigDecimal("2.00"));
+        final TransactionRequest second = request("3.00");
+        final TransactionRequest unknown = new TransactionRequest(3L, 4, new BigDecimal("4.00"));
+        when(delegate.createTransactions(eq(ACCOUNT_ID),
+                eq(List.of(TransactionCommand.of(first), TransactionCommand.of(second))))).thenReturn(List.of(
+                TransactionOutcome.accepted(new TransactionResponse(10L, ACCOUNT_ID, 4, first.amount())),
+                TransactionOutcome.rejected(new InSufficientLimitException("The Limit has exceeded"))));
+        when(delegate.createTransaction(other, null)).thenThrow(new IllegalStateException("Connection reset"));
+        when(delegate.createTransaction(unknown, null)).thenThrow(new AccountNotFoundException(3L));
+
+        final TransactionBatchResponse response = transactionService.createTransactions(
+                new TransactionBatchRequest(List.of(first, other, second, unknown)));
+
+        assertThat(response.results()).extracting(TransactionBatchItemResponse::index).containsExactly(0, 1, 2, 3);
+        assertThat(response.results()).extracting(TransactionBatchItemResponse::status).containsExactly(
+                TransactionBatchItemResponse.Status.CREATED,
+                TransactionBatchItemResponse.Status.FAILED,
+                TransactionBatchItemResponse.Status.REJECTED,
+                TransactionBatchItemResponse.Status.REJECTED);
+        assertThat(response.results().getFirst().transaction().transactionId()).isEqualTo(10L);
+        assertThat(response.results().get(1).errorMessage())
+                .isEqualTo(AccountSerializedTransactionService.FAILED_ITEM_MESSAGE);
+        assertThat(response.results().get(2).errorMessage()).isEqualTo("The Limit has exceeded");
+        assertThat(response.results().get(3).errorMessage()).isEqualTo("Account with id 3 not found");
+        verify(delegate, times(1)).createTransactions(eq(ACCOUNT_ID), anyList());
+    }
+
+    @Test
+    @DisplayName("Should replay the stored response of a known idempotency key without creating a transaction")
+    void testReplaysKnownIdempotencyKey() {
+        final TransactionRequest request = request("10.00");
+        final TransactionResponse stored = new TransactionResponse(5L, ACCOUNT_ID, 4, new BigDecimal("10.00"));
+        when(idempotencyKeyStore.find("key-1")).thenReturn(Optional.of(stored));
+
+        assertThat(transactionService.createTransaction(request, "key-1")).isEqualTo(stored);
+
+        verifyNoInteractions(delegate);
+        assertThat(meterRegistry.get("banking.transactions.idempotent-replays").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should create and remember a transaction for a new idempotency key")
+    void testRemembersNewIdempotencyKey() {
+        final TransactionRequest request = request("10.00");
+        final TransactionResponse response = new TransactionResponse(5L, ACCOUNT_ID, 4, new BigDecimal("10.00"));
+        when(idempotencyKeyStore.find("key-1")).thenReturn(Optional.empty());
+        when(delegate.createTransaction(request, "key-1")).thenReturn(response);
+
+        assertThat(transactionService.createTransaction(request, "key-1")).isEqualTo(response);
+
+        verify(idempotencyKeyStore, times(1)).remember("key-1", response);
+    }
+
+    @Test
+    @DisplayName("Should answer with the winner's response when a concurrent request stored the same key first")
+    void testReplaysWinnerOfDuplicateKeyRace() {
+        final TransactionRequest request = request("10.00");
+        final TransactionResponse winner = new TransactionResponse(5L, ACCOUNT_ID, 4, new BigDecimal("10.00"));
+        when(idempotencyKeyStore.find("key-1")).thenReturn(Optional.empty(), Optional.of(winner));
+        when(delegate.createTransaction(request, "key-1"))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry 'key-1'"));
+
+        assertThat(transactionService.createTransaction(request, "key-1")).isEqualTo(winner);
+
+        verify(idempotencyKeyStore, never()).remember(any(), any());
+    }
+
+    private static TransactionRequest request(final String amount) {
+        return new TransactionRequest(ACCOUNT_ID, 4, new BigDecimal(amount));
+    }
+}
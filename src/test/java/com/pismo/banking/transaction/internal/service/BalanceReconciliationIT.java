@@ -0,0 +1,95 @@
+package com.pismo.banking.transaction.internal.service;
+
+import com.pismo.banking.account.api.AccountService;
+import com.pismo.banking.account.internal.model.Account;
+import com.pismo.banking.account.internal.repository.AccountRepository;
+import com.pismo.banking.transaction.api.TransactionService;
+import com.pismo.banking.transaction.api.dto.TransactionRequest;
+import com.pismo.banking.transaction.internal.model.AccountIdRange;
+import com.pismo.banking.transaction.internal.model.ReconciliationRun;
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark for the balance reconciliation job.
+ *
+ * <p>Posts transactions to a set of accounts, one of them spreading its payments over balance slots, then
+ * corrupts the balance of one account behind the application's back. Reconciling their range must report exactly
+ * that account and record the run. Prints the number of accounts checked per second.</p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {"banking.reconciliation.range-size=4", "banking.reconciliation.pause=PT0S"})
+@ActiveProfiles("test")
+@DisplayName("Balance Reconciliation Benchmark")
+class BalanceReconciliationIT {
+
+    private static final Logger log = LoggerFactory.getLogger(BalanceReconciliationIT.class);
+    private static final int ACCOUNTS = 20;
+    private static final int TRANSACTIONS_PER_ACCOUNT = 10;
+
+    @Autowired
+    private BalanceReconciliationService reconciliationService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldReportOnlyTheDriftedAccount() {
+        final List<Long> accountIds = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accountIds.add(accountRepository.saveAndFlush(new Account(null,
+                    String.valueOf(RandomUtils.nextLong(10000000000L, 99999999999L)))).getAccountId());
+        }
+        accountService.setBalanceSlots(accountIds.getFirst(), 4);
+        for (Long accountId : accountIds) {
+            for (int j = 0; j < TRANSACTIONS_PER_ACCOUNT; j++) {
+                transactionService.createTransaction(
+                        new TransactionRequest(accountId, j % 2 == 0 ? 4 : 1, new BigDecimal("3.25")));
+            }
+        }
+        final Long driftedAccountId = accountIds.get(ACCOUNTS / 2);
+        jdbcTemplate.update("UPDATE accounts SET balance = balance + 1.00 WHERE account_id = ?", driftedAccountId);
+        final AccountIdRange range = new AccountIdRange(accountIds.getFirst(), accountIds.getLast());
+
+        final long start = System.nanoTime();
+        final ReconciliationRun run = reconciliationService.reconcile(range);
+        final long elapsedNanos = System.nanoTime() - start;
+
+        assertThat(run.accountsChecked()).isGreaterThanOrEqualTo(ACCOUNTS);
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT account_id FROM balance_mismatches WHERE run_id = ? AND account_id BETWEEN ? AND ?",
+                Long.class, run.runId(), range.firstAccountId(), range.lastAccountId()))
+                .containsExactly(driftedAccountId);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT recorded_balance - ledger_balance FROM balance_mismatches WHERE run_id = ? AND account_id = ?",
+                BigDecimal.class, run.runId(), driftedAccountId)).isEqualByComparingTo("1.00");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT mismatches FROM reconciliation_runs WHERE run_id = ? AND finished_at IS NOT NULL",
+                Integer.class, run.runId())).isEqualTo(run.mismatches());
+
+        log.info(String.format("accounts=%d mismatches=%d throughput=%.0f accounts/s",
+                run.accountsChecked(), run.mismatches(), run.accountsChecked() / (elapsedNanos / 1e9)));
+    }
+}
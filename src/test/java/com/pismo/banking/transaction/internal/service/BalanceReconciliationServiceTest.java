@@ -0,0 +1,70 @@
+package com.pismo.banking.transaction.internal.service;
+
+import com.pismo.banking.transaction.internal.model.AccountIdRange;
+import com.pismo.banking.transaction.internal.model.BalanceMismatch;
+import com.pismo.banking.transaction.internal.model.ReconciliationRun;
+import com.pismo.banking.transaction.internal.repository.BalanceReconciliationRepository;
+import com.pismo.banking.transaction.internal.repository.BalanceReconciliationRepository.RangeCheck;
+import com.pismo.banking.transaction.internal.repository.LedgerSnapshotRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Balance Reconciliation Service Unit Tests")
+class BalanceReconciliationServiceTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-01-01T10:00:00Z"), ZoneOffset.UTC);
+    private static final LocalDateTime NOW = LocalDateTime.now(CLOCK);
+
+    private final BalanceReconciliationRepository reconciliationRepository =
+            mock(BalanceReconciliationRepository.class);
+    private final LedgerSnapshotRepository snapshotRepository = mock(LedgerSnapshotRepository.class);
+    private final BalanceReconciliationService service = new BalanceReconciliationService(reconciliationRepository,
+            snapshotRepository, 10, 2, Duration.ZERO, new SimpleMeterRegistry(), CLOCK);
+
+    @Test
+    @DisplayName("Should check every range, report its mismatches and record the totals of the run")
+    void testReconcilesEveryRange() {
+        final BalanceMismatch mismatch = new BalanceMismatch(15L, new BigDecimal("10.00"), new BigDecimal("7.50"));
+        when(snapshotRepository.findAccountIdBounds()).thenReturn(Optional.of(new AccountIdRange(1, 25)));
+        when(reconciliationRepository.startRun(NOW)).thenReturn(7L);
+        when(reconciliationRepository.checkBalances(new AccountIdRange(1, 10)))
+                .thenReturn(new RangeCheck(10, List.of()));
+        when(reconciliationRepository.checkBalances(new AccountIdRange(11, 20)))
+                .thenReturn(new RangeCheck(8, List.of(mismatch)));
+        when(reconciliationRepository.checkBalances(new AccountIdRange(21, 25)))
+                .thenReturn(new RangeCheck(5, List.of()));
+
+        assertThat(service.reconcile()).isEqualTo(new ReconciliationRun(7L, 23, 1));
+
+        verify(reconciliationRepository, times(1)).insertMismatches(7L, List.of(mismatch), NOW);
+        verify(reconciliationRepository, times(1)).finishRun(7L, NOW, 23, 1);
+    }
+
+    @Test
+    @DisplayName("Should leave a run unfinished when a range cannot be checked")
+    void testLeavesFailedRunUnfinished() {
+        when(reconciliationRepository.startRun(NOW)).thenReturn(8L);
+        when(reconciliationRepository.checkBalances(any())).thenThrow(new IllegalStateException("Connection reset"));
+
+        assertThatThrownBy(() -> service.reconcile(new AccountIdRange(1, 30))).hasMessage("Connection reset");
+
+        verify(reconciliationRepository, never()).finishRun(anyLong(), any(), anyLong(), anyInt());
+    }
+}
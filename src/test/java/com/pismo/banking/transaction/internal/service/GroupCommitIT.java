@@ -0,0 +1,107 @@
+package com.pismo.banking.transaction.internal.service;
+
+import com.pismo.banking.account.api.AccountService;
+import com.pismo.banking.account.internal.model.Account;
+import com.pismo.banking.account.internal.repository.AccountRepository;
+import com.pismo.banking.common.exception.InSufficientLimitException;
+import com.pismo.banking.common.money.Money;
+import com.pismo.banking.transaction.api.TransactionService;
+import com.pismo.banking.transaction.api.dto.TransactionRequest;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark for group commit on a single hot account.
+ *
+ * <p>Many threads post a mix of payments and purchases to the same account. The test checks that the final
+ * balance equals the sum of the accepted transactions and that the number of database transactions
+ * (flushed groups) is lower than the number of requests, and logs both figures.</p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+@DisplayName("Group Commit Benchmark")
+class GroupCommitIT {
+
+    private static final Logger log = LoggerFactory.getLogger(GroupCommitIT.class);
+    private static final int THREADS = 32;
+    private static final int REQUESTS_PER_THREAD = 50;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldCoalesceConcurrentTransactionsOnHotAccount() throws Exception {
+        final Long accountId = accountRepository.saveAndFlush(
+                new Account(null, String.valueOf(RandomUtils.nextLong(10000000000L, 99999999999L)))).getAccountId();
+        final DistributionSummary batchSizes = meterRegistry.get("banking.transactions.group-commit.batch-size")
+                .summary();
+        final long commitsBefore = batchSizes.count();
+
+        final AtomicInteger rejected = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        final long elapsedNanos;
+        BigDecimal expectedBalance = BigDecimal.ZERO;
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            final List<Future<BigDecimal>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                final int operationTypeId = i % 2 == 0 ? 4 : 1;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    BigDecimal applied = BigDecimal.ZERO;
+                    for (int j = 0; j < REQUESTS_PER_THREAD; j++) {
+                        try {
+                            applied = applied.add(transactionService.createTransaction(
+                                    new TransactionRequest(accountId, operationTypeId, new BigDecimal("7.50")))
+                                    .amount());
+                        } catch (InSufficientLimitException e) {
+                            rejected.incrementAndGet();
+                        }
+                    }
+                    return applied;
+                }));
+            }
+            final long startNanos = System.nanoTime();
+            start.countDown();
+            for (Future<BigDecimal> future : futures) {
+                expectedBalance = expectedBalance.add(future.get());
+            }
+            elapsedNanos = System.nanoTime() - startNanos;
+        }
+
+        final int requests = THREADS * REQUESTS_PER_THREAD;
+        final long commits = batchSizes.count() - commitsBefore;
+        assertThat(accountService.findById(accountId).getBalance()).isEqualTo(Money.of(expectedBalance));
+        assertThat(commits).isLessThan(requests);
+
+        log.info(String.format("requests=%d rejected=%d commits=%d avgBatch=%.1f throughput=%.0f tx/s",
+                requests, rejected.get(), commits, (double) requests / commits, requests / (elapsedNanos / 1e9)));
+    }
+}
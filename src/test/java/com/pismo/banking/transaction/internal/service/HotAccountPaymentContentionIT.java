@@ -0,0 +1,131 @@
+package com.pismo.banking.transaction.internal.service;
+
+import com.pismo.banking.account.api.AccountService;
+import com.pismo.banking.account.api.dto.AccountSummaryResponse;
+import com.pismo.banking.account.internal.model.Account;
+import com.pismo.banking.account.internal.repository.AccountRepository;
+import com.pismo.banking.account.internal.service.AccountBalanceSlotCompactor;
+import com.pismo.banking.common.exception.InSufficientLimitException;
+import com.pismo.banking.common.money.Money;
+import com.pismo.banking.transaction.api.dto.TransactionRequest;
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Contention benchmark for payments to a single hot account, with the whole balance on the account row and with
+ * the payments spread over balance slots.
+ *
+ * <p>Threads call {@link TransactionServiceImpl} directly, bypassing the in-memory serialization of
+ * {@link AccountSerializedTransactionService}, the way requests handled by several application instances meet in
+ * the database. Once the payments are in, a debit that needs the amount held in the slots must be accepted, one
+ * cent more must be rejected, and compaction must fold the slots into the account row without changing the
+ * balance. Prints the throughput of both modes for each thread count.</p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+@DisplayName("Hot Account Payment Contention Benchmark")
+class HotAccountPaymentContentionIT {
+
+    private static final Logger log = LoggerFactory.getLogger(HotAccountPaymentContentionIT.class);
+    private static final int PAYMENTS_PER_THREAD = 200;
+    private static final int BALANCE_SLOTS = 8;
+    private static final BigDecimal PAYMENT = new BigDecimal("1.00");
+
+    @Autowired
+    private TransactionServiceImpl transactionService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountBalanceSlotCompactor compactor;
+
+    @ParameterizedTest(name = "{0} threads on one account")
+    @ValueSource(ints = {1, 4, 16})
+    void shouldSpreadPaymentsOverBalanceSlots(final int threads) throws Exception {
+        final double singleRowThroughput = runPayments(createAccount(0), threads);
+        final Long slottedAccountId = createAccount(BALANCE_SLOTS);
+        final double slottedThroughput = runPayments(slottedAccountId, threads);
+
+        final BigDecimal received = PAYMENT.multiply(BigDecimal.valueOf((long) threads * PAYMENTS_PER_THREAD));
+        final BigDecimal creditLimit = accountService.getAccountSummary(slottedAccountId).creditLimit();
+        assertThatThrownBy(() -> debit(slottedAccountId, received.add(creditLimit).add(new BigDecimal("0.01"))))
+                .isInstanceOf(InSufficientLimitException.class);
+        debit(slottedAccountId, received);
+
+        compactor.compact();
+
+        assertThat(accountService.getSlotBalance(slottedAccountId)).isEqualTo(Money.ZERO);
+        final AccountSummaryResponse summary = accountService.getAccountSummary(slottedAccountId);
+        assertThat(summary.balance()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(summary.lastTransactionAt()).isNotNull();
+
+        log.info(String.format("threads=%d payments=%d single row=%.0f ops/s %d slots=%.0f ops/s speedup=%.2fx",
+                threads, threads * PAYMENTS_PER_THREAD, singleRowThroughput, BALANCE_SLOTS, slottedThroughput,
+                slottedThroughput / singleRowThroughput));
+    }
+
+    private Long createAccount(final int balanceSlots) {
+        final Long accountId = accountRepository.saveAndFlush(
+                new Account(null, String.valueOf(RandomUtils.nextLong(10000000000L, 99999999999L)))).getAccountId();
+        if (balanceSlots > 0) {
+            accountService.setBalanceSlots(accountId, balanceSlots);
+        }
+        return accountId;
+    }
+
+    /**
+     * Posts the payments of every thread to the account and returns the achieved throughput in payments per second.
+     */
+    private double runPayments(final Long accountId, final int threads) throws Exception {
+        final CountDownLatch start = new CountDownLatch(1);
+        final long elapsedNanos;
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < PAYMENTS_PER_THREAD; j++) {
+                        transactionService.createTransaction(new TransactionRequest(accountId, 4, PAYMENT));
+                    }
+                    return null;
+                }));
+            }
+            final long startNanos = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            elapsedNanos = System.nanoTime() - startNanos;
+        }
+
+        assertThat(accountService.getAccountSummary(accountId).balance())
+                .isEqualByComparingTo(PAYMENT.multiply(BigDecimal.valueOf((long) threads * PAYMENTS_PER_THREAD)));
+        return threads * PAYMENTS_PER_THREAD / (elapsedNanos / 1e9);
+    }
+
+    private void debit(final Long accountId, final BigDecimal amount) {
+        transactionService.createTransaction(new TransactionRequest(accountId, 3, amount));
+    }
+}
@@ -0,0 +1,120 @@
+package com.pismo.banking.transaction.internal.service;
+
+import com.pismo.banking.transaction.api.dto.TransactionResponse;
+import com.pismo.banking.transaction.internal.model.IdempotencyKey;
+import com.pismo.banking.transaction.internal.repository.IdempotencyKeyRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Idempotency Key Store Unit Tests")
+class IdempotencyKeyStoreTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2025-01-01T10:00:00Z"), ZoneOffset.UTC);
+    private static final LocalDateTime NOW = LocalDateTime.now(CLOCK);
+    private static final TransactionResponse RESPONSE = new TransactionResponse(5L, 1L, 4, new BigDecimal("10.00"));
+
+    private final IdempotencyKeyRepository repository = mock(IdempotencyKeyRepository.class);
+    private final IdempotencyKeyStore store =
+            new IdempotencyKeyStore(repository, Duration.ofHours(1), 100, 2, new SimpleMeterRegistry(), CLOCK);
+
+    @Test
+    @DisplayName("Should answer a remembered key from memory without reading the database")
+    void testRememberedKeyServedFromMemory() {
+        store.remember("key-1", RESPONSE);
+
+        assertThat(store.find("key-1")).contains(RESPONSE);
+
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("Should read an unknown key from the database once and then serve it from memory")
+    void testStoredKeyLoadedOnce() {
+        when(repository.findById("key-1")).thenReturn(Optional.of(
+                new IdempotencyKey("key-1", 5L, 1L, 4, new BigDecimal("10.00"), NOW.plusMinutes(5))));
+
+        assertThat(store.find("key-1")).contains(RESPONSE);
+        assertThat(store.find("key-1")).contains(RESPONSE);
+
+        verify(repository, times(1)).findById("key-1");
+    }
+
+    @Test
+    @DisplayName("Should ignore a stored key that has expired but was not swept yet")
+    void testExpiredKeyIgnored() {
+        when(repository.findById("key-1")).thenReturn(Optional.of(
+                new IdempotencyKey("key-1", 5L, 1L, 4, new BigDecimal("10.00"), NOW.minusSeconds(1))));
+
+        assertThat(store.find("key-1")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should delete an expired row of the key in the transaction that stores the key again")
+    void testSaveReplacesExpiredKey() {
+        store.save("key-1", RESPONSE);
+
+        final InOrder inOrder = inOrder(repository);
+        inOrder.verify(repository).deleteExpired(List.of("key-1"), NOW);
+        inOrder.verify(repository).save(any(IdempotencyKey.class));
+    }
+
+    @Test
+    @DisplayName("Should skip keys stored for the same transaction and reject keys stored for another one")
+    void testSaveAllAbsent() {
+        final IdempotencyKey sameTransaction = store.toEntity("key-1", RESPONSE);
+        final IdempotencyKey expired = store.toEntity("key-2", RESPONSE);
+        final IdempotencyKey absent = store.toEntity("key-3", RESPONSE);
+        when(repository.findAllById(List.of("key-1", "key-2", "key-3"))).thenReturn(List.of(
+                new IdempotencyKey("key-1", 5L, 1L, 4, new BigDecimal("10.00"), NOW.plusMinutes(5)),
+                new IdempotencyKey("key-2", 6L, 1L, 4, new BigDecimal("10.00"), NOW.minusSeconds(1))));
+        when(repository.findAllById(List.of("key-4"))).thenReturn(List.of(
+                new IdempotencyKey("key-4", 6L, 1L, 4, new BigDecimal("10.00"), NOW.plusMinutes(5))));
+
+        store.saveAllAbsent(List.of(sameTransaction, expired, absent));
+
+        verify(repository).saveAll(List.of(expired, absent));
+        assertThatThrownBy(() -> store.saveAllAbsent(List.of(store.toEntity("key-4", RESPONSE))))
+                .isInstanceOf(DuplicateKeyException.class)
+                .hasMessage("Idempotency key key-4 is stored for transaction 6, not 5");
+    }
+
+    @Test
+    @DisplayName("Should create entities that expire one TTL from now")
+    void testEntityExpiresAfterTtl() {
+        final IdempotencyKey entity = store.toEntity("key-1", RESPONSE);
+
+        assertThat(entity.getExpiresAt()).isEqualTo(NOW.plusHours(1));
+        assertThat(entity.getTransactionId()).isEqualTo(5L);
+        assertThat(entity.isNew()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should sweep expired keys in batches until a partial batch is found")
+    void testSweepInBatches() {
+        when(repository.findExpiredKeys(NOW, Limit.of(2)))
+                .thenReturn(List.of("a", "b"), List.of("c", "d"), List.of("e"));
+
+        assertThat(store.sweepExpired()).isEqualTo(5);
+
+        verify(repository, times(3)).deleteAllByIdInBatch(any());
+        verify(repository).deleteAllByIdInBatch(List.of("e"));
+    }
+}
@@ -0,0 +1,145 @@
+package com.pismo.banking.transaction.internal.service;
+
+import com.pismo.banking.account.internal.model.Account;
+import com.pismo.banking.account.internal.repository.AccountRepository;
+import com.pismo.banking.common.money.Money;
+import com.pismo.banking.transaction.internal.model.AccountIdRange;
+import com.pismo.banking.transaction.internal.model.LedgerBalance;
+import com.pismo.banking.transaction.internal.model.OperationType;
+import com.pismo.banking.transaction.internal.model.Transaction;
+import com.pismo.banking.transaction.internal.repository.LedgerSnapshotRepository;
+import com.pismo.banking.transaction.internal.repository.TransactionRepository;
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark for rebuilding account balances with and without balance snapshots.
+ *
+ * <p>Gives a set of accounts a long history of settled transactions and rebuilds their balances from scratch, then
+ * snapshots them, adds a short tail of recent transactions and rebuilds them again from the snapshots. Both
+ * rebuilds must match the sums of the transactions. Prints the time of each rebuild; the second one only reads
+ * the tails.</p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "banking.ledger.rebuild.range-size=8")
+@ActiveProfiles("test")
+@DisplayName("Ledger Rebuild Benchmark")
+class LedgerRebuildIT {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerRebuildIT.class);
+    private static final int ACCOUNTS = 40;
+    private static final int HISTORY_PER_ACCOUNT = 500;
+    private static final int TAIL_PER_ACCOUNT = 5;
+
+    @Autowired
+    private LedgerSnapshotService ledgerSnapshotService;
+
+    @Autowired
+    private LedgerSnapshotRepository snapshotRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Test
+    void shouldRebuildFromSnapshotsReadingOnlyTheTails() {
+        final LocalDateTime now = LocalDateTime.now();
+        final Map<Long, BigDecimal> expected = new HashMap<>();
+        final List<Transaction> history = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            final Long accountId = accountRepository.saveAndFlush(new Account(null,
+                    String.valueOf(RandomUtils.nextLong(10000000000L, 99999999999L)))).getAccountId();
+            BigDecimal balance = BigDecimal.ZERO;
+            for (int j = 0; j < HISTORY_PER_ACCOUNT; j++) {
+                final BigDecimal amount = j % 3 == 0 ? new BigDecimal("-2.50") : new BigDecimal("1.25");
+                balance = balance.add(amount);
+                history.add(new Transaction(null, accountId,
+                        amount.signum() < 0 ? OperationType.PURCHASE : OperationType.PAYMENT, Money.of(amount),
+                        now.minusDays(1).plusSeconds(j / 2), Money.of(balance)));
+            }
+            expected.put(accountId, balance);
+        }
+        transactionRepository.saveAll(history);
+        final AccountIdRange range = new AccountIdRange(
+                expected.keySet().stream().mapToLong(Long::longValue).min().orElseThrow(),
+                expected.keySet().stream().mapToLong(Long::longValue).max().orElseThrow());
+
+        final long fullStart = System.nanoTime();
+        final List<LedgerBalance> fromScratch = ledgerSnapshotService.rebuild(range);
+        final long fullNanos = System.nanoTime() - fullStart;
+        assertBalances(fromScratch, expected);
+
+        assertThat(ledgerSnapshotService.takeSnapshots(range, now.minusMinutes(5))).isGreaterThanOrEqualTo(ACCOUNTS);
+        final List<Transaction> tail = new ArrayList<>();
+        expected.replaceAll((accountId, balance) -> {
+            BigDecimal tailBalance = balance;
+            for (int j = 0; j < TAIL_PER_ACCOUNT; j++) {
+                tailBalance = tailBalance.add(BigDecimal.ONE);
+                tail.add(new Transaction(null, accountId, OperationType.PAYMENT, Money.ofUnits(1), now.plusSeconds(j),
+                        Money.of(tailBalance)));
+            }
+            return tailBalance;
+        });
+        transactionRepository.saveAll(tail);
+
+        final long tailStart = System.nanoTime();
+        final List<LedgerBalance> fromSnapshots = ledgerSnapshotService.rebuild(range);
+        final long tailNanos = System.nanoTime() - tailStart;
+        assertBalances(fromSnapshots, expected);
+
+        log.info(String.format("accounts=%d history=%d tail=%d fromScratch=%.1f ms fromSnapshots=%.1f ms",
+                ACCOUNTS, ACCOUNTS * HISTORY_PER_ACCOUNT, ACCOUNTS * TAIL_PER_ACCOUNT, fullNanos / 1e6,
+                tailNanos / 1e6));
+    }
+
+    @Test
+    void shouldMoveSnapshotsThatAnotherRunInsertedFirst() {
+        final LocalDateTime now = LocalDateTime.now();
+        final Long accountId = accountRepository.saveAndFlush(new Account(null,
+                String.valueOf(RandomUtils.nextLong(10000000000L, 99999999999L)))).getAccountId();
+        final Transaction transaction = transactionRepository.save(new Transaction(null, accountId,
+                OperationType.PAYMENT, Money.ofUnits(3), now.minusHours(1), Money.ofUnits(3)));
+        final LedgerBalance older = new LedgerBalance(accountId, BigDecimal.ZERO, 0L, now.minusDays(1));
+        final LedgerBalance newer = new LedgerBalance(accountId, new BigDecimal("3.00"),
+                transaction.getTransactionId(), transaction.getEventDate());
+        snapshotRepository.insertSnapshots(List.of(older), now);
+
+        snapshotRepository.insertSnapshots(List.of(newer), now);
+
+        assertThat(snapshotRepository.replayTails(new AccountIdRange(accountId, accountId), null)).singleElement()
+                .satisfies(replay -> {
+                    assertThat(replay.snapshot().lastTransactionId()).isEqualTo(transaction.getTransactionId());
+                    assertThat(replay.replayedTransactions()).isFalse();
+                    assertThat(replay.balance().balance()).isEqualByComparingTo("3.00");
+                });
+    }
+
+    private static void assertBalances(final List<LedgerBalance> balances, final Map<Long, BigDecimal> expected) {
+        final Map<Long, BigDecimal> rebuilt = new HashMap<>();
+        for (LedgerBalance balance : balances) {
+            if (expected.containsKey(balance.accountId())) {
+                rebuilt.put(balance.accountId(), balance.balance());
+            }
+        }
+        assertThat(rebuilt).hasSameSizeAs(expected);
+        expected.forEach((accountId, balance) ->
+                assertThat(rebuilt.get(accountId)).as("account %d", accountId).isEqualByComparingTo(balance));
+    }
+}
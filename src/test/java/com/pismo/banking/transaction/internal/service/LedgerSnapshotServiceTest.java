@@ -0,0 +1,74 @@
+package com.pismo.banking.transaction.internal.service;
+
+import com.pismo.banking.transaction.internal.model.AccountIdRange;
+import com.pismo.banking.transaction.internal.model.LedgerBalance;
+import com.pismo.banking.transaction.internal.model.LedgerReplay;
+import com.pismo.banking.transaction.internal.repository.LedgerSnapshotRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Ledger Snapshot Service Unit Tests")
+class LedgerSnapshotServiceTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-01-01T10:00:00Z"), ZoneOffset.UTC);
+    private static final LocalDateTime NOW = LocalDateTime.now(CLOCK);
+
+    private final LedgerSnapshotRepository repository = mock(LedgerSnapshotRepository.class);
+    private final LedgerSnapshotService service =
+            new LedgerSnapshotService(repository, Duration.ofMinutes(5), 2, 3, new SimpleMeterRegistry(), CLOCK);
+
+    @Test
+    @DisplayName("Should replay the tail of every account range and return the balances in account order")
+    void testRebuildsAllRanges() {
+        when(repository.findAccountIdBounds()).thenReturn(Optional.of(new AccountIdRange(1, 5)));
+        when(repository.replayTails(any(), isNull())).thenAnswer(invocation -> {
+            final AccountIdRange range = invocation.getArgument(0);
+            final long accountId = range.firstAccountId();
+            return List.of(new LedgerReplay(LedgerBalance.empty(accountId),
+                    new LedgerBalance(accountId, BigDecimal.TEN, accountId * 100, NOW)));
+        });
+
+        final List<LedgerBalance> balances = service.rebuild();
+
+        assertThat(balances).extracting(LedgerBalance::accountId).containsExactly(1L, 3L, 5L);
+        assertThat(balances).extracting(LedgerBalance::lastTransactionId).containsExactly(100L, 300L, 500L);
+        verify(repository, times(1)).replayTails(new AccountIdRange(1, 2), null);
+        verify(repository, times(1)).replayTails(new AccountIdRange(3, 4), null);
+        verify(repository, times(1)).replayTails(new AccountIdRange(5, 5), null);
+    }
+
+    @Test
+    @DisplayName("Should insert first snapshots, move existing ones and skip accounts without settled transactions")
+    void testTakesSnapshotsOfSettledTransactions() {
+        final LocalDateTime settled = NOW.minusMinutes(5);
+        final LedgerBalance existing = new LedgerBalance(2L, new BigDecimal("-5.00"), 20L, NOW.minusDays(1));
+        final LedgerBalance unchanged = new LedgerBalance(3L, new BigDecimal("1.00"), 30L, NOW.minusDays(1));
+        final LedgerBalance moved = new LedgerBalance(2L, new BigDecimal("-7.50"), 21L, NOW.minusHours(1));
+        final LedgerBalance first = new LedgerBalance(1L, new BigDecimal("4.00"), 10L, NOW.minusHours(2));
+        when(repository.findAccountIdBounds()).thenReturn(Optional.of(new AccountIdRange(1, 2)));
+        when(repository.replayTails(new AccountIdRange(1, 2), settled)).thenReturn(List.of(
+                new LedgerReplay(LedgerBalance.empty(1L), first),
+                new LedgerReplay(existing, moved),
+                new LedgerReplay(unchanged, unchanged)));
+
+        assertThat(service.takeSnapshots()).isEqualTo(2);
+
+        verify(repository, times(1)).insertSnapshots(List.of(first), NOW);
+        verify(repository, times(1)).updateSnapshots(List.of(moved), NOW);
+    }
+}
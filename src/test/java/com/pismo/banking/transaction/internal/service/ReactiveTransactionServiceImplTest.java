@@ -0,0 +1,215 @@
+package com.pismo.banking.transaction.internal.service;
+
+import com.pismo.banking.account.api.ReactiveAccountService;
+import com.pismo.banking.account.api.dto.AccountSummaryResponse;
+import com.pismo.banking.common.exception.InSufficientLimitException;
+import com.pismo.banking.common.id.ReactivePooledIdAllocator;
+import com.pismo.banking.common.money.Money;
+import com.pismo.banking.transaction.api.dto.TransactionRequest;
+import com.pismo.banking.transaction.api.dto.TransactionResponse;
+import com.pismo.banking.transaction.internal.exception.InvalidOperationTypeException;
+import com.pismo.banking.transaction.internal.model.IdempotencyKey;
+import com.pismo.banking.transaction.internal.model.IdempotencyKeyRow;
+import com.pismo.banking.transaction.internal.model.TransactionRow;
+import com.pismo.banking.transaction.internal.repository.ReactiveIdempotencyKeyRepository;
+import com.pismo.banking.transaction.internal.repository.ReactiveTransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Reactive Transaction Service Unit Tests")
+class ReactiveTransactionServiceImplTest {
+
+    private static final Long TEST_ACCOUNT_ID = 1L;
+    private static final Long TEST_TRANSACTION_ID = 99L;
+    private static final String TEST_KEY = "key-1";
+    private static final BigDecimal TEST_AMOUNT = new BigDecimal("100.00");
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-01-01T12:00:00Z"), ZoneOffset.UTC);
+    private static final LocalDateTime NOW = LocalDateTime.now(CLOCK);
+
+    @Mock
+    private ReactiveTransactionRepository transactionRepository;
+
+    @Mock
+    private ReactiveIdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Mock
+    private ReactiveAccountService accountService;
+
+    @Mock
+    private IdempotencyKeyStore idempotencyKeyStore;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    @Mock
+    private ReactivePooledIdAllocator transactionIds;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReactiveTransactionServiceImpl transactionService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        transactionService = new ReactiveTransactionServiceImpl(transactionRepository, idempotencyKeyRepository,
+                accountService, idempotencyKeyStore, transactionalOperator, transactionIds, meterRegistry, CLOCK);
+    }
+
+    private void stubCreation(final Money signedAmount) {
+        when(transactionIds.nextId()).thenReturn(Mono.just(TEST_TRANSACTION_ID));
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(accountService.applyBalanceChange(TEST_ACCOUNT_ID, signedAmount, NOW)).thenReturn(Mono.just(
+                new AccountSummaryResponse(TEST_ACCOUNT_ID, signedAmount.toBigDecimal(), BigDecimal.TEN, NOW)));
+        when(transactionRepository.save(any(TransactionRow.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+    }
+
+    private double replays() {
+        return meterRegistry.get("banking.transactions.idempotent-replays").counter().count();
+    }
+
+    @Test
+    @DisplayName("Should create a purchase as a debit inside a database transaction with the resulting balance")
+    void testCreatePurchaseAsDebit() {
+        stubCreation(Money.of(TEST_AMOUNT).negate());
+
+        final TransactionResponse result = transactionService.createTransaction(
+                new TransactionRequest(TEST_ACCOUNT_ID, 1, TEST_AMOUNT), null).block();
+
+        assertThat(result.transactionId()).isEqualTo(TEST_TRANSACTION_ID);
+        assertThat(result.amount()).isEqualByComparingTo("-100.00");
+        final ArgumentCaptor<TransactionRow> saved = ArgumentCaptor.forClass(TransactionRow.class);
+        verify(transactionRepository).save(saved.capture());
+        assertThat(saved.getValue().balanceAfter()).isEqualByComparingTo("-100.00");
+        assertThat(saved.getValue().eventDate()).isEqualTo(NOW);
+        verify(transactionalOperator).transactional(any(Mono.class));
+        verifyNoInteractions(idempotencyKeyRepository, idempotencyKeyStore);
+    }
+
+    @Test
+    @DisplayName("Should not save the transaction when the credit limit is exceeded")
+    void testCreditLimitExceeded() {
+        when(transactionIds.nextId()).thenReturn(Mono.just(TEST_TRANSACTION_ID));
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(accountService.applyBalanceChange(TEST_ACCOUNT_ID, Money.of(TEST_AMOUNT).negate(), NOW))
+                .thenReturn(Mono.error(new InSufficientLimitException("Insufficient credit limit")));
+
+        assertThatThrownBy(() -> transactionService.createTransaction(
+                new TransactionRequest(TEST_ACCOUNT_ID, 1, TEST_AMOUNT), null).block())
+                .isInstanceOf(InSufficientLimitException.class);
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown operation type before taking an id")
+    void testInvalidOperationType() {
+        assertThatThrownBy(() -> transactionService.createTransaction(
+                new TransactionRequest(TEST_ACCOUNT_ID, 99, TEST_AMOUNT), null).block())
+                .isInstanceOf(InvalidOperationTypeException.class);
+        verifyNoInteractions(transactionIds, accountService, transactionRepository);
+    }
+
+    @Test
+    @DisplayName("Should answer a cached idempotency key from memory without touching the database")
+    void testCachedIdempotencyKeyReplay() {
+        final TransactionResponse cached = new TransactionResponse(TEST_TRANSACTION_ID, TEST_ACCOUNT_ID, 4, TEST_AMOUNT);
+        when(idempotencyKeyStore.findCached(TEST_KEY)).thenReturn(Optional.of(cached));
+
+        final TransactionResponse result = transactionService.createTransaction(
+                new TransactionRequest(TEST_ACCOUNT_ID, 4, TEST_AMOUNT), TEST_KEY).block();
+
+        assertThat(result).isEqualTo(cached);
+        assertThat(replays()).isEqualTo(1);
+        verifyNoInteractions(idempotencyKeyRepository, transactionRepository, accountService);
+    }
+
+    @Test
+    @DisplayName("Should store the idempotency key with the transaction and remember the response")
+    void testNewIdempotencyKeyStored() {
+        stubCreation(Money.of(TEST_AMOUNT));
+        when(idempotencyKeyStore.findCached(TEST_KEY)).thenReturn(Optional.empty());
+        when(idempotencyKeyRepository.findById(TEST_KEY)).thenReturn(Mono.empty());
+        when(idempotencyKeyStore.toEntity(eq(TEST_KEY), any())).thenAnswer(invocation -> {
+            final TransactionResponse response = invocation.getArgument(1);
+            return new IdempotencyKey(TEST_KEY, response.transactionId(), response.accountId(),
+                    response.operationTypeId(), response.amount(), NOW.plusHours(24));
+        });
+        when(idempotencyKeyRepository.deleteExpired(TEST_KEY, NOW)).thenReturn(Mono.just(0));
+        when(idempotencyKeyRepository.save(any(IdempotencyKeyRow.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        final TransactionResponse result = transactionService.createTransaction(
+                new TransactionRequest(TEST_ACCOUNT_ID, 4, TEST_AMOUNT), TEST_KEY).block();
+
+        final ArgumentCaptor<IdempotencyKeyRow> savedKey = ArgumentCaptor.forClass(IdempotencyKeyRow.class);
+        verify(idempotencyKeyRepository).save(savedKey.capture());
+        assertThat(savedKey.getValue().transactionId()).isEqualTo(TEST_TRANSACTION_ID);
+        verify(idempotencyKeyStore).remember(TEST_KEY, result);
+        assertThat(replays()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should answer with the stored response when another request committed the same key first")
+    void testConcurrentIdempotencyKeyReplay() {
+        stubCreation(Money.of(TEST_AMOUNT));
+        final IdempotencyKeyRow winner = new IdempotencyKeyRow(TEST_KEY, 7L, TEST_ACCOUNT_ID, 4, TEST_AMOUNT,
+                NOW.plusHours(24));
+        when(idempotencyKeyStore.findCached(TEST_KEY)).thenReturn(Optional.empty());
+        when(idempotencyKeyRepository.findById(TEST_KEY)).thenReturn(Mono.empty(), Mono.just(winner));
+        when(idempotencyKeyStore.toEntity(eq(TEST_KEY), any())).thenReturn(
+                new IdempotencyKey(TEST_KEY, TEST_TRANSACTION_ID, TEST_ACCOUNT_ID, 4, TEST_AMOUNT, NOW.plusHours(24)));
+        when(idempotencyKeyRepository.deleteExpired(TEST_KEY, NOW)).thenReturn(Mono.just(0));
+        when(idempotencyKeyRepository.save(any(IdempotencyKeyRow.class)))
+                .thenReturn(Mono.error(new DuplicateKeyException("duplicate idempotency key")));
+
+        final TransactionResponse result = transactionService.createTransaction(
+                new TransactionRequest(TEST_ACCOUNT_ID, 4, TEST_AMOUNT), TEST_KEY).block();
+
+        assertThat(result.transactionId()).isEqualTo(7L);
+        assertThat(replays()).isEqualTo(1);
+        verify(idempotencyKeyStore).remember(TEST_KEY, winner.toResponse(), winner.expiresAt());
+    }
+
+    @Test
+    @DisplayName("Should create a new transaction for a key that expired but was not swept, replacing its row")
+    void testExpiredIdempotencyKeyReused() {
+        stubCreation(Money.of(TEST_AMOUNT));
+        when(idempotencyKeyStore.findCached(TEST_KEY)).thenReturn(Optional.empty());
+        when(idempotencyKeyRepository.findById(TEST_KEY)).thenReturn(Mono.just(
+                new IdempotencyKeyRow(TEST_KEY, 7L, TEST_ACCOUNT_ID, 4, TEST_AMOUNT, NOW.minusSeconds(1))));
+        when(idempotencyKeyStore.toEntity(eq(TEST_KEY), any())).thenReturn(
+                new IdempotencyKey(TEST_KEY, TEST_TRANSACTION_ID, TEST_ACCOUNT_ID, 4, TEST_AMOUNT, NOW.plusHours(24)));
+        when(idempotencyKeyRepository.deleteExpired(TEST_KEY, NOW)).thenReturn(Mono.just(1));
+        when(idempotencyKeyRepository.save(any(IdempotencyKeyRow.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        final TransactionResponse result = transactionService.createTransaction(
+                new TransactionRequest(TEST_ACCOUNT_ID, 4, TEST_AMOUNT), TEST_KEY).block();
+
+        assertThat(result.transactionId()).isEqualTo(TEST_TRANSACTION_ID);
+        assertThat(replays()).isZero();
+        verify(idempotencyKeyRepository).deleteExpired(TEST_KEY, NOW);
+    }
+}
@@ -0,0 +1,275 @@
+package com.pismo.banking.transaction.internal.service;
+
+import com.pismo.banking.account.api.AccountService;
+import com.pismo.banking.account.api.dto.AccountSummaryResponse;
+import com.pismo.banking.common.exception.AccountNotFoundException;
+import com.pismo.banking.common.exception.InSufficientLimitException;
+import com.pismo.banking.common.money.Money;
+import com.pismo.banking.transaction.api.dto.TransactionBatchItemResponse;
+import com.pismo.banking.transaction.api.dto.TransactionBatchRequest;
+import com.pismo.banking.transaction.api.dto.TransactionBatchResponse;
+import com.pismo.banking.transaction.api.dto.TransactionRequest;
+import com.pismo.banking.transaction.api.dto.TransactionResponse;
+import com.pismo.banking.transaction.internal.journal.JournalEntry;
+import com.pismo.banking.transaction.internal.journal.TransactionJournal;
+import com.pismo.banking.transaction.internal.model.Transaction;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Sequenced Transaction Service Unit Tests")
+class SequencedTransactionServiceTest {
+
+    private static final Long ACCOUNT_ID = 1L;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TransactionServiceImpl delegate = mock(TransactionServiceImpl.class);
+    private final AccountService accountService = mock(AccountService.class);
+    private final IdempotencyKeyStore idempotencyKeyStore = mock(IdempotencyKeyStore.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final AtomicReference<Money> savedBalance = new AtomicReference<>(Money.ZERO);
+    private SequencedTransactionService transactionService;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        transactionService = new SequencedTransactionService(delegate, accountService, idempotencyKeyStore,
+                transactionManager, null, 2, 16, 8, 100, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        transactionService.destroy();
+    }
+
+    @Test
+    @DisplayName("Should apply the limit rule against the in-memory balance, reloading it only before a rejection")
+    void testAppliesLimitRuleInMemory() {
+        when(accountService.getAccountSummary(ACCOUNT_ID))
+                .thenReturn(summary("0.00", "10.00"), summary("-8.00", "10.00"));
+        stubSaveTransactions();
+
+        final TransactionResponse accepted = transactionService.createTransaction(request(1, "8.00"));
+        assertThatThrownBy(() -> transactionService.createTransaction(request(1, "5.00")))
+                .isInstanceOf(InSufficientLimitException.class)
+                .hasMessageContaining("The Limit has exceeded");
+        transactionService.createTransaction(request(4, "5.00"));
+        transactionService.createTransaction(request(1, "7.00"));
+
+        assertThat(accepted.amount()).isEqualByComparingTo("-8.00");
+        verify(accountService, times(2)).getAccountSummary(ACCOUNT_ID);
+        verify(delegate, times(3)).saveTransactions(eq(ACCOUNT_ID), any(), any(), anyList(), anyList());
+        verify(delegate, never()).createTransaction(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should accept a request the stale in-memory balance cannot afford once another writer credited it")
+    void testReloadsStaleBalanceBeforeRejecting() throws InterruptedException {
+        final LocalDateTime now = LocalDateTime.of(2026, 1, 1, 12, 0);
+        final SequencedTransactionService clocked = new SequencedTransactionService(delegate, accountService,
+                idempotencyKeyStore, transactionManager, null, 1, 16, 8, 100, new SimpleMeterRegistry(),
+                Clock.fixed(now.toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+        when(accountService.getAccountSummary(ACCOUNT_ID))
+                .thenReturn(summary("0.00", "10.00"), summary("12.00", "10.00"));
+        stubSaveTransactions();
+        try {
+            clocked.createTransaction(request(1, "8.00"));
+            assertThat(clocked.createTransaction(request(1, "9.00")).amount()).isEqualByComparingTo("-9.00");
+        } finally {
+            clocked.destroy();
+        }
+
+        final ArgumentCaptor<List<Transaction>> transactions = ArgumentCaptor.captor();
+        verify(delegate, times(2)).saveTransactions(eq(ACCOUNT_ID), any(), eq(now), anyList(), transactions.capture());
+        assertThat(transactions.getAllValues().getLast()).singleElement()
+                .extracting(Transaction::getBalanceAfter).isEqualTo(Money.ofUnits(3));
+    }
+
+    @Test
+    @DisplayName("Should reject a request for an unknown account")
+    void testUnknownAccount() {
+        when(accountService.getAccountSummary(ACCOUNT_ID)).thenThrow(new AccountNotFoundException(ACCOUNT_ID));
+
+        assertThatThrownBy(() -> transactionService.createTransaction(request(4, "5.00")))
+                .isInstanceOf(AccountNotFoundException.class);
+
+        verify(delegate, never()).saveTransactions(any(), any(), any(), anyList(), anyList());
+    }
+
+    @Test
+    @DisplayName("Should create the requests one by one and reload the balance after a persistence failure")
+    void testFallsBackToSingleTransactionOnPersistenceFailure() {
+        final TransactionRequest request = request(4, "5.00");
+        final TransactionResponse response = new TransactionResponse(7L, ACCOUNT_ID, 4, new BigDecimal("5.00"));
+        when(accountService.getAccountSummary(ACCOUNT_ID)).thenReturn(summary("0.00", "10.00"));
+        when(delegate.saveTransactions(eq(ACCOUNT_ID), any(), any(), anyList(), anyList()))
+                .thenThrow(new InSufficientLimitException("The Limit has exceeded"));
+        when(delegate.createTransaction(request, null)).thenReturn(response);
+
+        assertThat(transactionService.createTransaction(request)).isEqualTo(response);
+        assertThat(transactionService.createTransaction(request)).isEqualTo(response);
+
+        verify(accountService, times(2)).getAccountSummary(ACCOUNT_ID);
+        verify(delegate, times(2)).createTransaction(request, null);
+    }
+
+    @Test
+    @DisplayName("Should report the outcome of every batch item in request order")
+    void testBatch() {
+        // Reloaded before each rejection, so it has to reflect the batches persisted by then.
+        when(accountService.getAccountSummary(ACCOUNT_ID)).thenAnswer(invocation -> new AccountSummaryResponse(
+                ACCOUNT_ID, savedBalance.get().toBigDecimal(), BigDecimal.ZERO, null));
+        when(accountService.getAccountSummary(3L)).thenThrow(new AccountNotFoundException(3L));
+        stubSaveTransactions();
+
+        final TransactionBatchResponse response = transactionService.createTransactions(new TransactionBatchRequest(
+                List.of(request(4, "5.00"), request(3, "6.00"), new TransactionRequest(3L, 4, BigDecimal.ONE),
+                        request(3, "5.00"))));
+
+        assertThat(response.results()).extracting(TransactionBatchItemResponse::index).containsExactly(0, 1, 2, 3);
+        assertThat(response.results()).extracting(TransactionBatchItemResponse::status).containsExactly(
+                TransactionBatchItemResponse.Status.CREATED,
+                TransactionBatchItemResponse.Status.REJECTED,
+                TransactionBatchItemResponse.Status.REJECTED,
+                TransactionBatchItemResponse.Status.CREATED);
+        assertThat(response.results().get(1).errorMessage()).isEqualTo("The Limit has exceeded");
+        assertThat(response.results().get(2).errorMessage()).isEqualTo("Account with id 3 not found");
+    }
+
+    @Test
+    @DisplayName("Should answer from the journal without writing the database")
+    void testAppendsToJournal() throws InterruptedException {
+        final TransactionJournal journal = mock(TransactionJournal.class);
+        when(accountService.getAccountSummary(ACCOUNT_ID)).thenReturn(summary("0.00", "10.00"));
+        when(journal.nextTransactionId()).thenReturn(100L, 101L);
+        when(journal.append(anyList())).thenReturn(64L, 128L);
+        final SequencedTransactionService journaled = new SequencedTransactionService(delegate, accountService,
+                idempotencyKeyStore, transactionManager, journal, 1, 16, 8, 100, new SimpleMeterRegistry());
+        try {
+            assertThat(journaled.createTransaction(request(1, "8.00")))
+                    .isEqualTo(new TransactionResponse(100L, ACCOUNT_ID, 1, new BigDecimal("-8.00")));
+            assertThat(journaled.createTransaction(request(4, "3.00")))
+                    .isEqualTo(new TransactionResponse(101L, ACCOUNT_ID, 4, new BigDecimal("3.00")));
+        } finally {
+            journaled.destroy();
+        }
+
+        final ArgumentCaptor<List<JournalEntry>> entries = ArgumentCaptor.captor();
+        verify(journal, times(2)).append(entries.capture());
+        assertThat(entries.getAllValues().getLast()).singleElement()
+                .extracting(JournalEntry::balanceAfter).isEqualTo(Money.ofUnits(-5));
+        verifyNoInteractions(delegate);
+    }
+
+    @Test
+    @DisplayName("Should store the idempotency key of a journaled transaction before answering")
+    void testStoresJournaledKey() throws InterruptedException {
+        final TransactionJournal journal = mock(TransactionJournal.class);
+        when(accountService.getAccountSummary(ACCOUNT_ID)).thenReturn(summary("0.00", "10.00"));
+        when(journal.nextTransactionId()).thenReturn(100L);
+        when(journal.append(anyList())).thenReturn(64L);
+        final SequencedTransactionService journaled = new SequencedTransactionService(delegate, accountService,
+                idempotencyKeyStore, transactionManager, journal, 1, 16, 8, 100, new SimpleMeterRegistry());
+        final TransactionResponse expected = new TransactionResponse(100L, ACCOUNT_ID, 1, new BigDecimal("-8.00"));
+        try {
+            assertThat(journaled.createTransaction(request(1, "8.00"), "key-1")).isEqualTo(expected);
+        } finally {
+            journaled.destroy();
+        }
+
+        verify(idempotencyKeyStore).save("key-1", expected);
+        verify(transactionManager).commit(any());
+        verify(idempotencyKeyStore).remember("key-1", expected);
+    }
+
+    @Test
+    @DisplayName("Should leave the in-memory balance unchanged when the journal append fails")
+    void testFailedJournalAppend() throws InterruptedException {
+        final TransactionJournal journal = mock(TransactionJournal.class);
+        when(accountService.getAccountSummary(ACCOUNT_ID)).thenReturn(summary("0.00", "10.00"));
+        when(journal.append(anyList()))
+                .thenThrow(new UncheckedIOException(new IOException("No space left on device")))
+                .thenReturn(64L);
+        final SequencedTransactionService journaled = new SequencedTransactionService(delegate, accountService,
+                idempotencyKeyStore, transactionManager, journal, 1, 16, 8, 100, new SimpleMeterRegistry());
+        try {
+            assertThatThrownBy(() -> journaled.createTransaction(request(1, "8.00")))
+                    .isInstanceOf(UncheckedIOException.class);
+            assertThat(journaled.createTransaction(request(1, "8.00")).amount()).isEqualByComparingTo("-8.00");
+        } finally {
+            journaled.destroy();
+        }
+
+        verify(accountService, times(1)).getAccountSummary(ACCOUNT_ID);
+        verifyNoInteractions(delegate);
+    }
+
+    @Test
+    @DisplayName("Should spread sequential account IDs over every partition")
+    void testPartitionOf() {
+        final Set<Integer> partitions = new HashSet<>();
+        for (long accountId = 1; accountId <= 100; accountId++) {
+            final int partition = transactionService.partitionOf(accountId);
+            assertThat(partition).isBetween(0, 1);
+            partitions.add(partition);
+        }
+        assertThat(partitions).containsExactlyInAnyOrder(0, 1);
+    }
+
+    @Test
+    @DisplayName("Should refuse new requests once shut down")
+    void testRefusesRequestsAfterShutdown() throws InterruptedException {
+        transactionService.destroy();
+
+        assertThatThrownBy(() -> transactionService.createTransaction(request(4, "5.00")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("The transaction engine is shutting down");
+    }
+
+    /**
+     * Answers every persisted batch with one response per transaction, identified by its amount, and adds its
+     * balance change to {@link #savedBalance}.
+     */
+    private void stubSaveTransactions() {
+        when(delegate.saveTransactions(any(), any(), any(), anyList(), anyList())).thenAnswer(invocation -> {
+            savedBalance.accumulateAndGet(invocation.getArgument(1), Money::plus);
+            final List<TransactionCommand> commands = invocation.getArgument(3);
+            return commands.stream()
+                    .map(command -> new TransactionResponse((long) command.request().amount().intValue(),
+                            command.request().accountId(), command.request().operationTypeId(),
+                            command.request().operationTypeId() == 4
+                                    ? command.request().amount() : command.request().amount().negate()))
+                    .toList();
+        });
+    }
+
+    private static AccountSummaryResponse summary(final String balance, final String creditLimit) {
+        return new AccountSummaryResponse(ACCOUNT_ID, new BigDecimal(balance), new BigDecimal(creditLimit), null);
+    }
+
+    private static TransactionRequest request(final int operationTypeId, final String amount) {
+        return new TransactionRequest(ACCOUNT_ID, operationTypeId, new BigDecimal(amount));
+    }
+}
@@ -0,0 +1,112 @@
+package com.pismo.banking.transaction.internal.service;
+
+import com.pismo.banking.account.api.AccountService;
+import com.pismo.banking.account.api.dto.AccountSummaryResponse;
+import com.pismo.banking.account.internal.model.Account;
+import com.pismo.banking.account.internal.repository.AccountRepository;
+import com.pismo.banking.common.exception.InSufficientLimitException;
+import com.pismo.banking.transaction.api.TransactionService;
+import com.pismo.banking.transaction.api.dto.TransactionRequest;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark for the sequencer engine on a single hot account.
+ *
+ * <p>Runs the workload of {@link GroupCommitIT} with {@code banking.transactions.engine=sequencer}: many threads
+ * post a mix of payments and purchases to the same account. The test checks that the persisted balance equals the
+ * sum of the accepted transactions, that it stays within the credit limit and that the partition persisted the
+ * requests in fewer database transactions than there were requests, and logs the throughput.</p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "banking.transactions.engine=sequencer")
+@ActiveProfiles("test")
+@DisplayName("Sequencer Engine Benchmark")
+class SequencerEngineIT {
+
+    private static final Logger log = LoggerFactory.getLogger(SequencerEngineIT.class);
+    private static final int THREADS = 32;
+    private static final int REQUESTS_PER_THREAD = 50;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldSequenceConcurrentTransactionsOnHotAccount() throws Exception {
+        assertThat(transactionService).isInstanceOf(SequencedTransactionService.class);
+        final Long accountId = accountRepository.saveAndFlush(
+                new Account(null, String.valueOf(RandomUtils.nextLong(10000000000L, 99999999999L)))).getAccountId();
+        final DistributionSummary batchSizes = meterRegistry.get("banking.transactions.sequencer.batch-size")
+                .summary();
+        final long batchesBefore = batchSizes.count();
+
+        final AtomicInteger rejected = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        final long elapsedNanos;
+        BigDecimal expectedBalance = BigDecimal.ZERO;
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            final List<Future<BigDecimal>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                final int operationTypeId = i % 2 == 0 ? 4 : 1;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    BigDecimal applied = BigDecimal.ZERO;
+                    for (int j = 0; j < REQUESTS_PER_THREAD; j++) {
+                        try {
+                            applied = applied.add(transactionService.createTransaction(
+                                    new TransactionRequest(accountId, operationTypeId, new BigDecimal("7.50")))
+                                    .amount());
+                        } catch (InSufficientLimitException e) {
+                            rejected.incrementAndGet();
+                        }
+                    }
+                    return applied;
+                }));
+            }
+            final long startNanos = System.nanoTime();
+            start.countDown();
+            for (Future<BigDecimal> future : futures) {
+                expectedBalance = expectedBalance.add(future.get());
+            }
+            elapsedNanos = System.nanoTime() - startNanos;
+        }
+
+        final int requests = THREADS * REQUESTS_PER_THREAD;
+        final long batches = batchSizes.count() - batchesBefore;
+        final AccountSummaryResponse summary = accountService.getAccountSummary(accountId);
+        assertThat(summary.balance()).isEqualByComparingTo(expectedBalance);
+        assertThat(summary.balance().add(summary.creditLimit()).signum()).isNotNegative();
+        assertThat(batches).isLessThan(requests);
+
+        log.info(String.format("requests=%d rejected=%d batches=%d avgBatch=%.1f throughput=%.0f tx/s",
+                requests, rejected.get(), batches, (double) requests / batches, requests / (elapsedNanos / 1e9)));
+    }
+}
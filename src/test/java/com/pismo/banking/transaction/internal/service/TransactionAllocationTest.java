@@ -0,0 +1,130 @@
+package com.pismo.banking.transaction.internal.service;
+
+import com.pismo.banking.account.api.AccountService;
+import com.pismo.banking.account.api.dto.AccountSummaryResponse;
+import com.pismo.banking.transaction.api.dto.TransactionRequest;
+import com.pismo.banking.transaction.internal.concurrency.StripedAccountLock;
+import com.pismo.banking.transaction.internal.model.OperationType;
+import com.pismo.banking.transaction.internal.model.Transaction;
+import com.pismo.banking.transaction.internal.repository.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Allocation budget of the transaction request path.
+ *
+ * <p>Runs {@code createTransaction} of the default engine ({@link AccountSerializedTransactionService} over
+ * {@link TransactionServiceImpl}) against in-memory collaborators, and measures the bytes the calling thread
+ * allocates per request with the {@link com.sun.management.ThreadMXBean}, once the code is warmed up. The
+ * collaborators answer with prebuilt objects, so the measure only covers the application code (plus the argument
+ * arrays of the proxies) and not JPA, JDBC or the web stack. The test fails when a change makes the path allocate
+ * more than {@link #BYTES_PER_REQUEST_BUDGET}: the path allocates about 520 bytes per request, down from about
+ * 810 with a stream per operation type lookup and the default time zone resolved for every clock reading.</p>
+ *
+ * <p>What the JIT compiler manages to keep off the heap depends on the JVM and on when it compiles the path, so
+ * the budget is set against the heap allocations of the code itself: about 520 bytes interpreted or compiled
+ * without escape analysis, and about 180 bytes once C2 scalar-replaces the short-lived objects. The best of
+ * {@link #MEASURED_ROUNDS} rounds after the warm-up is kept.</p>
+ */
+@DisplayName("Transaction Allocation Budget Tests")
+class TransactionAllocationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionAllocationTest.class);
+    private static final long BYTES_PER_REQUEST_BUDGET = 768;
+    private static final int WARM_UP_REQUESTS = 50_000;
+    private static final int MEASURED_REQUESTS = 100_000;
+    private static final int MEASURED_ROUNDS = 5;
+
+    private static final Long TEST_ACCOUNT_ID = 1L;
+    private static final Long TEST_TRANSACTION_ID = 99L;
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 1, 12, 0);
+    private static final AccountSummaryResponse ACCOUNT_SUMMARY =
+            new AccountSummaryResponse(TEST_ACCOUNT_ID, new BigDecimal("-100.00"), new BigDecimal("900.00"), NOW);
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    @DisplayName("Should stay within the allocation budget per created transaction")
+    void testCreateTransactionAllocationBudget() {
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        final TransactionServiceImpl transactionService = new TransactionServiceImpl(transactionRepository(),
+                accountService(), mock(IdempotencyKeyStore.class), Clock.systemDefaultZone());
+        final AccountSerializedTransactionService engine = new AccountSerializedTransactionService(transactionService,
+                new StripedAccountLock(64, meterRegistry), mock(IdempotencyKeyStore.class), 64, meterRegistry);
+        final TransactionRequest request = new TransactionRequest(TEST_ACCOUNT_ID, 1, new BigDecimal("100.00"));
+
+        final long bytesPerRequest = bytesPerCall(() -> engine.createTransaction(request, null));
+
+        log.info("createTransaction allocated={} bytes/request budget={}", bytesPerRequest, BYTES_PER_REQUEST_BUDGET);
+        assertThat(bytesPerRequest).isLessThanOrEqualTo(BYTES_PER_REQUEST_BUDGET);
+    }
+
+    @Test
+    @DisplayName("Should resolve operation types without allocating")
+    void testOperationTypeLookupDoesNotAllocate() {
+        final long bytesPerLookup = bytesPerCall(() -> OperationType.fromId(TEST_TRANSACTION_ID.intValue() % 4 + 1));
+
+        assertThat(bytesPerLookup).isZero();
+    }
+
+    /**
+     * The average bytes allocated by the current thread per run of the action, measured after a warm-up so that
+     * the JIT compiler has optimized it. The lowest average of the rounds is kept, so that a round during which
+     * the action was being recompiled does not count.
+     */
+    private static long bytesPerCall(final Runnable action) {
+        for (int i = 0; i < WARM_UP_REQUESTS; i++) {
+            action.run();
+        }
+        long lowest = Long.MAX_VALUE;
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            final long before = THREADS.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < MEASURED_REQUESTS; i++) {
+                action.run();
+            }
+            lowest = Math.min(lowest, (THREADS.getCurrentThreadAllocatedBytes() - before) / MEASURED_REQUESTS);
+        }
+        return lowest;
+    }
+
+    /**
+     * A repository whose {@code save} assigns the ID the database would and returns the entity.
+     */
+    private static TransactionRepository transactionRepository() {
+        return (TransactionRepository) Proxy.newProxyInstance(TransactionRepository.class.getClassLoader(),
+                new Class<?>[]{TransactionRepository.class}, (proxy, method, args) -> {
+                    if (!method.getName().equals("save")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    final Transaction transaction = (Transaction) args[0];
+                    transaction.setTransactionId(TEST_TRANSACTION_ID);
+                    return transaction;
+                });
+    }
+
+    /**
+     * An account service that accepts every balance change.
+     */
+    private static AccountService accountService() {
+        return (AccountService) Proxy.newProxyInstance(AccountService.class.getClassLoader(),
+                new Class<?>[]{AccountService.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "applyBalanceChange" -> ACCOUNT_SUMMARY;
+                    case "applyCredit" -> Optional.of(ACCOUNT_SUMMARY);
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,126 @@
+package com.pismo.banking.transaction.internal.service;
+
+import com.pismo.banking.account.api.AccountService;
+import com.pismo.banking.common.exception.AccountNotFoundException;
+import com.pismo.banking.transaction.api.dto.TransactionExportFormat;
+import com.pismo.banking.transaction.api.dto.TransactionExportQuery;
+import com.pismo.banking.transaction.internal.model.TransactionExportRow;
+import com.pismo.banking.transaction.internal.repository.TransactionExportRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Transaction Export Service Unit Tests")
+class TransactionExportServiceImplTest {
+
+    private static final LocalDateTime EVENT_DATE = LocalDateTime.of(2026, 1, 2, 3, 4, 5);
+
+    @Mock
+    private TransactionExportRepository transactionExportRepository;
+
+    @Mock
+    private AccountService accountService;
+
+    @InjectMocks
+    private TransactionExportServiceImpl transactionExportService;
+
+    @Test
+    @DisplayName("Should write one JSON object per line, resuming after the given transaction ID")
+    void testWritesNdjson() throws IOException {
+        streamRows(7L, new TransactionExportRow(8L, 1L, 1, new BigDecimal("-10.50"), EVENT_DATE),
+                new TransactionExportRow(9L, 1L, 4, new BigDecimal("20.00"), EVENT_DATE));
+
+        final String export = write(new TransactionExportQuery(1L, null, null, 7L, TransactionExportFormat.NDJSON));
+
+        assertThat(export).isEqualTo("""
+                {"transaction_id":8,"account_id":1,"operation_type_id":1,"amount":-10.50,"event_date":"2026-01-02T03:04:05"}
+                {"transaction_id":9,"account_id":1,"operation_type_id":4,"amount":20.00,"event_date":"2026-01-02T03:04:05"}
+                """);
+    }
+
+    @Test
+    @DisplayName("Should write a header line followed by one CSV line per transaction")
+    void testWritesCsv() throws IOException {
+        streamRows(0L, new TransactionExportRow(8L, 1L, 1, new BigDecimal("-10.50"), EVENT_DATE));
+
+        final String export = write(new TransactionExportQuery(1L, null, null, null, TransactionExportFormat.CSV));
+
+        assertThat(export).isEqualTo("""
+                transaction_id,account_id,operation_type_id,amount,event_date
+                8,1,1,-10.50,2026-01-02T03:04:05
+                """);
+    }
+
+    @Test
+    @DisplayName("Should reject the export of an unknown account before anything is read")
+    void testUnknownAccount() {
+        doThrow(new AccountNotFoundException(99L)).when(accountService).validateAccountExists(99L);
+
+        assertThatThrownBy(() -> transactionExportService.exportTransactions(
+                new TransactionExportQuery(99L, null, null, null, TransactionExportFormat.NDJSON)))
+                .isInstanceOf(AccountNotFoundException.class);
+
+        verifyNoInteractions(transactionExportRepository);
+    }
+
+    @Test
+    @DisplayName("Should surface a write failure as an IOException")
+    void testPropagatesWriteFailure() {
+        // Enough rows to overflow the write buffer while the result set is still being read
+        streamRows(0L, LongStream.rangeClosed(1, 1000)
+                .mapToObj(id -> new TransactionExportRow(id, 1L, 1, BigDecimal.ONE, EVENT_DATE))
+                .toArray(TransactionExportRow[]::new));
+        final OutputStream brokenPipe = new OutputStream() {
+            @Override
+            public void write(final int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        assertThatThrownBy(() -> transactionExportService.exportTransactions(
+                        new TransactionExportQuery(null, null, null, null, TransactionExportFormat.NDJSON))
+                .writeTo(brokenPipe))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Broken pipe");
+    }
+
+    @SuppressWarnings("unchecked")
+    private void streamRows(final long afterTransactionId, final TransactionExportRow... rows) {
+        doAnswer(invocation -> {
+            final Consumer<TransactionExportRow> consumer = invocation.getArgument(4);
+            for (TransactionExportRow row : rows) {
+                consumer.accept(row);
+            }
+            return null;
+        }).when(transactionExportRepository).streamTransactions(any(), isNull(), isNull(), eq(afterTransactionId),
+                any(Consumer.class));
+    }
+
+    private String write(final TransactionExportQuery query) throws IOException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        transactionExportService.exportTransactions(query).writeTo(outputStream);
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,98 @@
+package com.pismo.banking.transaction.internal.service;
+
+import com.pismo.banking.account.internal.model.Account;
+import com.pismo.banking.account.internal.repository.AccountRepository;
+import com.pismo.banking.common.money.Money;
+import com.pismo.banking.transaction.api.TransactionHistoryService;
+import com.pismo.banking.transaction.api.dto.TransactionHistoryItemResponse;
+import com.pismo.banking.transaction.api.dto.TransactionHistoryQuery;
+import com.pismo.banking.transaction.api.dto.TransactionHistoryResponse;
+import com.pismo.banking.transaction.internal.model.OperationType;
+import com.pismo.banking.transaction.internal.model.Transaction;
+import com.pismo.banking.transaction.internal.repository.TransactionRepository;
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark for the keyset-paginated transaction history of a large account.
+ *
+ * <p>Walks the whole history page by page and checks that every transaction is returned exactly once, in
+ * order. Prints the average latency of the first and the last pages, which should stay in the same range
+ * however deep the walk goes.</p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+@DisplayName("Transaction History Paging Benchmark")
+class TransactionHistoryPagingIT {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionHistoryPagingIT.class);
+    private static final int TRANSACTIONS = 20_000;
+    private static final int PAGE_SIZE = 100;
+    private static final int SAMPLED_PAGES = 20;
+
+    @Autowired
+    private TransactionHistoryService transactionHistoryService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Test
+    void shouldKeepPageLatencyFlatAcrossTheHistory() {
+        final Long accountId = accountRepository.saveAndFlush(
+                new Account(null, String.valueOf(RandomUtils.nextLong(10000000000L, 99999999999L)))).getAccountId();
+        final LocalDateTime start = LocalDateTime.of(2026, 1, 1, 0, 0);
+        final List<Transaction> transactions = new ArrayList<>(TRANSACTIONS);
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            transactions.add(new Transaction(null, accountId, OperationType.PAYMENT, Money.ofUnits(1),
+                    start.plusSeconds(i / 3), Money.ofUnits(i + 1)));
+        }
+        transactionRepository.saveAll(transactions);
+
+        final List<Long> pageNanos = new ArrayList<>();
+        final Set<Long> seen = new HashSet<>();
+        TransactionHistoryItemResponse previous = null;
+        String cursor = null;
+        do {
+            final long pageStart = System.nanoTime();
+            final TransactionHistoryResponse page = transactionHistoryService.getTransactions(
+                    new TransactionHistoryQuery(accountId, null, null, null, cursor, PAGE_SIZE));
+            pageNanos.add(System.nanoTime() - pageStart);
+            for (TransactionHistoryItemResponse item : page.transactions()) {
+                assertThat(seen.add(item.transactionId())).isTrue();
+                if (previous != null) {
+                    assertThat(item.eventDate()).isBeforeOrEqualTo(previous.eventDate());
+                }
+                previous = item;
+            }
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertThat(seen).hasSize(TRANSACTIONS);
+        assertThat(pageNanos).hasSize(TRANSACTIONS / PAGE_SIZE);
+
+        // The very first pages are left out as JIT and connection pool warm-up.
+        final double firstPagesMillis = pageNanos.subList(SAMPLED_PAGES, 2 * SAMPLED_PAGES).stream()
+                .mapToLong(Long::longValue).average().orElseThrow() / 1e6;
+        final double lastPagesMillis = pageNanos.subList(pageNanos.size() - SAMPLED_PAGES, pageNanos.size()).stream()
+                .mapToLong(Long::longValue).average().orElseThrow() / 1e6;
+        log.info(String.format("transactions=%d pages=%d early pages=%.2f ms/page last pages=%.2f ms/page",
+                TRANSACTIONS, pageNanos.size(), firstPagesMillis, lastPagesMillis));
+    }
+}
@@ -0,0 +1,111 @@
+package com.pismo.banking.transaction.internal.service;
+
+import com.pismo.banking.account.api.AccountService;
+import com.pismo.banking.common.exception.AccountNotFoundException;
+import com.pismo.banking.common.money.Money;
+import com.pismo.banking.transaction.api.dto.AccountBalanceResponse;
+import com.pismo.banking.transaction.api.dto.TransactionHistoryQuery;
+import com.pismo.banking.transaction.internal.exception.InvalidCursorException;
+import com.pismo.banking.transaction.internal.model.OperationType;
+import com.pismo.banking.transaction.internal.model.Transaction;
+import com.pismo.banking.transaction.internal.repository.TransactionRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.KeysetScrollPosition;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Transaction History Service Unit Tests")
+class TransactionHistoryServiceImplTest {
+
+    private static final Long TEST_ACCOUNT_ID = 1L;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private AccountService accountService;
+
+    @InjectMocks
+    private TransactionHistoryServiceImpl transactionHistoryService;
+
+    @Test
+    @DisplayName("Should round-trip the sort key of a transaction through an opaque cursor")
+    void testCursorRoundTrip() {
+        final LocalDateTime eventDate = LocalDateTime.of(2026, 3, 4, 5, 6, 7, 891_000_000);
+        final Transaction transaction =
+                new Transaction(42L, TEST_ACCOUNT_ID, OperationType.PAYMENT, Money.ofUnits(10), eventDate,
+                        Money.ofUnits(10));
+
+        final String cursor = TransactionCursor.of(transaction).encode();
+
+        assertThat(cursor).doesNotContain("2026", ",");
+        final TransactionCursor decoded = TransactionCursor.decode(cursor);
+        assertThat(decoded).isEqualTo(new TransactionCursor(eventDate, 42L));
+        assertThat(decoded.toScrollPosition()).isInstanceOfSatisfying(KeysetScrollPosition.class, position -> {
+            assertThat(position.scrollsForward()).isTrue();
+            assertThat(position.getKeys()).containsEntry("eventDate", eventDate).containsEntry("transactionId", 42L);
+        });
+    }
+
+    @Test
+    @DisplayName("Should reject a cursor that was not issued by the service")
+    void testRejectsForgedCursor() {
+        assertThatThrownBy(() -> transactionHistoryService.getTransactions(
+                new TransactionHistoryQuery(TEST_ACCOUNT_ID, null, null, null, "not-a-cursor", 10)))
+                .isInstanceOf(InvalidCursorException.class)
+                .hasMessage("Cursor not-a-cursor is invalid.");
+
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    @DisplayName("Should throw AccountNotFoundException for the history of an unknown account")
+    void testUnknownAccount() {
+        doThrow(new AccountNotFoundException(TEST_ACCOUNT_ID)).when(accountService).validateAccountExists(TEST_ACCOUNT_ID);
+
+        assertThatThrownBy(() -> transactionHistoryService.getTransactions(
+                new TransactionHistoryQuery(TEST_ACCOUNT_ID, null, null, null, null, 10)))
+                .isInstanceOf(AccountNotFoundException.class);
+
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    @DisplayName("Should return the balance left by the last transaction before the instant, zero without one")
+    void testGetBalanceAt() {
+        final LocalDateTime at = LocalDateTime.of(2026, 3, 1, 0, 0);
+        when(transactionRepository.findBalanceAt(TEST_ACCOUNT_ID, at)).thenReturn(Optional.of(new BigDecimal("42.50")));
+        when(transactionRepository.findBalanceAt(TEST_ACCOUNT_ID, at.minusYears(1))).thenReturn(Optional.empty());
+
+        final AccountBalanceResponse balance = transactionHistoryService.getBalanceAt(TEST_ACCOUNT_ID, at);
+        final AccountBalanceResponse openingBalance =
+                transactionHistoryService.getBalanceAt(TEST_ACCOUNT_ID, at.minusYears(1));
+
+        assertThat(balance).isEqualTo(new AccountBalanceResponse(TEST_ACCOUNT_ID, new BigDecimal("42.50"), at));
+        assertThat(openingBalance.balance()).isEqualByComparingTo("0");
+    }
+
+    @Test
+    @DisplayName("Should throw AccountNotFoundException for the balance of an unknown account")
+    void testGetBalanceAtUnknownAccount() {
+        doThrow(new AccountNotFoundException(TEST_ACCOUNT_ID)).when(accountService).validateAccountExists(TEST_ACCOUNT_ID);
+
+        assertThatThrownBy(() -> transactionHistoryService.getBalanceAt(TEST_ACCOUNT_ID, LocalDateTime.now()))
+                .isInstanceOf(AccountNotFoundException.class);
+        verifyNoInteractions(transactionRepository);
+    }
+}
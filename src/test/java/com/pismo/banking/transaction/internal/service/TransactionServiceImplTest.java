@@ -1,25 +1,36 @@
 package com.pismo.banking.transaction.internal.service;
 
 import com.pismo.banking.account.api.AccountService;
+import com.pismo.banking.account.api.dto.AccountSummaryResponse;
+import com.pismo.banking.account.internal.model.Account;
 import com.pismo.banking.common.exception.AccountNotFoundException;
+import com.pismo.banking.common.exception.InSufficientLimitException;
+import com.pismo.banking.common.money.Money;
 import com.pismo.banking.transaction.api.dto.TransactionRequest;
 import com.pismo.banking.transaction.api.dto.TransactionResponse;
 import com.pismo.banking.transaction.internal.exception.InvalidOperationTypeException;
+import com.pismo.banking.transaction.internal.model.IdempotencyKey;
 import com.pismo.banking.transaction.internal.model.OperationType;
 import com.pismo.banking.transaction.internal.model.Transaction;
 import com.pismo.banking.transaction.internal.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,64 +43,113 @@ class TransactionServiceImplTest {
     @Mock
     private AccountService accountService;
 
-    @InjectMocks
+    @Mock
+    private IdempotencyKeyStore idempotencyKeyStore;
+
     private TransactionServiceImpl transactionService;
 
     private static final Long TEST_ACCOUNT_ID = 1L;
     private static final BigDecimal TEST_AMOUNT = new BigDecimal("100.00");
+    private static final LocalDateTime EVENT_DATE = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    @BeforeEach
+    void setUp() {
+        transactionService = new TransactionServiceImpl(transactionRepository, accountService, idempotencyKeyStore,
+                Clock.systemDefaultZone());
+    }
+
+    private void stubBalanceChange() {
+        when(accountService.applyBalanceChange(eq(TEST_ACCOUNT_ID), any(), any(LocalDateTime.class)))
+                .thenReturn(new AccountSummaryResponse(TEST_ACCOUNT_ID, BigDecimal.ZERO, BigDecimal.TEN, EVENT_DATE));
+    }
+
+    private void stubCredit() {
+        when(accountService.applyCredit(eq(TEST_ACCOUNT_ID), any(), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(
+                        new AccountSummaryResponse(TEST_ACCOUNT_ID, TEST_AMOUNT, BigDecimal.TEN, EVENT_DATE)));
+    }
 
     @Test
     @DisplayName("Should create transaction for purchase (OperationType 1) as a negative amount (Debit)")
     void testCreateTransactionForPurchaseAsNegative() {
-        BigDecimal expectedFinalAmount = TEST_AMOUNT.negate();
-        doNothing().when(accountService).validateAccountExists(TEST_ACCOUNT_ID);
+        Money expectedFinalAmount = Money.of(TEST_AMOUNT).negate();
 
-        Transaction savedEntity = new Transaction(99L, TEST_ACCOUNT_ID, OperationType.PURCHASE, expectedFinalAmount, null);
+        Transaction savedEntity = new Transaction(99L, TEST_ACCOUNT_ID, OperationType.PURCHASE, expectedFinalAmount, null, null);
+        stubBalanceChange();
         when(transactionRepository.save(any(Transaction.class))).thenReturn(savedEntity);
 
         TransactionRequest transactionRequest = new TransactionRequest(TEST_ACCOUNT_ID, 1, TEST_AMOUNT);
         TransactionResponse result = transactionService.createTransaction(transactionRequest);
 
-        assertThat(result.amount()).isEqualTo(expectedFinalAmount);
+        assertThat(result.amount()).isEqualTo(expectedFinalAmount.toBigDecimal());
         assertThat(result.operationTypeId()).isEqualTo(1);
+        verify(accountService, times(1))
+                .applyBalanceChange(eq(TEST_ACCOUNT_ID), eq(expectedFinalAmount), any(LocalDateTime.class));
     }
 
     @Test
     @DisplayName("Should create transaction for Payment (OpType 4) as a positive amount (Credit)")
     void testCreateTransactionForPaymentAsPositive() {
-        BigDecimal expectedFinalAmount = TEST_AMOUNT;
-        doNothing().when(accountService).validateAccountExists(TEST_ACCOUNT_ID);
+        Money expectedFinalAmount = Money.of(TEST_AMOUNT);
 
-        Transaction savedEntity = new Transaction(99L, TEST_ACCOUNT_ID, OperationType.PAYMENT, expectedFinalAmount, null);
+        Transaction savedEntity = new Transaction(99L, TEST_ACCOUNT_ID, OperationType.PAYMENT, expectedFinalAmount, null, null);
+        stubCredit();
         when(transactionRepository.save(any(Transaction.class))).thenReturn(savedEntity);
 
         TransactionRequest transactionRequest = new TransactionRequest(TEST_ACCOUNT_ID, 4, TEST_AMOUNT);
         TransactionResponse result = transactionService.createTransaction(transactionRequest);
 
-        assertThat(result.amount()).isEqualTo(expectedFinalAmount);
+        assertThat(result.amount()).isEqualTo(expectedFinalAmount.toBigDecimal());
         assertThat(result.operationTypeId()).isEqualTo(4);
         assertThat(result.accountId()).isEqualTo(TEST_ACCOUNT_ID);
+        verify(accountService, times(1))
+                .applyCredit(eq(TEST_ACCOUNT_ID), eq(expectedFinalAmount), any(LocalDateTime.class));
+        verify(accountService, never()).applyBalanceChange(any(), any(), any());
     }
 
     @Test
-    @DisplayName("Should call account validation service before saving transaction")
-    void testAccountServiceValidationCalled() {
-        doNothing().when(accountService).validateAccountExists(TEST_ACCOUNT_ID);
-        Transaction savedEntity = new Transaction(99L, TEST_ACCOUNT_ID, OperationType.PAYMENT, TEST_AMOUNT, null);
+    @DisplayName("Should apply the balance change before saving transaction with the resulting balance and time")
+    void testAccountBalanceChangeApplied() {
+        Transaction savedEntity = new Transaction(99L, TEST_ACCOUNT_ID, OperationType.PAYMENT, Money.of(TEST_AMOUNT), null, null);
+        when(accountService.applyBalanceChange(eq(TEST_ACCOUNT_ID), eq(Money.of(TEST_AMOUNT).negate()), any(LocalDateTime.class)))
+                .thenReturn(new AccountSummaryResponse(TEST_ACCOUNT_ID, new BigDecimal("-100.00"), BigDecimal.TEN, EVENT_DATE));
         when(transactionRepository.save(any(Transaction.class))).thenReturn(savedEntity);
 
         TransactionRequest transactionRequest = new TransactionRequest(TEST_ACCOUNT_ID, 1, TEST_AMOUNT);
         transactionService.createTransaction(transactionRequest);
 
-        verify(accountService, times(1)).validateAccountExists(TEST_ACCOUNT_ID);
-        verify(transactionRepository, times(1)).save(any(Transaction.class));
+        final ArgumentCaptor<Transaction> saved = ArgumentCaptor.forClass(Transaction.class);
+        verify(accountService, times(1))
+                .applyBalanceChange(eq(TEST_ACCOUNT_ID), eq(Money.of(TEST_AMOUNT).negate()), any(LocalDateTime.class));
+        verify(transactionRepository, times(1)).save(saved.capture());
+        assertThat(saved.getValue().getBalanceAfter()).isEqualTo(Money.ofUnits(-100));
+        assertThat(saved.getValue().getEventDate()).isEqualTo(EVENT_DATE);
         verifyNoMoreInteractions(transactionRepository);
     }
 
     @Test
-    @DisplayName("Should throw AccountNotFoundException if account validation fails")
+    @DisplayName("Should save a payment taken on a balance slot without a balance, at its own event date")
+    void testSlotPaymentSavedWithoutBalance() {
+        Transaction savedEntity = new Transaction(99L, TEST_ACCOUNT_ID, OperationType.PAYMENT, Money.of(TEST_AMOUNT), null, null);
+        when(accountService.applyCredit(eq(TEST_ACCOUNT_ID), eq(Money.of(TEST_AMOUNT)), any(LocalDateTime.class)))
+                .thenReturn(Optional.empty());
+        when(transactionRepository.save(any(Transaction.class))).thenReturn(savedEntity);
+
+        transactionService.createTransaction(new TransactionRequest(TEST_ACCOUNT_ID, 4, TEST_AMOUNT));
+
+        final ArgumentCaptor<LocalDateTime> eventDate = ArgumentCaptor.forClass(LocalDateTime.class);
+        final ArgumentCaptor<Transaction> saved = ArgumentCaptor.forClass(Transaction.class);
+        verify(accountService).applyCredit(eq(TEST_ACCOUNT_ID), eq(Money.of(TEST_AMOUNT)), eventDate.capture());
+        verify(transactionRepository).save(saved.capture());
+        assertThat(saved.getValue().getBalanceAfter()).isNull();
+        assertThat(saved.getValue().getEventDate()).isEqualTo(eventDate.getValue());
+    }
+
+    @Test
+    @DisplayName("Should throw AccountNotFoundException if the account does not exist")
     void testCreateTransaction_AccountNotFound() {
-        doThrow(new AccountNotFoundException(TEST_ACCOUNT_ID)).when(accountService).validateAccountExists(TEST_ACCOUNT_ID);
+        doThrow(new AccountNotFoundException(TEST_ACCOUNT_ID))
+                .when(accountService).applyBalanceChange(eq(TEST_ACCOUNT_ID), eq(Money.of(TEST_AMOUNT).negate()), any(LocalDateTime.class));
 
         TransactionRequest transactionRequest = new TransactionRequest(TEST_ACCOUNT_ID, 1, TEST_AMOUNT);
 
@@ -100,6 +160,21 @@ class TransactionServiceImplTest {
         verify(transactionRepository, never()).save(any(Transaction.class));
     }
 
+    @Test
+    @DisplayName("Should throw InSufficientLimitException if the debit exceeds the credit limit")
+    void testCreateTransaction_InsufficientLimit() {
+        doThrow(new InSufficientLimitException("The Limit has exceeded"))
+                .when(accountService).applyBalanceChange(eq(TEST_ACCOUNT_ID), eq(Money.of(TEST_AMOUNT).negate()), any(LocalDateTime.class));
+
+        TransactionRequest transactionRequest = new TransactionRequest(TEST_ACCOUNT_ID, 3, TEST_AMOUNT);
+
+        assertThatThrownBy(() -> transactionService.createTransaction(transactionRequest))
+                .isInstanceOf(InSufficientLimitException.class)
+                .hasMessageContaining("The Limit has exceeded");
+
+        verify(transactionRepository, never()).save(any(Transaction.class));
+    }
+
     @Test
     @DisplayName("Should throw InvalidOperationTypeException if OperationType.fromId fails")
     void testCreateTransaction_InvalidOperationType() {
@@ -111,6 +186,135 @@ class TransactionServiceImplTest {
                 .hasMessageContaining(String.format("Operation type id %d is invalid.", invalidOpTypeId));
 
         verify(transactionRepository, never()).save(any(Transaction.class));
-        verify(accountService, never()).validateAccountExists(TEST_ACCOUNT_ID);
+        verifyNoInteractions(accountService);
+    }
+
+    @Test
+    @DisplayName("Should apply the limit rule in order and persist a batch with one balance update")
+    void testCreateTransactionsAppliesLimitInOrder() {
+        final Account account = new Account(TEST_ACCOUNT_ID, "12345678900", Money.ZERO,
+                Money.ofUnits(100), null, 0);
+        when(accountService.findByIdForUpdate(TEST_ACCOUNT_ID)).thenReturn(account);
+        when(accountService.getSlotBalance(TEST_ACCOUNT_ID)).thenReturn(Money.ZERO);
+        when(transactionRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            final List<Transaction> transactions = invocation.getArgument(0);
+            long id = 10L;
+            for (Transaction transaction : transactions) {
+                transaction.setTransactionId(id++);
+            }
+            return transactions;
+        });
+
+        final List<TransactionOutcome> outcomes = transactionService.createTransactions(TEST_ACCOUNT_ID, List.of(
+                TransactionCommand.of(new TransactionRequest(TEST_ACCOUNT_ID, 1, new BigDecimal("60.00"))),
+                TransactionCommand.of(new TransactionRequest(TEST_ACCOUNT_ID, 3, new BigDecimal("60.00"))),
+                TransactionCommand.of(new TransactionRequest(TEST_ACCOUNT_ID, 4, new BigDecimal("30.00"))),
+                TransactionCommand.of(new TransactionRequest(TEST_ACCOUNT_ID, 2, new BigDecimal("60.00")))));
+
+        assertThat(outcomes).extracting(TransactionOutcome::isAccepted).containsExactly(true, false, true, true);
+        assertThat(outcomes.get(0).response().transactionId()).isEqualTo(10L);
+        assertThat(outcomes.get(1).error()).isInstanceOf(InSufficientLimitException.class);
+        assertThat(outcomes.get(2).response().amount()).isEqualByComparingTo("30.00");
+        assertThat(outcomes.get(3).response().amount()).isEqualByComparingTo("-60.00");
+        assertThat(account.getBalance()).isEqualTo(Money.ofUnits(-90));
+        verify(accountService, times(1)).updateAccount(account);
+        final ArgumentCaptor<List<Transaction>> saved = ArgumentCaptor.captor();
+        verify(transactionRepository, times(1)).saveAll(saved.capture());
+        assertThat(saved.getValue()).extracting(Transaction::getBalanceAfter)
+                .containsExactly(Money.ofUnits(-60), Money.ofUnits(-30), Money.ofUnits(-90));
+        verify(accountService, never()).applyBalanceChange(any(), any(), any());
+        verifyNoInteractions(idempotencyKeyStore);
+    }
+
+    @Test
+    @DisplayName("Should never date a batch before the latest transaction of the account")
+    void testCreateTransactionsKeepsEventDatesMonotonic() {
+        final LocalDateTime latest = LocalDateTime.now().plusMinutes(5);
+        final Account account =
+                new Account(TEST_ACCOUNT_ID, "12345678900", Money.ZERO, Money.ofUnits(10), latest, 0);
+        when(accountService.findByIdForUpdate(TEST_ACCOUNT_ID)).thenReturn(account);
+        when(accountService.getSlotBalance(TEST_ACCOUNT_ID)).thenReturn(Money.ZERO);
+        when(transactionRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        transactionService.createTransactions(TEST_ACCOUNT_ID,
+                List.of(TransactionCommand.of(new TransactionRequest(TEST_ACCOUNT_ID, 4, TEST_AMOUNT))));
+
+        final ArgumentCaptor<List<Transaction>> saved = ArgumentCaptor.captor();
+        verify(transactionRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).extracting(Transaction::getEventDate).containsExactly(latest);
+        assertThat(account.getLastTransactionAt()).isEqualTo(latest);
+    }
+
+    @Test
+    @DisplayName("Should check a batch against the aggregate balance but apply it to the account row")
+    void testCreateTransactionsCountsSlotBalance() {
+        final Account account = new Account(TEST_ACCOUNT_ID, "12345678900", Money.ZERO,
+                Money.ofUnits(10), null, 8);
+        when(accountService.findByIdForUpdate(TEST_ACCOUNT_ID)).thenReturn(account);
+        when(accountService.getSlotBalance(TEST_ACCOUNT_ID)).thenReturn(Money.ofUnits(50));
+        when(transactionRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        final List<TransactionOutcome> outcomes = transactionService.createTransactions(TEST_ACCOUNT_ID, List.of(
+                TransactionCommand.of(new TransactionRequest(TEST_ACCOUNT_ID, 1, new BigDecimal("55.00"))),
+                TransactionCommand.of(new TransactionRequest(TEST_ACCOUNT_ID, 1, new BigDecimal("10.00")))));
+
+        assertThat(outcomes).extracting(TransactionOutcome::isAccepted).containsExactly(true, false);
+        assertThat(account.getBalance()).isEqualTo(Money.ofUnits(-55));
+        final ArgumentCaptor<List<Transaction>> saved = ArgumentCaptor.captor();
+        verify(transactionRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).extracting(Transaction::getBalanceAfter)
+                .containsExactly(Money.ofUnits(-5));
+    }
+
+    @Test
+    @DisplayName("Should not write anything when every request of a batch is rejected")
+    void testCreateTransactionsAllRejected() {
+        final Account account = new Account(TEST_ACCOUNT_ID, "12345678900", Money.ZERO,
+                Money.ofUnits(10), null, 0);
+        when(accountService.findByIdForUpdate(TEST_ACCOUNT_ID)).thenReturn(account);
+        when(accountService.getSlotBalance(TEST_ACCOUNT_ID)).thenReturn(Money.ZERO);
+
+        final List<TransactionOutcome> outcomes = transactionService.createTransactions(TEST_ACCOUNT_ID, List.of(
+                TransactionCommand.of(new TransactionRequest(TEST_ACCOUNT_ID, 1, TEST_AMOUNT)),
+                TransactionCommand.of(new TransactionRequest(TEST_ACCOUNT_ID, 999, TEST_AMOUNT))));
+
+        assertThat(outcomes.get(0).error()).isInstanceOf(InSufficientLimitException.class);
+        assertThat(outcomes.get(1).error()).isInstanceOf(InvalidOperationTypeException.class);
+        assertThat(account.getBalance()).isEqualTo(Money.ZERO);
+        verify(accountService, never()).updateAccount(any());
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    @DisplayName("Should store the idempotency key of a transaction together with it")
+    void testCreateTransactionStoresIdempotencyKey() {
+        final Transaction savedEntity = new Transaction(99L, TEST_ACCOUNT_ID, OperationType.PAYMENT, Money.of(TEST_AMOUNT), null, null);
+        stubCredit();
+        when(transactionRepository.save(any(Transaction.class))).thenReturn(savedEntity);
+
+        final TransactionResponse result = transactionService.createTransaction(
+                new TransactionRequest(TEST_ACCOUNT_ID, 4, TEST_AMOUNT), "key-1");
+
+        verify(idempotencyKeyStore, times(1)).save("key-1", result);
+    }
+
+    @Test
+    @DisplayName("Should store the idempotency keys of the accepted requests of a batch only")
+    void testCreateTransactionsStoresAcceptedIdempotencyKeys() {
+        final Account account = new Account(TEST_ACCOUNT_ID, "12345678900", Money.ZERO,
+                Money.ofUnits(10), null, 0);
+        when(accountService.findByIdForUpdate(TEST_ACCOUNT_ID)).thenReturn(account);
+        when(accountService.getSlotBalance(TEST_ACCOUNT_ID)).thenReturn(Money.ZERO);
+        when(transactionRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        final IdempotencyKey storedKey = mock(IdempotencyKey.class);
+        when(idempotencyKeyStore.toEntity(eq("accepted"), any(TransactionResponse.class))).thenReturn(storedKey);
+
+        transactionService.createTransactions(TEST_ACCOUNT_ID, List.of(
+                new TransactionCommand(new TransactionRequest(TEST_ACCOUNT_ID, 4, TEST_AMOUNT), "accepted"),
+                new TransactionCommand(new TransactionRequest(TEST_ACCOUNT_ID, 1, new BigDecimal("500.00")), "rejected"),
+                TransactionCommand.of(new TransactionRequest(TEST_ACCOUNT_ID, 1, TEST_AMOUNT))));
+
+        verify(idempotencyKeyStore, never()).toEntity(eq("rejected"), any());
+        verify(idempotencyKeyStore, times(1)).saveAll(List.of(storedKey));
     }
 }
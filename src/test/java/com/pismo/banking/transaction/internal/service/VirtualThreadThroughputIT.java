@@ -0,0 +1,113 @@
+package com.pismo.banking.transaction.internal.service;
+
+import com.pismo.banking.account.internal.model.Account;
+import com.pismo.banking.account.internal.repository.AccountRepository;
+import com.pismo.banking.common.thread.VirtualThreadPinningMonitor;
+import com.pismo.banking.transaction.api.TransactionService;
+import com.pismo.banking.transaction.api.dto.TransactionRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark of request handling on platform threads versus virtual threads.
+ *
+ * <p>Submits many more concurrent transactions than Tomcat has platform threads by default, once to a pool of
+ * that many platform threads and once to one virtual thread per request, and measures each request from its
+ * submission, so the time spent waiting for a free thread counts. Prints the throughput and the p50 and p99
+ * latencies of both modes and the number of times a virtual thread was pinned to its carrier while blocked, as
+ * seen by the {@link VirtualThreadPinningMonitor}. No place in the application may pin.</p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.threads.virtual.enabled=true",
+        "banking.threads.pinning-check.threshold=PT0S"})
+@ActiveProfiles("test")
+@DisplayName("Virtual Thread Throughput Benchmark")
+class VirtualThreadThroughputIT {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadThroughputIT.class);
+    private static final int PLATFORM_THREADS = 200;
+    private static final int REQUESTS = 4000;
+    private static final int ACCOUNTS = 400;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private VirtualThreadPinningMonitor pinningMonitor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldCompareThroughputAndTailLatency() throws Exception {
+        final List<Long> accountIds = new ArrayList<>(ACCOUNTS);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accountIds.add(accountRepository.saveAndFlush(new Account(null,
+                    String.valueOf(RandomUtils.nextLong(10000000000L, 99999999999L)))).getAccountId());
+        }
+        run(accountIds, ACCOUNTS, () -> Executors.newFixedThreadPool(PLATFORM_THREADS));
+        run(accountIds, ACCOUNTS, Executors::newVirtualThreadPerTaskExecutor);
+
+        final Result platform = run(accountIds, REQUESTS, () -> Executors.newFixedThreadPool(PLATFORM_THREADS));
+        final Result virtual = run(accountIds, REQUESTS, Executors::newVirtualThreadPerTaskExecutor);
+        TimeUnit.SECONDS.sleep(2);
+        final double pinned = meterRegistry.get("banking.threads.virtual.pinned").counter().count();
+
+        log.info(String.format("mode=platform threads=%d requests=%d throughput=%.0f tx/s p50=%.1f ms p99=%.1f ms",
+                PLATFORM_THREADS, REQUESTS, platform.throughput(), platform.p50Millis(), platform.p99Millis()));
+        log.info(String.format("mode=virtual requests=%d throughput=%.0f tx/s p50=%.1f ms p99=%.1f ms pinned=%.0f",
+                REQUESTS, virtual.throughput(), virtual.p50Millis(), virtual.p99Millis(), pinned));
+        log.info(String.format("pinning sites=%s", pinningMonitor.pinningSites()));
+        assertThat(pinningMonitor.pinningSites()).noneMatch(site -> site.startsWith("com.pismo."));
+    }
+
+    private Result run(final List<Long> accountIds, final int requests,
+                       final Supplier<ExecutorService> executorFactory) throws Exception {
+        final long[] latencies = new long[requests];
+        final long startNanos = System.nanoTime();
+        try (ExecutorService executor = executorFactory.get()) {
+            final List<Future<?>> futures = new ArrayList<>(requests);
+            for (int i = 0; i < requests; i++) {
+                final int request = i;
+                final long submittedNanos = System.nanoTime();
+                futures.add(executor.submit(() -> {
+                    transactionService.createTransaction(new TransactionRequest(
+                            accountIds.get(request % accountIds.size()), 4, new BigDecimal("1.00")));
+                    latencies[request] = System.nanoTime() - submittedNanos;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        final long elapsedNanos = System.nanoTime() - startNanos;
+        Arrays.sort(latencies);
+        return new Result(requests / (elapsedNanos / 1e9), latencies[requests / 2] / 1e6,
+                latencies[(int) Math.ceil(requests * 0.99) - 1] / 1e6);
+    }
+
+    private record Result(double throughput, double p50Millis, double p99Millis) {
+    }
+}